@@ -0,0 +1,581 @@
+package noventagrados.control;
+
+import noventagrados.modelo.Jugada;
+import noventagrados.modelo.Pieza;
+import noventagrados.modelo.Posicion;
+import noventagrados.modelo.Tablero;
+import noventagrados.util.Color;
+import noventagrados.util.Coordenada;
+import noventagrados.util.Sentido;
+import noventagrados.util.TipoPieza;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Clase que gestiona las reglas de una partida de Noventa Grados: coloca las piezas,
+ * valida y ejecuta las jugadas, controla el turno y determina el final de la partida.
+ * <p>
+ * Una pieza se mueve en horizontal o vertical tantas celdas como piezas haya en la
+ * línea perpendicular que pasa por ella (contándose a sí misma), empujando las piezas
+ * que encuentre. Las piezas empujadas fuera del tablero se guardan en la caja de su color.
+ */
+public class Arbitro {
+
+    private static final Color[] COLORES = Color.values(); // Colores indexados por ordinal.
+    private static final int LADO = 7;                     // Número de celdas de una fila o columna.
+
+    // Disposición de los campos dentro de los tokens de deshacer.
+    private static final int BITS_CELDA = 3;                          // Bits por código de celda.
+    private static final long MASCARA_CELDA = (1L << BITS_CELDA) - 1; // Máscara de un código de celda.
+    private static final int DESPLAZAMIENTO_EN_COLUMNA = LADO * BITS_CELDA;            // 1 bit: línea es columna.
+    private static final int DESPLAZAMIENTO_LINEA = DESPLAZAMIENTO_EN_COLUMNA + 1;     // 3 bits: índice de la línea.
+    private static final int MASCARA_LINEA = 0x7;
+    private static final int DESPLAZAMIENTO_CAJA_BLANCA = DESPLAZAMIENTO_LINEA + 3;    // 3 bits: piezas a la caja blanca.
+    private static final int DESPLAZAMIENTO_CAJA_NEGRA = DESPLAZAMIENTO_CAJA_BLANCA + 3; // 3 bits: piezas a la caja negra.
+    private static final int MASCARA_CAJA = 0x7;
+    private static final int DESPLAZAMIENTO_TURNO = DESPLAZAMIENTO_CAJA_NEGRA + 3;     // 2 bits: turno (0 nulo).
+    private static final int MASCARA_TURNO = 0x3;
+    private static final int DESPLAZAMIENTO_NUMERO_JUGADA = DESPLAZAMIENTO_TURNO + 2;  // Resto: número de jugada.
+
+    private final Tablero tablero;            // Tablero sobre el que se juega la partida.
+    private final TableroConsultor consultor; // Consultor asociado al tablero.
+    private Caja cajaBlanca;                  // Caja con las piezas blancas expulsadas.
+    private Caja cajaNegra;                   // Caja con las piezas negras expulsadas.
+    private Color turno;                      // Color con el turno actual, null antes de colocar piezas.
+    private int numeroJugada;                 // Número de jugadas realizadas.
+    private final BufferJugadas jugadasLegales = new BufferJugadas(); // Buffer reutilizado al generar jugadas.
+    private final List<ObservadorJugadas> observadores = new ArrayList<>(); // Notificados en cada empujar.
+
+    /**
+     * Constructor de la clase Arbitro.
+     *
+     * @param tablero Tablero sobre el que se desarrolla la partida.
+     */
+    public Arbitro(Tablero tablero) {
+        this.tablero = tablero;
+        this.consultor = new TableroConsultor(tablero);
+        this.cajaBlanca = new Caja(Color.BLANCO);
+        this.cajaNegra = new Caja(Color.NEGRO);
+        this.turno = null;
+        this.numeroJugada = 0;
+    }
+
+    /**
+     * Cambia el turno al color contrario.
+     */
+    public void cambiarTurno() {
+        turno = turno == Color.BLANCO ? Color.NEGRO : Color.BLANCO;
+    }
+
+    /**
+     * Crea una copia en profundidad del árbitro, con su propio tablero y cajas, para poder
+     * explorar jugadas sin alterar la partida original.
+     *
+     * @return Nuevo árbitro en el mismo estado que el actual.
+     */
+    public Arbitro clonar() {
+        Arbitro clon = new Arbitro(tablero.clonar());
+        clon.cajaBlanca = cajaBlanca.clonar();
+        clon.cajaNegra = cajaNegra.clonar();
+        clon.turno = turno;
+        clon.numeroJugada = numeroJugada;
+        return clon;
+    }
+
+    /**
+     * Coloca las piezas indicadas en sus coordenadas y fija el turno inicial.
+     *
+     * @param piezas      Piezas a colocar.
+     * @param coordenadas Coordenadas de cada pieza, en el mismo orden.
+     * @param turnoActual Color con el turno.
+     */
+    public void colocarPiezas(Pieza[] piezas, Coordenada[] coordenadas, Color turnoActual) {
+        for (int i = 0; i < piezas.length; i++) {
+            tablero.colocar(piezas[i], coordenadas[i]);
+        }
+        this.turno = turnoActual;
+    }
+
+    /**
+     * Fija directamente el turno y el número de jugada, para reconstruir una partida
+     * guardada.
+     *
+     * @param turnoActual        Color con el turno, o null si no hay turno.
+     * @param numeroJugadaActual Número de jugadas realizadas.
+     */
+    void fijarEstado(Color turnoActual, int numeroJugadaActual) {
+        this.turno = turnoActual;
+        this.numeroJugada = numeroJugadaActual;
+    }
+
+    /**
+     * Obtiene el tablero de la partida sin clonarlo.
+     *
+     * @return Tablero de la partida.
+     */
+    Tablero obtenerTablero() {
+        return tablero;
+    }
+
+    /**
+     * Coloca las piezas en la configuración inicial de la partida. Empiezan las blancas.
+     */
+    public void colocarPiezasConfiguracionInicial() {
+        Pieza peonBlanco = Pieza.de(TipoPieza.PEON, Color.BLANCO);
+        Pieza peonNegro = Pieza.de(TipoPieza.PEON, Color.NEGRO);
+        colocarPiezas(new Pieza[]{
+                Pieza.de(TipoPieza.REINA, Color.BLANCO),
+                peonBlanco, peonBlanco, peonBlanco, peonBlanco, peonBlanco, peonBlanco,
+                Pieza.de(TipoPieza.REINA, Color.NEGRO),
+                peonNegro, peonNegro, peonNegro, peonNegro, peonNegro, peonNegro
+        }, new Coordenada[]{
+                Coordenada.de(0, 0),
+                Coordenada.de(0, 1), Coordenada.de(0, 2), Coordenada.de(0, 3),
+                Coordenada.de(1, 0), Coordenada.de(2, 0), Coordenada.de(3, 0),
+                Coordenada.de(6, 6),
+                Coordenada.de(3, 6), Coordenada.de(4, 6), Coordenada.de(5, 6),
+                Coordenada.de(6, 3), Coordenada.de(6, 4), Coordenada.de(6, 5)
+        }, Color.BLANCO);
+    }
+
+    /**
+     * Consulta la caja de un color.
+     *
+     * @param color Color de la caja.
+     * @return Clon de la caja con las piezas expulsadas de dicho color.
+     */
+    public Caja consultarCaja(Color color) {
+        return obtenerCaja(color).clonar();
+    }
+
+    /**
+     * Cuenta las piezas de un tipo guardadas en la caja de un color, sin clonar la caja.
+     *
+     * @param color     Color de la caja.
+     * @param tipoPieza Tipo de pieza a contar.
+     * @return Número de piezas de dicho tipo en la caja.
+     */
+    public int contarPiezasEnCaja(Color color, TipoPieza tipoPieza) {
+        return obtenerCaja(color).contarPiezas(tipoPieza);
+    }
+
+    /**
+     * Consulta la clave Zobrist de la posición actual, incluyendo el turno.
+     * En una partida normal las piezas de las cajas quedan determinadas por las del
+     * tablero, por lo que la clave identifica la posición completa.
+     *
+     * @return Clave Zobrist del tablero y el turno.
+     */
+    public long consultarClaveZobrist() {
+        return tablero.consultarClaveZobrist(turno);
+    }
+
+    /**
+     * Consulta el número de jugadas realizadas.
+     *
+     * @return Número de jugadas.
+     */
+    public int consultarNumeroJugada() {
+        return numeroJugada;
+    }
+
+    /**
+     * Consulta la posición actual de la partida: tablero, turno y número de jugada.
+     *
+     * @return Posición con un clon del tablero.
+     */
+    public Posicion consultarPosicion() {
+        return new Posicion(tablero.clonar(), turno, numeroJugada);
+    }
+
+    /**
+     * Consulta el tablero de la partida.
+     *
+     * @return Clon del tablero.
+     */
+    public Tablero consultarTablero() {
+        return tablero.clonar();
+    }
+
+    /**
+     * Copia el código de todas las celdas del tablero sin clonarlo.
+     *
+     * @param codigos Arreglo de al menos 49 posiciones donde se escriben los códigos.
+     * @see Tablero#copiarCodigosCeldas(byte[])
+     */
+    public void copiarCodigosCeldas(byte[] codigos) {
+        tablero.copiarCodigosCeldas(codigos);
+    }
+
+    /**
+     * Consulta el código de una celda sin crear objetos.
+     *
+     * @param fila    Fila de la celda.
+     * @param columna Columna de la celda.
+     * @return Código de la celda.
+     * @see Tablero#consultarCodigoCelda(int, int)
+     */
+    public byte consultarCodigoCelda(int fila, int columna) {
+        return tablero.consultarCodigoCelda(fila, columna);
+    }
+
+    /**
+     * Consulta el color con el turno actual.
+     *
+     * @return Color con el turno, o null si todavía no se han colocado las piezas.
+     */
+    public Color consultarTurno() {
+        return turno;
+    }
+
+    /**
+     * Consulta el color ganador de la partida. Gana quien coloca su reina en el centro o
+     * expulsa a la reina contraria. Si ambas reinas han sido expulsadas hay empate.
+     *
+     * @return Color ganador, o null si la partida no ha terminado o ha terminado en empate.
+     */
+    public Color consultarTurnoGanador() {
+        if (consultor.estaReinaEnElCentro(Color.BLANCO)) {
+            return Color.BLANCO;
+        }
+        if (consultor.estaReinaEnElCentro(Color.NEGRO)) {
+            return Color.NEGRO;
+        }
+        boolean reinaBlancaExpulsada = cajaBlanca.contarPiezas(TipoPieza.REINA) > 0;
+        boolean reinaNegraExpulsada = cajaNegra.contarPiezas(TipoPieza.REINA) > 0;
+        if (reinaBlancaExpulsada && !reinaNegraExpulsada) {
+            return Color.NEGRO;
+        }
+        if (reinaNegraExpulsada && !reinaBlancaExpulsada) {
+            return Color.BLANCO;
+        }
+        return null;
+    }
+
+    /**
+     * Realiza una jugada sin comprobar su legalidad. La pieza de origen avanza hasta el
+     * destino empujando las piezas que encuentre; las que salen del tablero se guardan en
+     * la caja de su color. Incrementa el número de jugada pero no cambia el turno.
+     *
+     * @param jugada Jugada a realizar.
+     */
+    public void empujar(Jugada jugada) {
+        Coordenada origen = jugada.origen().consultarCoordenada();
+        Coordenada destino = jugada.destino().consultarCoordenada();
+        mover(origen.fila(), origen.columna(), destino.fila(), destino.columna());
+        numeroJugada++;
+        for (ObservadorJugadas observador : observadores) {
+            observador.jugadaRealizada(jugada);
+        }
+    }
+
+    /**
+     * Añade un observador que será notificado después de cada llamada a
+     * {@link #empujar(Jugada)}. Las jugadas realizadas con {@link #hacer(int)} durante las
+     * búsquedas no se notifican, y los clones del árbitro no heredan los observadores.
+     *
+     * @param observador Observador a añadir.
+     */
+    public void añadirObservador(ObservadorJugadas observador) {
+        if (observador != null) {
+            observadores.add(observador);
+        }
+    }
+
+    /**
+     * Elimina un observador añadido previamente.
+     *
+     * @param observador Observador a eliminar.
+     */
+    public void eliminarObservador(ObservadorJugadas observador) {
+        observadores.remove(observador);
+    }
+
+    /**
+     * Realiza una jugada completa sin comprobar su legalidad: empuja las piezas como
+     * {@link #empujar(Jugada)} y cambia el turno.
+     *
+     * @param jugada Jugada a realizar.
+     * @return Token para deshacer la jugada con {@link #deshacer(long)}.
+     */
+    public long hacer(Jugada jugada) {
+        Coordenada origen = jugada.origen().consultarCoordenada();
+        Coordenada destino = jugada.destino().consultarCoordenada();
+        return hacer(BufferJugadas.codificar(origen.fila(), origen.columna(), destino.fila(), destino.columna()));
+    }
+
+    /**
+     * Realiza una jugada codificada como en {@link BufferJugadas} sin comprobar su
+     * legalidad, empujando las piezas y cambiando el turno.
+     * <p>
+     * Una jugada solo altera la fila o columna por la que se mueve la pieza, por lo que
+     * el token guarda el contenido previo de esa línea, cuántas piezas se han guardado
+     * en cada caja, el turno y el número de jugada, todo ello en un único {@code long}.
+     *
+     * @param codigo Jugada codificada.
+     * @return Token para deshacer la jugada con {@link #deshacer(long)}.
+     */
+    public long hacer(int codigo) {
+        int numeroColumnas = tablero.consultarNumeroColumnas();
+        int origen = BufferJugadas.consultarIndiceOrigen(codigo);
+        int destino = BufferJugadas.consultarIndiceDestino(codigo);
+        int filaOrigen = origen / numeroColumnas;
+        int columnaOrigen = origen % numeroColumnas;
+        int filaDestino = destino / numeroColumnas;
+        int columnaDestino = destino % numeroColumnas;
+        boolean enColumna = columnaOrigen == columnaDestino && filaOrigen != filaDestino;
+
+        long token = (long) numeroJugada << DESPLAZAMIENTO_NUMERO_JUGADA;
+        token |= (long) (turno == null ? 0 : turno.ordinal() + 1) << DESPLAZAMIENTO_TURNO;
+        token |= (long) (enColumna ? columnaOrigen : filaOrigen) << DESPLAZAMIENTO_LINEA;
+        if (enColumna) {
+            token |= 1L << DESPLAZAMIENTO_EN_COLUMNA;
+        }
+        for (int k = 0; k < LADO; k++) {
+            byte contenido = enColumna ? tablero.consultarCodigoCelda(k, columnaOrigen)
+                    : tablero.consultarCodigoCelda(filaOrigen, k);
+            token |= (long) contenido << (k * BITS_CELDA);
+        }
+        int piezasBlancas = cajaBlanca.contarPiezas();
+        int piezasNegras = cajaNegra.contarPiezas();
+
+        mover(filaOrigen, columnaOrigen, filaDestino, columnaDestino);
+        numeroJugada++;
+        cambiarTurno();
+
+        token |= (long) (cajaBlanca.contarPiezas() - piezasBlancas) << DESPLAZAMIENTO_CAJA_BLANCA;
+        token |= (long) (cajaNegra.contarPiezas() - piezasNegras) << DESPLAZAMIENTO_CAJA_NEGRA;
+        return token;
+    }
+
+    /**
+     * Deshace la última jugada realizada con {@link #hacer(int)}, restaurando exactamente
+     * el tablero, las cajas, el turno y el número de jugada anteriores. Los tokens deben
+     * deshacerse en orden inverso al de las jugadas.
+     *
+     * @param token Token devuelto al hacer la jugada.
+     */
+    public void deshacer(long token) {
+        boolean enColumna = esJugadaEnColumna(token);
+        int linea = consultarLineaJugada(token);
+        for (int k = 0; k < LADO; k++) {
+            byte contenido = (byte) ((token >>> (k * BITS_CELDA)) & MASCARA_CELDA);
+            Coordenada coordenada = enColumna ? Coordenada.de(k, linea) : Coordenada.de(linea, k);
+            if (contenido == Tablero.CODIGO_CELDA_VACIA) {
+                tablero.eliminarPieza(coordenada);
+            } else {
+                tablero.colocar(Tablero.consultarPiezaDeCodigo(contenido), coordenada);
+            }
+        }
+        cajaBlanca.retirar((int) (token >>> DESPLAZAMIENTO_CAJA_BLANCA) & MASCARA_CAJA);
+        cajaNegra.retirar((int) (token >>> DESPLAZAMIENTO_CAJA_NEGRA) & MASCARA_CAJA);
+        int codigoTurno = (int) (token >>> DESPLAZAMIENTO_TURNO) & MASCARA_TURNO;
+        turno = codigoTurno == 0 ? null : COLORES[codigoTurno - 1];
+        numeroJugada = (int) (token >>> DESPLAZAMIENTO_NUMERO_JUGADA);
+    }
+
+    /**
+     * Indica si la jugada de un token se movió por una columna o por una fila.
+     *
+     * @param token Token devuelto por {@link #hacer(int)}.
+     * @return true si la línea alterada por la jugada es una columna, false si es una fila.
+     */
+    public static boolean esJugadaEnColumna(long token) {
+        return (token & (1L << DESPLAZAMIENTO_EN_COLUMNA)) != 0;
+    }
+
+    /**
+     * Consulta el índice de la única fila o columna que altera la jugada de un token.
+     * Junto con {@link #esJugadaEnColumna(long)} permite actualizar de forma incremental
+     * cualquier información derivada del tablero.
+     *
+     * @param token Token devuelto por {@link #hacer(int)}.
+     * @return Índice de la fila o columna alterada.
+     */
+    public static int consultarLineaJugada(long token) {
+        return (int) (token >>> DESPLAZAMIENTO_LINEA) & MASCARA_LINEA;
+    }
+
+    /**
+     * Comprueba si la partida ha finalizado, bien por tener una reina en el centro o bien
+     * por haber sido expulsada alguna reina.
+     *
+     * @return true si la partida ha finalizado, false en caso contrario.
+     */
+    public boolean estaFinalizadaPartida() {
+        return consultor.estaReinaEnElCentro(Color.BLANCO) || consultor.estaReinaEnElCentro(Color.NEGRO)
+                || cajaBlanca.contarPiezas(TipoPieza.REINA) > 0 || cajaNegra.contarPiezas(TipoPieza.REINA) > 0;
+    }
+
+    /**
+     * Comprueba si una jugada es legal para el turno actual: la partida no ha finalizado,
+     * origen y destino están en el tablero, el origen contiene una pieza del turno y el
+     * desplazamiento es horizontal o vertical con una distancia igual al número de piezas
+     * en la línea perpendicular.
+     *
+     * @param jugada Jugada a comprobar.
+     * @return true si la jugada es legal, false en caso contrario.
+     */
+    public boolean esMovimientoLegal(Jugada jugada) {
+        if (jugada == null || jugada.origen() == null || jugada.destino() == null || estaFinalizadaPartida()) {
+            return false;
+        }
+        Coordenada origen = jugada.origen().consultarCoordenada();
+        Coordenada destino = jugada.destino().consultarCoordenada();
+        if (origen == null || destino == null || !tablero.estaEnTablero(origen) || !tablero.estaEnTablero(destino)) {
+            return false;
+        }
+        Pieza pieza = tablero.consultarPiezaEn(origen.fila(), origen.columna());
+        if (pieza == null || pieza.consultarColor() != turno) {
+            return false;
+        }
+        Sentido sentido = consultor.calcularSentido(origen, destino);
+        if (sentido == Sentido.HORIZONTAL_E || sentido == Sentido.HORIZONTAL_O) {
+            return consultor.consultarDistanciaEnHorizontal(origen, destino)
+                    == consultor.consultarNumeroPiezasEnVertical(origen);
+        }
+        if (sentido == Sentido.VERTICAL_N || sentido == Sentido.VERTICAL_S) {
+            return consultor.consultarDistanciaEnVertical(origen, destino)
+                    == consultor.consultarNumeroPiezasEnHorizontal(origen);
+        }
+        return false;
+    }
+
+    /**
+     * Genera todas las jugadas legales para el turno actual.
+     * <p>
+     * El resultado se guarda en un buffer interno que se reutiliza: su contenido se
+     * sobrescribe en la siguiente llamada.
+     *
+     * @return Buffer con las jugadas legales codificadas.
+     */
+    public BufferJugadas generarJugadasLegales() {
+        return generarJugadasLegales(jugadasLegales);
+    }
+
+    /**
+     * Genera todas las jugadas legales para el turno actual en el buffer indicado,
+     * descartando su contenido previo. Cada pieza del turno tiene como mucho cuatro
+     * jugadas: en horizontal recorre tantas celdas como piezas haya en su columna y en
+     * vertical tantas como piezas haya en su fila.
+     *
+     * @param buffer Buffer donde se guardan las jugadas legales.
+     * @return El mismo buffer recibido.
+     */
+    public BufferJugadas generarJugadasLegales(BufferJugadas buffer) {
+        buffer.vaciar();
+        if (turno == null || estaFinalizadaPartida()) {
+            return buffer;
+        }
+        int numeroFilas = tablero.consultarNumeroFilas();
+        int numeroColumnas = tablero.consultarNumeroColumnas();
+        for (int i = 0; i < numeroFilas; i++) {
+            for (int j = 0; j < numeroColumnas; j++) {
+                Pieza pieza = tablero.consultarPiezaEn(i, j);
+                if (pieza != null && pieza.consultarColor() == turno) {
+                    int distanciaHorizontal = tablero.consultarNumeroPiezasEnColumna(j);
+                    int distanciaVertical = tablero.consultarNumeroPiezasEnFila(i);
+                    if (i - distanciaVertical >= 0) {
+                        buffer.añadir(BufferJugadas.codificar(i, j, i - distanciaVertical, j));
+                    }
+                    if (i + distanciaVertical < numeroFilas) {
+                        buffer.añadir(BufferJugadas.codificar(i, j, i + distanciaVertical, j));
+                    }
+                    if (j + distanciaHorizontal < numeroColumnas) {
+                        buffer.añadir(BufferJugadas.codificar(i, j, i, j + distanciaHorizontal));
+                    }
+                    if (j - distanciaHorizontal >= 0) {
+                        buffer.añadir(BufferJugadas.codificar(i, j, i, j - distanciaHorizontal));
+                    }
+                }
+            }
+        }
+        return buffer;
+    }
+
+    /**
+     * Mueve la pieza de origen hasta el destino empujando las piezas que encuentre.
+     * No hace nada si origen y destino no están en la misma fila o columna.
+     *
+     * @param filaOrigen     Fila de origen.
+     * @param columnaOrigen  Columna de origen.
+     * @param filaDestino    Fila de destino.
+     * @param columnaDestino Columna de destino.
+     */
+    private void mover(int filaOrigen, int columnaOrigen, int filaDestino, int columnaDestino) {
+        Coordenada origen = Coordenada.de(filaOrigen, columnaOrigen);
+        Coordenada destino = Coordenada.de(filaDestino, columnaDestino);
+        Sentido sentido = consultor.calcularSentido(origen, destino);
+        if (sentido != null) {
+            int pasos = Math.max(consultor.consultarDistanciaEnHorizontal(origen, destino),
+                    consultor.consultarDistanciaEnVertical(origen, destino));
+            int fila = filaOrigen;
+            int columna = columnaOrigen;
+            for (int i = 0; i < pasos; i++) {
+                avanzar(fila, columna, sentido);
+                fila += sentido.consultarDesplazamientoEnFilas();
+                columna += sentido.consultarDesplazamientoEnColumnas();
+            }
+        }
+    }
+
+    /**
+     * Obtiene la caja de un color sin clonarla.
+     *
+     * @param color Color de la caja.
+     * @return Caja de dicho color.
+     */
+    Caja obtenerCaja(Color color) {
+        return color == Color.BLANCO ? cajaBlanca : cajaNegra;
+    }
+
+    /**
+     * Avanza una celda la pieza situada en la posición indicada, desplazando en el mismo
+     * sentido la fila de piezas contiguas que tenga delante. Si la última pieza de esa
+     * fila sale del tablero, se guarda en la caja de su color.
+     *
+     * @param fila    Fila de la pieza que avanza.
+     * @param columna Columna de la pieza que avanza.
+     * @param sentido Sentido del avance.
+     */
+    private void avanzar(int fila, int columna, Sentido sentido) {
+        int df = sentido.consultarDesplazamientoEnFilas();
+        int dc = sentido.consultarDesplazamientoEnColumnas();
+        // Busca la primera celda libre (o fuera del tablero) delante de la pieza.
+        int piezasDelante = 0;
+        while (tablero.consultarCodigoCelda(fila + (piezasDelante + 1) * df, columna + (piezasDelante + 1) * dc)
+                != Tablero.CODIGO_CELDA_VACIA) {
+            piezasDelante++;
+        }
+        // Desplaza las piezas desde la más alejada hasta la propia pieza que avanza.
+        for (int k = piezasDelante; k >= 0; k--) {
+            int filaActual = fila + k * df;
+            int columnaActual = columna + k * dc;
+            Pieza pieza = tablero.consultarPiezaEn(filaActual, columnaActual);
+            Coordenada siguiente = Coordenada.de(filaActual + df, columnaActual + dc);
+            tablero.eliminarPieza(Coordenada.de(filaActual, columnaActual));
+            if (tablero.estaEnTablero(siguiente)) {
+                tablero.colocar(pieza, siguiente);
+            } else {
+                obtenerCaja(pieza.consultarColor()).añadir(pieza);
+            }
+        }
+    }
+
+    /**
+     * Devuelve una representación textual del árbitro.
+     *
+     * @return Cadena con los detalles del árbitro.
+     */
+    @Override
+    public String toString() {
+        return "Arbitro{" +
+                "tablero=" + tablero +
+                ", cajaBlanca=" + cajaBlanca +
+                ", cajaNegra=" + cajaNegra +
+                ", turno=" + turno +
+                ", numeroJugada=" + numeroJugada +
+                '}';
+    }
+}
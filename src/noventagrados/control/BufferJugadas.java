@@ -0,0 +1,153 @@
+package noventagrados.control;
+
+import noventagrados.modelo.Jugada;
+import noventagrados.modelo.Tablero;
+import noventagrados.util.Coordenada;
+
+import java.util.Arrays;
+
+/**
+ * Clase que almacena una lista de jugadas codificadas como enteros, para poder generar
+ * jugadas una y otra vez sin crear objetos {@link Jugada}.
+ * <p>
+ * Cada jugada se codifica como {@code (origen << 6) | destino}, donde origen y destino
+ * son los índices {@code fila * 7 + columna} de las celdas correspondientes.
+ */
+public class BufferJugadas {
+
+    /** Número máximo de jugadas: cuatro sentidos por cada una de las 49 celdas. */
+    public static final int CAPACIDAD = 4 * 49;
+
+    private static final int LADO = 7;           // Número de filas y columnas del tablero.
+    private static final int BITS_DESTINO = 6;   // Bits reservados al índice de destino.
+    private static final int MASCARA_DESTINO = (1 << BITS_DESTINO) - 1; // Máscara del índice de destino.
+
+    private final int[] jugadas;  // Jugadas codificadas.
+    private int numeroJugadas;    // Número de jugadas almacenadas.
+
+    /**
+     * Constructor por defecto. Inicializa un buffer vacío.
+     */
+    public BufferJugadas() {
+        jugadas = new int[CAPACIDAD];
+        numeroJugadas = 0;
+    }
+
+    /**
+     * Codifica una jugada a partir de las filas y columnas de origen y destino.
+     *
+     * @param filaOrigen     Fila de origen.
+     * @param columnaOrigen  Columna de origen.
+     * @param filaDestino    Fila de destino.
+     * @param columnaDestino Columna de destino.
+     * @return Jugada codificada.
+     */
+    public static int codificar(int filaOrigen, int columnaOrigen, int filaDestino, int columnaDestino) {
+        return ((filaOrigen * LADO + columnaOrigen) << BITS_DESTINO) | (filaDestino * LADO + columnaDestino);
+    }
+
+    /**
+     * Consulta el índice de la celda de origen de una jugada codificada.
+     *
+     * @param codigo Jugada codificada.
+     * @return Índice {@code fila * 7 + columna} de la celda de origen.
+     */
+    public static int consultarIndiceOrigen(int codigo) {
+        return codigo >>> BITS_DESTINO;
+    }
+
+    /**
+     * Consulta el índice de la celda de destino de una jugada codificada.
+     *
+     * @param codigo Jugada codificada.
+     * @return Índice {@code fila * 7 + columna} de la celda de destino.
+     */
+    public static int consultarIndiceDestino(int codigo) {
+        return codigo & MASCARA_DESTINO;
+    }
+
+    /**
+     * Vacía el buffer sin liberar memoria.
+     */
+    public void vaciar() {
+        numeroJugadas = 0;
+    }
+
+    /**
+     * Añade una jugada codificada al final del buffer.
+     *
+     * @param codigo Jugada codificada.
+     */
+    void añadir(int codigo) {
+        jugadas[numeroJugadas] = codigo;
+        numeroJugadas++;
+    }
+
+    /**
+     * Consulta el número de jugadas almacenadas.
+     *
+     * @return Número de jugadas.
+     */
+    public int consultarNumeroJugadas() {
+        return numeroJugadas;
+    }
+
+    /**
+     * Consulta una jugada codificada.
+     *
+     * @param posicion Posición de la jugada, entre 0 y {@link #consultarNumeroJugadas()} - 1.
+     * @return Jugada codificada.
+     */
+    public int consultarCodigo(int posicion) {
+        return jugadas[posicion];
+    }
+
+    /**
+     * Intercambia dos jugadas del buffer, para reordenarlas sin copiarlas.
+     *
+     * @param posicion1 Posición de la primera jugada.
+     * @param posicion2 Posición de la segunda jugada.
+     */
+    public void intercambiar(int posicion1, int posicion2) {
+        int codigo = jugadas[posicion1];
+        jugadas[posicion1] = jugadas[posicion2];
+        jugadas[posicion2] = codigo;
+    }
+
+    /**
+     * Construye la jugada almacenada en una posición a partir de las celdas de un tablero.
+     *
+     * @param posicion Posición de la jugada.
+     * @param tablero  Tablero del que se consultan las celdas de origen y destino.
+     * @return Nueva jugada.
+     */
+    public Jugada consultarJugada(int posicion, Tablero tablero) {
+        return decodificar(jugadas[posicion], tablero);
+    }
+
+    /**
+     * Construye una jugada a partir de su codificación y de las celdas de un tablero.
+     *
+     * @param codigo  Jugada codificada.
+     * @param tablero Tablero del que se consultan las celdas de origen y destino.
+     * @return Nueva jugada.
+     */
+    public static Jugada decodificar(int codigo, Tablero tablero) {
+        int origen = consultarIndiceOrigen(codigo);
+        int destino = consultarIndiceDestino(codigo);
+        return new Jugada(tablero.consultarCelda(Coordenada.de(origen / LADO, origen % LADO)),
+                tablero.consultarCelda(Coordenada.de(destino / LADO, destino % LADO)));
+    }
+
+    /**
+     * Devuelve una representación textual del buffer.
+     *
+     * @return Cadena con las jugadas codificadas.
+     */
+    @Override
+    public String toString() {
+        return "BufferJugadas{" +
+                "jugadas=" + Arrays.toString(Arrays.copyOf(jugadas, numeroJugadas)) +
+                '}';
+    }
+}
@@ -0,0 +1,167 @@
+package noventagrados.control;
+
+import noventagrados.modelo.Pieza;
+import noventagrados.util.Color;
+import noventagrados.util.TipoPieza;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Clase que representa la caja donde se guardan las piezas de un color que han sido
+ * expulsadas del tablero.
+ */
+public class Caja {
+
+    private static final int CAPACIDAD = 7; // Número máximo de piezas de un color.
+
+    private final Color color;   // Color de las piezas que admite la caja.
+    private Pieza[] piezas;      // Piezas guardadas en la caja.
+    private int numeroPiezas;    // Número de piezas guardadas actualmente.
+    private int[] piezasPorTipo; // Número de piezas guardadas de cada tipo, indexado por ordinal.
+
+    /**
+     * Constructor de la clase Caja. Inicializa una caja vacía.
+     *
+     * @param color Color de las piezas que admite la caja.
+     */
+    public Caja(Color color) {
+        this.color = color;
+        this.piezas = new Pieza[CAPACIDAD];
+        this.numeroPiezas = 0;
+        this.piezasPorTipo = new int[TipoPieza.values().length];
+    }
+
+    /**
+     * Añade una pieza a la caja. Se ignoran las piezas nulas, las de color distinto
+     * al de la caja y las que no caben por estar la caja llena.
+     *
+     * @param pieza Pieza a añadir.
+     */
+    public void añadir(Pieza pieza) {
+        if (pieza != null && pieza.consultarColor() == color && numeroPiezas < CAPACIDAD) {
+            piezas[numeroPiezas] = Pieza.de(pieza.consultarTipoPieza(), color);
+            piezasPorTipo[pieza.consultarTipoPieza().ordinal()]++;
+            numeroPiezas++;
+        }
+    }
+
+    /**
+     * Retira de la caja las últimas piezas añadidas. Se usa para deshacer jugadas.
+     *
+     * @param numero Número de piezas a retirar.
+     */
+    void retirar(int numero) {
+        for (int i = 0; i < numero && numeroPiezas > 0; i++) {
+            numeroPiezas--;
+            piezasPorTipo[piezas[numeroPiezas].consultarTipoPieza().ordinal()]--;
+            piezas[numeroPiezas] = null;
+        }
+    }
+
+    /**
+     * Consulta el tipo de una pieza guardada sin clonarla.
+     *
+     * @param indice Posición de la pieza en orden de llegada, entre 0 y el número de piezas menos uno.
+     * @return Tipo de la pieza en dicha posición.
+     */
+    TipoPieza consultarTipoPieza(int indice) {
+        return piezas[indice].consultarTipoPieza();
+    }
+
+    /**
+     * Crea una copia en profundidad de la caja.
+     *
+     * @return Nueva caja con el mismo color y clones de las piezas guardadas.
+     */
+    public Caja clonar() {
+        Caja clon = new Caja(color);
+        System.arraycopy(piezas, 0, clon.piezas, 0, numeroPiezas);
+        clon.numeroPiezas = numeroPiezas;
+        System.arraycopy(piezasPorTipo, 0, clon.piezasPorTipo, 0, piezasPorTipo.length);
+        return clon;
+    }
+
+    /**
+     * Consulta el color de la caja.
+     *
+     * @return Color de las piezas que admite la caja.
+     */
+    public Color consultarColor() {
+        return color;
+    }
+
+    /**
+     * Consulta las piezas guardadas en la caja.
+     *
+     * @return Nuevo arreglo con clones de las piezas guardadas, sin posiciones vacías.
+     */
+    public Pieza[] consultarPiezas() {
+        Pieza[] copia = new Pieza[numeroPiezas];
+        for (int i = 0; i < numeroPiezas; i++) {
+            copia[i] = piezas[i].clonar();
+        }
+        return copia;
+    }
+
+    /**
+     * Cuenta el número total de piezas guardadas en la caja.
+     *
+     * @return Número de piezas en la caja.
+     */
+    public int contarPiezas() {
+        return numeroPiezas;
+    }
+
+    /**
+     * Cuenta el número de piezas de un tipo guardadas en la caja.
+     *
+     * @param tipoPieza Tipo de pieza a contar.
+     * @return Número de piezas de dicho tipo en la caja.
+     */
+    public int contarPiezas(TipoPieza tipoPieza) {
+        return piezasPorTipo[tipoPieza.ordinal()];
+    }
+
+    /**
+     * Comprueba si dos cajas son iguales.
+     *
+     * @param o Objeto a comparar.
+     * @return true si ambas cajas tienen el mismo color y las mismas piezas, false en caso contrario.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Caja caja = (Caja) o;
+        return numeroPiezas == caja.numeroPiezas && color == caja.color
+                && Arrays.equals(piezas, 0, numeroPiezas, caja.piezas, 0, caja.numeroPiezas);
+    }
+
+    /**
+     * Calcula el código hash de la caja.
+     *
+     * @return Código hash basado en el color y las piezas guardadas.
+     */
+    @Override
+    public int hashCode() {
+        int result = Objects.hash(color, numeroPiezas);
+        for (int i = 0; i < numeroPiezas; i++) {
+            result = 31 * result + piezas[i].hashCode();
+        }
+        return result;
+    }
+
+    /**
+     * Devuelve una representación textual de la caja.
+     *
+     * @return Cadena con los detalles de la caja.
+     */
+    @Override
+    public String toString() {
+        return "Caja{" +
+                "color=" + color +
+                ", piezas=" + Arrays.toString(Arrays.copyOf(piezas, numeroPiezas)) +
+                '}';
+    }
+}
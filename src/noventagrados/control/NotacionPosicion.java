@@ -0,0 +1,226 @@
+package noventagrados.control;
+
+import noventagrados.modelo.Pieza;
+import noventagrados.modelo.Tablero;
+import noventagrados.util.Color;
+import noventagrados.util.Coordenada;
+import noventagrados.util.TipoPieza;
+
+/**
+ * Clase que convierte el estado completo de una partida a una notación de texto de una
+ * línea, similar a FEN, y la lee de vuelta.
+ * <p>
+ * La notación tiene cuatro campos separados por un espacio:
+ * <ol>
+ *     <li>Tablero: las filas de la 0 a la 6 separadas por '/'. Cada pieza se escribe con la
+ *     letra de su tipo, en mayúscula si es blanca y en minúscula si es negra, y cada grupo de
+ *     celdas vacías consecutivas con un dígito del 1 al 7.</li>
+ *     <li>Turno: 'b' blancas, 'n' negras o '-' sin turno.</li>
+ *     <li>Número de jugada en decimal.</li>
+ *     <li>Cajas: las piezas de la caja blanca y después las de la caja negra, en orden de
+ *     llegada y con las mismas letras que el tablero, o '-' si ambas están vacías.</li>
+ * </ol>
+ * Por ejemplo, la posición inicial es {@value #NOTACION_INICIAL}.
+ */
+public class NotacionPosicion {
+
+    /** Notación de la posición inicial de la partida. */
+    public static final String NOTACION_INICIAL = "RPPP3/P6/P6/P5p/6p/6p/3pppr b 0 -";
+
+    private static final int LADO = 7;                // Número de filas y columnas del tablero.
+    private static final char SEPARADOR_FILAS = '/';
+    private static final char SEPARADOR_CAMPOS = ' ';
+    private static final char VACIO = '-';             // Turno nulo o cajas vacías.
+    private static final char TURNO_BLANCO = 'b';
+    private static final char TURNO_NEGRO = 'n';
+    private static final int CAPACIDAD_CAJA = 7;       // Número máximo de piezas de un color.
+    private static final int MAXIMO_CIFRAS = 9;        // Cifras del número de jugada que caben en un int.
+    private static final Pieza[] PIEZAS_POR_LETRA = new Pieza[128]; // Pieza representada por cada letra ASCII.
+
+    static {
+        for (TipoPieza tipoPieza : TipoPieza.values()) {
+            for (Color color : Color.values()) {
+                PIEZAS_POR_LETRA[aLetra(tipoPieza, color)] = Pieza.de(tipoPieza, color);
+            }
+        }
+    }
+
+    /**
+     * Constructor oculto: clase con métodos estáticos.
+     */
+    private NotacionPosicion() {
+    }
+
+    /**
+     * Escribe la notación del estado de una partida.
+     *
+     * @param arbitro Árbitro con la partida.
+     * @return Notación de la partida.
+     */
+    public static String escribir(Arbitro arbitro) {
+        return escribir(arbitro, new StringBuilder(64)).toString();
+    }
+
+    /**
+     * Escribe la notación del estado de una partida al final de un buffer.
+     *
+     * @param arbitro Árbitro con la partida.
+     * @param salida  Buffer donde se escribe la notación.
+     * @return El mismo buffer recibido.
+     */
+    public static StringBuilder escribir(Arbitro arbitro, StringBuilder salida) {
+        Tablero tablero = arbitro.obtenerTablero();
+        for (int i = 0; i < LADO; i++) {
+            if (i > 0) {
+                salida.append(SEPARADOR_FILAS);
+            }
+            int vacias = 0;
+            for (int j = 0; j < LADO; j++) {
+                Pieza pieza = tablero.consultarPiezaEn(i, j);
+                if (pieza == null) {
+                    vacias++;
+                } else {
+                    if (vacias > 0) {
+                        salida.append((char) ('0' + vacias));
+                        vacias = 0;
+                    }
+                    salida.append(aLetra(pieza.consultarTipoPieza(), pieza.consultarColor()));
+                }
+            }
+            if (vacias > 0) {
+                salida.append((char) ('0' + vacias));
+            }
+        }
+        Color turno = arbitro.consultarTurno();
+        salida.append(SEPARADOR_CAMPOS)
+                .append(turno == null ? VACIO : turno == Color.BLANCO ? TURNO_BLANCO : TURNO_NEGRO)
+                .append(SEPARADOR_CAMPOS)
+                .append(arbitro.consultarNumeroJugada())
+                .append(SEPARADOR_CAMPOS);
+        int longitud = salida.length();
+        for (Color color : Color.values()) {
+            Caja caja = arbitro.obtenerCaja(color);
+            for (int i = 0; i < caja.contarPiezas(); i++) {
+                salida.append(aLetra(caja.consultarTipoPieza(i), color));
+            }
+        }
+        if (salida.length() == longitud) {
+            salida.append(VACIO);
+        }
+        return salida;
+    }
+
+    /**
+     * Lee una notación y crea un árbitro con la partida que describe.
+     *
+     * @param notacion Notación de la partida.
+     * @return Nuevo árbitro con la partida, o null si la notación no es válida.
+     */
+    public static Arbitro leer(CharSequence notacion) {
+        if (notacion == null) {
+            return null;
+        }
+        Arbitro arbitro = new Arbitro(new Tablero());
+        Tablero tablero = arbitro.obtenerTablero();
+        int longitud = notacion.length();
+        int posicion = 0;
+        // Tablero.
+        for (int i = 0; i < LADO; i++) {
+            if (i > 0) {
+                if (posicion >= longitud || notacion.charAt(posicion) != SEPARADOR_FILAS) {
+                    return null;
+                }
+                posicion++;
+            }
+            int j = 0;
+            while (j < LADO) {
+                if (posicion >= longitud) {
+                    return null;
+                }
+                char caracter = notacion.charAt(posicion++);
+                if (caracter >= '1' && caracter <= '7') {
+                    j += caracter - '0';
+                } else {
+                    Pieza pieza = dePieza(caracter);
+                    if (pieza == null) {
+                        return null;
+                    }
+                    tablero.colocar(pieza, Coordenada.de(i, j));
+                    j++;
+                }
+            }
+            if (j != LADO) {
+                return null;
+            }
+        }
+        // Turno.
+        if (posicion + 2 >= longitud || notacion.charAt(posicion) != SEPARADOR_CAMPOS
+                || notacion.charAt(posicion + 2) != SEPARADOR_CAMPOS) {
+            return null;
+        }
+        Color turno;
+        switch (notacion.charAt(posicion + 1)) {
+            case TURNO_BLANCO -> turno = Color.BLANCO;
+            case TURNO_NEGRO -> turno = Color.NEGRO;
+            case VACIO -> turno = null;
+            default -> {
+                return null;
+            }
+        }
+        posicion += 3;
+        // Número de jugada.
+        int numeroJugada = 0;
+        int inicioNumero = posicion;
+        while (posicion < longitud && notacion.charAt(posicion) >= '0' && notacion.charAt(posicion) <= '9') {
+            if (posicion - inicioNumero == MAXIMO_CIFRAS) {
+                return null;
+            }
+            numeroJugada = numeroJugada * 10 + notacion.charAt(posicion) - '0';
+            posicion++;
+        }
+        if (posicion == inicioNumero || posicion + 1 >= longitud || notacion.charAt(posicion) != SEPARADOR_CAMPOS) {
+            return null;
+        }
+        posicion++;
+        // Cajas.
+        if (notacion.charAt(posicion) == VACIO) {
+            posicion++;
+        } else {
+            while (posicion < longitud) {
+                Pieza pieza = dePieza(notacion.charAt(posicion++));
+                Caja caja = pieza == null ? null : arbitro.obtenerCaja(pieza.consultarColor());
+                if (caja == null || caja.contarPiezas() == CAPACIDAD_CAJA) {
+                    return null;
+                }
+                caja.añadir(pieza);
+            }
+        }
+        if (posicion != longitud) {
+            return null;
+        }
+        arbitro.fijarEstado(turno, numeroJugada);
+        return arbitro;
+    }
+
+    /**
+     * Obtiene la letra de una pieza: la de su tipo, en minúscula si es negra.
+     *
+     * @param tipoPieza Tipo de la pieza.
+     * @param color     Color de la pieza.
+     * @return Letra de la pieza.
+     */
+    private static char aLetra(TipoPieza tipoPieza, Color color) {
+        char letra = tipoPieza.toChar();
+        return color == Color.BLANCO ? letra : Character.toLowerCase(letra);
+    }
+
+    /**
+     * Obtiene la pieza representada por una letra.
+     *
+     * @param letra Letra de la pieza.
+     * @return Pieza compartida correspondiente, o null si la letra no representa ninguna pieza.
+     */
+    private static Pieza dePieza(char letra) {
+        return letra < PIEZAS_POR_LETRA.length ? PIEZAS_POR_LETRA[letra] : null;
+    }
+}
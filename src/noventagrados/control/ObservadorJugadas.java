@@ -0,0 +1,18 @@
+package noventagrados.control;
+
+import noventagrados.modelo.Jugada;
+
+/**
+ * Interfaz para recibir las jugadas que se realizan en una partida a medida que el
+ * {@link Arbitro} las empuja, por ejemplo para registrarlas.
+ */
+@FunctionalInterface
+public interface ObservadorJugadas {
+
+    /**
+     * Se invoca después de realizar una jugada con {@link Arbitro#empujar(Jugada)}.
+     *
+     * @param jugada Jugada realizada.
+     */
+    void jugadaRealizada(Jugada jugada);
+}
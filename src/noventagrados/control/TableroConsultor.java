@@ -0,0 +1,141 @@
+package noventagrados.control;
+
+import noventagrados.modelo.Tablero;
+import noventagrados.util.Color;
+import noventagrados.util.Coordenada;
+import noventagrados.util.Sentido;
+import noventagrados.util.TipoPieza;
+
+/**
+ * Clase que realiza consultas sobre el estado de un tablero sin modificarlo.
+ * Mantiene una referencia al tablero, por lo que las consultas reflejan siempre
+ * su contenido actual. Los recuentos de piezas se delegan en el tablero, que los
+ * obtiene en tiempo constante a partir de sus máscaras.
+ */
+public class TableroConsultor {
+
+    private static final int FILA_CENTRO = 3;    // Fila de la celda central.
+    private static final int COLUMNA_CENTRO = 3; // Columna de la celda central.
+
+    private final Tablero tablero; // Tablero sobre el que se realizan las consultas.
+
+    /**
+     * Constructor de la clase TableroConsultor.
+     *
+     * @param tablero Tablero a consultar.
+     */
+    public TableroConsultor(Tablero tablero) {
+        this.tablero = tablero;
+    }
+
+    /**
+     * Calcula el sentido del movimiento entre dos coordenadas.
+     *
+     * @param origen  Coordenada de origen.
+     * @param destino Coordenada de destino.
+     * @return Sentido del movimiento, o null si las coordenadas coinciden o no están en
+     *         la misma fila o columna.
+     */
+    public Sentido calcularSentido(Coordenada origen, Coordenada destino) {
+        int diferenciaFilas = destino.fila() - origen.fila();
+        int diferenciaColumnas = destino.columna() - origen.columna();
+        Sentido sentido = null;
+        if (diferenciaFilas == 0 && diferenciaColumnas != 0) {
+            sentido = diferenciaColumnas > 0 ? Sentido.HORIZONTAL_E : Sentido.HORIZONTAL_O;
+        } else if (diferenciaColumnas == 0 && diferenciaFilas != 0) {
+            sentido = diferenciaFilas > 0 ? Sentido.VERTICAL_S : Sentido.VERTICAL_N;
+        }
+        return sentido;
+    }
+
+    /**
+     * Consulta la distancia en horizontal entre dos coordenadas de la misma fila.
+     *
+     * @param origen  Coordenada de origen.
+     * @param destino Coordenada de destino.
+     * @return Número de columnas entre ambas coordenadas, o -1 si no están en la misma fila.
+     */
+    public int consultarDistanciaEnHorizontal(Coordenada origen, Coordenada destino) {
+        if (origen.fila() != destino.fila()) {
+            return -1;
+        }
+        return Math.abs(destino.columna() - origen.columna());
+    }
+
+    /**
+     * Consulta la distancia en vertical entre dos coordenadas de la misma columna.
+     *
+     * @param origen  Coordenada de origen.
+     * @param destino Coordenada de destino.
+     * @return Número de filas entre ambas coordenadas, o -1 si no están en la misma columna.
+     */
+    public int consultarDistanciaEnVertical(Coordenada origen, Coordenada destino) {
+        if (origen.columna() != destino.columna()) {
+            return -1;
+        }
+        return Math.abs(destino.fila() - origen.fila());
+    }
+
+    /**
+     * Consulta el número de piezas de un tipo y color que hay en el tablero.
+     *
+     * @param tipoPieza Tipo de pieza.
+     * @param color     Color de la pieza.
+     * @return Número de piezas de ese tipo y color.
+     */
+    public int consultarNumeroPiezas(TipoPieza tipoPieza, Color color) {
+        return tablero.consultarNumeroPiezas(tipoPieza, color);
+    }
+
+    /**
+     * Consulta el número de piezas, de cualquier color, que hay en la fila de una coordenada.
+     *
+     * @param coordenada Coordenada cuya fila se consulta.
+     * @return Número de piezas en dicha fila.
+     */
+    public int consultarNumeroPiezasEnHorizontal(Coordenada coordenada) {
+        return tablero.consultarNumeroPiezasEnFila(coordenada.fila());
+    }
+
+    /**
+     * Consulta el número de piezas, de cualquier color, que hay en la columna de una coordenada.
+     *
+     * @param coordenada Coordenada cuya columna se consulta.
+     * @return Número de piezas en dicha columna.
+     */
+    public int consultarNumeroPiezasEnVertical(Coordenada coordenada) {
+        return tablero.consultarNumeroPiezasEnColumna(coordenada.columna());
+    }
+
+    /**
+     * Comprueba si la reina de un color está en la celda central del tablero.
+     *
+     * @param color Color de la reina.
+     * @return true si la reina de dicho color ocupa el centro, false en caso contrario.
+     */
+    public boolean estaReinaEnElCentro(Color color) {
+        return tablero.estaPiezaEn(TipoPieza.REINA, color, FILA_CENTRO, COLUMNA_CENTRO);
+    }
+
+    /**
+     * Comprueba si la reina de un color está sobre el tablero.
+     *
+     * @param color Color de la reina.
+     * @return true si hay al menos una reina de dicho color en el tablero, false en caso contrario.
+     */
+    public boolean hayReina(Color color) {
+        return tablero.consultarCoordenadaReina(color) != null;
+    }
+
+    /**
+     * Devuelve una representación textual del consultor.
+     *
+     * @return Cadena con los detalles del consultor.
+     */
+    @Override
+    public String toString() {
+        return "TableroConsultor{" +
+                "tablero=" + tablero +
+                '}';
+    }
+}
@@ -11,11 +11,11 @@ public record Jugada(Celda origen, Celda destino) {
     /**
      * Convierte la jugada a una representación textual.
      *
-     * @return Cadena con el formato "origen-destino", donde origen y destino
-     *         son las coordenadas de las celdas involucradas.
+     * @return Cadena con el formato "filacolumna-filacolumna" de las coordenadas de
+     *         origen y destino, por ejemplo "10-06".
      */
     public String aTexto() {
-        return origen.consultarCoordenada().toString() + "-" + destino.consultarCoordenada().toString();
+        return origen.consultarCoordenada().aTexto() + "-" + destino.consultarCoordenada().aTexto();
     }
 }
 
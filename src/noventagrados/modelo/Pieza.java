@@ -5,15 +5,26 @@ import noventagrados.util.TipoPieza;
 
 import java.util.Objects;
 
-import java.util.Objects;
-
 /**
  * Clase que representa una pieza de un juego, con un tipo y un color específicos.
+ * <p>
+ * Al ser inmutable y existir solo cuatro combinaciones de tipo y color, se mantiene una
+ * instancia compartida de cada una, accesible mediante {@link #de(TipoPieza, Color)}.
  */
 public class Pieza {
 
-    private TipoPieza tipoPieza; // Tipo de la pieza (e.g., PEON, REINA).
-    private Color color;         // Color de la pieza (e.g., BLANCO, NEGRO).
+    private static final Pieza[][] PIEZAS = new Pieza[TipoPieza.values().length][Color.values().length]; // Instancias compartidas.
+
+    static {
+        for (TipoPieza tipoPieza : TipoPieza.values()) {
+            for (Color color : Color.values()) {
+                PIEZAS[tipoPieza.ordinal()][color.ordinal()] = new Pieza(tipoPieza, color);
+            }
+        }
+    }
+
+    private final TipoPieza tipoPieza; // Tipo de la pieza (e.g., PEON, REINA).
+    private final Color color;         // Color de la pieza (e.g., BLANCO, NEGRO).
 
     /**
      * Constructor de la clase Pieza.
@@ -26,17 +37,30 @@ public class Pieza {
         this.color = color;
     }
 
+    /**
+     * Devuelve la instancia compartida de la pieza con el tipo y color indicados.
+     * No crea objetos nuevos.
+     *
+     * @param tipoPieza Tipo de la pieza.
+     * @param color     Color de la pieza.
+     * @return Pieza compartida con dicho tipo y color.
+     */
+    public static Pieza de(TipoPieza tipoPieza, Color color) {
+        return PIEZAS[tipoPieza.ordinal()][color.ordinal()];
+    }
+
     /**
      * Devuelve una representación textual de la pieza como concatenación de tipo y color.
      *
      * @return Cadena que representa el tipo y color de la pieza.
      */
     public String aTexto() {
-        return tipoPieza.toString() + color.toString();
+        return "" + tipoPieza.toChar() + color.toChar();
     }
 
     /**
      * Crea una copia de la pieza actual.
+     * Si no se necesita una instancia distinta, es preferible {@link #de(TipoPieza, Color)}.
      *
      * @return Nueva instancia de la misma pieza.
      */
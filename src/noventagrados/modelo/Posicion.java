@@ -0,0 +1,162 @@
+package noventagrados.modelo;
+
+import noventagrados.util.Color;
+import noventagrados.util.Coordenada;
+import noventagrados.util.TipoPieza;
+
+/**
+ * Clase que representa una posición de la partida: el tablero, el color con el turno y el
+ * número de jugada. Se puede codificar en {@value #BYTES} bytes para guardarla o enviarla.
+ * <p>
+ * Formato binario:
+ * <ul>
+ *     <li>Byte 0: turno (0 sin turno, 1 blancas, 2 negras) en los bits 0-1; el resto a 0.</li>
+ *     <li>Bytes 1-2: número de jugada sin signo, el byte más significativo primero.</li>
+ *     <li>Bytes 3-15: 2 bits por celda en orden {@code fila * 7 + columna}, empezando por los
+ *     bits más significativos de cada byte: 00 vacía, 01 peón blanco, 10 peón negro y 11
+ *     reina. Los 6 bits sobrantes del último byte guardan el color de las reinas: el bit 1
+ *     está activo si la primera reina en orden de celdas es negra y el bit 0 si lo es
+ *     la segunda. Los bits 2-5 y los bits de color de reinas que no existen valen 0.</li>
+ * </ul>
+ *
+ * @param tablero      Tablero de la posición.
+ * @param turno        Color con el turno, o null si aún no hay turno.
+ * @param numeroJugada Número de jugadas realizadas, entre 0 y {@value #NUMERO_JUGADA_MAXIMO}.
+ */
+public record Posicion(Tablero tablero, Color turno, int numeroJugada) {
+
+    /** Número de bytes de una posición codificada. */
+    public static final int BYTES = 16;
+
+    /** Número de jugada máximo que se puede codificar. */
+    public static final int NUMERO_JUGADA_MAXIMO = 0xFFFF;
+
+    private static final int BYTES_CABECERA = 3; // Turno y número de jugada.
+    private static final int LADO = 7;           // Número de filas y columnas del tablero.
+    private static final int NUMERO_CELDAS = LADO * LADO;
+    private static final int CELDAS_POR_BYTE = 4;
+    private static final int CODIGO_VACIA = 0;
+    private static final int CODIGO_PEON_BLANCO = 1;
+    private static final int CODIGO_PEON_NEGRO = 2;
+    private static final int CODIGO_REINA = 3;
+    private static final int MAXIMO_REINAS = 2;  // Reinas cuyo color cabe en los bits sobrantes.
+    private static final int MASCARA_RESERVADA = 0x3C; // Bits sin uso del último byte.
+
+    /**
+     * Codifica la posición en un nuevo arreglo de {@value #BYTES} bytes.
+     *
+     * @return Posición codificada, o null si no se puede codificar por tener más de dos
+     *         reinas o un número de jugada fuera de rango.
+     */
+    public byte[] codificar() {
+        byte[] destino = new byte[BYTES];
+        return codificar(destino, 0) ? destino : null;
+    }
+
+    /**
+     * Codifica la posición en un arreglo existente, sin reservar memoria.
+     *
+     * @param destino       Arreglo donde se escribe la posición.
+     * @param desplazamiento Posición del arreglo donde empieza la codificación.
+     * @return true si se ha codificado, false si la posición no se puede codificar por
+     *         tener más de dos reinas o un número de jugada fuera de rango, o si no cabe.
+     */
+    public boolean codificar(byte[] destino, int desplazamiento) {
+        if (tablero == null || numeroJugada < 0 || numeroJugada > NUMERO_JUGADA_MAXIMO
+                || destino == null || desplazamiento < 0 || desplazamiento > destino.length - BYTES
+                || tablero.consultarNumeroPiezas(TipoPieza.REINA, Color.BLANCO)
+                + tablero.consultarNumeroPiezas(TipoPieza.REINA, Color.NEGRO) > MAXIMO_REINAS) {
+            return false;
+        }
+        destino[desplazamiento] = (byte) (turno == null ? 0 : turno.ordinal() + 1);
+        destino[desplazamiento + 1] = (byte) (numeroJugada >>> 8);
+        destino[desplazamiento + 2] = (byte) numeroJugada;
+        int coloresReinas = 0;
+        int reinas = 0;
+        int actual = 0;
+        for (int celda = 0; celda < NUMERO_CELDAS; celda++) {
+            Pieza pieza = tablero.consultarPiezaEn(celda / LADO, celda % LADO);
+            int codigo = CODIGO_VACIA;
+            if (pieza != null && pieza.consultarTipoPieza() == TipoPieza.REINA) {
+                codigo = CODIGO_REINA;
+                if (pieza.consultarColor() == Color.NEGRO) {
+                    coloresReinas |= 1 << (MAXIMO_REINAS - 1 - reinas);
+                }
+                reinas++;
+            } else if (pieza != null) {
+                codigo = pieza.consultarColor() == Color.BLANCO ? CODIGO_PEON_BLANCO : CODIGO_PEON_NEGRO;
+            }
+            actual = actual << 2 | codigo;
+            if (celda % CELDAS_POR_BYTE == CELDAS_POR_BYTE - 1) {
+                destino[desplazamiento + BYTES_CABECERA + celda / CELDAS_POR_BYTE] = (byte) actual;
+                actual = 0;
+            }
+        }
+        // La celda 48 ocupa los bits 6-7 del último byte.
+        destino[desplazamiento + BYTES - 1] = (byte) (actual << 6 | coloresReinas);
+        return true;
+    }
+
+    /**
+     * Decodifica una posición de un arreglo de {@value #BYTES} bytes.
+     *
+     * @param origen Posición codificada.
+     * @return Posición decodificada, o null si los datos no son válidos.
+     */
+    public static Posicion decodificar(byte[] origen) {
+        return origen == null || origen.length != BYTES ? null : decodificar(origen, 0);
+    }
+
+    /**
+     * Decodifica una posición a partir de un desplazamiento de un arreglo.
+     *
+     * @param origen         Arreglo con la posición codificada.
+     * @param desplazamiento Posición del arreglo donde empieza la codificación.
+     * @return Posición decodificada, o null si los datos no son válidos.
+     */
+    public static Posicion decodificar(byte[] origen, int desplazamiento) {
+        if (origen == null || desplazamiento < 0 || desplazamiento > origen.length - BYTES) {
+            return null;
+        }
+        int codigoTurno = origen[desplazamiento];
+        if (codigoTurno < 0 || codigoTurno > Color.values().length) {
+            return null;
+        }
+        Color turno = codigoTurno == 0 ? null : Color.values()[codigoTurno - 1];
+        int numeroJugada = (origen[desplazamiento + 1] & 0xFF) << 8 | origen[desplazamiento + 2] & 0xFF;
+        if ((origen[desplazamiento + BYTES - 1] & MASCARA_RESERVADA) != 0) {
+            return null;
+        }
+        int coloresReinas = origen[desplazamiento + BYTES - 1] & ((1 << MAXIMO_REINAS) - 1);
+        Tablero tablero = new Tablero();
+        int reinas = 0;
+        for (int celda = 0; celda < NUMERO_CELDAS; celda++) {
+            int indiceByte = desplazamiento + BYTES_CABECERA + celda / CELDAS_POR_BYTE;
+            int codigo = origen[indiceByte] >>> (2 * (CELDAS_POR_BYTE - 1 - celda % CELDAS_POR_BYTE)) & 0x3;
+            Pieza pieza = switch (codigo) {
+                case CODIGO_PEON_BLANCO -> Pieza.de(TipoPieza.PEON, Color.BLANCO);
+                case CODIGO_PEON_NEGRO -> Pieza.de(TipoPieza.PEON, Color.NEGRO);
+                case CODIGO_REINA -> {
+                    if (reinas == MAXIMO_REINAS) {
+                        yield null;
+                    }
+                    boolean negra = (coloresReinas & 1 << (MAXIMO_REINAS - 1 - reinas)) != 0;
+                    reinas++;
+                    yield Pieza.de(TipoPieza.REINA, negra ? Color.NEGRO : Color.BLANCO);
+                }
+                default -> null;
+            };
+            if (codigo != CODIGO_VACIA && pieza == null) {
+                return null;
+            }
+            if (pieza != null) {
+                tablero.colocar(pieza, Coordenada.de(celda / LADO, celda % LADO));
+            }
+        }
+        // Los bits de color de las reinas que no están en el tablero deben valer 0.
+        if ((coloresReinas & ((1 << (MAXIMO_REINAS - reinas)) - 1)) != 0) {
+            return null;
+        }
+        return new Posicion(tablero, turno, numeroJugada);
+    }
+}
@@ -1,20 +1,65 @@
 package noventagrados.modelo;
 
+import noventagrados.util.Color;
 import noventagrados.util.Coordenada;
+import noventagrados.util.TipoPieza;
 
 import java.util.Arrays;
-import java.util.Objects;
-
-import java.util.Arrays;
-import java.util.Objects;
+import java.util.Random;
 
 /**
  * Clase que representa un tablero con celdas para un juego de mesa.
  * El tablero es una matriz de 7x7 celdas, donde cada celda puede contener una pieza o estar vacía.
+ * <p>
+ * Las 49 celdas caben en un único {@code long}, por lo que el estado se guarda como una
+ * máscara de bits por cada combinación de tipo de pieza y color. El bit
+ * {@code fila * 7 + columna} de una máscara está activo si esa celda contiene una pieza
+ * de dicho tipo y color. Las celdas se construyen bajo demanda al consultarlas.
+ * <p>
+ * Además se mantiene de forma incremental una clave Zobrist de la posición: el XOR de una
+ * clave aleatoria por cada (celda, tipo de pieza, color) ocupada, que se actualiza al
+ * colocar y eliminar piezas sin recorrer el tablero. La representación textual también se
+ * guarda hasta que el tablero vuelve a cambiar.
+ * <p>
+ * También se mantiene la máscara de celdas ocupadas, de modo que el número de piezas de
+ * una fila, una columna o un tipo y color se obtiene con un único recuento de bits.
  */
 public class Tablero {
 
-    private Celda[][] tablero;         // Matriz que representa las celdas del tablero.
+    /** Código de celda que indica que la celda está vacía. */
+    public static final byte CODIGO_CELDA_VACIA = 0;
+
+    private static final int NUMERO_COLORES = Color.values().length; // Número de colores de pieza.
+    private static final int NUMERO_MASCARAS = TipoPieza.values().length * NUMERO_COLORES; // Una máscara por tipo y color.
+    private static final Pieza[] PIEZAS = new Pieza[NUMERO_MASCARAS]; // Pieza compartida asociada a cada máscara.
+    private static final int NUMERO_CELDAS = 49; // Número total de celdas del tablero.
+    private static final long SEMILLA_ZOBRIST = 0x90A6D05L; // Semilla fija para obtener siempre las mismas claves.
+    private static final long[][] CLAVES_ZOBRIST = new long[NUMERO_CELDAS][NUMERO_MASCARAS]; // Clave por celda, tipo y color.
+    private static final long CLAVE_ZOBRIST_TURNO_NEGRO; // Clave que se añade cuando mueven las negras.
+    private static final long MASCARA_PRIMERA_FILA = 0x7FL; // Bits de las celdas de la fila 0.
+    private static final long MASCARA_PRIMERA_COLUMNA = 0x40810204081L; // Bits de las celdas de la columna 0.
+    private static final int LONGITUD_TEXTO = 8 * 24; // Caracteres del texto del tablero: 8 líneas de 24.
+
+    static {
+        for (TipoPieza tipoPieza : TipoPieza.values()) {
+            for (Color color : Color.values()) {
+                PIEZAS[calcularIndiceMascara(tipoPieza, color)] = Pieza.de(tipoPieza, color);
+            }
+        }
+        Random aleatorio = new Random(SEMILLA_ZOBRIST);
+        for (int i = 0; i < NUMERO_CELDAS; i++) {
+            for (int j = 0; j < NUMERO_MASCARAS; j++) {
+                CLAVES_ZOBRIST[i][j] = aleatorio.nextLong();
+            }
+        }
+        CLAVE_ZOBRIST_TURNO_NEGRO = aleatorio.nextLong();
+    }
+
+    private long[] mascaras;           // Máscaras de bits con las piezas de cada tipo y color.
+    private long claveZobrist;         // Clave Zobrist de las piezas colocadas, mantenida incrementalmente.
+    private long ocupadas;             // Máscara de las celdas ocupadas, unión de todas las máscaras.
+    private String texto;              // Último texto generado, o null si el tablero ha cambiado desde entonces.
+    private StringBuilder bufferTexto; // Buffer reutilizado para generar el texto.
     private final int NUMEROFILAS = 7; // Número total de filas en el tablero.
     private final int NUMEROCOLUMNAS = 7; // Número total de columnas en el tablero.
 
@@ -22,48 +67,55 @@ public class Tablero {
      * Constructor por defecto. Inicializa un tablero vacío de dimensiones 7x7.
      */
     public Tablero() {
-        tablero = new Celda[7][7];
+        mascaras = new long[NUMERO_MASCARAS];
     }
 
     /**
      * Devuelve una representación textual del tablero.
      * Las celdas vacías se representan como "--".
+     * <p>
+     * El texto se guarda y se reutiliza mientras el tablero no cambie.
      *
      * @return Cadena con la representación textual del tablero.
      */
     public String aTexto() {
-        String[][] textoString = new String[][]{
-                {"0", "--", "--", "--", "--", "--", "--", "--"},
-                {"1", "--", "--", "--", "--", "--", "--", "--"},
-                {"2", "--", "--", "--", "--", "--", "--", "--"},
-                {"3", "--", "--", "--", "--", "--", "--", "--"},
-                {"4", "--", "--", "--", "--", "--", "--", "--"},
-                {"5", "--", "--", "--", "--", "--", "--", "--"},
-                {"6", "--", "--", "--", "--", "--", "--", "--"},
-                {" ", " 0", " 1", " 2", " 3", " 4", " 5", " 6"}
-        };
-
-        // Reemplaza las celdas vacías por las piezas correspondientes si existen.
-        for (int i = 0; i < 7; i++) {
-            for (int j = 0; j < 7; j++) {
-                if (!tablero[i][j].estaVacia()) {
-                    textoString[i][j] = tablero[i][j].consultarPieza().aTexto();
-                }
+        if (texto == null) {
+            if (bufferTexto == null) {
+                bufferTexto = new StringBuilder(LONGITUD_TEXTO);
             }
+            bufferTexto.setLength(0);
+            texto = aTexto(bufferTexto).toString();
         }
+        return texto;
+    }
 
-        // Genera una cadena que representa todo el tablero.
-        String stringTablero = "";
-
-        for (int i = 0; i < 7; i++) {
-            for (int j = 0; j < 7; j++) {
-                stringTablero = stringTablero + textoString[i][j];
-                stringTablero = stringTablero + " ";
+    /**
+     * Escribe la representación textual del tablero, la misma que {@link #aTexto()},
+     * al final del buffer indicado en una sola pasada.
+     *
+     * @param salida Buffer donde se escribe el texto.
+     * @return El mismo buffer recibido.
+     */
+    public StringBuilder aTexto(StringBuilder salida) {
+        for (int i = 0; i < NUMEROFILAS; i++) {
+            salida.append((char) ('0' + i)).append(' ');
+            for (int j = 0; j < NUMEROCOLUMNAS; j++) {
+                byte codigo = consultarCodigoCelda(i, j);
+                if (codigo == CODIGO_CELDA_VACIA) {
+                    salida.append("-- ");
+                } else {
+                    Pieza pieza = PIEZAS[codigo - 1];
+                    salida.append(pieza.consultarTipoPieza().toChar()).append(pieza.consultarColor().toChar())
+                            .append(' ');
+                }
             }
-            stringTablero = stringTablero + "\n";
+            salida.append('\n');
         }
-
-        return stringTablero;
+        salida.append("  ");
+        for (int j = 0; j < NUMEROCOLUMNAS; j++) {
+            salida.append(' ').append((char) ('0' + j)).append(' ');
+        }
+        return salida.append('\n');
     }
 
     /**
@@ -73,23 +125,29 @@ public class Tablero {
      */
     public Tablero clonar() {
         Tablero clonTablero = new Tablero();
-        for (int i = 0; i < 7; i++) {
-            for (int j = 0; j < 7; j++) {
-                clonTablero.tablero[i][j] = this.tablero[i][j].clonar();
-            }
-        }
+        System.arraycopy(this.mascaras, 0, clonTablero.mascaras, 0, NUMERO_MASCARAS);
+        clonTablero.claveZobrist = this.claveZobrist;
+        clonTablero.ocupadas = this.ocupadas;
+        clonTablero.texto = this.texto;
         return clonTablero;
     }
 
     /**
      * Coloca una pieza en una celda específica del tablero.
+     * Si la celda estaba ocupada, la pieza anterior se sustituye.
      *
      * @param pieza      Pieza a colocar.
      * @param coordenada Coordenada de la celda donde se colocará la pieza.
      */
     public void colocar(Pieza pieza, Coordenada coordenada) {
-        if (coordenada != null && estaEnTablero(coordenada)) {
-            tablero[coordenada.fila()][coordenada.columna()].colocar(pieza);
+        if (pieza != null && coordenada != null && estaEnTablero(coordenada)) {
+            int indice = calcularIndice(coordenada.fila(), coordenada.columna());
+            int indiceMascara = calcularIndiceMascara(pieza.consultarTipoPieza(), pieza.consultarColor());
+            vaciar(indice);
+            mascaras[indiceMascara] |= 1L << indice;
+            ocupadas |= 1L << indice;
+            texto = null;
+            claveZobrist ^= CLAVES_ZOBRIST[indice][indiceMascara];
         }
     }
 
@@ -101,8 +159,7 @@ public class Tablero {
      */
     public Celda consultarCelda(Coordenada coordenada) {
         if (coordenada != null && estaEnTablero(coordenada)) {
-            Celda celdaAClonar = tablero[coordenada.fila()][coordenada.columna()];
-            return celdaAClonar.clonar();
+            return construirCelda(coordenada);
         }
         return null;
     }
@@ -113,13 +170,13 @@ public class Tablero {
      * @return Arreglo de celdas clonadas del tablero.
      */
     public Celda[] consultarCeldas() {
-        Celda[] celdas = new Celda[49];
+        Celda[] celdas = new Celda[NUMEROFILAS * NUMEROCOLUMNAS];
         int contadorCeldasClonadas = 0;
 
-        // Recorre todas las filas y columnas para clonar las celdas.
-        for (int i = 0; i < 7; i++) {
-            for (int j = 0; j < 7; j++) {
-                celdas[contadorCeldasClonadas] = tablero[i][j].clonar();
+        // Recorre todas las filas y columnas construyendo las celdas.
+        for (int i = 0; i < NUMEROFILAS; i++) {
+            for (int j = 0; j < NUMEROCOLUMNAS; j++) {
+                celdas[contadorCeldasClonadas] = construirCelda(Coordenada.de(i, j));
                 contadorCeldasClonadas++;
             }
         }
@@ -151,8 +208,175 @@ public class Tablero {
      */
     public void eliminarPieza(Coordenada coordenada) {
         if (coordenada != null && estaEnTablero(coordenada)) {
-            tablero[coordenada.fila()][coordenada.columna()].eliminarPieza();
+            vaciar(calcularIndice(coordenada.fila(), coordenada.columna()));
+        }
+    }
+
+    /**
+     * Consulta la pieza que ocupa una celda sin clonar ni construir objetos.
+     *
+     * @param fila    Fila de la celda.
+     * @param columna Columna de la celda.
+     * @return Pieza compartida (ver {@link Pieza#de}) que ocupa la celda, o null si está
+     *         vacía o fuera del tablero.
+     */
+    public Pieza consultarPiezaEn(int fila, int columna) {
+        return consultarPiezaDeCodigo(consultarCodigoCelda(fila, columna));
+    }
+
+    /**
+     * Convierte un código de celda en la pieza que representa.
+     *
+     * @param codigo Código de celda, según {@link #consultarCodigoCelda(int, int)}.
+     * @return Pieza compartida correspondiente al código, o null si representa una celda vacía.
+     */
+    public static Pieza consultarPiezaDeCodigo(byte codigo) {
+        return codigo == CODIGO_CELDA_VACIA ? null : PIEZAS[codigo - 1];
+    }
+
+    /**
+     * Consulta el contenido de una celda como un código primitivo.
+     * Vale {@link #CODIGO_CELDA_VACIA} si la celda está vacía o fuera del tablero y, en
+     * otro caso, {@code 1 + tipoPieza.ordinal() * 2 + color.ordinal()}: 1 peón blanco,
+     * 2 peón negro, 3 reina blanca y 4 reina negra.
+     *
+     * @param fila    Fila de la celda.
+     * @param columna Columna de la celda.
+     * @return Código de la celda.
+     */
+    public byte consultarCodigoCelda(int fila, int columna) {
+        byte codigo = CODIGO_CELDA_VACIA;
+        if (fila >= 0 && fila < NUMEROFILAS && columna >= 0 && columna < NUMEROCOLUMNAS
+                && (ocupadas & 1L << calcularIndice(fila, columna)) != 0) {
+            long bit = 1L << calcularIndice(fila, columna);
+            for (int i = 0; i < NUMERO_MASCARAS; i++) {
+                if ((mascaras[i] & bit) != 0) {
+                    codigo = (byte) (i + 1);
+                }
+            }
+        }
+        return codigo;
+    }
+
+    /**
+     * Copia el código de todas las celdas, según {@link #consultarCodigoCelda(int, int)},
+     * recorriendo solo las celdas ocupadas y sin crear objetos.
+     *
+     * @param codigos Arreglo de al menos 49 posiciones donde se escribe el código de la
+     *                celda de índice {@code fila * 7 + columna}.
+     */
+    public void copiarCodigosCeldas(byte[] codigos) {
+        Arrays.fill(codigos, 0, NUMERO_CELDAS, CODIGO_CELDA_VACIA);
+        for (int i = 0; i < NUMERO_MASCARAS; i++) {
+            for (long resto = mascaras[i]; resto != 0; resto &= resto - 1) {
+                codigos[Long.numberOfTrailingZeros(resto)] = (byte) (i + 1);
+            }
+        }
+    }
+
+    /**
+     * Consulta el número de piezas, de cualquier tipo y color, que hay en una fila.
+     *
+     * @param fila Fila a consultar.
+     * @return Número de piezas en la fila, o 0 si está fuera del tablero.
+     */
+    public int consultarNumeroPiezasEnFila(int fila) {
+        if (fila < 0 || fila >= NUMEROFILAS) {
+            return 0;
         }
+        return Long.bitCount(ocupadas & MASCARA_PRIMERA_FILA << calcularIndice(fila, 0));
+    }
+
+    /**
+     * Consulta el número de piezas, de cualquier tipo y color, que hay en una columna.
+     *
+     * @param columna Columna a consultar.
+     * @return Número de piezas en la columna, o 0 si está fuera del tablero.
+     */
+    public int consultarNumeroPiezasEnColumna(int columna) {
+        if (columna < 0 || columna >= NUMEROCOLUMNAS) {
+            return 0;
+        }
+        return Long.bitCount(ocupadas & MASCARA_PRIMERA_COLUMNA << columna);
+    }
+
+    /**
+     * Consulta el número de piezas de un tipo y color que hay en el tablero.
+     *
+     * @param tipoPieza Tipo de pieza.
+     * @param color     Color de la pieza.
+     * @return Número de piezas de ese tipo y color.
+     */
+    public int consultarNumeroPiezas(TipoPieza tipoPieza, Color color) {
+        return Long.bitCount(mascaras[calcularIndiceMascara(tipoPieza, color)]);
+    }
+
+    /**
+     * Comprueba si una celda contiene una pieza de un tipo y color concretos.
+     *
+     * @param tipoPieza Tipo de pieza.
+     * @param color     Color de la pieza.
+     * @param fila      Fila de la celda.
+     * @param columna   Columna de la celda.
+     * @return true si la celda está en el tablero y contiene dicha pieza, false en caso contrario.
+     */
+    public boolean estaPiezaEn(TipoPieza tipoPieza, Color color, int fila, int columna) {
+        if (fila < 0 || fila >= NUMEROFILAS || columna < 0 || columna >= NUMEROCOLUMNAS) {
+            return false;
+        }
+        return (mascaras[calcularIndiceMascara(tipoPieza, color)] & 1L << calcularIndice(fila, columna)) != 0;
+    }
+
+    /**
+     * Consulta la coordenada de la reina de un color. La posición se obtiene directamente
+     * de la máscara de esa reina, por lo que deja de estar disponible en cuanto la reina
+     * se elimina del tablero, por ejemplo al ser expulsada a su caja.
+     *
+     * @param color Color de la reina.
+     * @return Coordenada de la reina, o null si no está en el tablero. Si hubiese varias
+     *         reinas del mismo color, la de menor fila y columna.
+     */
+    public Coordenada consultarCoordenadaReina(Color color) {
+        long mascara = mascaras[calcularIndiceMascara(TipoPieza.REINA, color)];
+        if (mascara == 0) {
+            return null;
+        }
+        int indice = Long.numberOfTrailingZeros(mascara);
+        return Coordenada.de(indice / NUMEROCOLUMNAS, indice % NUMEROCOLUMNAS);
+    }
+
+    /**
+     * Recorre todas las celdas del tablero, de arriba hacia abajo y de izquierda a derecha,
+     * aplicando el visitante a cada una sin clonar celdas ni piezas.
+     *
+     * @param visitante Operación a aplicar sobre cada celda.
+     */
+    public void recorrerCeldas(VisitanteCelda visitante) {
+        for (int i = 0; i < NUMEROFILAS; i++) {
+            for (int j = 0; j < NUMEROCOLUMNAS; j++) {
+                visitante.visitar(i, j, consultarPiezaEn(i, j));
+            }
+        }
+    }
+
+    /**
+     * Consulta la clave Zobrist de las piezas colocadas en el tablero.
+     * Tableros iguales tienen siempre la misma clave.
+     *
+     * @return Clave Zobrist de la posición, sin tener en cuenta el turno.
+     */
+    public long consultarClaveZobrist() {
+        return claveZobrist;
+    }
+
+    /**
+     * Consulta la clave Zobrist de la posición incluyendo el color con el turno.
+     *
+     * @param turno Color que tiene el turno en la posición.
+     * @return Clave Zobrist de la posición y el turno.
+     */
+    public long consultarClaveZobrist(Color turno) {
+        return turno == Color.NEGRO ? claveZobrist ^ CLAVE_ZOBRIST_TURNO_NEGRO : claveZobrist;
     }
 
     /**
@@ -169,12 +393,72 @@ public class Tablero {
 
     /**
      * Obtiene la celda correspondiente a una coordenada específica.
+     * Al no almacenarse objetos celda, se devuelve una celda construida a partir de las
+     * máscaras; modificarla no altera el tablero.
      *
      * @param coordenada Coordenada de la celda a obtener.
-     * @return Celda correspondiente a la coordenada.
+     * @return Celda correspondiente a la coordenada, o null si no está en el tablero.
      */
     public Celda obtenerCelda(Coordenada coordenada) {
-        return tablero[coordenada.fila()][coordenada.columna()];
+        return consultarCelda(coordenada);
+    }
+
+    /**
+     * Calcula el índice del bit asociado a una celda.
+     *
+     * @param fila    Fila de la celda.
+     * @param columna Columna de la celda.
+     * @return Posición del bit dentro de las máscaras.
+     */
+    private int calcularIndice(int fila, int columna) {
+        return fila * NUMEROCOLUMNAS + columna;
+    }
+
+    /**
+     * Calcula la posición de la máscara asociada a un tipo de pieza y un color.
+     *
+     * @param tipoPieza Tipo de la pieza.
+     * @param color     Color de la pieza.
+     * @return Índice de la máscara correspondiente.
+     */
+    private static int calcularIndiceMascara(TipoPieza tipoPieza, Color color) {
+        return tipoPieza.ordinal() * NUMERO_COLORES + color.ordinal();
+    }
+
+    /**
+     * Vacía una celda eliminando su bit de todas las máscaras y retirando de la clave
+     * Zobrist la pieza que la ocupaba.
+     *
+     * @param indice Índice del bit de la celda a vaciar.
+     */
+    private void vaciar(int indice) {
+        long bit = 1L << indice;
+        if ((ocupadas & bit) == 0) {
+            return;
+        }
+        ocupadas &= ~bit;
+        texto = null;
+        for (int i = 0; i < NUMERO_MASCARAS; i++) {
+            if ((mascaras[i] & bit) != 0) {
+                mascaras[i] &= ~bit;
+                claveZobrist ^= CLAVES_ZOBRIST[indice][i];
+            }
+        }
+    }
+
+    /**
+     * Construye una celda con el contenido actual de la coordenada indicada.
+     *
+     * @param coordenada Coordenada de la celda, dentro del tablero.
+     * @return Nueva celda con la pieza que ocupa dicha coordenada.
+     */
+    private Celda construirCelda(Coordenada coordenada) {
+        Celda celda = new Celda(coordenada);
+        Pieza pieza = consultarPiezaEn(coordenada.fila(), coordenada.columna());
+        if (pieza != null) {
+            celda.colocar(pieza);
+        }
+        return celda;
     }
 
     /**
@@ -188,17 +472,17 @@ public class Tablero {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Tablero tablero1 = (Tablero) o;
-        return Objects.deepEquals(tablero, tablero1.tablero);
+        return claveZobrist == tablero1.claveZobrist && Arrays.equals(mascaras, tablero1.mascaras);
     }
 
     /**
      * Calcula el código hash del tablero.
      *
-     * @return Código hash basado en las celdas y dimensiones del tablero.
+     * @return Código hash basado en la clave Zobrist del tablero.
      */
     @Override
     public int hashCode() {
-        return Objects.hash(Arrays.deepHashCode(tablero), NUMEROFILAS, NUMEROCOLUMNAS);
+        return Long.hashCode(claveZobrist);
     }
 
     /**
@@ -209,9 +493,7 @@ public class Tablero {
     @Override
     public String toString() {
         return "Tablero{" +
-                "tablero=" + Arrays.toString(tablero) +
+                "mascaras=" + Arrays.toString(mascaras) +
                 '}';
     }
 }
-
-
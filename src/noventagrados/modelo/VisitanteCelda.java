@@ -0,0 +1,18 @@
+package noventagrados.modelo;
+
+/**
+ * Operación que se aplica a cada celda de un tablero al recorrerlo con
+ * {@link Tablero#recorrerCeldas(VisitanteCelda)}, sin construir objetos celda.
+ */
+@FunctionalInterface
+public interface VisitanteCelda {
+
+    /**
+     * Visita una celda del tablero.
+     *
+     * @param fila    Fila de la celda.
+     * @param columna Columna de la celda.
+     * @param pieza   Pieza compartida que ocupa la celda, o null si está vacía.
+     */
+    void visitar(int fila, int columna, Pieza pieza);
+}
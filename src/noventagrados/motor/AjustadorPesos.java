@@ -0,0 +1,455 @@
+package noventagrados.motor;
+
+import noventagrados.control.Arbitro;
+import noventagrados.control.BufferJugadas;
+import noventagrados.registro.LectorPartidas;
+import noventagrados.registro.PartidaRegistrada;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Clase que ajusta los pesos de {@link EvaluadorPosicional} a partir de partidas terminadas
+ * con el método de Texel: la evaluación de cada posición, pasada por una sigmoide, debe
+ * predecir el resultado final de su partida, y se buscan los pesos que minimizan el error
+ * cuadrático medio de esa predicción.
+ * <p>
+ * Al añadir una partida se reproduce y se guardan las características de cada posición no
+ * final y el resultado en arreglos primitivos. Como la evaluación es lineal en los pesos,
+ * no hace falta volver a reproducir las partidas y cada cálculo del error recorre millones
+ * de posiciones en poco tiempo. El error y su gradiente se calculan repartiendo las
+ * posiciones entre varios hilos.
+ * <p>
+ * El ajuste fija primero la escala de la sigmoide con los pesos iniciales, desciende después
+ * por el gradiente con Adam sobre pesos reales y termina con una búsqueda local de pasos
+ * unitarios sobre los pesos redondeados. Se devuelven los mejores pesos encontrados, por lo
+ * que el error nunca es mayor que el de los pesos iniciales.
+ * <p>
+ * Uso desde línea de comandos:
+ * {@code java noventagrados.motor.AjustadorPesos fichero-pesos fichero-partidas...}.
+ * Las partidas se leen con {@link LectorPartidas}, como las que guarda {@link Torneo}, y los
+ * pesos se escriben con {@link EvaluadorPosicional#escribirPesos(Path, int[], String)}.
+ */
+public class AjustadorPesos implements Closeable {
+
+    /** Jugadas iniciales de cada partida que se descartan por defecto: las aperturas aleatorias de {@link Torneo}. */
+    public static final int JUGADAS_DESCARTADAS_POR_DEFECTO = Torneo.JUGADAS_ALEATORIAS_POR_DEFECTO;
+
+    /** Iteraciones del descenso por gradiente por defecto. */
+    public static final int ITERACIONES_POR_DEFECTO = 1000;
+
+    private static final int CARACTERISTICAS = EvaluadorPosicional.NUMERO_CARACTERISTICAS; // Valores por posición.
+    private static final int CAPACIDAD_INICIAL = 1024;      // Posiciones reservadas inicialmente.
+    private static final double TASA_APRENDIZAJE = 0.5;     // Paso de Adam, en unidades de peso.
+    private static final double BETA1 = 0.9;                // Decaimiento de la media del gradiente.
+    private static final double BETA2 = 0.999;              // Decaimiento de la media del cuadrado del gradiente.
+    private static final double EPSILON = 1e-12;            // Evita dividir por cero en Adam.
+    private static final double ESCALA_MINIMA = 1e-5;       // Límites de la búsqueda de la escala.
+    private static final double ESCALA_MAXIMA = 1.0;
+    private static final int ITERACIONES_ESCALA = 60;       // Pasos de la búsqueda de la escala.
+    private static final int RONDAS_BUSQUEDA_LOCAL = 50;    // Rondas máximas de la búsqueda local.
+
+    private final int numeroHilos;            // Tramos en que se reparten las posiciones.
+    private final int jugadasDescartadas;     // Jugadas iniciales sin posiciones guardadas.
+    private final ExecutorService ejecutor;   // Hilos que calculan el error.
+    private short[] caracteristicas = new short[CAPACIDAD_INICIAL * CARACTERISTICAS]; // Características por posición.
+    private byte[] resultados = new byte[CAPACIDAD_INICIAL]; // Medios puntos de las blancas por posición.
+    private int numeroPosiciones;             // Posiciones guardadas.
+
+    /**
+     * Constructor con las jugadas descartadas por defecto.
+     *
+     * @param numeroHilos Número de hilos para calcular el error, al menos uno.
+     */
+    public AjustadorPesos(int numeroHilos) {
+        this(numeroHilos, JUGADAS_DESCARTADAS_POR_DEFECTO);
+    }
+
+    /**
+     * Constructor de la clase AjustadorPesos.
+     *
+     * @param numeroHilos        Número de hilos para calcular el error, al menos uno.
+     * @param jugadasDescartadas Jugadas iniciales de cada partida cuyas posiciones no se usan.
+     */
+    public AjustadorPesos(int numeroHilos, int jugadasDescartadas) {
+        this.numeroHilos = Math.max(1, numeroHilos);
+        this.jugadasDescartadas = Math.max(0, jugadasDescartadas);
+        this.ejecutor = Executors.newFixedThreadPool(this.numeroHilos);
+    }
+
+    /**
+     * Añade las posiciones no finales de una partida terminada, salvo las de sus primeras
+     * jugadas, con el resultado de la partida.
+     *
+     * @param partida Partida a añadir.
+     * @return Número de posiciones añadidas, o -1 si la partida no tiene resultado, su
+     *         posición de partida no es válida o contiene una jugada ilegal.
+     */
+    public int añadir(PartidaRegistrada partida) {
+        int resultado = switch (partida.consultarResultado()) {
+            case PartidaRegistrada.RESULTADO_BLANCAS -> 2;
+            case PartidaRegistrada.RESULTADO_EMPATE -> 1;
+            case PartidaRegistrada.RESULTADO_NEGRAS -> 0;
+            default -> -1;
+        };
+        Arbitro arbitro = resultado < 0 ? null : partida.reproducir(0);
+        if (arbitro == null) {
+            return -1;
+        }
+        EvaluadorPosicional evaluador = new EvaluadorPosicional();
+        evaluador.cargar(arbitro);
+        BufferJugadas legales = new BufferJugadas();
+        int[] valores = new int[CARACTERISTICAS];
+        int inicio = numeroPosiciones;
+        int numeroJugadas = partida.consultarNumeroJugadas();
+        for (int i = 0; i <= numeroJugadas; i++) {
+            if (i >= jugadasDescartadas && !arbitro.estaFinalizadaPartida()) {
+                evaluador.consultarCaracteristicas(arbitro, valores);
+                guardar(valores, resultado);
+            }
+            if (i < numeroJugadas) {
+                int codigo = partida.consultarCodigo(i);
+                if (!esLegal(arbitro.generarJugadasLegales(legales), codigo)) {
+                    numeroPosiciones = inicio;
+                    return -1;
+                }
+                evaluador.jugadaHecha(arbitro, arbitro.hacer(codigo));
+            }
+        }
+        return numeroPosiciones - inicio;
+    }
+
+    /**
+     * Añade todas las partidas de un fichero. Las partidas que no pueden añadirse se ignoran.
+     *
+     * @param fichero Fichero de partidas.
+     * @return Número de partidas añadidas.
+     * @throws IOException Si no se puede leer el fichero o su formato no es correcto.
+     */
+    public int cargar(Path fichero) throws IOException {
+        int añadidas = 0;
+        try (LectorPartidas lector = new LectorPartidas(Files.newBufferedReader(fichero, StandardCharsets.UTF_8))) {
+            for (PartidaRegistrada partida = lector.leerPartida(); partida != null; partida = lector.leerPartida()) {
+                if (añadir(partida) >= 0) {
+                    añadidas++;
+                }
+            }
+        }
+        return añadidas;
+    }
+
+    /**
+     * Consulta el número de posiciones guardadas.
+     *
+     * @return Número de posiciones.
+     */
+    public int consultarNumeroPosiciones() {
+        return numeroPosiciones;
+    }
+
+    /**
+     * Calcula el error cuadrático medio de la predicción de resultados con unos pesos.
+     *
+     * @param pesos  Peso de cada característica.
+     * @param escala Escala de la sigmoide que convierte evaluaciones en resultados esperados.
+     * @return Error medio, entre 0 y 1; 0 si no hay posiciones.
+     * @throws InterruptedException Si se interrumpe el hilo durante el cálculo.
+     */
+    public double calcularError(int[] pesos, double escala) throws InterruptedException {
+        return calcular(aReales(pesos), escala, null);
+    }
+
+    /**
+     * Busca la escala de la sigmoide que minimiza el error con unos pesos, por sección
+     * áurea sobre su logaritmo.
+     *
+     * @param pesos Peso de cada característica.
+     * @return Escala con menor error.
+     * @throws InterruptedException Si se interrumpe el hilo durante el cálculo.
+     */
+    public double ajustarEscala(int[] pesos) throws InterruptedException {
+        double[] reales = aReales(pesos);
+        double razon = (Math.sqrt(5) - 1) / 2;
+        double a = Math.log(ESCALA_MINIMA);
+        double b = Math.log(ESCALA_MAXIMA);
+        double c = b - razon * (b - a);
+        double d = a + razon * (b - a);
+        double errorC = calcular(reales, Math.exp(c), null);
+        double errorD = calcular(reales, Math.exp(d), null);
+        for (int i = 0; i < ITERACIONES_ESCALA; i++) {
+            if (errorC < errorD) {
+                b = d;
+                d = c;
+                errorD = errorC;
+                c = b - razon * (b - a);
+                errorC = calcular(reales, Math.exp(c), null);
+            } else {
+                a = c;
+                c = d;
+                errorC = errorD;
+                d = a + razon * (b - a);
+                errorD = calcular(reales, Math.exp(d), null);
+            }
+        }
+        return Math.exp((a + b) / 2);
+    }
+
+    /**
+     * Ajusta los pesos para minimizar el error de predicción con la escala que mejor se
+     * adapta a los pesos iniciales.
+     *
+     * @param pesosIniciales Peso inicial de cada característica.
+     * @param iteraciones    Iteraciones del descenso por gradiente.
+     * @return Pesos ajustados, con un error no mayor que el de los iniciales.
+     * @throws InterruptedException Si se interrumpe el hilo durante el cálculo.
+     */
+    public int[] ajustar(int[] pesosIniciales, int iteraciones) throws InterruptedException {
+        return ajustar(pesosIniciales, iteraciones, ajustarEscala(pesosIniciales));
+    }
+
+    /**
+     * Ajusta los pesos para minimizar el error de predicción con una escala fija.
+     *
+     * @param pesosIniciales Peso inicial de cada característica.
+     * @param iteraciones    Iteraciones del descenso por gradiente.
+     * @param escala         Escala de la sigmoide.
+     * @return Pesos ajustados, con un error no mayor que el de los iniciales.
+     * @throws InterruptedException Si se interrumpe el hilo durante el cálculo.
+     */
+    public int[] ajustar(int[] pesosIniciales, int iteraciones, double escala) throws InterruptedException {
+        double[] pesos = aReales(pesosIniciales);
+        double[] gradiente = new double[CARACTERISTICAS];
+        double[] media = new double[CARACTERISTICAS];
+        double[] varianza = new double[CARACTERISTICAS];
+        for (int t = 1; t <= iteraciones; t++) {
+            calcular(pesos, escala, gradiente);
+            for (int j = 0; j < CARACTERISTICAS; j++) {
+                media[j] = BETA1 * media[j] + (1 - BETA1) * gradiente[j];
+                varianza[j] = BETA2 * varianza[j] + (1 - BETA2) * gradiente[j] * gradiente[j];
+                double mediaCorregida = media[j] / (1 - Math.pow(BETA1, t));
+                double varianzaCorregida = varianza[j] / (1 - Math.pow(BETA2, t));
+                pesos[j] -= TASA_APRENDIZAJE * mediaCorregida / (Math.sqrt(varianzaCorregida) + EPSILON);
+            }
+        }
+
+        int[] mejores = Arrays.copyOf(pesosIniciales, CARACTERISTICAS);
+        double errorMejores = calcularError(mejores, escala);
+        int[] enteros = new int[CARACTERISTICAS];
+        for (int j = 0; j < CARACTERISTICAS; j++) {
+            enteros[j] = (int) Math.round(pesos[j]);
+        }
+        double error = calcularError(enteros, escala);
+        boolean mejorado = true;
+        for (int ronda = 0; ronda < RONDAS_BUSQUEDA_LOCAL && mejorado; ronda++) {
+            mejorado = false;
+            for (int j = 0; j < CARACTERISTICAS; j++) {
+                for (int paso = 1; paso >= -1; paso -= 2) {
+                    enteros[j] += paso;
+                    double nuevo = calcularError(enteros, escala);
+                    if (nuevo < error) {
+                        error = nuevo;
+                        mejorado = true;
+                        break;
+                    }
+                    enteros[j] -= paso;
+                }
+            }
+        }
+        return error < errorMejores ? enteros : mejores;
+    }
+
+    /**
+     * Calcula el error medio y, opcionalmente, su gradiente repartiendo las posiciones en
+     * tramos entre los hilos.
+     *
+     * @param pesos     Peso de cada característica.
+     * @param escala    Escala de la sigmoide.
+     * @param gradiente Arreglo donde se guarda el gradiente medio, o null para no calcularlo.
+     * @return Error medio.
+     * @throws InterruptedException Si se interrumpe el hilo durante el cálculo.
+     */
+    private double calcular(double[] pesos, double escala, double[] gradiente) throws InterruptedException {
+        // invokeAll no comprueba la interrupción si los tramos terminan antes de esperarlos.
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        double[] suma = new double[CARACTERISTICAS + 1];
+        if (numeroPosiciones > 0) {
+            int tramo = (numeroPosiciones + numeroHilos - 1) / numeroHilos;
+            List<Callable<double[]>> tareas = new ArrayList<>(numeroHilos);
+            for (int desde = 0; desde < numeroPosiciones; desde += tramo) {
+                final int inicio = desde;
+                final int fin = Math.min(desde + tramo, numeroPosiciones);
+                tareas.add(() -> calcularTramo(pesos, escala, inicio, fin, gradiente != null));
+            }
+            try {
+                for (Future<double[]> parcial : ejecutor.invokeAll(tareas)) {
+                    double[] valores = parcial.get();
+                    for (int j = 0; j <= CARACTERISTICAS; j++) {
+                        suma[j] += valores[j];
+                    }
+                }
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Error al calcular el error de predicción", e.getCause());
+            }
+        }
+        int divisor = Math.max(1, numeroPosiciones);
+        if (gradiente != null) {
+            for (int j = 0; j < CARACTERISTICAS; j++) {
+                gradiente[j] = suma[j] / divisor;
+            }
+        }
+        return suma[CARACTERISTICAS] / divisor;
+    }
+
+    /**
+     * Suma el error cuadrático y su gradiente en un tramo de posiciones.
+     *
+     * @param pesos        Peso de cada característica.
+     * @param escala       Escala de la sigmoide.
+     * @param desde        Primera posición del tramo.
+     * @param hasta        Posición siguiente a la última del tramo.
+     * @param conGradiente Indica si se calcula el gradiente.
+     * @return Suma del gradiente de cada peso seguida de la suma de errores.
+     */
+    private double[] calcularTramo(double[] pesos, double escala, int desde, int hasta, boolean conGradiente) {
+        double[] suma = new double[CARACTERISTICAS + 1];
+        for (int p = desde; p < hasta; p++) {
+            int base = p * CARACTERISTICAS;
+            double evaluacion = 0;
+            for (int j = 0; j < CARACTERISTICAS; j++) {
+                evaluacion += pesos[j] * caracteristicas[base + j];
+            }
+            double prediccion = 1 / (1 + Math.exp(-escala * evaluacion));
+            double diferencia = resultados[p] * 0.5 - prediccion;
+            suma[CARACTERISTICAS] += diferencia * diferencia;
+            if (conGradiente) {
+                double factor = -2 * diferencia * prediccion * (1 - prediccion) * escala;
+                for (int j = 0; j < CARACTERISTICAS; j++) {
+                    suma[j] += factor * caracteristicas[base + j];
+                }
+            }
+        }
+        return suma;
+    }
+
+    /**
+     * Guarda las características y el resultado de una posición, ampliando los arreglos
+     * si es necesario.
+     *
+     * @param valores   Características de la posición.
+     * @param resultado Medios puntos de las blancas en la partida.
+     */
+    private void guardar(int[] valores, int resultado) {
+        if (numeroPosiciones == resultados.length) {
+            resultados = Arrays.copyOf(resultados, resultados.length * 2);
+            caracteristicas = Arrays.copyOf(caracteristicas, caracteristicas.length * 2);
+        }
+        for (int j = 0; j < CARACTERISTICAS; j++) {
+            caracteristicas[numeroPosiciones * CARACTERISTICAS + j] = (short) valores[j];
+        }
+        resultados[numeroPosiciones++] = (byte) resultado;
+    }
+
+    /**
+     * Comprueba si una jugada está entre las legales.
+     *
+     * @param legales Jugadas legales.
+     * @param codigo  Jugada codificada.
+     * @return true si la jugada es legal, false en caso contrario.
+     */
+    private static boolean esLegal(BufferJugadas legales, int codigo) {
+        for (int i = 0; i < legales.consultarNumeroJugadas(); i++) {
+            if (legales.consultarCodigo(i) == codigo) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Convierte unos pesos enteros en reales.
+     *
+     * @param pesos Pesos enteros; los que falten valen 0.
+     * @return Pesos reales.
+     */
+    private static double[] aReales(int[] pesos) {
+        double[] reales = new double[CARACTERISTICAS];
+        for (int j = 0; j < Math.min(pesos.length, CARACTERISTICAS); j++) {
+            reales[j] = pesos[j];
+        }
+        return reales;
+    }
+
+    /**
+     * Detiene los hilos de cálculo.
+     */
+    @Override
+    public void close() {
+        ejecutor.shutdownNow();
+    }
+
+    /**
+     * Ajusta los pesos con las partidas de los ficheros indicados, partiendo de los pesos
+     * leídos al arrancar, y escribe el fichero de pesos.
+     *
+     * @param args Fichero de pesos a escribir seguido de uno o más ficheros de partidas.
+     * @throws IOException          Si no se pueden leer las partidas o escribir los pesos.
+     * @throws InterruptedException Si se interrumpe el ajuste.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 2) {
+            System.err.println("Uso: java noventagrados.motor.AjustadorPesos fichero-pesos fichero-partidas...");
+            return;
+        }
+        int hilos = Runtime.getRuntime().availableProcessors();
+        try (AjustadorPesos ajustador = new AjustadorPesos(hilos)) {
+            int partidas = 0;
+            for (int i = 1; i < args.length; i++) {
+                partidas += ajustador.cargar(Path.of(args[i]));
+            }
+            System.out.println("Partidas: " + partidas + ", posiciones: " + ajustador.consultarNumeroPosiciones());
+
+            long inicio = System.nanoTime();
+            int[] iniciales = EvaluadorPosicional.consultarPesosIniciales();
+            double escala = ajustador.ajustarEscala(iniciales);
+            double errorInicial = ajustador.calcularError(iniciales, escala);
+            int[] pesos = ajustador.ajustar(iniciales, ITERACIONES_POR_DEFECTO, escala);
+            double errorFinal = ajustador.calcularError(pesos, escala);
+            System.out.printf(Locale.ROOT, "Escala: %.6f%n", escala);
+            System.out.printf(Locale.ROOT, "Error: %.6f -> %.6f%n", errorInicial, errorFinal);
+            System.out.println("Pesos: " + Arrays.toString(iniciales) + " -> " + Arrays.toString(pesos));
+            System.out.printf(Locale.ROOT, "Tiempo: %.3f s con %d hilos%n", (System.nanoTime() - inicio) / 1e9, hilos);
+
+            EvaluadorPosicional.escribirPesos(Path.of(args[0]), pesos, String.format(Locale.ROOT,
+                    "Ajustados con %d posiciones de %d partidas: error %.6f, escala %.6f",
+                    ajustador.consultarNumeroPosiciones(), partidas, errorFinal, escala));
+        }
+    }
+
+    /**
+     * Devuelve una representación textual del ajustador.
+     *
+     * @return Cadena con los hilos, las jugadas descartadas y las posiciones guardadas.
+     */
+    @Override
+    public String toString() {
+        return "AjustadorPesos{" +
+                "numeroHilos=" + numeroHilos +
+                ", jugadasDescartadas=" + jugadasDescartadas +
+                ", numeroPosiciones=" + numeroPosiciones +
+                '}';
+    }
+}
@@ -0,0 +1,42 @@
+package noventagrados.motor;
+
+import java.util.function.Supplier;
+
+/**
+ * Clase que representa la configuración de un jugador automático en un {@link Torneo}.
+ * A partir de ella se crea un {@link Motor} nuevo para cada partida, de modo que varias
+ * partidas pueden jugarse a la vez en distintos hilos.
+ *
+ * @param nombre                   Nombre del jugador en los informes y registros.
+ * @param profundidadMaxima        Profundidad máxima en plies.
+ * @param tiempoMaximoMilisegundos Tiempo máximo por jugada en milisegundos.
+ * @param megabytesTabla           Tamaño de la tabla de transposición, o 0 para no usarla.
+ * @param evaluador                Crea el evaluador de posiciones no finales de cada partida.
+ */
+public record ConfiguracionMotor(String nombre, int profundidadMaxima, long tiempoMaximoMilisegundos,
+                                 int megabytesTabla, Supplier<Evaluador> evaluador) {
+
+    /** Tamaño por defecto de la tabla de transposición de cada partida. */
+    public static final int MEGABYTES_POR_DEFECTO = 1;
+
+    /**
+     * Constructor con el evaluador por defecto y la tabla de transposición por defecto.
+     *
+     * @param nombre                   Nombre del jugador.
+     * @param profundidadMaxima        Profundidad máxima en plies.
+     * @param tiempoMaximoMilisegundos Tiempo máximo por jugada en milisegundos.
+     */
+    public ConfiguracionMotor(String nombre, int profundidadMaxima, long tiempoMaximoMilisegundos) {
+        this(nombre, profundidadMaxima, tiempoMaximoMilisegundos, MEGABYTES_POR_DEFECTO, EvaluadorMaterial::new);
+    }
+
+    /**
+     * Crea un motor con esta configuración para una partida.
+     *
+     * @return Nuevo motor con su propio evaluador y tabla de transposición.
+     */
+    public Motor crearMotor() {
+        return new Motor(profundidadMaxima, tiempoMaximoMilisegundos, evaluador.get(),
+                megabytesTabla > 0 ? new TablaTransposicion(megabytesTabla) : null);
+    }
+}
@@ -0,0 +1,51 @@
+package noventagrados.motor;
+
+import noventagrados.control.Arbitro;
+
+/**
+ * Interfaz que representa una función de evaluación estática de posiciones no finales.
+ * <p>
+ * Los evaluadores con estado pueden mantener sus características de forma incremental:
+ * el {@link Motor} llama a {@link #cargar(Arbitro)} al empezar cada búsqueda y notifica
+ * después cada {@link Arbitro#hacer(int)} y {@link Arbitro#deshacer(long)}. Por defecto
+ * estas notificaciones no hacen nada.
+ */
+@FunctionalInterface
+public interface Evaluador {
+
+    /**
+     * Evalúa la posición actual del árbitro desde el punto de vista del color con el turno.
+     * Valores positivos favorecen al jugador que mueve.
+     *
+     * @param arbitro Árbitro con la posición a evaluar. No debe modificarse.
+     * @return Puntuación de la posición, en valor absoluto menor que
+     *         {@link Motor#PUNTUACION_VICTORIA}.
+     */
+    int evaluar(Arbitro arbitro);
+
+    /**
+     * Prepara el evaluador para la posición del árbitro antes de una búsqueda.
+     *
+     * @param arbitro Árbitro sobre el que se va a buscar.
+     */
+    default void cargar(Arbitro arbitro) {
+    }
+
+    /**
+     * Notifica que se acaba de realizar una jugada sobre el árbitro cargado.
+     *
+     * @param arbitro Árbitro tras la jugada.
+     * @param token   Token devuelto por {@link Arbitro#hacer(int)}.
+     */
+    default void jugadaHecha(Arbitro arbitro, long token) {
+    }
+
+    /**
+     * Notifica que se acaba de deshacer una jugada sobre el árbitro cargado.
+     *
+     * @param arbitro Árbitro tras deshacer la jugada.
+     * @param token   Token pasado a {@link Arbitro#deshacer(long)}.
+     */
+    default void jugadaDeshecha(Arbitro arbitro, long token) {
+    }
+}
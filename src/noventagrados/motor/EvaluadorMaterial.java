@@ -0,0 +1,29 @@
+package noventagrados.motor;
+
+import noventagrados.control.Arbitro;
+import noventagrados.util.Color;
+import noventagrados.util.TipoPieza;
+
+/**
+ * Evaluador que puntúa una posición por la diferencia de peones expulsados de cada color.
+ */
+public class EvaluadorMaterial implements Evaluador {
+
+    /** Valor de cada peón expulsado. */
+    public static final int VALOR_PEON = 100;
+
+    /**
+     * Evalúa la posición como la diferencia entre los peones rivales y los propios que
+     * hay en las cajas.
+     *
+     * @param arbitro Árbitro con la posición a evaluar.
+     * @return Puntuación desde el punto de vista del color con el turno.
+     */
+    @Override
+    public int evaluar(Arbitro arbitro) {
+        Color turno = arbitro.consultarTurno();
+        int peonesPropios = arbitro.contarPiezasEnCaja(turno, TipoPieza.PEON);
+        int peonesRivales = arbitro.contarPiezasEnCaja(turno.consultarContrario(), TipoPieza.PEON);
+        return (peonesRivales - peonesPropios) * VALOR_PEON;
+    }
+}
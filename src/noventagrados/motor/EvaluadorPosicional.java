@@ -0,0 +1,480 @@
+package noventagrados.motor;
+
+import noventagrados.control.Arbitro;
+import noventagrados.modelo.Tablero;
+import noventagrados.util.Color;
+import noventagrados.util.TipoPieza;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Evaluador que puntúa una posición como suma ponderada de varias características: peones
+ * expulsados a cada caja, distancia de las reinas al centro, movilidad y piezas amenazadas
+ * de expulsión. Todas se calculan como diferencia entre blancas y negras y el resultado se
+ * da desde el punto de vista del color con el turno.
+ * <p>
+ * Las características se guardan en acumuladores que se actualizan de forma incremental
+ * con {@link #jugadaHecha(Arbitro, long)} y {@link #jugadaDeshecha(Arbitro, long)}: una
+ * jugada solo altera la fila o columna por la que se mueve la pieza, por lo que basta con
+ * revisar esa línea y las perpendiculares que pasan por sus celdas modificadas. Las piezas
+ * que desaparecen de la línea son las que han ido a su caja. Si se evalúa una posición
+ * distinta de la última notificada, se recalcula todo desde cero.
+ * <p>
+ * La primera llamada a {@link #consultarPesosIniciales()} lee los pesos del fichero
+ * {@value #FICHERO_PESOS} del directorio de trabajo, o del indicado en la propiedad del
+ * sistema {@value #PROPIEDAD_FICHERO_PESOS}, si existe; así los programas que los usan
+ * arrancan con los pesos que escribe {@link AjustadorPesos}. El constructor sin argumentos
+ * usa siempre los pesos por defecto y no depende de ningún fichero. El fichero tiene una
+ * línea {@code NOMBRE = valor} por característica y admite comentarios que empiezan por
+ * {@code #}.
+ * <p>
+ * Una instancia guarda el estado de la posición y no debe usarse desde varios hilos a la vez.
+ */
+public class EvaluadorPosicional implements Evaluador {
+
+    /** Característica de material: peones negros menos peones blancos en las cajas. */
+    public static final int MATERIAL = 0;
+    /** Característica de centralidad: distancia al centro de la reina negra menos la de la blanca. */
+    public static final int CENTRALIDAD_REINA = 1;
+    /** Característica de movilidad: jugadas de las blancas menos jugadas de las negras. */
+    public static final int MOVILIDAD = 2;
+    /** Característica de amenazas a peones: peones negros amenazados menos peones blancos. */
+    public static final int AMENAZAS_PEON = 3;
+    /** Característica de amenazas a reinas: reina negra amenazada menos reina blanca. */
+    public static final int AMENAZAS_REINA = 4;
+    /** Número de características. */
+    public static final int NUMERO_CARACTERISTICAS = 5;
+
+    /** Fichero de pesos que lee {@link #consultarPesosIniciales()} si existe. */
+    public static final String FICHERO_PESOS = "pesos.txt";
+    /** Propiedad del sistema con otra ruta para el fichero de pesos. */
+    public static final String PROPIEDAD_FICHERO_PESOS = "noventagrados.pesos";
+
+    private static final String[] NOMBRES = {"MATERIAL", "CENTRALIDAD_REINA", "MOVILIDAD", "AMENAZAS_PEON",
+            "AMENAZAS_REINA"}; // Nombre de cada característica en el fichero de pesos.
+    private static final int[] PESOS_POR_DEFECTO = {100, 12, 3, 15, 150}; // Peso de cada característica.
+    private static final int LADO = 7;                         // Número de filas y columnas.
+    private static final int CENTRO = LADO / 2;                // Fila y columna centrales.
+    private static final int NUMERO_CODIGOS = 5;               // Códigos de celda, incluido el vacío.
+    private static final int[][] MOVIMIENTOS = new int[LADO][LADO + 1]; // Jugadas por posición y piezas de la línea.
+
+    private static final int PEON_BLANCO = codificar(TipoPieza.PEON, Color.BLANCO);
+    private static final int PEON_NEGRO = codificar(TipoPieza.PEON, Color.NEGRO);
+    private static final int REINA_BLANCA = codificar(TipoPieza.REINA, Color.BLANCO);
+    private static final int REINA_NEGRA = codificar(TipoPieza.REINA, Color.NEGRO);
+    private static final int BLANCO = Color.BLANCO.ordinal();
+    private static final int NEGRO = Color.NEGRO.ordinal();
+
+    static {
+        // Una pieza en la posición p de una línea con n piezas se desplaza n celdas en cada sentido.
+        for (int posicion = 0; posicion < LADO; posicion++) {
+            for (int piezas = 0; piezas <= LADO; piezas++) {
+                MOVIMIENTOS[posicion][piezas] = (posicion - piezas >= 0 ? 1 : 0) + (posicion + piezas < LADO ? 1 : 0);
+            }
+        }
+    }
+
+    private final int[] pesos;                              // Peso de cada característica.
+    private final byte[] codigos = new byte[LADO * LADO];   // Código de cada celda de la posición cargada.
+    private final int[][] mascarasFila = new int[2][LADO];    // Columnas ocupadas por cada color en cada fila.
+    private final int[][] mascarasColumna = new int[2][LADO]; // Filas ocupadas por cada color en cada columna.
+    private final int[] enCaja = new int[NUMERO_CODIGOS];   // Piezas en las cajas por código.
+    private final int[] amenazadas = new int[NUMERO_CODIGOS]; // Piezas amenazadas de expulsión por código.
+    private final int[] distanciaReina = new int[2];        // Distancia de cada reina al centro.
+    private final int[] movilidad = new int[2];             // Jugadas de cada color.
+    private final byte[] lineaNueva = new byte[LADO];       // Contenido de la línea tras la jugada.
+    private final int[] caracteristicas = new int[NUMERO_CARACTERISTICAS]; // Buffer para evaluar.
+    private boolean cargado;                                // Indica si hay una posición cargada.
+    private long clave;                                     // Clave Zobrist de la posición cargada.
+
+    /**
+     * Constructor con los pesos por defecto.
+     */
+    public EvaluadorPosicional() {
+        this(PESOS_POR_DEFECTO);
+    }
+
+    /**
+     * Constructor de la clase EvaluadorPosicional.
+     *
+     * @param pesos Peso de cada característica, indexado por las constantes de la clase.
+     *              Se copia; las posiciones que falten valen 0.
+     */
+    public EvaluadorPosicional(int[] pesos) {
+        this.pesos = Arrays.copyOf(pesos, NUMERO_CARACTERISTICAS);
+    }
+
+    /**
+     * Consulta los pesos por defecto.
+     *
+     * @return Copia de los pesos por defecto.
+     */
+    public static int[] consultarPesosPorDefecto() {
+        return PESOS_POR_DEFECTO.clone();
+    }
+
+    /**
+     * Consulta los pesos del fichero de pesos, que se lee en la primera llamada.
+     *
+     * @return Copia de los pesos iniciales, iguales a los por defecto si no hay fichero
+     *         o no es válido.
+     */
+    public static int[] consultarPesosIniciales() {
+        return PesosIniciales.PESOS.clone();
+    }
+
+    /**
+     * Consulta el nombre de una característica en el fichero de pesos.
+     *
+     * @param caracteristica Índice de la característica.
+     * @return Nombre de la característica, o null si el índice no es válido.
+     */
+    public static String consultarNombre(int caracteristica) {
+        return caracteristica >= 0 && caracteristica < NUMERO_CARACTERISTICAS ? NOMBRES[caracteristica] : null;
+    }
+
+    /**
+     * Lee un fichero de pesos. Las características que no aparecen conservan su peso
+     * por defecto.
+     *
+     * @param fichero Fichero de pesos.
+     * @return Pesos leídos, o null si no se puede leer o alguna línea no es válida.
+     */
+    public static int[] leerPesos(Path fichero) {
+        int[] pesos = PESOS_POR_DEFECTO.clone();
+        try {
+            for (String linea : Files.readAllLines(fichero, StandardCharsets.UTF_8)) {
+                linea = linea.strip();
+                if (linea.isEmpty() || linea.startsWith("#")) {
+                    continue;
+                }
+                int igual = linea.indexOf('=');
+                int caracteristica = igual < 0 ? -1 : Arrays.asList(NOMBRES).indexOf(linea.substring(0, igual).strip());
+                if (caracteristica < 0) {
+                    return null;
+                }
+                pesos[caracteristica] = Integer.parseInt(linea.substring(igual + 1).strip());
+            }
+        } catch (IOException | NumberFormatException e) {
+            return null;
+        }
+        return pesos;
+    }
+
+    /**
+     * Escribe un fichero de pesos que puede leerse con {@link #leerPesos(Path)}.
+     *
+     * @param fichero    Fichero de pesos.
+     * @param pesos      Peso de cada característica.
+     * @param comentario Comentario que se escribe en la cabecera, o null para ninguno.
+     * @throws IOException Si no se puede escribir el fichero.
+     */
+    public static void escribirPesos(Path fichero, int[] pesos, String comentario) throws IOException {
+        StringBuilder texto = new StringBuilder("# Pesos de EvaluadorPosicional\n");
+        if (comentario != null) {
+            texto.append("# ").append(comentario).append('\n');
+        }
+        for (int i = 0; i < NUMERO_CARACTERISTICAS; i++) {
+            texto.append(NOMBRES[i]).append(" = ").append(pesos[i]).append('\n');
+        }
+        Files.writeString(fichero, texto, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Pesos iniciales, que se leen en la primera consulta.
+     */
+    private static final class PesosIniciales {
+
+        private static final int[] PESOS = leerPesosIniciales(); // Pesos del fichero o por defecto.
+
+        /**
+         * Lee los pesos del fichero de la propiedad {@link EvaluadorPosicional#PROPIEDAD_FICHERO_PESOS},
+         * o de {@link EvaluadorPosicional#FICHERO_PESOS} si no está definida. Si el fichero existe
+         * pero no es válido se avisa por la salida de error.
+         *
+         * @return Pesos leídos, o los pesos por defecto si no hay fichero válido.
+         */
+        private static int[] leerPesosIniciales() {
+            Path fichero = Path.of(System.getProperty(PROPIEDAD_FICHERO_PESOS, FICHERO_PESOS));
+            if (!Files.isRegularFile(fichero)) {
+                return PESOS_POR_DEFECTO.clone();
+            }
+            int[] pesos = leerPesos(fichero);
+            if (pesos == null) {
+                System.err.println("Fichero de pesos no válido, se usan los pesos por defecto: "
+                        + fichero.toAbsolutePath());
+                return PESOS_POR_DEFECTO.clone();
+            }
+            return pesos;
+        }
+    }
+
+    /**
+     * Consulta los pesos del evaluador.
+     *
+     * @return Copia de los pesos.
+     */
+    public int[] consultarPesos() {
+        return pesos.clone();
+    }
+
+    /**
+     * Evalúa la posición como la suma ponderada de sus características.
+     *
+     * @param arbitro Árbitro con la posición a evaluar.
+     * @return Puntuación desde el punto de vista del color con el turno.
+     */
+    @Override
+    public int evaluar(Arbitro arbitro) {
+        consultarCaracteristicas(arbitro, caracteristicas);
+        int puntuacion = 0;
+        for (int i = 0; i < NUMERO_CARACTERISTICAS; i++) {
+            puntuacion += pesos[i] * caracteristicas[i];
+        }
+        return arbitro.consultarTurno() == Color.NEGRO ? -puntuacion : puntuacion;
+    }
+
+    /**
+     * Consulta las características de la posición del árbitro, desde el punto de vista de
+     * las blancas, cargándola antes si no es la última notificada.
+     *
+     * @param arbitro  Árbitro con la posición.
+     * @param destino  Arreglo de al menos {@link #NUMERO_CARACTERISTICAS} posiciones.
+     */
+    public void consultarCaracteristicas(Arbitro arbitro, int[] destino) {
+        if (!cargado || arbitro.consultarClaveZobrist() != clave) {
+            cargar(arbitro);
+        }
+        destino[MATERIAL] = enCaja[PEON_NEGRO] - enCaja[PEON_BLANCO];
+        destino[CENTRALIDAD_REINA] = distanciaReina[NEGRO] - distanciaReina[BLANCO];
+        destino[MOVILIDAD] = movilidad[BLANCO] - movilidad[NEGRO];
+        destino[AMENAZAS_PEON] = amenazadas[PEON_NEGRO] - amenazadas[PEON_BLANCO];
+        destino[AMENAZAS_REINA] = amenazadas[REINA_NEGRA] - amenazadas[REINA_BLANCA];
+    }
+
+    /**
+     * Calcula desde cero todos los acumuladores para la posición del árbitro.
+     *
+     * @param arbitro Árbitro con la posición.
+     */
+    @Override
+    public void cargar(Arbitro arbitro) {
+        arbitro.copiarCodigosCeldas(codigos);
+        for (int color = 0; color < 2; color++) {
+            Arrays.fill(mascarasFila[color], 0);
+            Arrays.fill(mascarasColumna[color], 0);
+        }
+        Arrays.fill(amenazadas, 0);
+        Arrays.fill(distanciaReina, 0);
+        Arrays.fill(movilidad, 0);
+        for (int indice = 0; indice < codigos.length; indice++) {
+            if (codigos[indice] != Tablero.CODIGO_CELDA_VACIA) {
+                colocar(indice, codigos[indice]);
+            }
+        }
+        enCaja[PEON_BLANCO] = arbitro.contarPiezasEnCaja(Color.BLANCO, TipoPieza.PEON);
+        enCaja[PEON_NEGRO] = arbitro.contarPiezasEnCaja(Color.NEGRO, TipoPieza.PEON);
+        enCaja[REINA_BLANCA] = arbitro.contarPiezasEnCaja(Color.BLANCO, TipoPieza.REINA);
+        enCaja[REINA_NEGRA] = arbitro.contarPiezasEnCaja(Color.NEGRO, TipoPieza.REINA);
+        for (int linea = 0; linea < LADO; linea++) {
+            sumarLinea(linea, false, 1);
+            sumarLinea(linea, true, 1);
+        }
+        clave = arbitro.consultarClaveZobrist();
+        cargado = true;
+    }
+
+    /**
+     * Actualiza los acumuladores con la línea alterada por la jugada.
+     *
+     * @param arbitro Árbitro tras la jugada.
+     * @param token   Token de la jugada.
+     */
+    @Override
+    public void jugadaHecha(Arbitro arbitro, long token) {
+        actualizar(arbitro, token);
+    }
+
+    /**
+     * Actualiza los acumuladores con la línea restaurada al deshacer la jugada.
+     *
+     * @param arbitro Árbitro tras deshacer la jugada.
+     * @param token   Token de la jugada.
+     */
+    @Override
+    public void jugadaDeshecha(Arbitro arbitro, long token) {
+        actualizar(arbitro, token);
+    }
+
+    /**
+     * Sincroniza la línea alterada por una jugada con el árbitro. Hacer y deshacer cambian
+     * la misma línea, por lo que ambos casos se tratan igual: se restan los términos de la
+     * línea y de las perpendiculares por sus celdas modificadas, se aplican los cambios y
+     * se vuelven a sumar. Las piezas que salen del tablero pasan a su caja y las que vuelven
+     * salen de ella.
+     *
+     * @param arbitro Árbitro actualizado.
+     * @param token   Token de la jugada.
+     */
+    private void actualizar(Arbitro arbitro, long token) {
+        if (!cargado) {
+            cargar(arbitro);
+            return;
+        }
+        boolean enColumna = Arbitro.esJugadaEnColumna(token);
+        int linea = Arbitro.consultarLineaJugada(token);
+        int modificadas = 0;
+        for (int k = 0; k < LADO; k++) {
+            lineaNueva[k] = enColumna ? arbitro.consultarCodigoCelda(k, linea) : arbitro.consultarCodigoCelda(linea, k);
+            if (lineaNueva[k] != codigos[indice(linea, k, enColumna)]) {
+                modificadas |= 1 << k;
+            }
+        }
+        if (modificadas != 0) {
+            sumarLinea(linea, enColumna, -1);
+            for (int resto = modificadas; resto != 0; resto &= resto - 1) {
+                sumarLinea(Integer.numberOfTrailingZeros(resto), !enColumna, -1);
+            }
+            // Primero se quitan todas las piezas para que una reina que se desplaza por la
+            // línea no pierda su distancia al quitarla después de colocarla.
+            for (int resto = modificadas; resto != 0; resto &= resto - 1) {
+                int indice = indice(linea, Integer.numberOfTrailingZeros(resto), enColumna);
+                if (codigos[indice] != Tablero.CODIGO_CELDA_VACIA) {
+                    enCaja[codigos[indice]]++;
+                    quitar(indice);
+                }
+            }
+            for (int resto = modificadas; resto != 0; resto &= resto - 1) {
+                int k = Integer.numberOfTrailingZeros(resto);
+                if (lineaNueva[k] != Tablero.CODIGO_CELDA_VACIA) {
+                    enCaja[lineaNueva[k]]--;
+                    colocar(indice(linea, k, enColumna), lineaNueva[k]);
+                }
+            }
+            sumarLinea(linea, enColumna, 1);
+            for (int resto = modificadas; resto != 0; resto &= resto - 1) {
+                sumarLinea(Integer.numberOfTrailingZeros(resto), !enColumna, 1);
+            }
+        }
+        clave = arbitro.consultarClaveZobrist();
+    }
+
+    /**
+     * Suma o resta la contribución de una línea a la movilidad y a las amenazas.
+     * <p>
+     * Cada pieza de una fila se mueve en vertical tantas celdas como piezas tenga la fila,
+     * y lo análogo en columnas, por lo que la movilidad se reparte entre filas y columnas.
+     * La pieza del extremo de una línea está amenazada si en la cadena de piezas contiguas
+     * que la sigue hay alguna rival: cualquier jugada de esa pieza hacia el extremo la expulsa.
+     *
+     * @param linea     Índice de la fila o columna.
+     * @param enColumna Indica si la línea es una columna.
+     * @param signo     1 para sumar y -1 para restar.
+     */
+    private void sumarLinea(int linea, boolean enColumna, int signo) {
+        int blancas = enColumna ? mascarasColumna[BLANCO][linea] : mascarasFila[BLANCO][linea];
+        int negras = enColumna ? mascarasColumna[NEGRO][linea] : mascarasFila[NEGRO][linea];
+        int ocupadas = blancas | negras;
+        int movimientos = MOVIMIENTOS[linea][Integer.bitCount(ocupadas)];
+        movilidad[BLANCO] += signo * Integer.bitCount(blancas) * movimientos;
+        movilidad[NEGRO] += signo * Integer.bitCount(negras) * movimientos;
+
+        if ((ocupadas & 1) != 0) {
+            int cadena = ocupadas & ~(ocupadas + 1); // Bits contiguos desde el extremo inicial.
+            if ((cadena & ((blancas & 1) != 0 ? negras : blancas)) != 0) {
+                amenazadas[codigos[indice(linea, 0, enColumna)]] += signo;
+            }
+        }
+        int ultimo = 1 << (LADO - 1);
+        if ((ocupadas & ultimo) != 0) {
+            int huecos = ~ocupadas & (ultimo - 1);
+            int cadena = ocupadas & -Integer.highestOneBit(huecos << 1 | 1); // Bits contiguos desde el extremo final.
+            if ((cadena & ((blancas & ultimo) != 0 ? negras : blancas)) != 0) {
+                amenazadas[codigos[indice(linea, LADO - 1, enColumna)]] += signo;
+            }
+        }
+    }
+
+    /**
+     * Coloca una pieza en la copia del tablero y actualiza las máscaras de sus líneas.
+     *
+     * @param indice Índice de la celda.
+     * @param codigo Código de la pieza.
+     */
+    private void colocar(int indice, byte codigo) {
+        int color = consultarColor(codigo);
+        int fila = indice / LADO;
+        int columna = indice % LADO;
+        codigos[indice] = codigo;
+        mascarasFila[color][fila] |= 1 << columna;
+        mascarasColumna[color][columna] |= 1 << fila;
+        if (codigo == REINA_BLANCA || codigo == REINA_NEGRA) {
+            distanciaReina[color] = Math.abs(fila - CENTRO) + Math.abs(columna - CENTRO);
+        }
+    }
+
+    /**
+     * Quita la pieza de una celda de la copia del tablero y actualiza las máscaras de sus líneas.
+     *
+     * @param indice Índice de la celda ocupada.
+     */
+    private void quitar(int indice) {
+        byte codigo = codigos[indice];
+        int color = consultarColor(codigo);
+        codigos[indice] = Tablero.CODIGO_CELDA_VACIA;
+        mascarasFila[color][indice / LADO] &= ~(1 << indice % LADO);
+        mascarasColumna[color][indice % LADO] &= ~(1 << indice / LADO);
+        if (codigo == REINA_BLANCA || codigo == REINA_NEGRA) {
+            distanciaReina[color] = 0;
+        }
+    }
+
+    /**
+     * Calcula el índice de la celda k-ésima de una línea.
+     *
+     * @param linea     Índice de la fila o columna.
+     * @param k         Posición dentro de la línea.
+     * @param enColumna Indica si la línea es una columna.
+     * @return Índice de la celda.
+     */
+    private static int indice(int linea, int k, boolean enColumna) {
+        return enColumna ? k * LADO + linea : linea * LADO + k;
+    }
+
+    /**
+     * Obtiene el ordinal del color de un código de pieza.
+     *
+     * @param codigo Código de pieza, no vacío.
+     * @return Ordinal del color.
+     */
+    private static int consultarColor(int codigo) {
+        return (codigo - 1) & 1;
+    }
+
+    /**
+     * Obtiene el código de celda de un tipo y color de pieza.
+     *
+     * @param tipoPieza Tipo de pieza.
+     * @param color     Color de pieza.
+     * @return Código de celda.
+     */
+    private static int codificar(TipoPieza tipoPieza, Color color) {
+        return 1 + tipoPieza.ordinal() * 2 + color.ordinal();
+    }
+
+    /**
+     * Devuelve una representación textual del evaluador.
+     *
+     * @return Cadena con los pesos.
+     */
+    @Override
+    public String toString() {
+        return "EvaluadorPosicional{" +
+                "pesos=" + Arrays.toString(pesos) +
+                '}';
+    }
+}
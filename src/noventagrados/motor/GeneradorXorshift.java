@@ -0,0 +1,48 @@
+package noventagrados.motor;
+
+/**
+ * Clase que genera enteros pseudoaleatorios con xorshift64 sin crear objetos, para las
+ * simulaciones y búsquedas de Monte Carlo.
+ * <p>
+ * La semilla se multiplica por una constante impar antes de usarla, de modo que semillas
+ * consecutivas, como las de los hilos de un mismo motor, dan secuencias independientes.
+ * Una instancia no debe usarse desde varios hilos a la vez.
+ */
+final class GeneradorXorshift {
+
+    private static final long MEZCLA_SEMILLA = 0x9E3779B97F4A7C15L; // Parte fraccionaria de la razón áurea.
+
+    private long estado; // Estado del generador, nunca 0.
+
+    /**
+     * Constructor de la clase GeneradorXorshift.
+     *
+     * @param semilla Semilla del generador.
+     */
+    GeneradorXorshift(long semilla) {
+        fijarSemilla(semilla);
+    }
+
+    /**
+     * Reinicia el generador con una nueva semilla.
+     *
+     * @param semilla Nueva semilla.
+     */
+    void fijarSemilla(long semilla) {
+        long mezclada = (semilla + 1) * MEZCLA_SEMILLA;
+        estado = mezclada == 0 ? 1 : mezclada;
+    }
+
+    /**
+     * Genera un entero aleatorio.
+     *
+     * @param limite Límite superior excluido, positivo.
+     * @return Entero entre 0 y limite - 1.
+     */
+    int siguiente(int limite) {
+        estado ^= estado << 13;
+        estado ^= estado >>> 7;
+        estado ^= estado << 17;
+        return (int) (((estado >>> 32) * limite) >>> 32);
+    }
+}
@@ -0,0 +1,344 @@
+package noventagrados.motor;
+
+import noventagrados.control.Arbitro;
+import noventagrados.control.BufferJugadas;
+import noventagrados.modelo.Jugada;
+import noventagrados.util.Color;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Clase que elige jugadas para el ordenador mediante una búsqueda alfa-beta (negamax)
+ * con profundización iterativa, limitada en profundidad y en tiempo.
+ * <p>
+ * Las posiciones finales se puntúan con las condiciones de victoria del árbitro (reina en
+ * el centro o reina rival en la caja); el resto de hojas se puntúan con un {@link Evaluador},
+ * al que se notifica cada jugada hecha y deshecha para que pueda actualizarse.
+ * La búsqueda se realiza sobre un clon del árbitro usando {@link Arbitro#hacer(int)} y
+ * {@link Arbitro#deshacer(long)}, por lo que la partida original no se modifica.
+ * Opcionalmente se usa una {@link TablaTransposicion} para reutilizar el análisis de
+ * posiciones alcanzadas por distintos órdenes de jugadas.
+ * Una instancia no debe usarse desde varios hilos a la vez.
+ */
+public class Motor {
+
+    /** Puntuación de una victoria en la raíz. Las victorias más lejanas puntúan algo menos. */
+    public static final int PUNTUACION_VICTORIA = 1_000_000;
+
+    /** Profundidad máxima admitida en plies. */
+    public static final int PROFUNDIDAD_LIMITE = 64;
+
+    private static final int INFINITO = PUNTUACION_VICTORIA + 1; // Cota superior de cualquier puntuación.
+    private static final int NODOS_ENTRE_CONSULTAS_TIEMPO = 1024; // Frecuencia de consulta del reloj.
+
+    private final int profundidadMaxima;  // Profundidad máxima de la búsqueda.
+    private final long tiempoMaximoNanos; // Tiempo máximo de búsqueda.
+    private final Evaluador evaluador;    // Evaluación de posiciones no finales.
+    private final TablaTransposicion tabla; // Tabla de transposición, o null si no se usa.
+
+    private final BufferJugadas[] jugadasPorPly = new BufferJugadas[PROFUNDIDAD_LIMITE + 1]; // Jugadas de cada ply.
+    private final int[][] variacion = new int[PROFUNDIDAD_LIMITE + 1][PROFUNDIDAD_LIMITE + 1]; // Tabla triangular de variaciones.
+    private final int[] longitudVariacion = new int[PROFUNDIDAD_LIMITE + 1]; // Final de la variación de cada ply.
+    private final int[] variacionAnterior = new int[PROFUNDIDAD_LIMITE + 1]; // Variación principal de la iteración previa.
+    private int longitudVariacionAnterior; // Número de jugadas de la variación previa.
+    private boolean siguiendoVariacion;    // Indica si el nodo actual está en la variación previa.
+
+    private Arbitro arbitro;   // Clon del árbitro sobre el que se busca.
+    private long nodos;        // Nodos visitados en la búsqueda actual.
+    private long limiteNanos;  // Instante en que se agota el tiempo.
+    private boolean abortada;  // Indica si se ha agotado el tiempo.
+    private AtomicBoolean parada; // Señal externa para detener la búsqueda.
+
+    /**
+     * Constructor de la clase Motor con el evaluador por defecto.
+     *
+     * @param profundidadMaxima        Profundidad máxima en plies, entre 1 y {@link #PROFUNDIDAD_LIMITE}.
+     * @param tiempoMaximoMilisegundos Tiempo máximo de búsqueda en milisegundos.
+     */
+    public Motor(int profundidadMaxima, long tiempoMaximoMilisegundos) {
+        this(profundidadMaxima, tiempoMaximoMilisegundos, new EvaluadorMaterial());
+    }
+
+    /**
+     * Constructor de la clase Motor.
+     *
+     * @param profundidadMaxima        Profundidad máxima en plies, entre 1 y {@link #PROFUNDIDAD_LIMITE}.
+     * @param tiempoMaximoMilisegundos Tiempo máximo de búsqueda en milisegundos.
+     * @param evaluador                Evaluador de posiciones no finales.
+     */
+    public Motor(int profundidadMaxima, long tiempoMaximoMilisegundos, Evaluador evaluador) {
+        this(profundidadMaxima, tiempoMaximoMilisegundos, evaluador, null);
+    }
+
+    /**
+     * Constructor de la clase Motor con tabla de transposición. La tabla se conserva entre
+     * búsquedas, de modo que el análisis de una jugada aprovecha el de las anteriores.
+     *
+     * @param profundidadMaxima        Profundidad máxima en plies, entre 1 y {@link #PROFUNDIDAD_LIMITE}.
+     * @param tiempoMaximoMilisegundos Tiempo máximo de búsqueda en milisegundos.
+     * @param evaluador                Evaluador de posiciones no finales.
+     * @param tabla                    Tabla de transposición, o null para no usarla.
+     */
+    public Motor(int profundidadMaxima, long tiempoMaximoMilisegundos, Evaluador evaluador,
+                 TablaTransposicion tabla) {
+        this.tabla = tabla;
+        this.profundidadMaxima = Math.max(1, Math.min(profundidadMaxima, PROFUNDIDAD_LIMITE));
+        this.tiempoMaximoNanos = tiempoMaximoMilisegundos * 1_000_000L;
+        this.evaluador = evaluador;
+        for (int i = 0; i < jugadasPorPly.length; i++) {
+            jugadasPorPly[i] = new BufferJugadas();
+        }
+    }
+
+    /**
+     * Busca la mejor jugada para el color con el turno en la posición del árbitro.
+     * La primera iteración se completa siempre; las siguientes se descartan si se agota
+     * el tiempo antes de terminarlas.
+     *
+     * @param arbitroPartida Árbitro con la posición a analizar. No se modifica.
+     * @return Resultado con la mejor jugada, la variación principal y los nodos visitados.
+     */
+    public ResultadoBusqueda buscar(Arbitro arbitroPartida) {
+        if (tabla != null) {
+            tabla.nuevaBusqueda();
+        }
+        return buscar(arbitroPartida, 1, new AtomicBoolean(false));
+    }
+
+    /**
+     * Busca la mejor jugada empezando la profundización iterativa en la profundidad
+     * indicada. Las iteraciones posteriores a la primera, o todas si la búsqueda es
+     * auxiliar, se interrumpen al agotarse el tiempo o al activarse la señal de parada.
+     * No inicia una nueva generación en la tabla de transposición.
+     *
+     * @param arbitroPartida     Árbitro con la posición a analizar. No se modifica.
+     * @param profundidadInicial Profundidad de la primera iteración.
+     * @param parada             Señal compartida para detener la búsqueda desde otro hilo.
+     * @return Resultado con la mejor jugada, la variación principal y los nodos visitados.
+     */
+    ResultadoBusqueda buscar(Arbitro arbitroPartida, int profundidadInicial, AtomicBoolean parada) {
+        arbitro = arbitroPartida.clonar();
+        evaluador.cargar(arbitro);
+        nodos = 0;
+        abortada = false;
+        this.parada = parada;
+        limiteNanos = System.nanoTime() + tiempoMaximoNanos;
+        longitudVariacionAnterior = 0;
+        int puntuacion = 0;
+        int profundidadCompletada = 0;
+
+        if (arbitro.consultarTurno() != null && !arbitro.estaFinalizadaPartida()) {
+            for (int profundidad = profundidadInicial; profundidad <= profundidadMaxima; profundidad++) {
+                siguiendoVariacion = true;
+                int valor = negamax(profundidad, -INFINITO, INFINITO, 0, profundidad > 1);
+                if (abortada) {
+                    break;
+                }
+                puntuacion = valor;
+                profundidadCompletada = profundidad;
+                longitudVariacionAnterior = longitudVariacion[0];
+                System.arraycopy(variacion[0], 0, variacionAnterior, 0, longitudVariacionAnterior);
+                if (Math.abs(valor) >= PUNTUACION_VICTORIA - PROFUNDIDAD_LIMITE) {
+                    break; // Resultado forzado: profundizar más no lo cambia.
+                }
+            }
+        }
+        List<Jugada> jugadas = construirVariacion(arbitroPartida);
+        Jugada mejor = jugadas.isEmpty() ? null : jugadas.get(0);
+        arbitro = null;
+        this.parada = null;
+        return new ResultadoBusqueda(mejor, jugadas, puntuacion, profundidadCompletada, nodos);
+    }
+
+    /**
+     * Búsqueda negamax con poda alfa-beta.
+     *
+     * @param profundidad    Plies restantes.
+     * @param alfa           Cota inferior.
+     * @param beta           Cota superior.
+     * @param ply            Distancia a la raíz.
+     * @param puedeAbortarse Indica si se puede interrumpir la búsqueda por tiempo.
+     * @return Puntuación de la posición desde el punto de vista del color con el turno.
+     */
+    private int negamax(int profundidad, int alfa, int beta, int ply, boolean puedeAbortarse) {
+        nodos++;
+        longitudVariacion[ply] = ply;
+        if (puedeAbortarse && nodos % NODOS_ENTRE_CONSULTAS_TIEMPO == 0
+                && (System.nanoTime() > limiteNanos || parada.get())) {
+            abortada = true;
+        }
+        if (abortada) {
+            return 0;
+        }
+        if (arbitro.estaFinalizadaPartida()) {
+            return puntuarFinal(ply);
+        }
+        if (profundidad == 0) {
+            return evaluador.evaluar(arbitro);
+        }
+        long clave = 0;
+        int jugadaTabla = TablaTransposicion.SIN_JUGADA;
+        if (tabla != null) {
+            clave = arbitro.consultarClaveZobrist();
+            long dato = tabla.sondear(clave);
+            if (dato != TablaTransposicion.SIN_ENTRADA) {
+                jugadaTabla = TablaTransposicion.consultarJugada(dato);
+                if (ply > 0 && TablaTransposicion.consultarProfundidad(dato) >= profundidad) {
+                    int valor = desajustarVictoria(TablaTransposicion.consultarPuntuacion(dato), ply);
+                    int tipoCota = TablaTransposicion.consultarTipoCota(dato);
+                    if (tipoCota == TablaTransposicion.COTA_EXACTA
+                            || tipoCota == TablaTransposicion.COTA_INFERIOR && valor >= beta
+                            || tipoCota == TablaTransposicion.COTA_SUPERIOR && valor <= alfa) {
+                        return valor;
+                    }
+                }
+            }
+        }
+        BufferJugadas jugadas = arbitro.generarJugadasLegales(jugadasPorPly[ply]);
+        int numeroJugadas = jugadas.consultarNumeroJugadas();
+        if (numeroJugadas == 0) {
+            return 0; // Sin jugadas posibles se considera tablas.
+        }
+        boolean enVariacion = siguiendoVariacion && ply < longitudVariacionAnterior
+                && adelantarJugada(jugadas, variacionAnterior[ply]);
+        if (!enVariacion && jugadaTabla != TablaTransposicion.SIN_JUGADA) {
+            adelantarJugada(jugadas, jugadaTabla);
+        }
+
+        int alfaInicial = alfa;
+        int mejor = -INFINITO;
+        int mejorJugada = TablaTransposicion.SIN_JUGADA;
+        for (int i = 0; i < numeroJugadas; i++) {
+            int codigo = jugadas.consultarCodigo(i);
+            siguiendoVariacion = enVariacion && i == 0;
+            long token = arbitro.hacer(codigo);
+            evaluador.jugadaHecha(arbitro, token);
+            int valor = -negamax(profundidad - 1, -beta, -alfa, ply + 1, puedeAbortarse);
+            arbitro.deshacer(token);
+            evaluador.jugadaDeshecha(arbitro, token);
+            if (abortada) {
+                return 0;
+            }
+            if (valor > mejor) {
+                mejor = valor;
+                mejorJugada = codigo;
+                if (valor > alfa) {
+                    alfa = valor;
+                    variacion[ply][ply] = codigo;
+                    System.arraycopy(variacion[ply + 1], ply + 1, variacion[ply], ply + 1,
+                            longitudVariacion[ply + 1] - ply - 1);
+                    longitudVariacion[ply] = longitudVariacion[ply + 1];
+                    if (alfa >= beta) {
+                        break;
+                    }
+                }
+            }
+        }
+        if (tabla != null) {
+            int tipoCota = mejor <= alfaInicial ? TablaTransposicion.COTA_SUPERIOR
+                    : mejor >= beta ? TablaTransposicion.COTA_INFERIOR : TablaTransposicion.COTA_EXACTA;
+            tabla.guardar(clave, profundidad, tipoCota, ajustarVictoria(mejor, ply), mejorJugada);
+        }
+        return mejor;
+    }
+
+    /**
+     * Convierte una puntuación de victoria relativa a la raíz en relativa a la posición,
+     * para que pueda reutilizarse desde la tabla a cualquier distancia de la raíz.
+     *
+     * @param puntuacion Puntuación relativa a la raíz.
+     * @param ply        Distancia de la posición a la raíz.
+     * @return Puntuación relativa a la posición.
+     */
+    private static int ajustarVictoria(int puntuacion, int ply) {
+        if (puntuacion >= PUNTUACION_VICTORIA - PROFUNDIDAD_LIMITE) {
+            return puntuacion + ply;
+        }
+        if (puntuacion <= -(PUNTUACION_VICTORIA - PROFUNDIDAD_LIMITE)) {
+            return puntuacion - ply;
+        }
+        return puntuacion;
+    }
+
+    /**
+     * Operación inversa de {@link #ajustarVictoria(int, int)}.
+     *
+     * @param puntuacion Puntuación relativa a la posición.
+     * @param ply        Distancia de la posición a la raíz.
+     * @return Puntuación relativa a la raíz.
+     */
+    private static int desajustarVictoria(int puntuacion, int ply) {
+        if (puntuacion >= PUNTUACION_VICTORIA - PROFUNDIDAD_LIMITE) {
+            return puntuacion - ply;
+        }
+        if (puntuacion <= -(PUNTUACION_VICTORIA - PROFUNDIDAD_LIMITE)) {
+            return puntuacion + ply;
+        }
+        return puntuacion;
+    }
+
+    /**
+     * Puntúa una posición final desde el punto de vista del color con el turno.
+     *
+     * @param ply Distancia a la raíz, para preferir las victorias más cercanas.
+     * @return Puntuación de victoria, derrota o tablas.
+     */
+    private int puntuarFinal(int ply) {
+        Color ganador = arbitro.consultarTurnoGanador();
+        if (ganador == null) {
+            return 0;
+        }
+        return ganador == arbitro.consultarTurno() ? PUNTUACION_VICTORIA - ply : -(PUNTUACION_VICTORIA - ply);
+    }
+
+    /**
+     * Coloca una jugada en la primera posición del buffer si está presente.
+     *
+     * @param jugadas Buffer de jugadas.
+     * @param codigo  Jugada codificada a adelantar.
+     * @return true si la jugada estaba en el buffer, false en caso contrario.
+     */
+    private boolean adelantarJugada(BufferJugadas jugadas, int codigo) {
+        for (int i = 0; i < jugadas.consultarNumeroJugadas(); i++) {
+            if (jugadas.consultarCodigo(i) == codigo) {
+                jugadas.intercambiar(0, i);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Convierte la variación principal codificada en jugadas, reproduciéndola sobre un
+     * clon del árbitro para que cada jugada contenga las celdas de su posición.
+     *
+     * @param arbitroPartida Árbitro con la posición de la raíz.
+     * @return Lista de jugadas de la variación principal.
+     */
+    private List<Jugada> construirVariacion(Arbitro arbitroPartida) {
+        Arbitro reproduccion = arbitroPartida.clonar();
+        List<Jugada> jugadas = new ArrayList<>(longitudVariacionAnterior);
+        for (int i = 0; i < longitudVariacionAnterior; i++) {
+            jugadas.add(BufferJugadas.decodificar(variacionAnterior[i], reproduccion.consultarTablero()));
+            reproduccion.hacer(variacionAnterior[i]);
+        }
+        return jugadas;
+    }
+
+    /**
+     * Devuelve una representación textual del motor.
+     *
+     * @return Cadena con la configuración del motor.
+     */
+    @Override
+    public String toString() {
+        return "Motor{" +
+                "profundidadMaxima=" + profundidadMaxima +
+                ", tiempoMaximoNanos=" + tiempoMaximoNanos +
+                ", evaluador=" + evaluador +
+                ", tabla=" + tabla +
+                '}';
+    }
+}
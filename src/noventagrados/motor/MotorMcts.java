@@ -0,0 +1,413 @@
+package noventagrados.motor;
+
+import noventagrados.control.Arbitro;
+import noventagrados.control.BufferJugadas;
+import noventagrados.modelo.Jugada;
+import noventagrados.util.Color;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntToLongFunction;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Clase que elige jugadas mediante búsqueda en árbol de Monte Carlo con la fórmula UCT.
+ * <p>
+ * Cada iteración desciende por el árbol eligiendo el hijo con mayor cota UCT, expande la
+ * hoja alcanzada con todas sus jugadas legales y simula una partida con jugadas
+ * aleatorias con un {@link SimuladorPartidas} hasta que una reina llega al centro o es
+ * expulsada. El resultado se propaga hacia la raíz desde el punto de vista del color que
+ * mueve en cada nodo. Las simulaciones que superan {@value #JUGADAS_MAXIMAS_SIMULACION} jugadas, y la expulsión
+ * de ambas reinas, cuentan como empate.
+ * <p>
+ * Los nodos se guardan en arreglos de tipos primitivos reservados al crear el motor, con
+ * los hijos de cada nodo en posiciones consecutivas. Al empezar una nueva búsqueda se
+ * localiza la posición actual entre los nietos de la raíz anterior (la jugada propia y
+ * la respuesta del rival) y se conserva su subárbol, copiándolo de forma compacta al
+ * principio de un segundo juego de arreglos. Si el árbol se llena se siguen haciendo
+ * simulaciones sin expandir más nodos.
+ * <p>
+ * Una instancia no debe usarse desde varios hilos a la vez.
+ */
+public class MotorMcts {
+
+    /** Constante de exploración de la fórmula UCT. */
+    public static final double CONSTANTE_EXPLORACION = Math.sqrt(2);
+
+    /** Número máximo de jugadas de una simulación antes de darla por empate. */
+    public static final int JUGADAS_MAXIMAS_SIMULACION = 200;
+
+    /** Valor absoluto máximo de la puntuación devuelta, que corresponde a victoria segura. */
+    public static final int ESCALA_PUNTUACION = 1000;
+
+    static final int PROFUNDIDAD_MAXIMA_ARBOL = 256;  // Profundidad a partir de la que no se desciende.
+    static final int ITERACIONES_ENTRE_CONSULTAS_TIEMPO = 64; // Frecuencia de consulta del reloj.
+    static final int SIN_EXPANDIR = -1;               // Valor de primerHijo de un nodo hoja.
+
+    private final int iteracionesMaximas; // Iteraciones máximas por búsqueda.
+    private final long tiempoMaximoNanos; // Tiempo máximo por búsqueda.
+    private final int capacidad;          // Número máximo de nodos del árbol.
+
+    private int[] jugadaNodo;        // Jugada codificada que lleva del padre a cada nodo.
+    private int[] primerHijo;        // Índice del primer hijo, o SIN_EXPANDIR.
+    private int[] numeroHijos;       // Número de hijos de cada nodo expandido.
+    private int[] visitas;           // Iteraciones que han pasado por cada nodo.
+    private double[] puntos;         // Suma de resultados para el color que movió hacia el nodo.
+    private int[] jugadaNodoLibre;   // Arreglos de repuesto para compactar el subárbol conservado.
+    private int[] primerHijoLibre;
+    private int[] numeroHijosLibre;
+    private int[] visitasLibre;
+    private double[] puntosLibre;
+    private int numeroNodos;         // Nodos ocupados; el 0 es la raíz.
+
+    private final int[] camino = new int[PROFUNDIDAD_MAXIMA_ARBOL + 1]; // Nodos de la iteración actual.
+    private final long[] tokens = new long[PROFUNDIDAD_MAXIMA_ARBOL]; // Jugadas del árbol a deshacer.
+    private final BufferJugadas jugadas = new BufferJugadas(); // Jugadas generadas al expandir.
+    private final SimuladorPartidas simulador; // Simulaciones desde las hojas.
+    private Arbitro arbitro;         // Clon de la posición raíz, restaurado tras cada iteración.
+    private final GeneradorXorshift aleatorio; // Elige el hijo a simular.
+
+    /**
+     * Constructor de la clase MotorMcts.
+     *
+     * @param iteracionesMaximas       Iteraciones máximas por búsqueda, al menos una.
+     * @param tiempoMaximoMilisegundos Tiempo máximo por búsqueda en milisegundos.
+     * @param capacidad                Número máximo de nodos del árbol, al menos uno.
+     * @param semilla                  Semilla de las simulaciones aleatorias.
+     */
+    public MotorMcts(int iteracionesMaximas, long tiempoMaximoMilisegundos, int capacidad, long semilla) {
+        this.iteracionesMaximas = Math.max(1, iteracionesMaximas);
+        this.tiempoMaximoNanos = tiempoMaximoMilisegundos * 1_000_000L;
+        this.capacidad = Math.max(1, capacidad);
+        this.jugadaNodo = new int[this.capacidad];
+        this.primerHijo = new int[this.capacidad];
+        this.numeroHijos = new int[this.capacidad];
+        this.visitas = new int[this.capacidad];
+        this.puntos = new double[this.capacidad];
+        this.jugadaNodoLibre = new int[this.capacidad];
+        this.primerHijoLibre = new int[this.capacidad];
+        this.numeroHijosLibre = new int[this.capacidad];
+        this.visitasLibre = new int[this.capacidad];
+        this.puntosLibre = new double[this.capacidad];
+        this.aleatorio = new GeneradorXorshift(~semilla); // Distinta de la del simulador.
+        this.simulador = new SimuladorPartidas(semilla, JUGADAS_MAXIMAS_SIMULACION);
+    }
+
+    /**
+     * Busca la mejor jugada para el color con el turno, reutilizando el árbol de la
+     * búsqueda anterior si la posición está entre sus nietos.
+     *
+     * @param arbitroPartida Árbitro con la posición a analizar. No se modifica.
+     * @return Resultado con la jugada más visitada, la variación de jugadas más visitadas,
+     *         la tasa de victorias escalada a {@link #ESCALA_PUNTUACION} y las iteraciones hechas.
+     */
+    public ResultadoBusqueda buscar(Arbitro arbitroPartida) {
+        int raiz = arbitro == null ? -1 : localizar(arbitroPartida.consultarClaveZobrist());
+        if (raiz < 0) {
+            vaciar();
+        } else if (raiz > 0) {
+            conservarSubarbol(raiz);
+        }
+        arbitro = arbitroPartida.clonar();
+
+        long limiteNanos = System.nanoTime() + tiempoMaximoNanos;
+        int iteraciones = 0;
+        if (arbitro.consultarTurno() != null && !arbitro.estaFinalizadaPartida()) {
+            do {
+                iterar();
+                iteraciones++;
+            } while (iteraciones < iteracionesMaximas && (iteraciones % ITERACIONES_ENTRE_CONSULTAS_TIEMPO != 0
+                    || System.nanoTime() < limiteNanos));
+        }
+
+        List<Jugada> variacion = construirVariacion(arbitro, jugadaNodo, this::elegirMasVisitado);
+        int mejor = elegirMasVisitado(0);
+        int puntuacion = mejor < 0 ? 0
+                : (int) Math.round((2 * puntos[mejor] / visitas[mejor] - 1) * ESCALA_PUNTUACION);
+        return new ResultadoBusqueda(variacion.isEmpty() ? null : variacion.get(0), variacion, puntuacion,
+                variacion.size(), iteraciones);
+    }
+
+    /**
+     * Descarta el árbol guardado, de modo que la siguiente búsqueda empieza de cero.
+     */
+    public void reiniciar() {
+        arbitro = null;
+        vaciar();
+    }
+
+    /**
+     * Consulta el número de nodos del árbol.
+     *
+     * @return Nodos ocupados, incluida la raíz.
+     */
+    public int consultarNumeroNodos() {
+        return numeroNodos;
+    }
+
+    /**
+     * Consulta las iteraciones acumuladas en la raíz, incluidas las conservadas de
+     * búsquedas anteriores.
+     *
+     * @return Visitas de la raíz.
+     */
+    public int consultarVisitasRaiz() {
+        return visitas[0];
+    }
+
+    /**
+     * Realiza una iteración completa: selección, expansión, simulación y propagación.
+     * El árbitro queda al terminar en la posición raíz.
+     */
+    private void iterar() {
+        int nodo = 0;
+        int profundidad = 0;
+        camino[0] = 0;
+        while (primerHijo[nodo] != SIN_EXPANDIR && numeroHijos[nodo] > 0 && profundidad < PROFUNDIDAD_MAXIMA_ARBOL) {
+            nodo = seleccionar(nodo);
+            tokens[profundidad++] = arbitro.hacer(jugadaNodo[nodo]);
+            camino[profundidad] = nodo;
+        }
+        if (primerHijo[nodo] == SIN_EXPANDIR && profundidad < PROFUNDIDAD_MAXIMA_ARBOL
+                && !arbitro.estaFinalizadaPartida() && expandir(nodo) && numeroHijos[nodo] > 0) {
+            nodo = primerHijo[nodo] + aleatorio.siguiente(numeroHijos[nodo]);
+            tokens[profundidad++] = arbitro.hacer(jugadaNodo[nodo]);
+            camino[profundidad] = nodo;
+        }
+        int jugadasArbol = profundidad;
+        Color ganador = SimuladorPartidas.consultarGanador(simulador.simular(arbitro));
+        for (int i = jugadasArbol - 1; i >= 0; i--) {
+            arbitro.deshacer(tokens[i]);
+        }
+
+        // El color que mueve en la raíz es el que mueve hacia los nodos de profundidad impar.
+        for (int i = jugadasArbol; i >= 0; i--) {
+            int actual = camino[i];
+            visitas[actual]++;
+            if (i > 0) {
+                Color mueve = i % 2 == 1 ? arbitro.consultarTurno() : arbitro.consultarTurno().consultarContrario();
+                puntos[actual] += ganador == null ? 0.5 : ganador == mueve ? 1 : 0;
+            }
+        }
+    }
+
+    /**
+     * Elige el hijo con mayor cota UCT; los hijos sin visitar se eligen antes que ninguno.
+     *
+     * @param padre Nodo expandido con hijos.
+     * @return Índice del hijo elegido.
+     */
+    private int seleccionar(int padre) {
+        double logaritmoVisitas = Math.log(visitas[padre]);
+        int mejor = primerHijo[padre];
+        double mejorValor = Double.NEGATIVE_INFINITY;
+        for (int hijo = primerHijo[padre]; hijo < primerHijo[padre] + numeroHijos[padre]; hijo++) {
+            if (visitas[hijo] == 0) {
+                return hijo;
+            }
+            double valor = puntos[hijo] / visitas[hijo]
+                    + CONSTANTE_EXPLORACION * Math.sqrt(logaritmoVisitas / visitas[hijo]);
+            if (valor > mejorValor) {
+                mejorValor = valor;
+                mejor = hijo;
+            }
+        }
+        return mejor;
+    }
+
+    /**
+     * Crea los hijos de un nodo con las jugadas legales de la posición actual.
+     *
+     * @param nodo Nodo hoja en la posición actual del árbitro.
+     * @return true si se ha expandido, false si no caben los hijos en el árbol.
+     */
+    private boolean expandir(int nodo) {
+        arbitro.generarJugadasLegales(jugadas);
+        int n = jugadas.consultarNumeroJugadas();
+        if (numeroNodos + n > capacidad) {
+            return false;
+        }
+        for (int i = 0; i < n; i++) {
+            iniciarNodo(numeroNodos + i, jugadas.consultarCodigo(i));
+        }
+        primerHijo[nodo] = numeroNodos;
+        numeroHijos[nodo] = n;
+        numeroNodos += n;
+        return true;
+    }
+
+    /**
+     * Busca la posición con la clave indicada en la raíz, sus hijos o sus nietos.
+     *
+     * @param clave Clave Zobrist de la posición buscada.
+     * @return Índice del nodo, o -1 si no está en el árbol.
+     */
+    private int localizar(long clave) {
+        if (arbitro.consultarClaveZobrist() == clave) {
+            return 0;
+        }
+        int encontrado = -1;
+        for (int hijo = primerHijo[0]; encontrado < 0 && hijo >= 0 && hijo < primerHijo[0] + numeroHijos[0]; hijo++) {
+            long token = arbitro.hacer(jugadaNodo[hijo]);
+            if (arbitro.consultarClaveZobrist() == clave) {
+                encontrado = hijo;
+            }
+            for (int nieto = primerHijo[hijo]; encontrado < 0 && nieto >= 0
+                    && nieto < primerHijo[hijo] + numeroHijos[hijo]; nieto++) {
+                long tokenNieto = arbitro.hacer(jugadaNodo[nieto]);
+                if (arbitro.consultarClaveZobrist() == clave) {
+                    encontrado = nieto;
+                }
+                arbitro.deshacer(tokenNieto);
+            }
+            arbitro.deshacer(token);
+        }
+        return encontrado;
+    }
+
+    /**
+     * Copia el subárbol de un nodo al principio de los arreglos de repuesto, recorriéndolo
+     * por niveles para mantener los hijos consecutivos, e intercambia ambos juegos de
+     * arreglos. Mientras un nodo copiado está pendiente, su primerHijo guarda su índice
+     * en el árbol anterior.
+     *
+     * @param raiz Nodo que pasa a ser la raíz.
+     */
+    private void conservarSubarbol(int raiz) {
+        copiarNodo(raiz, 0);
+        int libres = 1;
+        for (int nuevo = 0; nuevo < libres; nuevo++) {
+            int anterior = primerHijoLibre[nuevo];
+            if (primerHijo[anterior] == SIN_EXPANDIR) {
+                primerHijoLibre[nuevo] = SIN_EXPANDIR;
+                continue;
+            }
+            for (int k = 0; k < numeroHijos[anterior]; k++) {
+                copiarNodo(primerHijo[anterior] + k, libres + k);
+            }
+            primerHijoLibre[nuevo] = libres;
+            libres += numeroHijos[anterior];
+        }
+
+        int[] enteros = jugadaNodo;
+        jugadaNodo = jugadaNodoLibre;
+        jugadaNodoLibre = enteros;
+        enteros = primerHijo;
+        primerHijo = primerHijoLibre;
+        primerHijoLibre = enteros;
+        enteros = numeroHijos;
+        numeroHijos = numeroHijosLibre;
+        numeroHijosLibre = enteros;
+        enteros = visitas;
+        visitas = visitasLibre;
+        visitasLibre = enteros;
+        double[] reales = puntos;
+        puntos = puntosLibre;
+        puntosLibre = reales;
+        numeroNodos = libres;
+    }
+
+    /**
+     * Copia un nodo a los arreglos de repuesto guardando su índice anterior en primerHijo.
+     *
+     * @param anterior Índice en el árbol actual.
+     * @param nuevo    Índice en los arreglos de repuesto.
+     */
+    private void copiarNodo(int anterior, int nuevo) {
+        jugadaNodoLibre[nuevo] = jugadaNodo[anterior];
+        primerHijoLibre[nuevo] = anterior;
+        numeroHijosLibre[nuevo] = numeroHijos[anterior];
+        visitasLibre[nuevo] = visitas[anterior];
+        puntosLibre[nuevo] = puntos[anterior];
+    }
+
+    /**
+     * Deja el árbol con una única raíz sin expandir.
+     */
+    private void vaciar() {
+        iniciarNodo(0, 0);
+        numeroNodos = 1;
+    }
+
+    /**
+     * Inicializa un nodo hoja sin visitas.
+     *
+     * @param nodo   Índice del nodo.
+     * @param codigo Jugada que lleva al nodo.
+     */
+    private void iniciarNodo(int nodo, int codigo) {
+        jugadaNodo[nodo] = codigo;
+        primerHijo[nodo] = SIN_EXPANDIR;
+        numeroHijos[nodo] = 0;
+        visitas[nodo] = 0;
+        puntos[nodo] = 0;
+    }
+
+    /**
+     * Elige el hijo más visitado de un nodo.
+     *
+     * @param padre Nodo padre.
+     * @return Índice del hijo, o -1 si no tiene hijos visitados.
+     */
+    private int elegirMasVisitado(int padre) {
+        return elegirMasVisitado(primerHijo[padre], numeroHijos[padre], hijo -> visitas[hijo]);
+    }
+
+    /**
+     * Elige el hijo más visitado entre un bloque de hijos consecutivos. Lo comparten
+     * {@link MotorMcts} y {@link MotorMctsParalelo}.
+     *
+     * @param primero     Índice del primer hijo, o negativo si el nodo no está expandido.
+     * @param numeroHijos Número de hijos.
+     * @param visitas     Visitas de cada nodo.
+     * @return Índice del hijo, o -1 si no tiene hijos visitados.
+     */
+    static int elegirMasVisitado(int primero, int numeroHijos, IntToLongFunction visitas) {
+        int mejor = -1;
+        long mejorVisitas = 0;
+        for (int hijo = primero; primero >= 0 && hijo < primero + numeroHijos; hijo++) {
+            long visitasHijo = visitas.applyAsLong(hijo);
+            if (visitasHijo > mejorVisitas) {
+                mejorVisitas = visitasHijo;
+                mejor = hijo;
+            }
+        }
+        return mejor;
+    }
+
+    /**
+     * Construye la variación siguiendo desde la raíz los hijos más visitados. Lo comparten
+     * {@link MotorMcts} y {@link MotorMctsParalelo}.
+     *
+     * @param raiz              Árbitro con la posición raíz. No se modifica.
+     * @param jugadaNodo        Jugada codificada que lleva del padre a cada nodo.
+     * @param elegirMasVisitado Hijo más visitado de cada nodo, o -1 si no tiene.
+     * @return Jugadas de la variación.
+     */
+    static List<Jugada> construirVariacion(Arbitro raiz, int[] jugadaNodo, IntUnaryOperator elegirMasVisitado) {
+        Arbitro reproduccion = raiz.clonar();
+        List<Jugada> variacion = new ArrayList<>();
+        int nodo = elegirMasVisitado.applyAsInt(0);
+        while (nodo >= 0) {
+            variacion.add(BufferJugadas.decodificar(jugadaNodo[nodo], reproduccion.consultarTablero()));
+            reproduccion.hacer(jugadaNodo[nodo]);
+            nodo = elegirMasVisitado.applyAsInt(nodo);
+        }
+        return variacion;
+    }
+
+    /**
+     * Devuelve una representación textual del motor.
+     *
+     * @return Cadena con los límites de búsqueda y el tamaño del árbol.
+     */
+    @Override
+    public String toString() {
+        return "MotorMcts{" +
+                "iteracionesMaximas=" + iteracionesMaximas +
+                ", tiempoMaximoNanos=" + tiempoMaximoNanos +
+                ", capacidad=" + capacidad +
+                ", numeroNodos=" + numeroNodos +
+                '}';
+    }
+}
@@ -0,0 +1,337 @@
+package noventagrados.motor;
+
+import noventagrados.control.Arbitro;
+import noventagrados.control.BufferJugadas;
+import noventagrados.modelo.Jugada;
+import noventagrados.util.Color;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Clase que realiza la búsqueda de {@link MotorMcts} con varios hilos sobre un único árbol
+ * compartido (paralelización de árbol).
+ * <p>
+ * Las estadísticas de cada nodo se empaquetan en un {@code long} de un
+ * {@link AtomicLongArray}: las visitas en los 32 bits altos y los medios puntos obtenidos
+ * en los 32 bits bajos, de modo que se actualizan y leen de forma coherente sin bloqueos.
+ * Al descender, cada hilo suma ya la visita a los nodos que atraviesa y solo al terminar
+ * la simulación suma los puntos. Mientras tanto el nodo cuenta como una derrota (pérdida
+ * virtual), lo que hace que los demás hilos prefieran otros caminos.
+ * <p>
+ * Un nodo se expande una sola vez: el hilo que consigue marcarlo con una operación CAS
+ * reserva un bloque consecutivo de hijos, los inicializa y publica el índice del primero.
+ * Los demás hilos tratan el nodo como hoja mientras tanto. El árbol se reconstruye en
+ * cada búsqueda.
+ */
+public class MotorMctsParalelo {
+
+    private static final int PROFUNDIDAD_MAXIMA_ARBOL = MotorMcts.PROFUNDIDAD_MAXIMA_ARBOL;
+    private static final int SIN_EXPANDIR = MotorMcts.SIN_EXPANDIR;
+    private static final int EXPANDIENDO = -2;                // Valor de primerHijo durante la expansión.
+    private static final long UNA_VISITA = 1L << 32;          // Incremento de visitas en las estadísticas.
+    private static final long MASCARA_PUNTOS = 0xFFFFFFFFL;   // Medios puntos en las estadísticas.
+
+    private final int numeroHilos;        // Hilos de búsqueda.
+    private final int iteracionesMaximas; // Iteraciones máximas por búsqueda entre todos los hilos.
+    private final long tiempoMaximoNanos; // Tiempo máximo por búsqueda.
+    private final int capacidad;          // Número máximo de nodos del árbol.
+    private final long semilla;           // Semilla de las simulaciones.
+
+    private final int[] jugadaNodo;               // Jugada que lleva del padre a cada nodo.
+    private final int[] numeroHijos;              // Número de hijos, escrito antes de publicar primerHijo.
+    private final AtomicIntegerArray primerHijo;  // Primer hijo, SIN_EXPANDIR o EXPANDIENDO.
+    private final AtomicLongArray estadisticas;   // Visitas y medios puntos empaquetados.
+    private final AtomicInteger numeroNodos = new AtomicInteger(); // Nodos reservados.
+    private final AtomicInteger iteracionesIniciadas = new AtomicInteger(); // Iteraciones repartidas.
+    private volatile boolean lleno;               // Indica si ya no caben más nodos.
+
+    /**
+     * Constructor de la clase MotorMctsParalelo.
+     *
+     * @param numeroHilos              Número de hilos de búsqueda, al menos uno.
+     * @param iteracionesMaximas       Iteraciones máximas por búsqueda, al menos una.
+     * @param tiempoMaximoMilisegundos Tiempo máximo por búsqueda en milisegundos.
+     * @param capacidad                Número máximo de nodos del árbol, al menos uno.
+     * @param semilla                  Semilla de las simulaciones; cada hilo usa una distinta.
+     */
+    public MotorMctsParalelo(int numeroHilos, int iteracionesMaximas, long tiempoMaximoMilisegundos,
+                             int capacidad, long semilla) {
+        this.numeroHilos = Math.max(1, numeroHilos);
+        this.iteracionesMaximas = Math.max(1, iteracionesMaximas);
+        this.tiempoMaximoNanos = tiempoMaximoMilisegundos * 1_000_000L;
+        this.capacidad = Math.max(1, capacidad);
+        this.semilla = semilla;
+        this.jugadaNodo = new int[this.capacidad];
+        this.numeroHijos = new int[this.capacidad];
+        this.primerHijo = new AtomicIntegerArray(this.capacidad);
+        this.estadisticas = new AtomicLongArray(this.capacidad);
+    }
+
+    /**
+     * Consulta el número de hilos de búsqueda.
+     *
+     * @return Número de hilos.
+     */
+    public int consultarNumeroHilos() {
+        return numeroHilos;
+    }
+
+    /**
+     * Consulta el número de nodos del árbol de la última búsqueda.
+     *
+     * @return Nodos ocupados, incluida la raíz.
+     */
+    public int consultarNumeroNodos() {
+        return Math.min(numeroNodos.get(), capacidad);
+    }
+
+    /**
+     * Busca la mejor jugada para el color con el turno usando todos los hilos.
+     *
+     * @param arbitroPartida Árbitro con la posición a analizar. No se modifica.
+     * @return Resultado con la jugada más visitada, la variación de jugadas más visitadas,
+     *         la tasa de victorias escalada a {@link MotorMcts#ESCALA_PUNTUACION} y las
+     *         iteraciones de todos los hilos.
+     */
+    public ResultadoBusqueda buscar(Arbitro arbitroPartida) {
+        iniciarNodo(0, 0);
+        numeroNodos.set(1);
+        iteracionesIniciadas.set(0);
+        lleno = false;
+
+        if (arbitroPartida.consultarTurno() != null && !arbitroPartida.estaFinalizadaPartida()) {
+            AtomicBoolean parada = new AtomicBoolean(false);
+            long limiteNanos = System.nanoTime() + tiempoMaximoNanos;
+            Thread[] hilos = new Thread[numeroHilos - 1];
+            for (int i = 1; i < numeroHilos; i++) {
+                Trabajador trabajador = new Trabajador(arbitroPartida.clonar(), semilla + i, limiteNanos, parada);
+                hilos[i - 1] = new Thread(trabajador, "mcts-" + i);
+                hilos[i - 1].start();
+            }
+            new Trabajador(arbitroPartida.clonar(), semilla, limiteNanos, parada).run();
+            parada.set(true);
+            for (Thread hilo : hilos) {
+                try {
+                    hilo.join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        List<Jugada> variacion = MotorMcts.construirVariacion(arbitroPartida, jugadaNodo, this::elegirMasVisitado);
+        int mejor = elegirMasVisitado(0);
+        int puntuacion = mejor < 0 ? 0 : (int) Math.round(
+                (consultarPuntos(estadisticas.get(mejor)) / consultarVisitas(estadisticas.get(mejor)) - 1)
+                        * MotorMcts.ESCALA_PUNTUACION);
+        return new ResultadoBusqueda(variacion.isEmpty() ? null : variacion.get(0), variacion, puntuacion,
+                variacion.size(), consultarVisitas(estadisticas.get(0)));
+    }
+
+    /**
+     * Consulta las visitas de unas estadísticas empaquetadas.
+     *
+     * @param dato Estadísticas empaquetadas.
+     * @return Visitas, incluidas las pérdidas virtuales en curso.
+     */
+    private static long consultarVisitas(long dato) {
+        return dato >>> 32;
+    }
+
+    /**
+     * Consulta los medios puntos de unas estadísticas empaquetadas.
+     *
+     * @param dato Estadísticas empaquetadas.
+     * @return Medios puntos: 2 por victoria y 1 por empate.
+     */
+    private static double consultarPuntos(long dato) {
+        return dato & MASCARA_PUNTOS;
+    }
+
+    /**
+     * Inicializa un nodo hoja sin visitas.
+     *
+     * @param nodo   Índice del nodo.
+     * @param codigo Jugada que lleva al nodo.
+     */
+    private void iniciarNodo(int nodo, int codigo) {
+        jugadaNodo[nodo] = codigo;
+        numeroHijos[nodo] = 0;
+        estadisticas.set(nodo, 0);
+        primerHijo.set(nodo, SIN_EXPANDIR);
+    }
+
+    /**
+     * Elige el hijo más visitado de un nodo.
+     *
+     * @param padre Nodo padre.
+     * @return Índice del hijo, o -1 si no tiene hijos visitados.
+     */
+    private int elegirMasVisitado(int padre) {
+        return MotorMcts.elegirMasVisitado(primerHijo.get(padre), numeroHijos[padre],
+                hijo -> consultarVisitas(estadisticas.get(hijo)));
+    }
+
+    /**
+     * Devuelve una representación textual del motor.
+     *
+     * @return Cadena con los hilos, los límites de búsqueda y el tamaño del árbol.
+     */
+    @Override
+    public String toString() {
+        return "MotorMctsParalelo{" +
+                "numeroHilos=" + numeroHilos +
+                ", iteracionesMaximas=" + iteracionesMaximas +
+                ", tiempoMaximoNanos=" + tiempoMaximoNanos +
+                ", capacidad=" + capacidad +
+                ", numeroNodos=" + consultarNumeroNodos() +
+                '}';
+    }
+
+    /**
+     * Hilo de búsqueda con su propio árbitro y su propio estado de simulación.
+     */
+    private final class Trabajador implements Runnable {
+
+        private final Arbitro arbitro;     // Clon de la posición raíz, restaurado tras cada iteración.
+        private final long limiteNanos;    // Instante en que se agota el tiempo.
+        private final AtomicBoolean parada; // Señal compartida para terminar.
+        private final int[] camino = new int[PROFUNDIDAD_MAXIMA_ARBOL + 1]; // Nodos de la iteración actual.
+        private final long[] tokens = new long[PROFUNDIDAD_MAXIMA_ARBOL]; // Jugadas del árbol a deshacer.
+        private final BufferJugadas jugadas = new BufferJugadas(); // Jugadas generadas al expandir.
+        private final SimuladorPartidas simulador; // Simulaciones desde las hojas.
+        private final GeneradorXorshift aleatorio; // Elige el hijo a simular.
+
+        /**
+         * Constructor del trabajador.
+         *
+         * @param arbitro     Clon de la posición raíz.
+         * @param semilla     Semilla de las simulaciones de este hilo.
+         * @param limiteNanos Instante en que se agota el tiempo.
+         * @param parada      Señal compartida para terminar.
+         */
+        Trabajador(Arbitro arbitro, long semilla, long limiteNanos, AtomicBoolean parada) {
+            this.arbitro = arbitro;
+            this.limiteNanos = limiteNanos;
+            this.parada = parada;
+            this.aleatorio = new GeneradorXorshift(~semilla); // Distinta de la del simulador.
+            this.simulador = new SimuladorPartidas(semilla, MotorMcts.JUGADAS_MAXIMAS_SIMULACION);
+        }
+
+        /**
+         * Hace iteraciones hasta agotar las iteraciones, el tiempo o recibir la señal de parada.
+         */
+        @Override
+        public void run() {
+            int hechas = 0;
+            while (!parada.get() && iteracionesIniciadas.getAndIncrement() < iteracionesMaximas) {
+                iterar();
+                hechas++;
+                if (hechas % MotorMcts.ITERACIONES_ENTRE_CONSULTAS_TIEMPO == 0 && System.nanoTime() > limiteNanos) {
+                    parada.set(true);
+                }
+            }
+        }
+
+        /**
+         * Realiza una iteración: selección con pérdida virtual, expansión, simulación y
+         * suma de los puntos.
+         */
+        private void iterar() {
+            int nodo = 0;
+            int profundidad = 0;
+            camino[0] = 0;
+            estadisticas.getAndAdd(0, UNA_VISITA);
+            int primero = primerHijo.get(nodo);
+            while (primero >= 0 && numeroHijos[nodo] > 0 && profundidad < PROFUNDIDAD_MAXIMA_ARBOL) {
+                nodo = seleccionar(nodo, primero);
+                estadisticas.getAndAdd(nodo, UNA_VISITA);
+                tokens[profundidad++] = arbitro.hacer(jugadaNodo[nodo]);
+                camino[profundidad] = nodo;
+                primero = primerHijo.get(nodo);
+            }
+            if (primero == SIN_EXPANDIR && profundidad < PROFUNDIDAD_MAXIMA_ARBOL
+                    && !arbitro.estaFinalizadaPartida() && expandir(nodo) && numeroHijos[nodo] > 0) {
+                nodo = primerHijo.get(nodo) + aleatorio.siguiente(numeroHijos[nodo]);
+                estadisticas.getAndAdd(nodo, UNA_VISITA);
+                tokens[profundidad++] = arbitro.hacer(jugadaNodo[nodo]);
+                camino[profundidad] = nodo;
+            }
+            int jugadasArbol = profundidad;
+            Color ganador = SimuladorPartidas.consultarGanador(simulador.simular(arbitro));
+            for (int i = jugadasArbol - 1; i >= 0; i--) {
+                arbitro.deshacer(tokens[i]);
+            }
+
+            // El color que mueve en la raíz es el que mueve hacia los nodos de profundidad impar.
+            for (int i = jugadasArbol; i > 0; i--) {
+                Color mueve = i % 2 == 1 ? arbitro.consultarTurno() : arbitro.consultarTurno().consultarContrario();
+                int mediosPuntos = ganador == null ? 1 : ganador == mueve ? 2 : 0;
+                if (mediosPuntos > 0) {
+                    estadisticas.getAndAdd(camino[i], mediosPuntos);
+                }
+            }
+        }
+
+        /**
+         * Elige el hijo con mayor cota UCT contando las pérdidas virtuales; los hijos sin
+         * visitar se eligen antes que ninguno.
+         *
+         * @param padre   Nodo expandido con hijos.
+         * @param primero Primer hijo del nodo.
+         * @return Índice del hijo elegido.
+         */
+        private int seleccionar(int padre, int primero) {
+            double logaritmoVisitas = Math.log(consultarVisitas(estadisticas.get(padre)));
+            int mejor = primero;
+            double mejorValor = Double.NEGATIVE_INFINITY;
+            for (int hijo = primero; hijo < primero + numeroHijos[padre]; hijo++) {
+                long dato = estadisticas.get(hijo);
+                long visitasHijo = consultarVisitas(dato);
+                if (visitasHijo == 0) {
+                    return hijo;
+                }
+                double valor = consultarPuntos(dato) / (2.0 * visitasHijo)
+                        + MotorMcts.CONSTANTE_EXPLORACION * Math.sqrt(logaritmoVisitas / visitasHijo);
+                if (valor > mejorValor) {
+                    mejorValor = valor;
+                    mejor = hijo;
+                }
+            }
+            return mejor;
+        }
+
+        /**
+         * Crea los hijos de un nodo si ningún otro hilo lo está haciendo y caben en el árbol.
+         *
+         * @param nodo Nodo hoja en la posición actual del árbitro.
+         * @return true si este hilo lo ha expandido, false en caso contrario.
+         */
+        private boolean expandir(int nodo) {
+            if (lleno || !primerHijo.compareAndSet(nodo, SIN_EXPANDIR, EXPANDIENDO)) {
+                return false;
+            }
+            arbitro.generarJugadasLegales(jugadas);
+            int n = jugadas.consultarNumeroJugadas();
+            int inicio;
+            do {
+                inicio = numeroNodos.get();
+                if (inicio + n > capacidad) {
+                    lleno = true;
+                    primerHijo.set(nodo, SIN_EXPANDIR);
+                    return false;
+                }
+            } while (!numeroNodos.compareAndSet(inicio, inicio + n));
+            for (int i = 0; i < n; i++) {
+                iniciarNodo(inicio + i, jugadas.consultarCodigo(i));
+            }
+            numeroHijos[nodo] = n;
+            primerHijo.set(nodo, inicio); // Publica los hijos a los demás hilos.
+            return true;
+        }
+    }
+}
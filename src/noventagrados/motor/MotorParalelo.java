@@ -0,0 +1,131 @@
+package noventagrados.motor;
+
+import noventagrados.control.Arbitro;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Clase que realiza búsquedas en paralelo siguiendo el esquema Lazy SMP: varios hilos
+ * analizan la misma posición raíz con su propio {@link Motor}, compartiendo una única
+ * {@link TablaTransposicion} sin bloqueos. Cada hilo aprovecha lo que los demás guardan en
+ * la tabla, por lo que el conjunto alcanza más profundidad en el mismo tiempo.
+ * <p>
+ * Los hilos auxiliares impares empiezan un ply más adelante para diversificar el trabajo.
+ * Cuando el hilo principal termina se detiene a los auxiliares y se devuelve el resultado
+ * más profundo, con los nodos de todos los hilos sumados.
+ */
+public class MotorParalelo {
+
+    private final Motor[] motores;          // Un motor por hilo; el primero es el principal.
+    private final TablaTransposicion tabla; // Tabla compartida por todos los hilos.
+
+    /**
+     * Constructor de la clase MotorParalelo con un único evaluador compartido entre hilos,
+     * que por tanto no debe guardar estado, como {@link EvaluadorMaterial}.
+     *
+     * @param numeroHilos              Número de hilos de búsqueda, al menos uno.
+     * @param profundidadMaxima        Profundidad máxima en plies.
+     * @param tiempoMaximoMilisegundos Tiempo máximo de búsqueda en milisegundos.
+     * @param evaluador                Evaluador de posiciones no finales, compartido entre hilos.
+     * @param tabla                    Tabla de transposición compartida.
+     */
+    public MotorParalelo(int numeroHilos, int profundidadMaxima, long tiempoMaximoMilisegundos,
+                         Evaluador evaluador, TablaTransposicion tabla) {
+        this(numeroHilos, profundidadMaxima, tiempoMaximoMilisegundos, () -> evaluador, tabla);
+    }
+
+    /**
+     * Constructor de la clase MotorParalelo con un evaluador propio para cada hilo, necesario
+     * cuando el evaluador guarda estado, como {@link EvaluadorPosicional}.
+     *
+     * @param numeroHilos              Número de hilos de búsqueda, al menos uno.
+     * @param profundidadMaxima        Profundidad máxima en plies.
+     * @param tiempoMaximoMilisegundos Tiempo máximo de búsqueda en milisegundos.
+     * @param evaluadores              Crea el evaluador de posiciones no finales de cada hilo.
+     * @param tabla                    Tabla de transposición compartida.
+     */
+    public MotorParalelo(int numeroHilos, int profundidadMaxima, long tiempoMaximoMilisegundos,
+                         Supplier<Evaluador> evaluadores, TablaTransposicion tabla) {
+        this.tabla = tabla;
+        this.motores = new Motor[Math.max(1, numeroHilos)];
+        for (int i = 0; i < motores.length; i++) {
+            motores[i] = new Motor(profundidadMaxima, tiempoMaximoMilisegundos, evaluadores.get(), tabla);
+        }
+    }
+
+    /**
+     * Consulta el número de hilos de búsqueda.
+     *
+     * @return Número de hilos.
+     */
+    public int consultarNumeroHilos() {
+        return motores.length;
+    }
+
+    /**
+     * Busca la mejor jugada para el color con el turno usando todos los hilos.
+     *
+     * @param arbitro Árbitro con la posición a analizar. No se modifica.
+     * @return Resultado del hilo que ha completado más profundidad, con los nodos de
+     *         todos los hilos.
+     */
+    public ResultadoBusqueda buscar(Arbitro arbitro) {
+        tabla.nuevaBusqueda();
+        AtomicBoolean parada = new AtomicBoolean(false);
+        ResultadoBusqueda[] resultados = new ResultadoBusqueda[motores.length];
+        Thread[] hilos = new Thread[motores.length - 1];
+        for (int i = 1; i < motores.length; i++) {
+            final int indice = i;
+            hilos[i - 1] = new Thread(() -> resultados[indice] =
+                    motores[indice].buscar(arbitro.clonar(), 1 + indice % 2, parada), "motor-" + i);
+            hilos[i - 1].start();
+        }
+        resultados[0] = motores[0].buscar(arbitro, 1, parada);
+        parada.set(true);
+        for (Thread hilo : hilos) {
+            try {
+                hilo.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return combinar(resultados);
+    }
+
+    /**
+     * Combina los resultados de los hilos quedándose con el de mayor profundidad
+     * completada; a igualdad se prefiere el hilo principal.
+     *
+     * @param resultados Resultados de cada hilo, el primero del hilo principal.
+     * @return Resultado elegido con la suma de los nodos de todos los hilos.
+     */
+    private ResultadoBusqueda combinar(ResultadoBusqueda[] resultados) {
+        ResultadoBusqueda mejor = resultados[0];
+        long nodos = 0;
+        for (ResultadoBusqueda resultado : resultados) {
+            if (resultado == null) {
+                continue;
+            }
+            nodos += resultado.nodos();
+            if (resultado.jugada() != null && resultado.profundidad() > mejor.profundidad()) {
+                mejor = resultado;
+            }
+        }
+        return new ResultadoBusqueda(mejor.jugada(), mejor.variacionPrincipal(), mejor.puntuacion(),
+                mejor.profundidad(), nodos);
+    }
+
+    /**
+     * Devuelve una representación textual del motor paralelo.
+     *
+     * @return Cadena con el número de hilos y la tabla compartida.
+     */
+    @Override
+    public String toString() {
+        return "MotorParalelo{" +
+                "numeroHilos=" + motores.length +
+                ", tabla=" + tabla +
+                '}';
+    }
+}
@@ -0,0 +1,212 @@
+package noventagrados.motor;
+
+import noventagrados.control.Arbitro;
+import noventagrados.control.BufferJugadas;
+import noventagrados.modelo.Tablero;
+
+import java.util.Arrays;
+
+/**
+ * Clase que cuenta los caminos de jugadas legales hasta una profundidad dada (perft), para
+ * validar la generación de jugadas y los empujes del árbitro y medir su rendimiento.
+ * <p>
+ * Las posiciones con la partida finalizada no tienen jugadas, por lo que solo cuentan si
+ * están exactamente a la profundidad pedida. Opcionalmente se guardan los recuentos de
+ * subárboles en una caché indexada por la clave Zobrist para no repetir transposiciones.
+ * <p>
+ * Uso desde línea de comandos: {@code java noventagrados.motor.Perft profundidad [megabytesCache]}.
+ */
+public class Perft {
+
+    private static final int BYTES_POR_ENTRADA = 2 * Long.BYTES; // Clave y recuento.
+    private static final int BITS_PROFUNDIDAD = 8;                // Bits de profundidad junto al recuento.
+    private static final long MASCARA_PROFUNDIDAD = (1L << BITS_PROFUNDIDAD) - 1;
+
+    private final Arbitro arbitro;               // Árbitro sobre el que se cuentan las jugadas.
+    private final BufferJugadas[] jugadasPorPly; // Jugadas de cada ply.
+    private final long[] clavesCache;            // Claves de la caché, o null si no se usa.
+    private final long[] recuentosCache;         // Recuento y profundidad empaquetados.
+
+    /**
+     * Constructor de la clase Perft sin caché.
+     *
+     * @param arbitro Árbitro con la posición raíz. Se modifica durante el recuento pero
+     *                queda como estaba al terminar.
+     */
+    public Perft(Arbitro arbitro) {
+        this(arbitro, 0);
+    }
+
+    /**
+     * Constructor de la clase Perft.
+     *
+     * @param arbitro          Árbitro con la posición raíz. Se modifica durante el recuento
+     *                         pero queda como estaba al terminar.
+     * @param megabytesCache   Memoria de la caché de recuentos en megabytes, o 0 para no usarla.
+     */
+    public Perft(Arbitro arbitro, int megabytesCache) {
+        this.arbitro = arbitro;
+        this.jugadasPorPly = new BufferJugadas[Motor.PROFUNDIDAD_LIMITE + 1];
+        for (int i = 0; i < jugadasPorPly.length; i++) {
+            jugadasPorPly[i] = new BufferJugadas();
+        }
+        if (megabytesCache > 0) {
+            int entradas = Integer.highestOneBit(
+                    (int) Math.min((long) megabytesCache * 1024 * 1024 / BYTES_POR_ENTRADA, 1 << 30));
+            clavesCache = new long[entradas];
+            recuentosCache = new long[entradas];
+        } else {
+            clavesCache = null;
+            recuentosCache = null;
+        }
+    }
+
+    /**
+     * Cuenta las posiciones hoja a la profundidad indicada.
+     *
+     * @param profundidad Profundidad en plies, entre 0 y {@link Motor#PROFUNDIDAD_LIMITE}.
+     * @return Número de caminos de jugadas legales de esa longitud.
+     * @throws IllegalArgumentException Si la profundidad está fuera de rango.
+     */
+    public long contar(int profundidad) {
+        comprobarProfundidad(profundidad, 0);
+        return contar(profundidad, 0);
+    }
+
+    /**
+     * Cuenta las posiciones hoja por cada jugada legal de la raíz.
+     *
+     * @param profundidad Profundidad en plies, entre 1 y {@link Motor#PROFUNDIDAD_LIMITE}.
+     * @return Arreglo de pares {jugada codificada, recuento}, en el orden de generación.
+     * @throws IllegalArgumentException Si la profundidad está fuera de rango.
+     */
+    public long[][] dividir(int profundidad) {
+        comprobarProfundidad(profundidad, 1);
+        BufferJugadas raiz = new BufferJugadas();
+        arbitro.generarJugadasLegales(raiz);
+        long[][] division = new long[raiz.consultarNumeroJugadas()][];
+        for (int i = 0; i < raiz.consultarNumeroJugadas(); i++) {
+            int codigo = raiz.consultarCodigo(i);
+            long token = arbitro.hacer(codigo);
+            division[i] = new long[]{codigo, contar(profundidad - 1, 1)};
+            arbitro.deshacer(token);
+        }
+        return division;
+    }
+
+    /**
+     * Vacía la caché de recuentos.
+     */
+    public void limpiarCache() {
+        if (clavesCache != null) {
+            Arrays.fill(clavesCache, 0L);
+            Arrays.fill(recuentosCache, 0L);
+        }
+    }
+
+    /**
+     * Comprueba que una profundidad pedida cabe en los buffers de jugadas por ply.
+     *
+     * @param profundidad Profundidad en plies.
+     * @param minima      Profundidad mínima admitida.
+     * @throws IllegalArgumentException Si la profundidad está fuera de rango.
+     */
+    private static void comprobarProfundidad(int profundidad, int minima) {
+        if (profundidad < minima || profundidad > Motor.PROFUNDIDAD_LIMITE) {
+            throw new IllegalArgumentException("Profundidad fuera de rango [" + minima + ", "
+                    + Motor.PROFUNDIDAD_LIMITE + "]: " + profundidad);
+        }
+    }
+
+    /**
+     * Cuenta recursivamente las hojas de un subárbol.
+     *
+     * @param profundidad Plies restantes.
+     * @param ply         Distancia a la raíz.
+     * @return Número de hojas del subárbol.
+     */
+    private long contar(int profundidad, int ply) {
+        if (profundidad == 0) {
+            return 1;
+        }
+        BufferJugadas jugadas = arbitro.generarJugadasLegales(jugadasPorPly[ply]);
+        int numeroJugadas = jugadas.consultarNumeroJugadas();
+        if (profundidad == 1) {
+            return numeroJugadas;
+        }
+        long clave = 0;
+        int indice = 0;
+        if (clavesCache != null) {
+            clave = arbitro.consultarClaveZobrist();
+            indice = (int) clave & (clavesCache.length - 1);
+            long recuento = recuentosCache[indice];
+            if (clavesCache[indice] == clave && (recuento & MASCARA_PROFUNDIDAD) == profundidad) {
+                return recuento >>> BITS_PROFUNDIDAD;
+            }
+        }
+        long total = 0;
+        for (int i = 0; i < numeroJugadas; i++) {
+            long token = arbitro.hacer(jugadas.consultarCodigo(i));
+            total += contar(profundidad - 1, ply + 1);
+            arbitro.deshacer(token);
+        }
+        if (clavesCache != null) {
+            clavesCache[indice] = clave;
+            recuentosCache[indice] = (total << BITS_PROFUNDIDAD) | profundidad;
+        }
+        return total;
+    }
+
+    /**
+     * Convierte una jugada codificada al formato "filacolumna-filacolumna".
+     *
+     * @param codigo Jugada codificada.
+     * @return Texto de la jugada.
+     */
+    private static String aTexto(int codigo) {
+        int origen = BufferJugadas.consultarIndiceOrigen(codigo);
+        int destino = BufferJugadas.consultarIndiceDestino(codigo);
+        return "" + origen / 7 + origen % 7 + "-" + destino / 7 + destino % 7;
+    }
+
+    /**
+     * Ejecuta perft con división desde la posición inicial y muestra los recuentos por
+     * jugada, el total, el tiempo y los nodos por segundo.
+     *
+     * @param args Profundidad y, opcionalmente, megabytes de caché.
+     */
+    public static void main(String[] args) {
+        int profundidad = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        int megabytes = args.length > 1 ? Integer.parseInt(args[1]) : 0;
+        Arbitro arbitro = new Arbitro(new Tablero());
+        arbitro.colocarPiezasConfiguracionInicial();
+        Perft perft = new Perft(arbitro, megabytes);
+
+        long inicio = System.nanoTime();
+        long[][] division = perft.dividir(profundidad);
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        long total = 0;
+        for (long[] entrada : division) {
+            System.out.println(aTexto((int) entrada[0]) + ": " + entrada[1]);
+            total += entrada[1];
+        }
+        System.out.println();
+        System.out.println("Profundidad: " + profundidad);
+        System.out.println("Nodos: " + total);
+        System.out.printf("Tiempo: %.3f s%n", segundos);
+        System.out.printf("Nodos/s: %.0f%n", total / segundos);
+    }
+
+    /**
+     * Devuelve una representación textual del perft.
+     *
+     * @return Cadena con el árbitro y el tamaño de la caché.
+     */
+    @Override
+    public String toString() {
+        return "Perft{" +
+                "arbitro=" + arbitro +
+                ", entradasCache=" + (clavesCache == null ? 0 : clavesCache.length) +
+                '}';
+    }
+}
@@ -0,0 +1,31 @@
+package noventagrados.motor;
+
+import noventagrados.modelo.Jugada;
+
+import java.util.List;
+
+/**
+ * Clase que representa el resultado de una búsqueda del motor.
+ *
+ * @param jugada             Mejor jugada encontrada, o null si no hay jugadas posibles.
+ * @param variacionPrincipal Secuencia de jugadas esperada a partir de la posición, empezando por la mejor.
+ * @param puntuacion         Puntuación de la mejor jugada desde el punto de vista del color con el turno.
+ * @param profundidad        Profundidad de la última iteración completada.
+ * @param nodos              Número total de nodos visitados.
+ */
+public record ResultadoBusqueda(Jugada jugada, List<Jugada> variacionPrincipal, int puntuacion,
+                                int profundidad, long nodos) {
+
+    /**
+     * Constructor que protege la variación principal frente a modificaciones.
+     *
+     * @param jugada             Mejor jugada encontrada.
+     * @param variacionPrincipal Secuencia de jugadas esperada.
+     * @param puntuacion         Puntuación de la mejor jugada.
+     * @param profundidad        Profundidad completada.
+     * @param nodos              Número de nodos visitados.
+     */
+    public ResultadoBusqueda {
+        variacionPrincipal = List.copyOf(variacionPrincipal);
+    }
+}
@@ -0,0 +1,110 @@
+package noventagrados.motor;
+
+import noventagrados.registro.PartidaRegistrada;
+
+import java.util.List;
+
+/**
+ * Clase que representa el resultado de un {@link Torneo} desde el punto de vista de la
+ * primera configuración.
+ *
+ * @param victorias        Partidas ganadas por la primera configuración.
+ * @param empates          Partidas empatadas, incluidas las de ambas reinas expulsadas y
+ *                         las que quedan sin terminar por el límite de jugadas.
+ * @param derrotas         Partidas ganadas por la segunda configuración.
+ * @param empatesPorReinas Empates por haber expulsado ambas reinas a la vez.
+ * @param nanosegundos     Duración del torneo.
+ * @param partidas         Partidas jugadas, en orden.
+ */
+public record ResultadoTorneo(int victorias, int empates, int derrotas, int empatesPorReinas,
+                              long nanosegundos, List<PartidaRegistrada> partidas) {
+
+    private static final double Z_95 = 1.959964; // Cuantil de la normal para un intervalo del 95 %.
+
+    /**
+     * Constructor que protege la lista de partidas frente a modificaciones.
+     *
+     * @param victorias        Partidas ganadas.
+     * @param empates          Partidas empatadas.
+     * @param derrotas         Partidas perdidas.
+     * @param empatesPorReinas Empates por ambas reinas expulsadas.
+     * @param nanosegundos     Duración del torneo.
+     * @param partidas         Partidas jugadas.
+     */
+    public ResultadoTorneo {
+        partidas = List.copyOf(partidas);
+    }
+
+    /**
+     * Consulta el número de partidas jugadas.
+     *
+     * @return Suma de victorias, empates y derrotas.
+     */
+    public int consultarNumeroPartidas() {
+        return victorias + empates + derrotas;
+    }
+
+    /**
+     * Calcula la puntuación media de la primera configuración: 1 por victoria y 0,5 por empate.
+     *
+     * @return Puntuación entre 0 y 1, o NaN si no se ha jugado ninguna partida.
+     */
+    public double calcularPuntuacion() {
+        return (victorias + empates / 2.0) / consultarNumeroPartidas();
+    }
+
+    /**
+     * Estima la diferencia de Elo de la primera configuración respecto a la segunda.
+     *
+     * @return Diferencia de Elo; infinita si una configuración lo ha ganado todo.
+     */
+    public double calcularDiferenciaElo() {
+        return aElo(calcularPuntuacion());
+    }
+
+    /**
+     * Calcula el margen de error de la diferencia de Elo con un 95 % de confianza, a
+     * partir de la varianza de la puntuación por partida.
+     *
+     * @return Semiamplitud del intervalo de confianza en puntos Elo.
+     */
+    public double calcularMargenElo() {
+        int numeroPartidas = consultarNumeroPartidas();
+        double puntuacion = calcularPuntuacion();
+        double varianza = (victorias * Math.pow(1 - puntuacion, 2) + empates * Math.pow(0.5 - puntuacion, 2)
+                + derrotas * Math.pow(puntuacion, 2)) / numeroPartidas;
+        double error = Z_95 * Math.sqrt(varianza / numeroPartidas);
+        return (aElo(puntuacion + error) - aElo(puntuacion - error)) / 2;
+    }
+
+    /**
+     * Calcula el número de partidas jugadas por segundo.
+     *
+     * @return Partidas por segundo.
+     */
+    public double calcularPartidasPorSegundo() {
+        return consultarNumeroPartidas() / (nanosegundos / 1e9);
+    }
+
+    /**
+     * Convierte una puntuación media en diferencia de Elo con el modelo logístico.
+     *
+     * @param puntuacion Puntuación media.
+     * @return Diferencia de Elo.
+     */
+    private static double aElo(double puntuacion) {
+        return -400 * Math.log10(1 / puntuacion - 1);
+    }
+
+    /**
+     * Devuelve una representación textual del resultado.
+     *
+     * @return Cadena con las partidas, la diferencia de Elo y el rendimiento.
+     */
+    @Override
+    public String toString() {
+        return String.format("+%d =%d -%d (empates por reinas: %d), puntuacion %.3f, Elo %+.1f +- %.1f, %.2f partidas/s",
+                victorias, empates, derrotas, empatesPorReinas, calcularPuntuacion(), calcularDiferenciaElo(),
+                calcularMargenElo(), calcularPartidasPorSegundo());
+    }
+}
@@ -0,0 +1,320 @@
+package noventagrados.motor;
+
+import noventagrados.control.Arbitro;
+import noventagrados.control.BufferJugadas;
+import noventagrados.modelo.Tablero;
+import noventagrados.util.Color;
+import noventagrados.util.TipoPieza;
+
+/**
+ * Clase que simula partidas con jugadas aleatorias hasta su final sin crear objetos.
+ * <p>
+ * La posición de partida se copia de un {@link Arbitro} a un estado primitivo propio: el
+ * código de cada celda (como en {@link Tablero#consultarCodigoCelda(int, int)}), el número
+ * de piezas de cada fila y columna, el turno y qué reinas han sido expulsadas. Las
+ * simulaciones trabajan sobre una copia de ese estado que se restaura al empezar cada
+ * una, por lo que, una vez cargada la posición, simular no reserva memoria. Las reglas son
+ * las del árbitro: cada pieza se desplaza en horizontal tantas celdas como piezas haya en
+ * su columna y en vertical tantas como haya en su fila, empujando las piezas que encuentre.
+ * <p>
+ * Las jugadas se eligen con un generador xorshift64 con semilla, de modo que la misma
+ * semilla reproduce las mismas partidas. Una instancia no debe usarse desde varios hilos
+ * a la vez.
+ */
+public class SimuladorPartidas {
+
+    /** Resultado de una partida ganada por blancas. */
+    public static final int GANAN_BLANCAS = 0;
+    /** Resultado de una partida ganada por negras. */
+    public static final int GANAN_NEGRAS = 1;
+    /** Resultado de una partida terminada en empate por expulsión de ambas reinas o sin jugadas. */
+    public static final int EMPATE = 2;
+    /** Resultado de una partida que alcanza el límite de jugadas sin terminar. */
+    public static final int SIN_TERMINAR = 3;
+
+    /** Número máximo de jugadas por simulación por defecto. */
+    public static final int JUGADAS_MAXIMAS_POR_DEFECTO = 200;
+
+    private static final int LADO = 7;                       // Número de filas y columnas.
+    private static final int CENTRO = 3 * LADO + 3;          // Índice de la celda central.
+    private static final int MAXIMO_JUGADAS_LEGALES = 64;    // Cuatro por pieza como mucho.
+    private static final int CODIGO_REINA_BLANCA = 1 + TipoPieza.REINA.ordinal() * 2 + Color.BLANCO.ordinal();
+
+    private final int jugadasMaximas;                // Jugadas tras las que se detiene la simulación.
+    private final byte[] celdasIniciales = new byte[LADO * LADO]; // Posición cargada.
+    private int turnoInicial;                        // Turno de la posición cargada (ordinal del color).
+    private final boolean[] reinasFueraIniciales = new boolean[2]; // Reinas expulsadas en la posición cargada.
+
+    private final byte[] celdas = new byte[LADO * LADO];   // Posición de la simulación en curso.
+    private final int[] piezasFila = new int[LADO];        // Piezas de cada fila.
+    private final int[] piezasColumna = new int[LADO];     // Piezas de cada columna.
+    private final boolean[] reinasFuera = new boolean[2];  // Reinas expulsadas por color.
+    private final int[] legales = new int[MAXIMO_JUGADAS_LEGALES]; // Jugadas legales generadas.
+    private final int[] historial;                   // Jugadas de la última simulación.
+    private int turno;                               // Ordinal del color con el turno.
+    private int numeroJugadas;                       // Jugadas de la última simulación.
+    private final GeneradorXorshift aleatorio;       // Generador de las jugadas aleatorias.
+
+    /**
+     * Constructor con el límite de jugadas por defecto.
+     *
+     * @param semilla Semilla del generador aleatorio.
+     */
+    public SimuladorPartidas(long semilla) {
+        this(semilla, JUGADAS_MAXIMAS_POR_DEFECTO);
+    }
+
+    /**
+     * Constructor de la clase SimuladorPartidas.
+     *
+     * @param semilla        Semilla del generador aleatorio.
+     * @param jugadasMaximas Jugadas tras las que se detiene cada simulación.
+     */
+    public SimuladorPartidas(long semilla, int jugadasMaximas) {
+        this.jugadasMaximas = Math.max(0, jugadasMaximas);
+        this.historial = new int[this.jugadasMaximas];
+        this.aleatorio = new GeneradorXorshift(semilla);
+    }
+
+    /**
+     * Reinicia el generador aleatorio. Semillas consecutivas dan secuencias independientes.
+     *
+     * @param semilla Nueva semilla.
+     */
+    public void fijarSemilla(long semilla) {
+        aleatorio.fijarSemilla(semilla);
+    }
+
+    /**
+     * Copia la posición de un árbitro como punto de partida de las siguientes simulaciones,
+     * sin crear objetos.
+     *
+     * @param arbitro Árbitro con la posición. No se modifica.
+     */
+    public void cargar(Arbitro arbitro) {
+        arbitro.copiarCodigosCeldas(celdasIniciales);
+        turnoInicial = arbitro.consultarTurno() == null ? Color.BLANCO.ordinal() : arbitro.consultarTurno().ordinal();
+        reinasFueraIniciales[Color.BLANCO.ordinal()] = arbitro.contarPiezasEnCaja(Color.BLANCO, TipoPieza.REINA) > 0;
+        reinasFueraIniciales[Color.NEGRO.ordinal()] = arbitro.contarPiezasEnCaja(Color.NEGRO, TipoPieza.REINA) > 0;
+    }
+
+    /**
+     * Carga la posición de un árbitro y simula una partida desde ella.
+     *
+     * @param arbitro Árbitro con la posición. No se modifica.
+     * @return Resultado: {@link #GANAN_BLANCAS}, {@link #GANAN_NEGRAS}, {@link #EMPATE} o
+     *         {@link #SIN_TERMINAR}.
+     */
+    public int simular(Arbitro arbitro) {
+        cargar(arbitro);
+        return simular();
+    }
+
+    /**
+     * Simula una partida con jugadas aleatorias desde la última posición cargada, sin
+     * crear objetos.
+     *
+     * @return Resultado: {@link #GANAN_BLANCAS}, {@link #GANAN_NEGRAS}, {@link #EMPATE} o
+     *         {@link #SIN_TERMINAR}.
+     */
+    public int simular() {
+        System.arraycopy(celdasIniciales, 0, celdas, 0, celdas.length);
+        reinasFuera[0] = reinasFueraIniciales[0];
+        reinasFuera[1] = reinasFueraIniciales[1];
+        turno = turnoInicial;
+        for (int i = 0; i < LADO; i++) {
+            piezasFila[i] = 0;
+            piezasColumna[i] = 0;
+        }
+        for (int i = 0; i < celdas.length; i++) {
+            if (celdas[i] != Tablero.CODIGO_CELDA_VACIA) {
+                piezasFila[i / LADO]++;
+                piezasColumna[i % LADO]++;
+            }
+        }
+        numeroJugadas = 0;
+        int resultado = consultarResultado();
+        while (resultado == SIN_TERMINAR && numeroJugadas < jugadasMaximas) {
+            int n = generarJugadas();
+            if (n == 0) {
+                return EMPATE;
+            }
+            int codigo = legales[aleatorio.siguiente(n)];
+            historial[numeroJugadas++] = codigo;
+            mover(BufferJugadas.consultarIndiceOrigen(codigo), BufferJugadas.consultarIndiceDestino(codigo));
+            turno ^= 1;
+            resultado = consultarResultado();
+        }
+        return resultado;
+    }
+
+    /**
+     * Consulta el número de jugadas de la última simulación.
+     *
+     * @return Número de jugadas realizadas.
+     */
+    public int consultarNumeroJugadas() {
+        return numeroJugadas;
+    }
+
+    /**
+     * Consulta una jugada de la última simulación.
+     *
+     * @param indice Posición de la jugada, empezando en 0.
+     * @return Jugada codificada como en {@link BufferJugadas}.
+     */
+    public int consultarJugada(int indice) {
+        return historial[indice];
+    }
+
+    /**
+     * Convierte un resultado en el color ganador.
+     *
+     * @param resultado Resultado de una simulación.
+     * @return Color ganador, o null si es empate o la partida no ha terminado.
+     */
+    public static Color consultarGanador(int resultado) {
+        return switch (resultado) {
+            case GANAN_BLANCAS -> Color.BLANCO;
+            case GANAN_NEGRAS -> Color.NEGRO;
+            default -> null;
+        };
+    }
+
+    /**
+     * Calcula el resultado de la posición actual con las reglas de
+     * {@link Arbitro#consultarTurnoGanador()}.
+     *
+     * @return Resultado, o {@link #SIN_TERMINAR} si la partida continúa.
+     */
+    private int consultarResultado() {
+        byte centro = celdas[CENTRO];
+        if (centro >= CODIGO_REINA_BLANCA) {
+            return (centro - 1) & 1;
+        }
+        if (reinasFuera[0] || reinasFuera[1]) {
+            return reinasFuera[0] && reinasFuera[1] ? EMPATE : reinasFuera[0] ? GANAN_NEGRAS : GANAN_BLANCAS;
+        }
+        return SIN_TERMINAR;
+    }
+
+    /**
+     * Genera las jugadas legales del turno como en {@link Arbitro#generarJugadasLegales()}.
+     *
+     * @return Número de jugadas generadas.
+     */
+    private int generarJugadas() {
+        int n = 0;
+        for (int i = 0; i < celdas.length; i++) {
+            byte codigo = celdas[i];
+            if (codigo != Tablero.CODIGO_CELDA_VACIA && ((codigo - 1) & 1) == turno) {
+                int fila = i / LADO;
+                int columna = i % LADO;
+                int distanciaHorizontal = piezasColumna[columna];
+                int distanciaVertical = piezasFila[fila];
+                if (fila - distanciaVertical >= 0) {
+                    legales[n++] = (i << 6) | (i - distanciaVertical * LADO);
+                }
+                if (fila + distanciaVertical < LADO) {
+                    legales[n++] = (i << 6) | (i + distanciaVertical * LADO);
+                }
+                if (columna + distanciaHorizontal < LADO) {
+                    legales[n++] = (i << 6) | (i + distanciaHorizontal);
+                }
+                if (columna - distanciaHorizontal >= 0) {
+                    legales[n++] = (i << 6) | (i - distanciaHorizontal);
+                }
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Mueve la pieza de origen hasta el destino avanzando celda a celda y empujando la fila
+     * de piezas contiguas que tenga delante. Las que salen del tablero se retiran.
+     *
+     * @param origen  Índice de la celda de origen.
+     * @param destino Índice de la celda de destino, en la misma fila o columna.
+     */
+    private void mover(int origen, int destino) {
+        int filaOrigen = origen / LADO;
+        int columnaOrigen = origen % LADO;
+        int df = Integer.signum(destino / LADO - filaOrigen);
+        int dc = Integer.signum(destino % LADO - columnaOrigen);
+        int pasos = Math.abs(destino / LADO - filaOrigen) + Math.abs(destino % LADO - columnaOrigen);
+        int fila = filaOrigen;
+        int columna = columnaOrigen;
+        for (int i = 0; i < pasos; i++) {
+            avanzar(fila, columna, df, dc);
+            fila += df;
+            columna += dc;
+        }
+    }
+
+    /**
+     * Avanza una celda la pieza indicada desplazando las piezas contiguas que tenga delante.
+     *
+     * @param fila    Fila de la pieza.
+     * @param columna Columna de la pieza.
+     * @param df      Desplazamiento en filas.
+     * @param dc      Desplazamiento en columnas.
+     */
+    private void avanzar(int fila, int columna, int df, int dc) {
+        int delante = 0;
+        while (estaOcupada(fila + (delante + 1) * df, columna + (delante + 1) * dc)) {
+            delante++;
+        }
+        for (int k = delante; k >= 0; k--) {
+            int filaActual = fila + k * df;
+            int columnaActual = columna + k * dc;
+            byte codigo = celdas[filaActual * LADO + columnaActual];
+            vaciar(filaActual, columnaActual);
+            int filaSiguiente = filaActual + df;
+            int columnaSiguiente = columnaActual + dc;
+            if (filaSiguiente >= 0 && filaSiguiente < LADO && columnaSiguiente >= 0 && columnaSiguiente < LADO) {
+                celdas[filaSiguiente * LADO + columnaSiguiente] = codigo;
+                piezasFila[filaSiguiente]++;
+                piezasColumna[columnaSiguiente]++;
+            } else if (codigo >= CODIGO_REINA_BLANCA) {
+                reinasFuera[(codigo - 1) & 1] = true;
+            }
+        }
+    }
+
+    /**
+     * Comprueba si una celda está dentro del tablero y ocupada.
+     *
+     * @param fila    Fila de la celda.
+     * @param columna Columna de la celda.
+     * @return true si está ocupada, false si está vacía o fuera del tablero.
+     */
+    private boolean estaOcupada(int fila, int columna) {
+        return fila >= 0 && fila < LADO && columna >= 0 && columna < LADO
+                && celdas[fila * LADO + columna] != Tablero.CODIGO_CELDA_VACIA;
+    }
+
+    /**
+     * Vacía una celda ocupada actualizando los contadores.
+     *
+     * @param fila    Fila de la celda.
+     * @param columna Columna de la celda.
+     */
+    private void vaciar(int fila, int columna) {
+        celdas[fila * LADO + columna] = Tablero.CODIGO_CELDA_VACIA;
+        piezasFila[fila]--;
+        piezasColumna[columna]--;
+    }
+
+    /**
+     * Devuelve una representación textual del simulador.
+     *
+     * @return Cadena con el límite de jugadas y la última simulación.
+     */
+    @Override
+    public String toString() {
+        return "SimuladorPartidas{" +
+                "jugadasMaximas=" + jugadasMaximas +
+                ", numeroJugadas=" + numeroJugadas +
+                '}';
+    }
+}
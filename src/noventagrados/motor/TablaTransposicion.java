@@ -0,0 +1,218 @@
+package noventagrados.motor;
+
+import java.util.Arrays;
+
+/**
+ * Clase que representa una tabla de transposición de tamaño fijo, indexada por la clave
+ * Zobrist de la posición, que guarda para cada posición analizada la profundidad, el tipo
+ * de cota, la puntuación y la mejor jugada.
+ * <p>
+ * Las entradas se guardan en dos arreglos de {@code long} agrupadas en cubos de dos
+ * posiciones: la primera se reemplaza solo por análisis de igual o mayor profundidad (o de
+ * búsquedas anteriores) y la segunda se reemplaza siempre. Así la memoria ocupada no crece
+ * con la duración de la búsqueda.
+ * <p>
+ * Cada entrada guarda el dato empaquetado y la clave combinada con el dato mediante XOR.
+ * Una lectura solo se acepta si al deshacer el XOR se obtiene la clave buscada, de modo que
+ * varios hilos pueden compartir la tabla sin bloqueos: una entrada escrita a medias por
+ * otro hilo simplemente no se reconoce.
+ */
+public class TablaTransposicion {
+
+    /** Tipo de cota: la puntuación es exacta. */
+    public static final int COTA_EXACTA = 1;
+
+    /** Tipo de cota: la puntuación es una cota inferior (hubo poda beta). */
+    public static final int COTA_INFERIOR = 2;
+
+    /** Tipo de cota: la puntuación es una cota superior (ninguna jugada superó alfa). */
+    public static final int COTA_SUPERIOR = 3;
+
+    /** Dato devuelto al sondear una posición que no está en la tabla. */
+    public static final long SIN_ENTRADA = 0L;
+
+    /** Jugada guardada cuando no se conoce la mejor jugada. */
+    public static final int SIN_JUGADA = 0xFFF;
+
+    private static final int BYTES_POR_ENTRADA = 2 * Long.BYTES; // Clave y dato.
+    private static final int ENTRADAS_POR_CUBO = 2;              // Profundidad preferente y reemplazo siempre.
+
+    // Disposición de los campos dentro del dato empaquetado.
+    private static final int BITS_JUGADA = 12;
+    private static final long MASCARA_JUGADA = (1L << BITS_JUGADA) - 1;
+    private static final int DESPLAZAMIENTO_PROFUNDIDAD = BITS_JUGADA;                 // 7 bits.
+    private static final long MASCARA_PROFUNDIDAD = 0x7F;
+    private static final int DESPLAZAMIENTO_COTA = DESPLAZAMIENTO_PROFUNDIDAD + 7;     // 2 bits.
+    private static final long MASCARA_COTA = 0x3;
+    private static final int DESPLAZAMIENTO_GENERACION = DESPLAZAMIENTO_COTA + 2;      // 8 bits.
+    private static final long MASCARA_GENERACION = 0xFF;
+    private static final int DESPLAZAMIENTO_PUNTUACION = 32;                           // 32 bits.
+
+    private final long[] claves;  // Clave de cada entrada combinada con su dato mediante XOR.
+    private final long[] datos;   // Dato empaquetado de cada entrada.
+    private final int mascaraCubo; // Máscara para obtener el cubo a partir de la clave.
+    private int generacion;        // Generación de la búsqueda actual.
+
+    /**
+     * Constructor de la clase TablaTransposicion.
+     *
+     * @param megabytes Memoria máxima a ocupar, en megabytes. Se usa la mayor potencia de
+     *                  dos de cubos que cabe en ella, con un mínimo de un cubo.
+     */
+    public TablaTransposicion(int megabytes) {
+        long cubosDisponibles = Math.max(1L, (long) megabytes * 1024 * 1024 / (BYTES_POR_ENTRADA * ENTRADAS_POR_CUBO));
+        int cubos = Integer.highestOneBit((int) Math.min(cubosDisponibles, 1 << 29));
+        claves = new long[cubos * ENTRADAS_POR_CUBO];
+        datos = new long[cubos * ENTRADAS_POR_CUBO];
+        mascaraCubo = cubos - 1;
+        generacion = 0;
+    }
+
+    /**
+     * Consulta la puntuación de un dato empaquetado.
+     *
+     * @param dato Dato devuelto por {@link #sondear(long)}.
+     * @return Puntuación guardada.
+     */
+    public static int consultarPuntuacion(long dato) {
+        return (int) (dato >> DESPLAZAMIENTO_PUNTUACION);
+    }
+
+    /**
+     * Consulta la profundidad de un dato empaquetado.
+     *
+     * @param dato Dato devuelto por {@link #sondear(long)}.
+     * @return Profundidad con la que se analizó la posición.
+     */
+    public static int consultarProfundidad(long dato) {
+        return (int) ((dato >>> DESPLAZAMIENTO_PROFUNDIDAD) & MASCARA_PROFUNDIDAD);
+    }
+
+    /**
+     * Consulta el tipo de cota de un dato empaquetado.
+     *
+     * @param dato Dato devuelto por {@link #sondear(long)}.
+     * @return {@link #COTA_EXACTA}, {@link #COTA_INFERIOR} o {@link #COTA_SUPERIOR}.
+     */
+    public static int consultarTipoCota(long dato) {
+        return (int) ((dato >>> DESPLAZAMIENTO_COTA) & MASCARA_COTA);
+    }
+
+    /**
+     * Consulta la mejor jugada de un dato empaquetado.
+     *
+     * @param dato Dato devuelto por {@link #sondear(long)}.
+     * @return Jugada codificada como en {@code BufferJugadas}, o {@link #SIN_JUGADA}.
+     */
+    public static int consultarJugada(long dato) {
+        return (int) (dato & MASCARA_JUGADA);
+    }
+
+    /**
+     * Busca una posición en la tabla.
+     *
+     * @param clave Clave Zobrist de la posición.
+     * @return Dato empaquetado de la posición, o {@link #SIN_ENTRADA} si no está.
+     */
+    public long sondear(long clave) {
+        int indice = calcularIndice(clave);
+        for (int i = indice; i < indice + ENTRADAS_POR_CUBO; i++) {
+            long dato = datos[i];
+            if (dato != SIN_ENTRADA && (claves[i] ^ dato) == clave) {
+                return dato;
+            }
+        }
+        return SIN_ENTRADA;
+    }
+
+    /**
+     * Guarda el análisis de una posición. Si la posición ya está en el cubo se actualiza
+     * su entrada; si no, se ocupa la entrada de profundidad preferente cuando el nuevo
+     * análisis es al menos igual de profundo o la entrada es de una búsqueda anterior, y
+     * la de reemplazo siempre en otro caso.
+     *
+     * @param clave       Clave Zobrist de la posición.
+     * @param profundidad Profundidad del análisis, entre 0 y 127.
+     * @param tipoCota    Tipo de cota de la puntuación.
+     * @param puntuacion  Puntuación obtenida.
+     * @param jugada      Mejor jugada codificada, o {@link #SIN_JUGADA}.
+     */
+    public void guardar(long clave, int profundidad, int tipoCota, int puntuacion, int jugada) {
+        int indice = calcularIndice(clave);
+        long dato = ((long) puntuacion << DESPLAZAMIENTO_PUNTUACION)
+                | ((long) generacion << DESPLAZAMIENTO_GENERACION)
+                | ((long) tipoCota << DESPLAZAMIENTO_COTA)
+                | ((long) profundidad << DESPLAZAMIENTO_PROFUNDIDAD)
+                | (jugada & MASCARA_JUGADA);
+        int destino;
+        long datoPreferente = datos[indice];
+        if ((claves[indice] ^ datoPreferente) == clave
+                || profundidad >= consultarProfundidad(datoPreferente)
+                || consultarGeneracion(datoPreferente) != generacion) {
+            destino = indice;
+        } else {
+            destino = indice + 1;
+        }
+        datos[destino] = dato;
+        claves[destino] = clave ^ dato;
+    }
+
+    /**
+     * Indica el comienzo de una nueva búsqueda, de modo que las entradas de profundidad
+     * preferente de búsquedas anteriores puedan reemplazarse.
+     */
+    public void nuevaBusqueda() {
+        generacion = (generacion + 1) & (int) MASCARA_GENERACION;
+    }
+
+    /**
+     * Vacía la tabla.
+     */
+    public void limpiar() {
+        Arrays.fill(claves, 0L);
+        Arrays.fill(datos, SIN_ENTRADA);
+        generacion = 0;
+    }
+
+    /**
+     * Consulta el número de entradas de la tabla.
+     *
+     * @return Número de entradas que caben en la tabla.
+     */
+    public int consultarCapacidad() {
+        return datos.length;
+    }
+
+    /**
+     * Calcula la primera entrada del cubo asociado a una clave.
+     *
+     * @param clave Clave Zobrist de la posición.
+     * @return Índice de la entrada de profundidad preferente del cubo.
+     */
+    private int calcularIndice(long clave) {
+        return ((int) clave & mascaraCubo) * ENTRADAS_POR_CUBO;
+    }
+
+    /**
+     * Consulta la generación de un dato empaquetado.
+     *
+     * @param dato Dato empaquetado.
+     * @return Generación de la búsqueda que lo guardó.
+     */
+    private static int consultarGeneracion(long dato) {
+        return (int) ((dato >>> DESPLAZAMIENTO_GENERACION) & MASCARA_GENERACION);
+    }
+
+    /**
+     * Devuelve una representación textual de la tabla.
+     *
+     * @return Cadena con la capacidad y la generación de la tabla.
+     */
+    @Override
+    public String toString() {
+        return "TablaTransposicion{" +
+                "capacidad=" + datos.length +
+                ", generacion=" + generacion +
+                '}';
+    }
+}
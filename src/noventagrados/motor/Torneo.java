@@ -0,0 +1,273 @@
+package noventagrados.motor;
+
+import noventagrados.control.Arbitro;
+import noventagrados.control.BufferJugadas;
+import noventagrados.modelo.Jugada;
+import noventagrados.modelo.Tablero;
+import noventagrados.registro.EscritorPartidas;
+import noventagrados.registro.PartidaRegistrada;
+import noventagrados.util.Color;
+import noventagrados.util.Coordenada;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Clase que juega partidas sin interfaz entre dos configuraciones de motor, repartiéndolas
+ * entre varios hilos.
+ * <p>
+ * Cada partida usa su propio {@link Arbitro} y sus propios motores, por lo que las partidas
+ * son independientes. Se juegan por parejas: ambas empiezan con las mismas jugadas
+ * aleatorias, generadas a partir de la semilla y el número de pareja, y en cada una la
+ * primera configuración lleva un color distinto. Así las aperturas son reproducibles y los
+ * dos motores juegan las mismas; el resto de cada partida depende del tiempo por jugada, y
+ * por tanto de la carga de la máquina y del número de hilos. Una partida que alcanza el
+ * límite de jugadas o se queda sin jugadas se guarda sin terminar
+ * ({@value PartidaRegistrada#RESULTADO_SIN_TERMINAR}), para no confundirla con un empate
+ * real al ajustar pesos, pero se cuenta como empate en el {@link ResultadoTorneo}.
+ * <p>
+ * Uso desde línea de comandos:
+ * {@code java noventagrados.motor.Torneo partidas [hilos] [profundidad1] [profundidad2] [milisegundos] [fichero]}.
+ * Si se indica un fichero se guardan en él todas las partidas en el formato de
+ * {@link EscritorPartidas}, que {@link AjustadorPesos} puede usar para ajustar los pesos
+ * del evaluador.
+ */
+public class Torneo {
+
+    /** Número máximo de jugadas por partida por defecto. */
+    public static final int JUGADAS_MAXIMAS_POR_DEFECTO = 200;
+
+    /** Número de jugadas aleatorias al empezar cada pareja de partidas por defecto. */
+    public static final int JUGADAS_ALEATORIAS_POR_DEFECTO = 4;
+
+    private static final String EVENTO = "Torneo";     // Valor de la etiqueta de evento.
+    private static final int VICTORIA_PRIMERA = 0;     // Resultado: gana la primera configuración.
+    private static final int VICTORIA_SEGUNDA = 1;     // Resultado: gana la segunda configuración.
+    private static final int EMPATE = 2;               // Resultado: límite de jugadas o sin jugadas.
+    private static final int EMPATE_POR_REINAS = 3;    // Resultado: ambas reinas expulsadas.
+
+    /**
+     * Partida jugada junto con su resultado desde el punto de vista de la primera
+     * configuración, calculado por el hilo que la juega.
+     *
+     * @param partida       Partida jugada.
+     * @param clasificacion Uno de los códigos de resultado.
+     */
+    record PartidaJugada(PartidaRegistrada partida, int clasificacion) {
+    }
+
+    private final ConfiguracionMotor primera; // Configuración cuyo resultado se informa.
+    private final ConfiguracionMotor segunda; // Configuración rival.
+    private final int numeroHilos;            // Partidas jugadas a la vez.
+    private final int jugadasMaximas;         // Jugadas tras las que se declara empate.
+    private final int jugadasAleatorias;      // Jugadas aleatorias al empezar cada pareja.
+    private final long semilla;               // Semilla de las aperturas aleatorias.
+
+    /**
+     * Constructor de la clase Torneo con los límites por defecto.
+     *
+     * @param primera     Configuración cuyo resultado se informa.
+     * @param segunda     Configuración rival.
+     * @param numeroHilos Número de partidas jugadas a la vez, al menos una.
+     * @param semilla     Semilla de las aperturas aleatorias.
+     */
+    public Torneo(ConfiguracionMotor primera, ConfiguracionMotor segunda, int numeroHilos, long semilla) {
+        this(primera, segunda, numeroHilos, JUGADAS_MAXIMAS_POR_DEFECTO, JUGADAS_ALEATORIAS_POR_DEFECTO, semilla);
+    }
+
+    /**
+     * Constructor de la clase Torneo.
+     *
+     * @param primera           Configuración cuyo resultado se informa.
+     * @param segunda           Configuración rival.
+     * @param numeroHilos       Número de partidas jugadas a la vez, al menos una.
+     * @param jugadasMaximas    Número de jugadas tras las que se declara empate.
+     * @param jugadasAleatorias Número de jugadas aleatorias al empezar cada pareja de partidas.
+     * @param semilla           Semilla de las aperturas aleatorias.
+     */
+    public Torneo(ConfiguracionMotor primera, ConfiguracionMotor segunda, int numeroHilos,
+                  int jugadasMaximas, int jugadasAleatorias, long semilla) {
+        this.primera = primera;
+        this.segunda = segunda;
+        this.numeroHilos = Math.max(1, numeroHilos);
+        this.jugadasMaximas = jugadasMaximas;
+        this.jugadasAleatorias = jugadasAleatorias;
+        this.semilla = semilla;
+    }
+
+    /**
+     * Juega el torneo repartiendo las partidas entre los hilos.
+     *
+     * @param numeroPartidas Número de partidas a jugar.
+     * @return Resultado desde el punto de vista de la primera configuración, con todas las
+     *         partidas en orden.
+     * @throws InterruptedException Si se interrumpe el hilo mientras espera a las partidas;
+     *                              las partidas pendientes se cancelan.
+     */
+    public ResultadoTorneo jugar(int numeroPartidas) throws InterruptedException {
+        long inicio = System.nanoTime();
+        int[] recuento = new int[EMPATE_POR_REINAS + 1];
+        List<PartidaRegistrada> partidas = new ArrayList<>(numeroPartidas);
+        ExecutorService ejecutor = Executors.newFixedThreadPool(numeroHilos);
+        try {
+            List<Future<PartidaJugada>> pendientes = new ArrayList<>(numeroPartidas);
+            for (int i = 0; i < numeroPartidas; i++) {
+                final int numero = i;
+                pendientes.add(ejecutor.submit((Callable<PartidaJugada>) () -> jugarPartida(numero)));
+            }
+            for (int i = 0; i < numeroPartidas; i++) {
+                PartidaJugada jugadaPartida = pendientes.get(i).get();
+                recuento[jugadaPartida.clasificacion()]++;
+                partidas.add(jugadaPartida.partida());
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Error al jugar una partida del torneo", e.getCause());
+        } finally {
+            ejecutor.shutdownNow();
+        }
+        return new ResultadoTorneo(recuento[VICTORIA_PRIMERA], recuento[EMPATE] + recuento[EMPATE_POR_REINAS],
+                recuento[VICTORIA_SEGUNDA], recuento[EMPATE_POR_REINAS], System.nanoTime() - inicio, partidas);
+    }
+
+    /**
+     * Juega una partida del torneo. En las partidas pares la primera configuración lleva
+     * las blancas.
+     *
+     * @param numero Número de la partida.
+     * @return Partida jugada con sus etiquetas y su resultado, sin terminar si alcanza el
+     *         límite de jugadas o se queda sin jugadas, y su clasificación.
+     */
+    PartidaJugada jugarPartida(int numero) {
+        boolean primeraBlancas = numero % 2 == 0;
+        Motor motorBlancas = (primeraBlancas ? primera : segunda).crearMotor();
+        Motor motorNegras = (primeraBlancas ? segunda : primera).crearMotor();
+        Arbitro arbitro = new Arbitro(new Tablero());
+        arbitro.colocarPiezasConfiguracionInicial();
+        int[] jugadas = new int[Math.max(jugadasMaximas, 0)];
+        int numeroJugadas = 0;
+
+        Random aleatorio = new Random(semilla + numero / 2);
+        BufferJugadas legales = new BufferJugadas();
+        while (numeroJugadas < Math.min(jugadasAleatorias, jugadas.length) && !arbitro.estaFinalizadaPartida()) {
+            arbitro.generarJugadasLegales(legales);
+            if (legales.consultarNumeroJugadas() == 0) {
+                break;
+            }
+            int codigo = legales.consultarCodigo(aleatorio.nextInt(legales.consultarNumeroJugadas()));
+            arbitro.hacer(codigo);
+            jugadas[numeroJugadas++] = codigo;
+        }
+        while (numeroJugadas < jugadas.length && !arbitro.estaFinalizadaPartida()) {
+            Motor motor = arbitro.consultarTurno() == Color.BLANCO ? motorBlancas : motorNegras;
+            Jugada jugada = motor.buscar(arbitro).jugada();
+            if (jugada == null) {
+                break;
+            }
+            Coordenada origen = jugada.origen().consultarCoordenada();
+            Coordenada destino = jugada.destino().consultarCoordenada();
+            int codigo = BufferJugadas.codificar(origen.fila(), origen.columna(), destino.fila(), destino.columna());
+            arbitro.hacer(codigo);
+            jugadas[numeroJugadas++] = codigo;
+        }
+
+        Map<String, String> etiquetas = new LinkedHashMap<>();
+        etiquetas.put(PartidaRegistrada.ETIQUETA_EVENTO, EVENTO + " " + (numero + 1));
+        etiquetas.put(PartidaRegistrada.ETIQUETA_BLANCAS, (primeraBlancas ? primera : segunda).nombre());
+        etiquetas.put(PartidaRegistrada.ETIQUETA_NEGRAS, (primeraBlancas ? segunda : primera).nombre());
+        String resultado = PartidaRegistrada.calcularResultado(arbitro);
+        return new PartidaJugada(new PartidaRegistrada(etiquetas, Arrays.copyOf(jugadas, numeroJugadas), resultado),
+                clasificar(resultado, primeraBlancas, arbitro.estaFinalizadaPartida()));
+    }
+
+    /**
+     * Clasifica el resultado de una partida desde el punto de vista de la primera
+     * configuración. Un empate con la partida finalizada solo puede deberse a que ambas
+     * reinas han sido expulsadas a la vez; las partidas sin terminar cuentan como empate.
+     *
+     * @param resultado      Resultado de la partida.
+     * @param primeraBlancas Si la primera configuración lleva las blancas.
+     * @param finalizada     Si la partida ha finalizado según el árbitro.
+     * @return Uno de los códigos de resultado.
+     */
+    private static int clasificar(String resultado, boolean primeraBlancas, boolean finalizada) {
+        return switch (resultado) {
+            case PartidaRegistrada.RESULTADO_BLANCAS -> primeraBlancas ? VICTORIA_PRIMERA : VICTORIA_SEGUNDA;
+            case PartidaRegistrada.RESULTADO_NEGRAS -> primeraBlancas ? VICTORIA_SEGUNDA : VICTORIA_PRIMERA;
+            default -> finalizada ? EMPATE_POR_REINAS : EMPATE;
+        };
+    }
+
+    /**
+     * Juega un torneo entre dos profundidades de búsqueda con el {@link EvaluadorPosicional}
+     * y los pesos de su fichero de pesos, y muestra el resultado.
+     *
+     * @param args Número de partidas y, opcionalmente, hilos, profundidad de cada
+     *             configuración, milisegundos por jugada y fichero donde guardar las partidas.
+     * @throws IOException          Si no se pueden guardar las partidas.
+     * @throws InterruptedException Si se interrumpe el torneo.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int numeroPartidas = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        int hilos = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        int profundidadPrimera = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+        int profundidadSegunda = args.length > 3 ? Integer.parseInt(args[3]) : 3;
+        long milisegundos = args.length > 4 ? Long.parseLong(args[4]) : 1000;
+
+        int[] pesos = EvaluadorPosicional.consultarPesosIniciales();
+        ConfiguracionMotor primera = new ConfiguracionMotor("Profundidad " + profundidadPrimera, profundidadPrimera,
+                milisegundos, ConfiguracionMotor.MEGABYTES_POR_DEFECTO, () -> new EvaluadorPosicional(pesos));
+        ConfiguracionMotor segunda = new ConfiguracionMotor("Profundidad " + profundidadSegunda, profundidadSegunda,
+                milisegundos, ConfiguracionMotor.MEGABYTES_POR_DEFECTO, () -> new EvaluadorPosicional(pesos));
+        ResultadoTorneo resultado = new Torneo(primera, segunda, hilos, System.nanoTime()).jugar(numeroPartidas);
+
+        System.out.println(primera.nombre() + " contra " + segunda.nombre() + " en " + numeroPartidas
+                + " partidas con " + hilos + " hilos");
+        System.out.println("Victorias: " + resultado.victorias());
+        System.out.println("Empates: " + resultado.empates() + " (ambas reinas expulsadas: "
+                + resultado.empatesPorReinas() + ")");
+        System.out.println("Derrotas: " + resultado.derrotas());
+        System.out.printf("Puntuacion: %.3f%n", resultado.calcularPuntuacion());
+        System.out.printf("Elo: %+.1f +- %.1f%n", resultado.calcularDiferenciaElo(), resultado.calcularMargenElo());
+        System.out.printf("Tiempo: %.3f s%n", resultado.nanosegundos() / 1e9);
+        System.out.printf("Partidas/s: %.2f%n", resultado.calcularPartidasPorSegundo());
+
+        if (args.length > 5) {
+            try (EscritorPartidas escritor = new EscritorPartidas(
+                    Files.newBufferedWriter(Path.of(args[5]), StandardCharsets.UTF_8))) {
+                for (PartidaRegistrada partida : resultado.partidas()) {
+                    escritor.escribir(partida);
+                }
+            }
+        }
+    }
+
+    /**
+     * Devuelve una representación textual del torneo.
+     *
+     * @return Cadena con las configuraciones y los parámetros del torneo.
+     */
+    @Override
+    public String toString() {
+        return "Torneo{" +
+                "primera=" + primera +
+                ", segunda=" + segunda +
+                ", numeroHilos=" + numeroHilos +
+                ", jugadasMaximas=" + jugadasMaximas +
+                ", jugadasAleatorias=" + jugadasAleatorias +
+                ", semilla=" + semilla +
+                '}';
+    }
+}
@@ -0,0 +1,191 @@
+package noventagrados.registro;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Clase que da acceso aleatorio a un fichero proyectado en memoria, que puede superar los
+ * 2 GB, mediante varios segmentos proyectados de {@value #BITS_SEGMENTO} bits de tamaño.
+ * <p>
+ * El fichero crece por duplicación al pedir más capacidad. Los valores se leen y escriben
+ * en el orden de bytes nativo de {@link MappedByteBuffer} (big endian) y no pueden
+ * cruzar el límite entre segmentos, por lo que todos los registros que se guardan deben
+ * tener un tamaño potencia de dos y estar alineados.
+ */
+class ArchivoMapeado implements Closeable {
+
+    private static final int BITS_SEGMENTO = 30;               // Segmentos de 1 GB.
+    private static final long TAMAÑO_SEGMENTO = 1L << BITS_SEGMENTO;
+    private static final long MASCARA_SEGMENTO = TAMAÑO_SEGMENTO - 1;
+
+    private final FileChannel canal;      // Canal del fichero.
+    private MappedByteBuffer[] segmentos; // Segmentos proyectados, el último puede ser parcial.
+    private long capacidad;               // Bytes proyectados actualmente.
+
+    /**
+     * Abre o crea un fichero proyectado en memoria.
+     *
+     * @param ruta              Ruta del fichero.
+     * @param capacidadInicial  Capacidad mínima en bytes si el fichero es nuevo o más pequeño;
+     *                          debe ser potencia de dos.
+     * @throws IOException Si no se puede abrir o proyectar el fichero.
+     */
+    ArchivoMapeado(Path ruta, long capacidadInicial) throws IOException {
+        canal = FileChannel.open(ruta, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segmentos = new MappedByteBuffer[0];
+        try {
+            long tamaño = Math.max(capacidadInicial, canal.size());
+            proyectar(Long.highestOneBit(tamaño) == tamaño ? tamaño : Long.highestOneBit(tamaño) << 1);
+        } catch (IOException | RuntimeException e) {
+            try {
+                canal.close(); // No se devuelve el objeto, así que nadie más podría cerrarlo.
+            } catch (IOException cierre) {
+                e.addSuppressed(cierre);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Asegura que se puede acceder al menos a los bytes indicados, duplicando la capacidad
+     * del fichero tantas veces como haga falta.
+     *
+     * @param bytes Número de bytes a los que se debe poder acceder.
+     * @throws IOException Si no se puede ampliar el fichero.
+     */
+    void asegurarCapacidad(long bytes) throws IOException {
+        if (bytes > capacidad) {
+            long nuevaCapacidad = capacidad;
+            while (nuevaCapacidad < bytes) {
+                nuevaCapacidad <<= 1;
+            }
+            proyectar(nuevaCapacidad);
+        }
+    }
+
+    /**
+     * Consulta la capacidad proyectada.
+     *
+     * @return Número de bytes accesibles.
+     */
+    long consultarCapacidad() {
+        return capacidad;
+    }
+
+    /**
+     * Lee un long.
+     *
+     * @param posicion Posición en bytes, múltiplo de 8.
+     * @return Valor leído.
+     */
+    long leerLong(long posicion) {
+        return segmentos[(int) (posicion >>> BITS_SEGMENTO)].getLong((int) (posicion & MASCARA_SEGMENTO));
+    }
+
+    /**
+     * Escribe un long.
+     *
+     * @param posicion Posición en bytes, múltiplo de 8.
+     * @param valor    Valor a escribir.
+     */
+    void escribirLong(long posicion, long valor) {
+        segmentos[(int) (posicion >>> BITS_SEGMENTO)].putLong((int) (posicion & MASCARA_SEGMENTO), valor);
+    }
+
+    /**
+     * Lee un int.
+     *
+     * @param posicion Posición en bytes, múltiplo de 4.
+     * @return Valor leído.
+     */
+    int leerInt(long posicion) {
+        return segmentos[(int) (posicion >>> BITS_SEGMENTO)].getInt((int) (posicion & MASCARA_SEGMENTO));
+    }
+
+    /**
+     * Escribe un int.
+     *
+     * @param posicion Posición en bytes, múltiplo de 4.
+     * @param valor    Valor a escribir.
+     */
+    void escribirInt(long posicion, int valor) {
+        segmentos[(int) (posicion >>> BITS_SEGMENTO)].putInt((int) (posicion & MASCARA_SEGMENTO), valor);
+    }
+
+    /**
+     * Lee un short.
+     *
+     * @param posicion Posición en bytes, múltiplo de 2.
+     * @return Valor leído.
+     */
+    short leerShort(long posicion) {
+        return segmentos[(int) (posicion >>> BITS_SEGMENTO)].getShort((int) (posicion & MASCARA_SEGMENTO));
+    }
+
+    /**
+     * Escribe un short.
+     *
+     * @param posicion Posición en bytes, múltiplo de 2.
+     * @param valor    Valor a escribir.
+     */
+    void escribirShort(long posicion, short valor) {
+        segmentos[(int) (posicion >>> BITS_SEGMENTO)].putShort((int) (posicion & MASCARA_SEGMENTO), valor);
+    }
+
+    /**
+     * Pone a cero un rango de bytes.
+     *
+     * @param desde Posición inicial en bytes, múltiplo de 8.
+     * @param hasta Posición final (excluida) en bytes, múltiplo de 8.
+     */
+    void borrar(long desde, long hasta) {
+        for (long posicion = desde; posicion < hasta; posicion += Long.BYTES) {
+            escribirLong(posicion, 0L);
+        }
+    }
+
+    /**
+     * Fuerza la escritura en disco de los cambios.
+     */
+    void forzar() {
+        for (MappedByteBuffer segmento : segmentos) {
+            segmento.force();
+        }
+    }
+
+    /**
+     * Fuerza la escritura de los cambios y cierra el fichero.
+     *
+     * @throws IOException Si no se puede cerrar.
+     */
+    @Override
+    public void close() throws IOException {
+        forzar();
+        canal.close();
+    }
+
+    /**
+     * Proyecta el fichero hasta la capacidad indicada, reutilizando los segmentos completos
+     * ya proyectados.
+     *
+     * @param nuevaCapacidad Nueva capacidad en bytes.
+     * @throws IOException Si no se puede proyectar.
+     */
+    private void proyectar(long nuevaCapacidad) throws IOException {
+        int numeroSegmentos = (int) ((nuevaCapacidad + TAMAÑO_SEGMENTO - 1) >>> BITS_SEGMENTO);
+        int completos = (int) (capacidad >>> BITS_SEGMENTO);
+        MappedByteBuffer[] nuevos = Arrays.copyOf(segmentos, numeroSegmentos);
+        for (int i = completos; i < numeroSegmentos; i++) {
+            long inicio = (long) i << BITS_SEGMENTO;
+            nuevos[i] = canal.map(FileChannel.MapMode.READ_WRITE, inicio,
+                    Math.min(TAMAÑO_SEGMENTO, nuevaCapacidad - inicio));
+        }
+        segmentos = nuevos;
+        capacidad = nuevaCapacidad;
+    }
+}
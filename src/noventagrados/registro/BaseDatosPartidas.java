@@ -0,0 +1,454 @@
+package noventagrados.registro;
+
+import noventagrados.control.Arbitro;
+import noventagrados.control.BufferJugadas;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Clase que guarda partidas en disco en ficheros proyectados en memoria y mantiene un
+ * índice de las posiciones por las que pasa cada partida.
+ * <p>
+ * La base de datos es un directorio con cuatro ficheros:
+ * <ul>
+ *     <li>{@value #FICHERO_JUGADAS}: por cada partida, el número de jugadas (int), el
+ *     resultado (short), relleno y las jugadas codificadas como en {@link BufferJugadas}
+ *     (short cada una), alineado a 8 bytes.</li>
+ *     <li>{@value #FICHERO_PARTIDAS}: la posición de cada partida en el fichero de jugadas.</li>
+ *     <li>{@value #FICHERO_CLAVES}: tabla hash con direccionamiento abierto de la clave
+ *     Zobrist de cada posición distinta (ver {@link Arbitro#consultarClaveZobrist()}) a su
+ *     última aparición.</li>
+ *     <li>{@value #FICHERO_APARICIONES}: una entrada (partida, ply, aparición anterior de la
+ *     misma clave) por cada posición de cada partida, formando una lista enlazada por clave.</li>
+ * </ul>
+ * El índice se actualiza al añadir cada partida, y buscar una posición solo recorre sus
+ * apariciones, sin leer ninguna partida. El ply 0 es la posición inicial y el ply n la
+ * posición tras n jugadas.
+ * <p>
+ * Solo se guardan las jugadas y el resultado de partidas que empiezan en la posición
+ * inicial; las etiquetas de cabecera no se guardan.
+ */
+public class BaseDatosPartidas implements Closeable {
+
+    /** Fichero con las jugadas de las partidas. */
+    public static final String FICHERO_JUGADAS = "jugadas.dat";
+    /** Fichero con la posición de cada partida en el fichero de jugadas. */
+    public static final String FICHERO_PARTIDAS = "partidas.idx";
+    /** Fichero con la tabla hash de claves de posición. */
+    public static final String FICHERO_CLAVES = "claves.idx";
+    /** Fichero con las apariciones de cada posición. */
+    public static final String FICHERO_APARICIONES = "apariciones.idx";
+
+    /**
+     * Aparición de una posición en una partida.
+     *
+     * @param partida Número de la partida, empezando en 0.
+     * @param ply     Número de jugadas realizadas al llegar a la posición.
+     */
+    public record Aparicion(int partida, int ply) {
+    }
+
+    private static final int CABECERA = 64;                // Bytes de cabecera de cada fichero.
+    private static final int CABECERA_PARTIDA = 8;         // Número de jugadas, resultado y relleno.
+    private static final int BYTES_ENTRADA = 16;           // Tamaño de las entradas de los índices.
+    private static final long CAPACIDAD_INICIAL = 1 << 20; // Bytes iniciales de cada fichero.
+    private static final long CLAVES_INICIALES = 1 << 12;  // Huecos iniciales de la tabla de claves.
+    private static final String[] RESULTADOS = {
+            PartidaRegistrada.RESULTADO_SIN_TERMINAR, PartidaRegistrada.RESULTADO_BLANCAS,
+            PartidaRegistrada.RESULTADO_NEGRAS, PartidaRegistrada.RESULTADO_EMPATE
+    };
+
+    private final ArchivoMapeado jugadas;     // Cabecera: bytes usados.
+    private final ArchivoMapeado partidas;    // Cabecera: número de partidas.
+    private final ArchivoMapeado claves;      // Cabecera: huecos y claves ocupadas.
+    private final ArchivoMapeado apariciones; // Cabecera: número de apariciones.
+    private long bytesJugadas;                // Bytes usados del fichero de jugadas.
+    private int numeroPartidas;               // Número de partidas guardadas.
+    private long huecosClaves;                // Huecos de la tabla de claves, potencia de dos.
+    private long numeroClaves;                // Claves distintas guardadas.
+    private long numeroApariciones;           // Apariciones guardadas.
+
+    /**
+     * Abre la base de datos de un directorio, creándola si no existe.
+     *
+     * @param directorio Directorio de la base de datos.
+     * @throws IOException Si no se pueden abrir o crear los ficheros.
+     */
+    public BaseDatosPartidas(Path directorio) throws IOException {
+        Files.createDirectories(directorio);
+        String[] nombres = {FICHERO_JUGADAS, FICHERO_PARTIDAS, FICHERO_CLAVES, FICHERO_APARICIONES};
+        ArchivoMapeado[] archivos = new ArchivoMapeado[nombres.length];
+        try {
+            for (int i = 0; i < nombres.length; i++) {
+                archivos[i] = new ArchivoMapeado(directorio.resolve(nombres[i]), CAPACIDAD_INICIAL);
+            }
+            huecosClaves = archivos[2].leerLong(0);
+            if (huecosClaves == 0) {
+                huecosClaves = CLAVES_INICIALES;
+                archivos[2].asegurarCapacidad(CABECERA + huecosClaves * BYTES_ENTRADA);
+            }
+        } catch (IOException | RuntimeException e) {
+            cerrar(archivos, e);
+            throw e;
+        }
+        jugadas = archivos[0];
+        partidas = archivos[1];
+        claves = archivos[2];
+        apariciones = archivos[3];
+        bytesJugadas = Math.max(CABECERA, jugadas.leerLong(0));
+        numeroPartidas = (int) partidas.leerLong(0);
+        numeroClaves = claves.leerLong(Long.BYTES);
+        numeroApariciones = apariciones.leerLong(0);
+    }
+
+    /**
+     * Añade una partida y sus posiciones al índice.
+     *
+     * @param partida Partida a añadir.
+     * @return Número asignado a la partida, o -1 si no empieza en la posición inicial o
+     *         contiene una jugada ilegal.
+     * @throws IOException Si no se pueden ampliar los ficheros.
+     */
+    public int añadir(PartidaRegistrada partida) throws IOException {
+        if (partida.consultarEtiqueta(PartidaRegistrada.ETIQUETA_POSICION) != null) {
+            return -1;
+        }
+        int numeroJugadas = partida.consultarNumeroJugadas();
+        long[] clavesPartida = new long[numeroJugadas + 1];
+        Arbitro arbitro = partida.reproducir(0);
+        clavesPartida[0] = arbitro.consultarClaveZobrist();
+        BufferJugadas legales = new BufferJugadas();
+        for (int i = 0; i < numeroJugadas; i++) {
+            if (!esLegal(arbitro.generarJugadasLegales(legales), partida.consultarCodigo(i))) {
+                return -1;
+            }
+            arbitro.hacer(partida.consultarCodigo(i));
+            clavesPartida[i + 1] = arbitro.consultarClaveZobrist();
+        }
+
+        int numero = numeroPartidas;
+        long tamaño = (CABECERA_PARTIDA + 2L * numeroJugadas + 7) & ~7L;
+        jugadas.asegurarCapacidad(bytesJugadas + tamaño);
+        jugadas.escribirInt(bytesJugadas, numeroJugadas);
+        jugadas.escribirShort(bytesJugadas + Integer.BYTES, codificarResultado(partida.consultarResultado()));
+        for (int i = 0; i < numeroJugadas; i++) {
+            jugadas.escribirShort(bytesJugadas + CABECERA_PARTIDA + 2L * i, (short) partida.consultarCodigo(i));
+        }
+        partidas.asegurarCapacidad(CABECERA + (numero + 1L) * Long.BYTES);
+        partidas.escribirLong(CABECERA + (long) numero * Long.BYTES, bytesJugadas);
+        bytesJugadas += tamaño;
+        numeroPartidas++;
+
+        for (int ply = 0; ply <= numeroJugadas; ply++) {
+            indexar(clavesPartida[ply], numero, ply);
+        }
+        escribirCabeceras();
+        return numero;
+    }
+
+    /**
+     * Consulta el número de partidas guardadas.
+     *
+     * @return Número de partidas.
+     */
+    public int consultarNumeroPartidas() {
+        return numeroPartidas;
+    }
+
+    /**
+     * Consulta el número de jugadas de una partida sin leerla.
+     *
+     * @param partida Número de la partida.
+     * @return Número de jugadas.
+     * @throws IndexOutOfBoundsException Si la partida no existe.
+     */
+    public int consultarNumeroJugadas(int partida) {
+        return jugadas.leerInt(consultarInicio(partida));
+    }
+
+    /**
+     * Consulta una jugada de una partida sin leer el resto.
+     *
+     * @param partida Número de la partida.
+     * @param indice  Posición de la jugada, empezando en 0.
+     * @return Jugada codificada como en {@link BufferJugadas}.
+     * @throws IndexOutOfBoundsException Si la partida o la jugada no existen.
+     */
+    public int consultarCodigo(int partida, int indice) {
+        long inicio = consultarInicio(partida);
+        Objects.checkIndex(indice, jugadas.leerInt(inicio));
+        return jugadas.leerShort(inicio + CABECERA_PARTIDA + 2L * indice);
+    }
+
+    /**
+     * Consulta el resultado de una partida sin leerla.
+     *
+     * @param partida Número de la partida.
+     * @return Resultado, una de las constantes RESULTADO_* de {@link PartidaRegistrada}.
+     * @throws IndexOutOfBoundsException Si la partida no existe.
+     */
+    public String consultarResultado(int partida) {
+        return RESULTADOS[jugadas.leerShort(consultarInicio(partida) + Integer.BYTES)];
+    }
+
+    /**
+     * Lee una partida completa.
+     *
+     * @param partida Número de la partida.
+     * @return Partida sin etiquetas.
+     * @throws IndexOutOfBoundsException Si la partida no existe.
+     */
+    public PartidaRegistrada leer(int partida) {
+        int[] codigos = new int[consultarNumeroJugadas(partida)];
+        for (int i = 0; i < codigos.length; i++) {
+            codigos[i] = consultarCodigo(partida, i);
+        }
+        return new PartidaRegistrada(Collections.emptyMap(), codigos, consultarResultado(partida));
+    }
+
+    /**
+     * Busca todas las apariciones de la posición actual de un árbitro.
+     *
+     * @param arbitro Árbitro con la posición a buscar.
+     * @return Apariciones, de la más reciente a la más antigua.
+     */
+    public List<Aparicion> buscar(Arbitro arbitro) {
+        return buscar(arbitro.consultarClaveZobrist());
+    }
+
+    /**
+     * Busca todas las apariciones de una clave de posición.
+     *
+     * @param clave Clave Zobrist de la posición, con el turno.
+     * @return Apariciones, de la más reciente a la más antigua.
+     */
+    public List<Aparicion> buscar(long clave) {
+        List<Aparicion> resultado = new ArrayList<>();
+        long hueco = buscarHueco(clave);
+        long siguiente = claves.leerLong(hueco + Long.BYTES);
+        while (siguiente != 0) {
+            long posicion = CABECERA + (siguiente - 1) * BYTES_ENTRADA;
+            resultado.add(new Aparicion(apariciones.leerInt(posicion), apariciones.leerInt(posicion + Integer.BYTES)));
+            siguiente = apariciones.leerLong(posicion + Long.BYTES);
+        }
+        return resultado;
+    }
+
+    /**
+     * Cuenta las apariciones de una clave de posición.
+     *
+     * @param clave Clave Zobrist de la posición, con el turno.
+     * @return Número de apariciones.
+     */
+    public int contar(long clave) {
+        int contador = 0;
+        long siguiente = claves.leerLong(buscarHueco(clave) + Long.BYTES);
+        while (siguiente != 0) {
+            contador++;
+            siguiente = apariciones.leerLong(CABECERA + (siguiente - 1) * BYTES_ENTRADA + Long.BYTES);
+        }
+        return contador;
+    }
+
+    /**
+     * Fuerza la escritura en disco de los cambios.
+     */
+    public void vaciar() {
+        escribirCabeceras();
+        jugadas.forzar();
+        partidas.forzar();
+        claves.forzar();
+        apariciones.forzar();
+    }
+
+    /**
+     * Escribe los cambios y cierra los ficheros.
+     *
+     * @throws IOException Si no se pueden cerrar.
+     */
+    @Override
+    public void close() throws IOException {
+        escribirCabeceras();
+        jugadas.close();
+        partidas.close();
+        claves.close();
+        apariciones.close();
+    }
+
+    /**
+     * Cierra los ficheros ya abiertos tras un error al abrir la base de datos, añadiendo a
+     * la excepción original las que se produzcan al cerrarlos.
+     *
+     * @param archivos Ficheros abiertos; los que no se llegaron a abrir son null.
+     * @param causa    Excepción que impidió abrir la base de datos.
+     */
+    private static void cerrar(ArchivoMapeado[] archivos, Exception causa) {
+        for (ArchivoMapeado archivo : archivos) {
+            if (archivo != null) {
+                try {
+                    archivo.close();
+                } catch (IOException e) {
+                    causa.addSuppressed(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Añade una aparición al índice, ampliando la tabla de claves si está medio llena.
+     *
+     * @param clave   Clave de la posición.
+     * @param partida Número de la partida.
+     * @param ply     Ply de la posición en la partida.
+     * @throws IOException Si no se pueden ampliar los ficheros.
+     */
+    private void indexar(long clave, int partida, int ply) throws IOException {
+        if ((numeroClaves + 1) * 2 > huecosClaves) {
+            redimensionarClaves();
+        }
+        long hueco = buscarHueco(clave);
+        long anterior = claves.leerLong(hueco + Long.BYTES);
+        if (anterior == 0) {
+            claves.escribirLong(hueco, clave);
+            numeroClaves++;
+        }
+        long posicion = CABECERA + numeroApariciones * BYTES_ENTRADA;
+        apariciones.asegurarCapacidad(posicion + BYTES_ENTRADA);
+        apariciones.escribirInt(posicion, partida);
+        apariciones.escribirInt(posicion + Integer.BYTES, ply);
+        apariciones.escribirLong(posicion + Long.BYTES, anterior);
+        numeroApariciones++;
+        claves.escribirLong(hueco + Long.BYTES, numeroApariciones);
+    }
+
+    /**
+     * Busca el hueco de una clave en la tabla con sondeo lineal.
+     *
+     * @param clave Clave a buscar.
+     * @return Posición en bytes del hueco que contiene la clave, o del hueco vacío donde
+     *         se guardaría.
+     */
+    private long buscarHueco(long clave) {
+        long mascara = huecosClaves - 1;
+        long indice = mezclar(clave) & mascara;
+        while (true) {
+            long posicion = CABECERA + indice * BYTES_ENTRADA;
+            if (claves.leerLong(posicion + Long.BYTES) == 0 || claves.leerLong(posicion) == clave) {
+                return posicion;
+            }
+            indice = (indice + 1) & mascara;
+        }
+    }
+
+    /**
+     * Duplica el número de huecos de la tabla de claves y vuelve a insertar todas las claves.
+     *
+     * @throws IOException Si no se puede ampliar el fichero.
+     */
+    private void redimensionarClaves() throws IOException {
+        long[] clavesGuardadas = new long[(int) numeroClaves];
+        long[] cabezas = new long[(int) numeroClaves];
+        int n = 0;
+        for (long i = 0; i < huecosClaves; i++) {
+            long posicion = CABECERA + i * BYTES_ENTRADA;
+            long cabeza = claves.leerLong(posicion + Long.BYTES);
+            if (cabeza != 0) {
+                clavesGuardadas[n] = claves.leerLong(posicion);
+                cabezas[n++] = cabeza;
+            }
+        }
+        huecosClaves <<= 1;
+        claves.asegurarCapacidad(CABECERA + huecosClaves * BYTES_ENTRADA);
+        claves.borrar(CABECERA, CABECERA + huecosClaves * BYTES_ENTRADA);
+        for (int i = 0; i < n; i++) {
+            long hueco = buscarHueco(clavesGuardadas[i]);
+            claves.escribirLong(hueco, clavesGuardadas[i]);
+            claves.escribirLong(hueco + Long.BYTES, cabezas[i]);
+        }
+    }
+
+    /**
+     * Mezcla los bits de una clave para repartir mejor los huecos.
+     *
+     * @param clave Clave a mezclar.
+     * @return Valor mezclado.
+     */
+    private static long mezclar(long clave) {
+        return clave ^ (clave >>> 32);
+    }
+
+    /**
+     * Comprueba si una jugada codificada está entre las jugadas legales.
+     *
+     * @param legales Jugadas legales.
+     * @param codigo  Jugada codificada.
+     * @return true si es legal, false en caso contrario.
+     */
+    private static boolean esLegal(BufferJugadas legales, int codigo) {
+        for (int i = 0; i < legales.consultarNumeroJugadas(); i++) {
+            if (legales.consultarCodigo(i) == codigo) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Convierte un resultado a su código guardado.
+     *
+     * @param resultado Resultado de la partida.
+     * @return Código del resultado.
+     */
+    private static short codificarResultado(String resultado) {
+        for (short i = 0; i < RESULTADOS.length; i++) {
+            if (RESULTADOS[i].equals(resultado)) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Consulta la posición de una partida en el fichero de jugadas.
+     *
+     * @param partida Número de la partida.
+     * @return Posición en bytes.
+     * @throws IndexOutOfBoundsException Si la partida no existe.
+     */
+    private long consultarInicio(int partida) {
+        Objects.checkIndex(partida, numeroPartidas);
+        return partidas.leerLong(CABECERA + (long) partida * Long.BYTES);
+    }
+
+    /**
+     * Escribe los contadores en las cabeceras de los ficheros.
+     */
+    private void escribirCabeceras() {
+        jugadas.escribirLong(0, bytesJugadas);
+        partidas.escribirLong(0, numeroPartidas);
+        claves.escribirLong(0, huecosClaves);
+        claves.escribirLong(Long.BYTES, numeroClaves);
+        apariciones.escribirLong(0, numeroApariciones);
+    }
+
+    /**
+     * Devuelve una representación textual de la base de datos.
+     *
+     * @return Cadena con los contadores de la base de datos.
+     */
+    @Override
+    public String toString() {
+        return "BaseDatosPartidas{" +
+                "numeroPartidas=" + numeroPartidas +
+                ", numeroClaves=" + numeroClaves +
+                ", numeroApariciones=" + numeroApariciones +
+                '}';
+    }
+}
@@ -0,0 +1,221 @@
+package noventagrados.registro;
+
+import noventagrados.control.Arbitro;
+import noventagrados.control.BufferJugadas;
+import noventagrados.control.ObservadorJugadas;
+import noventagrados.modelo.Jugada;
+import noventagrados.util.Coordenada;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Map;
+
+/**
+ * Clase que escribe partidas en el formato de registro de forma incremental.
+ * <p>
+ * Cada partida empieza con sus etiquetas de cabecera, una por línea con el formato
+ * {@code [Nombre "valor"]}, seguidas de una línea en blanco. En los valores, las comillas y
+ * la barra invertida se escriben precedidas de una barra invertida, y los saltos de línea
+ * como {@code \n} y {@code \r}. Después vienen las jugadas en formato "dd-dd" separadas
+ * por espacios, con un máximo de {@value #JUGADAS_POR_LINEA} por línea, y por último el
+ * resultado ({@code 1-0}, {@code 0-1}, {@code 1/2-1/2} o {@code *}) y una línea en blanco.
+ * Un fichero puede contener varias partidas seguidas.
+ * <p>
+ * Registrado como {@link ObservadorJugadas} de un {@link Arbitro}, escribe cada jugada en
+ * cuanto se empuja, sin guardar la partida en memoria.
+ */
+public class EscritorPartidas implements ObservadorJugadas, Closeable {
+
+    /** Número máximo de jugadas por línea. */
+    public static final int JUGADAS_POR_LINEA = 12;
+
+    private static final int LADO = 7; // Número de filas y columnas del tablero.
+
+    private final Writer salida;  // Destino de las partidas, con buffer.
+    private int jugadasEnLinea;   // Jugadas escritas en la línea actual.
+    private boolean enPartida;    // Si se ha empezado una partida y aún no se ha terminado.
+
+    /**
+     * Constructor de la clase EscritorPartidas.
+     *
+     * @param salida Destino de las partidas. Si no tiene buffer se le añade uno.
+     */
+    public EscritorPartidas(Writer salida) {
+        this.salida = salida instanceof BufferedWriter ? salida : new BufferedWriter(salida);
+    }
+
+    /**
+     * Empieza una nueva partida escribiendo sus etiquetas de cabecera.
+     *
+     * @param etiquetas Etiquetas de cabecera, en el orden en que se escriben.
+     * @throws IOException Si no se puede escribir.
+     */
+    public void empezarPartida(Map<String, String> etiquetas) throws IOException {
+        for (Map.Entry<String, String> etiqueta : etiquetas.entrySet()) {
+            salida.write('[');
+            salida.write(etiqueta.getKey());
+            salida.write(" \"");
+            String valor = etiqueta.getValue();
+            for (int i = 0; i < valor.length(); i++) {
+                char caracter = valor.charAt(i);
+                if (caracter == '"' || caracter == '\\') {
+                    salida.write('\\');
+                    salida.write(caracter);
+                } else if (caracter == '\n') {
+                    salida.write("\\n");
+                } else if (caracter == '\r') {
+                    salida.write("\\r");
+                } else {
+                    salida.write(caracter);
+                }
+            }
+            salida.write("\"]\n");
+        }
+        salida.write('\n');
+        jugadasEnLinea = 0;
+        enPartida = true;
+    }
+
+    /**
+     * Escribe una jugada de la partida en curso.
+     *
+     * @param jugada Jugada a escribir.
+     * @throws IOException Si no se puede escribir.
+     */
+    public void escribirJugada(Jugada jugada) throws IOException {
+        Coordenada origen = jugada.origen().consultarCoordenada();
+        Coordenada destino = jugada.destino().consultarCoordenada();
+        escribirJugada(origen.fila(), origen.columna(), destino.fila(), destino.columna());
+    }
+
+    /**
+     * Escribe una jugada codificada de la partida en curso.
+     *
+     * @param codigo Jugada codificada como en {@link BufferJugadas}.
+     * @throws IOException Si no se puede escribir.
+     */
+    public void escribirJugada(int codigo) throws IOException {
+        int origen = BufferJugadas.consultarIndiceOrigen(codigo);
+        int destino = BufferJugadas.consultarIndiceDestino(codigo);
+        escribirJugada(origen / LADO, origen % LADO, destino / LADO, destino % LADO);
+    }
+
+    /**
+     * Escribe la jugada empujada en el árbitro observado.
+     *
+     * @param jugada Jugada realizada.
+     * @throws UncheckedIOException Si no se puede escribir.
+     */
+    @Override
+    public void jugadaRealizada(Jugada jugada) {
+        try {
+            escribirJugada(jugada);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Termina la partida en curso escribiendo su resultado.
+     *
+     * @param resultado Resultado de la partida, una de las constantes RESULTADO_* de
+     *                  {@link PartidaRegistrada}.
+     * @throws IOException Si no se puede escribir.
+     */
+    public void terminarPartida(String resultado) throws IOException {
+        if (jugadasEnLinea > 0) {
+            salida.write(' ');
+        }
+        salida.write(resultado);
+        salida.write("\n\n");
+        enPartida = false;
+    }
+
+    /**
+     * Termina la partida en curso con el resultado de la partida que lleva un árbitro.
+     *
+     * @param arbitro Árbitro con la partida.
+     * @throws IOException Si no se puede escribir.
+     */
+    public void terminarPartida(Arbitro arbitro) throws IOException {
+        terminarPartida(PartidaRegistrada.calcularResultado(arbitro));
+    }
+
+    /**
+     * Escribe una partida completa.
+     *
+     * @param partida Partida a escribir.
+     * @throws IOException Si no se puede escribir.
+     */
+    public void escribir(PartidaRegistrada partida) throws IOException {
+        empezarPartida(partida.consultarEtiquetas());
+        for (int i = 0; i < partida.consultarNumeroJugadas(); i++) {
+            escribirJugada(partida.consultarCodigo(i));
+        }
+        terminarPartida(partida.consultarResultado());
+    }
+
+    /**
+     * Vuelca al destino lo escrito hasta ahora.
+     *
+     * @throws IOException Si no se puede escribir.
+     */
+    public void vaciar() throws IOException {
+        salida.flush();
+    }
+
+    /**
+     * Cierra el destino. Si hay una partida sin terminar se termina como
+     * {@value PartidaRegistrada#RESULTADO_SIN_TERMINAR}.
+     *
+     * @throws IOException Si no se puede escribir o cerrar.
+     */
+    @Override
+    public void close() throws IOException {
+        if (enPartida) {
+            terminarPartida(PartidaRegistrada.RESULTADO_SIN_TERMINAR);
+        }
+        salida.close();
+    }
+
+    /**
+     * Escribe una jugada en formato "dd-dd", saltando de línea cuando corresponde.
+     *
+     * @param filaOrigen     Fila de origen.
+     * @param columnaOrigen  Columna de origen.
+     * @param filaDestino    Fila de destino.
+     * @param columnaDestino Columna de destino.
+     * @throws IOException Si no se puede escribir.
+     */
+    private void escribirJugada(int filaOrigen, int columnaOrigen, int filaDestino, int columnaDestino)
+            throws IOException {
+        if (jugadasEnLinea == JUGADAS_POR_LINEA) {
+            salida.write('\n');
+            jugadasEnLinea = 0;
+        } else if (jugadasEnLinea > 0) {
+            salida.write(' ');
+        }
+        salida.write('0' + filaOrigen);
+        salida.write('0' + columnaOrigen);
+        salida.write('-');
+        salida.write('0' + filaDestino);
+        salida.write('0' + columnaDestino);
+        jugadasEnLinea++;
+    }
+
+    /**
+     * Devuelve una representación textual del escritor.
+     *
+     * @return Cadena con el estado del escritor.
+     */
+    @Override
+    public String toString() {
+        return "EscritorPartidas{" +
+                "enPartida=" + enPartida +
+                ", jugadasEnLinea=" + jugadasEnLinea +
+                '}';
+    }
+}
@@ -0,0 +1,216 @@
+package noventagrados.registro;
+
+import noventagrados.control.BufferJugadas;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Clase que lee partidas en el formato de registro descrito en {@link EscritorPartidas}.
+ * <p>
+ * Las partidas se leen de una en una a medida que se piden, por lo que ficheros con
+ * muchas partidas se recorren sin cargarlos enteros en memoria. Las jugadas se
+ * interpretan directamente sobre cada línea, sin partirla en cadenas.
+ */
+public class LectorPartidas implements Closeable {
+
+    private static final int TAMAÑO_JUGADA = 5;      // Caracteres de una jugada "dd-dd".
+    private static final int CAPACIDAD_INICIAL = 64; // Jugadas reservadas inicialmente por partida.
+
+    private final BufferedReader entrada; // Origen de las partidas.
+    private int numeroLinea;              // Número de la última línea leída.
+    private int[] jugadas;                // Jugadas de la partida en lectura, reutilizado.
+
+    /**
+     * Constructor de la clase LectorPartidas.
+     *
+     * @param entrada Origen de las partidas. Si no tiene buffer se le añade uno.
+     */
+    public LectorPartidas(Reader entrada) {
+        this.entrada = entrada instanceof BufferedReader lector ? lector : new BufferedReader(entrada);
+        this.jugadas = new int[CAPACIDAD_INICIAL];
+    }
+
+    /**
+     * Lee la siguiente partida.
+     *
+     * @return Partida leída, o null si no quedan partidas.
+     * @throws IOException Si no se puede leer o el formato no es correcto.
+     */
+    public PartidaRegistrada leerPartida() throws IOException {
+        String linea = leerLinea();
+        while (linea != null && linea.isBlank()) {
+            linea = leerLinea();
+        }
+        if (linea == null) {
+            return null;
+        }
+        Map<String, String> etiquetas = new LinkedHashMap<>();
+        while (linea != null && linea.startsWith("[")) {
+            leerEtiqueta(linea, etiquetas);
+            linea = leerLinea();
+        }
+        int numeroJugadas = 0;
+        String resultado = null;
+        while (resultado == null) {
+            if (linea == null) {
+                throw crearError("partida sin resultado");
+            }
+            int posicion = 0;
+            while (posicion < linea.length() && resultado == null) {
+                if (linea.charAt(posicion) == ' ') {
+                    posicion++;
+                    continue;
+                }
+                int fin = linea.indexOf(' ', posicion);
+                fin = fin < 0 ? linea.length() : fin;
+                int codigo = leerJugada(linea, posicion, fin);
+                if (codigo >= 0) {
+                    if (numeroJugadas == jugadas.length) {
+                        jugadas = Arrays.copyOf(jugadas, jugadas.length * 2);
+                    }
+                    jugadas[numeroJugadas++] = codigo;
+                } else {
+                    resultado = leerResultado(linea.substring(posicion, fin));
+                }
+                posicion = fin;
+            }
+            if (resultado == null) {
+                linea = leerLinea();
+            } else if (!linea.substring(posicion).isBlank()) {
+                throw crearError("texto tras el resultado");
+            }
+        }
+        return new PartidaRegistrada(etiquetas, Arrays.copyOf(jugadas, numeroJugadas), resultado);
+    }
+
+    /**
+     * Cierra el origen de las partidas.
+     *
+     * @throws IOException Si no se puede cerrar.
+     */
+    @Override
+    public void close() throws IOException {
+        entrada.close();
+    }
+
+    /**
+     * Lee una línea contando su número.
+     *
+     * @return Línea leída, o null si se ha llegado al final.
+     * @throws IOException Si no se puede leer.
+     */
+    private String leerLinea() throws IOException {
+        String linea = entrada.readLine();
+        if (linea != null) {
+            numeroLinea++;
+        }
+        return linea;
+    }
+
+    /**
+     * Interpreta una línea de etiqueta con el formato {@code [Nombre "valor"]}.
+     *
+     * @param linea     Línea a interpretar.
+     * @param etiquetas Etiquetas donde se añade la leída.
+     * @throws IOException Si el formato no es correcto.
+     */
+    private void leerEtiqueta(String linea, Map<String, String> etiquetas) throws IOException {
+        String texto = linea.strip();
+        int espacio = texto.indexOf(' ');
+        if (espacio < 2 || !texto.endsWith("\"]") || texto.length() < espacio + 4
+                || texto.charAt(espacio + 1) != '"') {
+            throw crearError("etiqueta incorrecta");
+        }
+        StringBuilder valor = new StringBuilder();
+        for (int i = espacio + 2; i < texto.length() - 2; i++) {
+            char caracter = texto.charAt(i);
+            if (caracter == '\\' && i + 1 < texto.length() - 2) {
+                caracter = switch (texto.charAt(++i)) {
+                    case 'n' -> '\n';
+                    case 'r' -> '\r';
+                    default -> texto.charAt(i);
+                };
+            }
+            valor.append(caracter);
+        }
+        etiquetas.put(texto.substring(1, espacio), valor.toString());
+    }
+
+    /**
+     * Interpreta una jugada en formato "dd-dd" con dígitos entre 0 y 6.
+     *
+     * @param linea  Línea que contiene la jugada.
+     * @param inicio Posición del primer carácter de la jugada.
+     * @param fin    Posición siguiente al último carácter.
+     * @return Jugada codificada como en {@link BufferJugadas}, o -1 si el texto no es una jugada.
+     */
+    private static int leerJugada(String linea, int inicio, int fin) {
+        if (fin - inicio != TAMAÑO_JUGADA || linea.charAt(inicio + 2) != '-') {
+            return -1;
+        }
+        int filaOrigen = linea.charAt(inicio) - '0';
+        int columnaOrigen = linea.charAt(inicio + 1) - '0';
+        int filaDestino = linea.charAt(inicio + 3) - '0';
+        int columnaDestino = linea.charAt(inicio + 4) - '0';
+        if (!esDigitoValido(filaOrigen) || !esDigitoValido(columnaOrigen)
+                || !esDigitoValido(filaDestino) || !esDigitoValido(columnaDestino)) {
+            return -1;
+        }
+        return BufferJugadas.codificar(filaOrigen, columnaOrigen, filaDestino, columnaDestino);
+    }
+
+    /**
+     * Comprueba que un dígito está en el rango [0, 6].
+     *
+     * @param digito Dígito a comprobar.
+     * @return true si es válido, false en caso contrario.
+     */
+    private static boolean esDigitoValido(int digito) {
+        return digito >= 0 && digito <= 6;
+    }
+
+    /**
+     * Interpreta el resultado de una partida.
+     *
+     * @param texto Texto del resultado.
+     * @return Constante de resultado de {@link PartidaRegistrada}.
+     * @throws IOException Si el texto no es ni una jugada ni un resultado.
+     */
+    private String leerResultado(String texto) throws IOException {
+        return switch (texto) {
+            case PartidaRegistrada.RESULTADO_BLANCAS -> PartidaRegistrada.RESULTADO_BLANCAS;
+            case PartidaRegistrada.RESULTADO_NEGRAS -> PartidaRegistrada.RESULTADO_NEGRAS;
+            case PartidaRegistrada.RESULTADO_EMPATE -> PartidaRegistrada.RESULTADO_EMPATE;
+            case PartidaRegistrada.RESULTADO_SIN_TERMINAR -> PartidaRegistrada.RESULTADO_SIN_TERMINAR;
+            default -> throw crearError("jugada o resultado incorrecto \"" + texto + "\"");
+        };
+    }
+
+    /**
+     * Crea la excepción de formato incorrecto en la línea actual.
+     *
+     * @param motivo Descripción del error.
+     * @return Excepción con el número de línea.
+     */
+    private IOException crearError(String motivo) {
+        return new IOException("Formato de partida incorrecto en la línea " + numeroLinea + ": " + motivo);
+    }
+
+    /**
+     * Devuelve una representación textual del lector.
+     *
+     * @return Cadena con el número de líneas leídas.
+     */
+    @Override
+    public String toString() {
+        return "LectorPartidas{" +
+                "numeroLinea=" + numeroLinea +
+                '}';
+    }
+}
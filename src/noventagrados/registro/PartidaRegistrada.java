@@ -0,0 +1,222 @@
+package noventagrados.registro;
+
+import noventagrados.control.Arbitro;
+import noventagrados.control.BufferJugadas;
+import noventagrados.control.NotacionPosicion;
+import noventagrados.modelo.Celda;
+import noventagrados.modelo.Jugada;
+import noventagrados.modelo.Tablero;
+import noventagrados.util.Color;
+import noventagrados.util.Coordenada;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Clase que representa una partida guardada: sus etiquetas de cabecera, la lista de
+ * jugadas y el resultado.
+ * <p>
+ * Las jugadas se guardan codificadas como en {@link BufferJugadas}. Si la partida no
+ * empieza en la posición inicial, la etiqueta {@value #ETIQUETA_POSICION} contiene la
+ * posición de partida en la notación de {@link NotacionPosicion}.
+ */
+public class PartidaRegistrada {
+
+    /** Etiqueta con el nombre del evento. */
+    public static final String ETIQUETA_EVENTO = "Evento";
+    /** Etiqueta con la fecha de la partida, en formato "aaaa.mm.dd". */
+    public static final String ETIQUETA_FECHA = "Fecha";
+    /** Etiqueta con el nombre del jugador de blancas. */
+    public static final String ETIQUETA_BLANCAS = "Blancas";
+    /** Etiqueta con el nombre del jugador de negras. */
+    public static final String ETIQUETA_NEGRAS = "Negras";
+    /** Etiqueta con la posición de partida, si no es la inicial. */
+    public static final String ETIQUETA_POSICION = "Posicion";
+
+    /** Resultado de una partida ganada por blancas. */
+    public static final String RESULTADO_BLANCAS = "1-0";
+    /** Resultado de una partida ganada por negras. */
+    public static final String RESULTADO_NEGRAS = "0-1";
+    /** Resultado de una partida terminada en empate. */
+    public static final String RESULTADO_EMPATE = "1/2-1/2";
+    /** Resultado de una partida sin terminar. */
+    public static final String RESULTADO_SIN_TERMINAR = "*";
+
+    private static final int LADO = 7; // Número de filas y columnas del tablero.
+
+    private final Map<String, String> etiquetas; // Etiquetas de cabecera en orden de aparición.
+    private final int[] jugadas;                 // Jugadas codificadas.
+    private final String resultado;              // Resultado de la partida.
+
+    /**
+     * Constructor de la clase PartidaRegistrada.
+     *
+     * @param etiquetas Etiquetas de cabecera; se copian.
+     * @param jugadas   Jugadas codificadas; se copian.
+     * @param resultado Resultado de la partida, una de las constantes RESULTADO_*.
+     */
+    public PartidaRegistrada(Map<String, String> etiquetas, int[] jugadas, String resultado) {
+        this.etiquetas = new LinkedHashMap<>(etiquetas);
+        this.jugadas = jugadas.clone();
+        this.resultado = resultado;
+    }
+
+    /**
+     * Calcula el resultado de la partida que lleva un árbitro.
+     *
+     * @param arbitro Árbitro con la partida.
+     * @return Resultado de la partida, {@value #RESULTADO_SIN_TERMINAR} si no ha finalizado.
+     */
+    public static String calcularResultado(Arbitro arbitro) {
+        if (!arbitro.estaFinalizadaPartida()) {
+            return RESULTADO_SIN_TERMINAR;
+        }
+        Color ganador = arbitro.consultarTurnoGanador();
+        if (ganador == null) {
+            return RESULTADO_EMPATE;
+        }
+        return ganador == Color.BLANCO ? RESULTADO_BLANCAS : RESULTADO_NEGRAS;
+    }
+
+    /**
+     * Consulta el valor de una etiqueta de cabecera.
+     *
+     * @param nombre Nombre de la etiqueta.
+     * @return Valor de la etiqueta, o null si la partida no la tiene.
+     */
+    public String consultarEtiqueta(String nombre) {
+        return etiquetas.get(nombre);
+    }
+
+    /**
+     * Consulta todas las etiquetas de cabecera.
+     *
+     * @return Vista no modificable de las etiquetas en orden de aparición.
+     */
+    public Map<String, String> consultarEtiquetas() {
+        return Collections.unmodifiableMap(etiquetas);
+    }
+
+    /**
+     * Consulta el número de jugadas de la partida.
+     *
+     * @return Número de jugadas.
+     */
+    public int consultarNumeroJugadas() {
+        return jugadas.length;
+    }
+
+    /**
+     * Consulta una jugada codificada.
+     *
+     * @param indice Posición de la jugada, empezando en 0.
+     * @return Jugada codificada como en {@link BufferJugadas}.
+     */
+    public int consultarCodigo(int indice) {
+        return jugadas[indice];
+    }
+
+    /**
+     * Consulta el resultado de la partida.
+     *
+     * @return Resultado de la partida.
+     */
+    public String consultarResultado() {
+        return resultado;
+    }
+
+    /**
+     * Reproduce la partida desde su posición de partida comprobando la legalidad de cada
+     * jugada.
+     *
+     * @return Nuevo árbitro con todas las jugadas realizadas, o null si la posición de
+     *         partida no es válida o alguna jugada es ilegal.
+     */
+    public Arbitro reproducir() {
+        return reproducir(jugadas.length);
+    }
+
+    /**
+     * Reproduce las primeras jugadas de la partida desde su posición de partida
+     * comprobando la legalidad de cada jugada.
+     *
+     * @param numeroJugadas Número de jugadas a reproducir.
+     * @return Nuevo árbitro con dichas jugadas realizadas, o null si la posición de
+     *         partida no es válida o alguna jugada es ilegal.
+     */
+    public Arbitro reproducir(int numeroJugadas) {
+        Arbitro arbitro = crearArbitroInicial();
+        for (int i = 0; arbitro != null && i < Math.min(numeroJugadas, jugadas.length); i++) {
+            int origen = BufferJugadas.consultarIndiceOrigen(jugadas[i]);
+            int destino = BufferJugadas.consultarIndiceDestino(jugadas[i]);
+            Jugada jugada = new Jugada(new Celda(Coordenada.de(origen / LADO, origen % LADO)),
+                    new Celda(Coordenada.de(destino / LADO, destino % LADO)));
+            if (arbitro.esMovimientoLegal(jugada)) {
+                arbitro.empujar(jugada);
+                arbitro.cambiarTurno();
+            } else {
+                arbitro = null;
+            }
+        }
+        return arbitro;
+    }
+
+    /**
+     * Crea el árbitro con la posición de partida.
+     *
+     * @return Nuevo árbitro, o null si la etiqueta de posición no es válida.
+     */
+    private Arbitro crearArbitroInicial() {
+        String posicion = etiquetas.get(ETIQUETA_POSICION);
+        if (posicion != null) {
+            return NotacionPosicion.leer(posicion);
+        }
+        Arbitro arbitro = new Arbitro(new Tablero());
+        arbitro.colocarPiezasConfiguracionInicial();
+        return arbitro;
+    }
+
+    /**
+     * Comprueba si dos partidas son iguales.
+     *
+     * @param o Objeto a comparar.
+     * @return true si ambas partidas tienen las mismas etiquetas, jugadas y resultado.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PartidaRegistrada that = (PartidaRegistrada) o;
+        return etiquetas.equals(that.etiquetas) && Arrays.equals(jugadas, that.jugadas)
+                && Objects.equals(resultado, that.resultado);
+    }
+
+    /**
+     * Calcula el código hash de la partida.
+     *
+     * @return Código hash basado en las etiquetas, las jugadas y el resultado.
+     */
+    @Override
+    public int hashCode() {
+        int result = Objects.hash(etiquetas, resultado);
+        result = 31 * result + Arrays.hashCode(jugadas);
+        return result;
+    }
+
+    /**
+     * Devuelve una representación textual de la partida.
+     *
+     * @return Cadena con las etiquetas, el número de jugadas y el resultado.
+     */
+    @Override
+    public String toString() {
+        return "PartidaRegistrada{" +
+                "etiquetas=" + etiquetas +
+                ", numeroJugadas=" + jugadas.length +
+                ", resultado='" + resultado + '\'' +
+                '}';
+    }
+}
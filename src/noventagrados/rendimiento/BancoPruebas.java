@@ -0,0 +1,323 @@
+package noventagrados.rendimiento;
+
+import noventagrados.control.Arbitro;
+import noventagrados.control.BufferJugadas;
+import noventagrados.control.TableroConsultor;
+import noventagrados.modelo.Jugada;
+import noventagrados.modelo.Tablero;
+import noventagrados.motor.EvaluadorPosicional;
+import noventagrados.motor.SimuladorPartidas;
+import noventagrados.util.Color;
+import noventagrados.util.Coordenada;
+import noventagrados.util.TipoPieza;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Programa que mide el tiempo medio por operación de los puntos calientes de los paquetes
+ * modelo y control sobre cada {@link Escenario}, y guarda los resultados en JSON para poder
+ * compararlos entre versiones.
+ * <p>
+ * Cada medida hace {@value #ITERACIONES_CALENTAMIENTO} iteraciones de calentamiento y
+ * {@value #ITERACIONES_MEDIDA} de medida de {@value #MILISEGUNDOS_POR_ITERACION} ms, y
+ * calcula la media y el error al 99,9 % como hace JMH en modo "avgt". Los resultados de
+ * las operaciones se acumulan en campos de la instancia para que el compilador JIT no
+ * pueda eliminarlas.
+ * <p>
+ * Uso: {@code java noventagrados.rendimiento.BancoPruebas [fichero.json] [filtro]}, donde
+ * el filtro es una expresión regular sobre el nombre de la operación.
+ */
+public class BancoPruebas {
+
+    private static final int ITERACIONES_CALENTAMIENTO = 5;     // Iteraciones descartadas.
+    private static final int ITERACIONES_MEDIDA = 10;           // Iteraciones medidas.
+    private static final int MILISEGUNDOS_POR_ITERACION = 200;  // Duración de cada iteración.
+    private static final int LOTE = 256;                        // Operaciones entre consultas al reloj.
+    private static final double T_STUDENT_99_9 = 4.781;         // Cuantil 0,9995 de t con 9 grados de libertad.
+    private static final String FICHERO_POR_DEFECTO = "rendimiento.json";
+
+    /**
+     * Operación a medir.
+     */
+    @FunctionalInterface
+    private interface Operacion {
+
+        /**
+         * Ejecuta una vez la operación.
+         *
+         * @param i Número de ejecución, para ir rotando entre distintos argumentos.
+         * @return Valor derivado del resultado, que se acumula para evitar su eliminación.
+         */
+        long ejecutar(int i);
+    }
+
+    /**
+     * Resultado de medir una operación sobre un escenario.
+     *
+     * @param operacion Nombre de la operación.
+     * @param escenario Escenario medido.
+     * @param media     Tiempo medio por operación en nanosegundos.
+     * @param error     Semiamplitud del intervalo de confianza al 99,9 %.
+     */
+    public record Medida(String operacion, Escenario escenario, double media, double error) {
+    }
+
+    private final Pattern filtro; // Filtro sobre los nombres de las operaciones.
+    private long acumulado;       // Acumulador de los valores devueltos por las operaciones.
+    private Object sumidero;      // Último objeto creado por una operación.
+
+    /**
+     * Constructor de la clase BancoPruebas.
+     *
+     * @param filtro Expresión regular que deben contener los nombres de las operaciones a medir.
+     */
+    public BancoPruebas(String filtro) {
+        this.filtro = Pattern.compile(filtro);
+    }
+
+    /**
+     * Mide todas las operaciones que pasan el filtro sobre todos los escenarios.
+     *
+     * @return Medidas obtenidas.
+     */
+    public List<Medida> medir() {
+        List<Medida> medidas = new ArrayList<>();
+        for (Escenario escenario : Escenario.values()) {
+            Arbitro arbitro = escenario.crearArbitro();
+            Tablero tablero = arbitro.consultarTablero();
+            Tablero copia = tablero.clonar();
+            TableroConsultor consultor = new TableroConsultor(tablero);
+            Coordenada[] coordenadas = crearCoordenadas();
+            Jugada[] jugadas = crearJugadasEnLinea(tablero);
+            int[] legales = crearJugadasLegales(arbitro);
+            Arbitro arbitroEmpujes = arbitro.clonar();
+
+            medir(medidas, escenario, "Tablero.clonar", i -> {
+                sumidero = tablero.clonar();
+                return 0;
+            });
+            medir(medidas, escenario, "Tablero.consultarCelda", i -> {
+                sumidero = tablero.consultarCelda(coordenadas[i % coordenadas.length]);
+                return 0;
+            });
+            medir(medidas, escenario, "Tablero.aTexto", i -> tablero.aTexto().length());
+            StringBuilder buffer = new StringBuilder();
+            medir(medidas, escenario, "Tablero.aTexto(StringBuilder)", i -> {
+                buffer.setLength(0);
+                return tablero.aTexto(buffer).length();
+            });
+            medir(medidas, escenario, "Tablero.hashCode", i -> tablero.hashCode());
+            medir(medidas, escenario, "Tablero.equals", i -> tablero.equals(copia) ? 1 : 0);
+            medir(medidas, escenario, "Arbitro.esMovimientoLegal",
+                    i -> arbitro.esMovimientoLegal(jugadas[i % jugadas.length]) ? 1 : 0);
+            medir(medidas, escenario, "Arbitro.hacer+deshacer", i -> {
+                long token = arbitroEmpujes.hacer(legales[i % legales.length]);
+                arbitroEmpujes.deshacer(token);
+                return token;
+            });
+            // empujar no se puede deshacer, así que cada empuje parte de un clon del escenario;
+            // el coste del propio empuje es la diferencia con la medida de clonar.
+            Jugada[] jugadasLegales = decodificar(legales, tablero);
+            medir(medidas, escenario, "Arbitro.clonar", i -> {
+                sumidero = arbitro.clonar();
+                return 0;
+            });
+            medir(medidas, escenario, "Arbitro.clonar+empujar", i -> {
+                Arbitro clon = arbitro.clonar();
+                clon.empujar(jugadasLegales[i % jugadasLegales.length]);
+                sumidero = clon;
+                return clon.consultarNumeroJugada();
+            });
+            EvaluadorPosicional evaluador = new EvaluadorPosicional();
+            medir(medidas, escenario, "EvaluadorPosicional.cargar", i -> {
+                evaluador.cargar(arbitroEmpujes);
+                return 0;
+            });
+            medir(medidas, escenario, "EvaluadorPosicional.hacer+evaluar+deshacer", i -> {
+                long token = arbitroEmpujes.hacer(legales[i % legales.length]);
+                evaluador.jugadaHecha(arbitroEmpujes, token);
+                int valor = evaluador.evaluar(arbitroEmpujes);
+                arbitroEmpujes.deshacer(token);
+                evaluador.jugadaDeshecha(arbitroEmpujes, token);
+                return valor;
+            });
+            SimuladorPartidas simulador = new SimuladorPartidas(1L);
+            simulador.cargar(arbitro);
+            medir(medidas, escenario, "SimuladorPartidas.simular", i -> simulador.simular());
+            medir(medidas, escenario, "TableroConsultor.consultarNumeroPiezasEnHorizontal",
+                    i -> consultor.consultarNumeroPiezasEnHorizontal(coordenadas[i % coordenadas.length]));
+            medir(medidas, escenario, "TableroConsultor.consultarNumeroPiezasEnVertical",
+                    i -> consultor.consultarNumeroPiezasEnVertical(coordenadas[i % coordenadas.length]));
+            medir(medidas, escenario, "TableroConsultor.consultarNumeroPiezas",
+                    i -> consultor.consultarNumeroPiezas((i & 1) == 0 ? TipoPieza.PEON : TipoPieza.REINA,
+                            (i & 2) == 0 ? Color.BLANCO : Color.NEGRO));
+            medir(medidas, escenario, "TableroConsultor.hayReina",
+                    i -> consultor.hayReina((i & 1) == 0 ? Color.BLANCO : Color.NEGRO) ? 1 : 0);
+            medir(medidas, escenario, "TableroConsultor.estaReinaEnElCentro",
+                    i -> consultor.estaReinaEnElCentro((i & 1) == 0 ? Color.BLANCO : Color.NEGRO) ? 1 : 0);
+        }
+        return medidas;
+    }
+
+    /**
+     * Mide una operación si su nombre pasa el filtro y añade el resultado a la lista.
+     *
+     * @param medidas   Lista de medidas.
+     * @param escenario Escenario medido.
+     * @param nombre    Nombre de la operación.
+     * @param operacion Operación a medir.
+     */
+    private void medir(List<Medida> medidas, Escenario escenario, String nombre, Operacion operacion) {
+        if (!filtro.matcher(nombre).find()) {
+            return;
+        }
+        for (int i = 0; i < ITERACIONES_CALENTAMIENTO; i++) {
+            medirIteracion(operacion);
+        }
+        double[] tiempos = new double[ITERACIONES_MEDIDA];
+        double suma = 0;
+        for (int i = 0; i < ITERACIONES_MEDIDA; i++) {
+            tiempos[i] = medirIteracion(operacion);
+            suma += tiempos[i];
+        }
+        double media = suma / ITERACIONES_MEDIDA;
+        double sumaCuadrados = 0;
+        for (double tiempo : tiempos) {
+            sumaCuadrados += (tiempo - media) * (tiempo - media);
+        }
+        double desviacion = Math.sqrt(sumaCuadrados / (ITERACIONES_MEDIDA - 1));
+        double error = T_STUDENT_99_9 * desviacion / Math.sqrt(ITERACIONES_MEDIDA);
+        Medida medida = new Medida(nombre, escenario, media, error);
+        medidas.add(medida);
+        System.out.printf(Locale.ROOT, "%-52s %-28s %12.3f +- %8.3f ns/op%n", nombre, escenario, media, error);
+    }
+
+    /**
+     * Ejecuta la operación en lotes durante una iteración.
+     *
+     * @param operacion Operación a medir.
+     * @return Tiempo medio por operación en nanosegundos.
+     */
+    private double medirIteracion(Operacion operacion) {
+        long limite = MILISEGUNDOS_POR_ITERACION * 1_000_000L;
+        long operaciones = 0;
+        long inicio = System.nanoTime();
+        long transcurrido;
+        int i = 0;
+        do {
+            for (int j = 0; j < LOTE; j++) {
+                acumulado += operacion.ejecutar(i++ & Integer.MAX_VALUE);
+            }
+            operaciones += LOTE;
+            transcurrido = System.nanoTime() - inicio;
+        } while (transcurrido < limite);
+        return (double) transcurrido / operaciones;
+    }
+
+    /**
+     * Crea las coordenadas de todas las celdas del tablero.
+     *
+     * @return Coordenadas de las 49 celdas.
+     */
+    private static Coordenada[] crearCoordenadas() {
+        Coordenada[] coordenadas = new Coordenada[49];
+        for (int i = 0; i < 49; i++) {
+            coordenadas[i] = Coordenada.de(i / 7, i % 7);
+        }
+        return coordenadas;
+    }
+
+    /**
+     * Crea todas las jugadas entre celdas de la misma fila o columna, legales o no.
+     *
+     * @param tablero Tablero del que se toman las celdas.
+     * @return Jugadas candidatas.
+     */
+    private static Jugada[] crearJugadasEnLinea(Tablero tablero) {
+        List<Jugada> jugadas = new ArrayList<>();
+        for (int origen = 0; origen < 49; origen++) {
+            for (int destino = 0; destino < 49; destino++) {
+                boolean enLinea = origen / 7 == destino / 7 || origen % 7 == destino % 7;
+                if (origen != destino && enLinea) {
+                    jugadas.add(BufferJugadas.decodificar(
+                            BufferJugadas.codificar(origen / 7, origen % 7, destino / 7, destino % 7), tablero));
+                }
+            }
+        }
+        return jugadas.toArray(new Jugada[0]);
+    }
+
+    /**
+     * Crea las jugadas legales codificadas del escenario.
+     *
+     * @param arbitro Árbitro con la posición del escenario.
+     * @return Jugadas legales codificadas.
+     */
+    private static int[] crearJugadasLegales(Arbitro arbitro) {
+        BufferJugadas buffer = arbitro.generarJugadasLegales(new BufferJugadas());
+        int[] codigos = new int[buffer.consultarNumeroJugadas()];
+        for (int i = 0; i < codigos.length; i++) {
+            codigos[i] = buffer.consultarCodigo(i);
+        }
+        return codigos;
+    }
+
+    /**
+     * Convierte jugadas codificadas en jugadas sobre las celdas de un tablero.
+     *
+     * @param codigos Jugadas codificadas.
+     * @param tablero Tablero del que se toman las celdas.
+     * @return Jugadas decodificadas, en el mismo orden.
+     */
+    private static Jugada[] decodificar(int[] codigos, Tablero tablero) {
+        Jugada[] jugadas = new Jugada[codigos.length];
+        for (int i = 0; i < codigos.length; i++) {
+            jugadas[i] = BufferJugadas.decodificar(codigos[i], tablero);
+        }
+        return jugadas;
+    }
+
+    /**
+     * Convierte las medidas a JSON con una estructura similar a la de JMH.
+     *
+     * @param medidas Medidas a convertir.
+     * @return Texto JSON con un objeto por medida.
+     */
+    public static String aJson(List<Medida> medidas) {
+        StringBuilder json = new StringBuilder("[\n");
+        for (int i = 0; i < medidas.size(); i++) {
+            Medida medida = medidas.get(i);
+            json.append(String.format(Locale.ROOT,
+                    "  {\"benchmark\": \"%s\", \"params\": {\"escenario\": \"%s\"}, \"mode\": \"avgt\", "
+                            + "\"primaryMetric\": {\"score\": %.3f, \"scoreError\": %.3f, \"scoreUnit\": \"ns/op\"}}",
+                    medida.operacion(), medida.escenario(), medida.media(), medida.error()));
+            json.append(i < medidas.size() - 1 ? ",\n" : "\n");
+        }
+        return json.append("]\n").toString();
+    }
+
+    /**
+     * Ejecuta las medidas y guarda el resultado en JSON.
+     *
+     * @param args Fichero de salida y filtro de operaciones, opcionales.
+     * @throws IOException Si no se puede escribir el fichero de salida.
+     */
+    public static void main(String[] args) throws IOException {
+        Path fichero = Path.of(args.length > 0 ? args[0] : FICHERO_POR_DEFECTO);
+        BancoPruebas banco = new BancoPruebas(args.length > 1 ? args[1] : "");
+        List<Medida> medidas = banco.medir();
+        try (PrintWriter salida = new PrintWriter(Files.newBufferedWriter(fichero, StandardCharsets.UTF_8))) {
+            salida.print(aJson(medidas));
+        }
+        System.out.println("Resultados guardados en " + fichero.toAbsolutePath()
+                + " (acumulado " + banco.acumulado + ", " + (banco.sumidero != null) + ")");
+    }
+}
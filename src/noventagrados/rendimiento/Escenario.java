@@ -0,0 +1,49 @@
+package noventagrados.rendimiento;
+
+import noventagrados.control.Arbitro;
+import noventagrados.modelo.Celda;
+import noventagrados.modelo.Jugada;
+import noventagrados.modelo.Tablero;
+import noventagrados.util.Coordenada;
+
+/**
+ * Enumeración con las posiciones sobre las que se miden las operaciones: la posición
+ * inicial y dos posiciones de medio juego tomadas de las partidas de los tests del árbitro.
+ */
+public enum Escenario {
+    INICIAL(""),
+    // Partida simple con victoria de blancas en el centro, antes de la jugada final.
+    MEDIO_JUEGO_PARTIDA_SIMPLE("03-43 64-24 00-30 65-25 50-54 25-05"),
+    // Partida con empate, antes de que el peón negro expulse a ambas reinas.
+    MEDIO_JUEGO_EMPATE("00-04 66-26 04-06 65-35 30-33 35-36 20-22 64-44 10-30");
+
+    private final String jugadas; // Jugadas desde la posición inicial, en formato "ff-cc".
+
+    /**
+     * Constructor de la enumeración.
+     *
+     * @param jugadas Jugadas a realizar desde la posición inicial, separadas por espacios.
+     */
+    Escenario(String jugadas) {
+        this.jugadas = jugadas;
+    }
+
+    /**
+     * Crea un árbitro con la posición del escenario.
+     *
+     * @return Nuevo árbitro con las jugadas del escenario ya realizadas.
+     */
+    public Arbitro crearArbitro() {
+        Arbitro arbitro = new Arbitro(new Tablero());
+        arbitro.colocarPiezasConfiguracionInicial();
+        for (String texto : jugadas.split(" ")) {
+            if (!texto.isEmpty()) {
+                arbitro.empujar(new Jugada(
+                        new Celda(Coordenada.de(texto.charAt(0) - '0', texto.charAt(1) - '0')),
+                        new Celda(Coordenada.de(texto.charAt(3) - '0', texto.charAt(4) - '0'))));
+                arbitro.cambiarTurno();
+            }
+        }
+        return arbitro;
+    }
+}
@@ -0,0 +1,77 @@
+package noventagrados.rendimiento;
+
+import java.util.function.IntFunction;
+
+/**
+ * Clase con el bucle común de los programas que miden cómo escala un motor paralelo: busca
+ * con 1, 2, ... N hilos y muestra por la salida estándar el recuento por segundo y la
+ * aceleración respecto a un solo hilo.
+ */
+final class MedidorEscalado {
+
+    /**
+     * Resultado de una búsqueda medida.
+     *
+     * @param recuento Nodos o simulaciones realizados.
+     * @param extra    Valor de la columna propia de cada motor.
+     */
+    record Medida(long recuento, long extra) {
+    }
+
+    /**
+     * Búsqueda ya preparada, de modo que la creación del motor no entra en la medida.
+     */
+    @FunctionalInterface
+    interface Busqueda {
+
+        /**
+         * Ejecuta la búsqueda.
+         *
+         * @return Medida de la búsqueda.
+         */
+        Medida buscar();
+    }
+
+    /**
+     * Constructor oculto: clase de utilidad.
+     */
+    private MedidorEscalado() {
+    }
+
+    /**
+     * Lee un argumento entero opcional de la línea de órdenes.
+     *
+     * @param args       Argumentos del programa.
+     * @param indice     Posición del argumento.
+     * @param porDefecto Valor si el argumento no está.
+     * @return Valor del argumento.
+     */
+    static int leerArgumento(String[] args, int indice, int porDefecto) {
+        return args.length > indice ? Integer.parseInt(args[indice]) : porDefecto;
+    }
+
+    /**
+     * Mide las búsquedas con 1 hasta hilosMaximos hilos y muestra una fila por medida.
+     *
+     * @param hilosMaximos Número máximo de hilos.
+     * @param unidad       Nombre de lo que se cuenta, como "nodos".
+     * @param columnaExtra Nombre de la columna propia del motor.
+     * @param preparar     Prepara la búsqueda con el número de hilos dado.
+     */
+    static void medir(int hilosMaximos, String unidad, String columnaExtra, IntFunction<Busqueda> preparar) {
+        System.out.println("hilos\t" + unidad + "\t" + unidad + "/s\taceleracion\t" + columnaExtra);
+        double porSegundoUnHilo = 0;
+        for (int hilos = 1; hilos <= hilosMaximos; hilos++) {
+            Busqueda busqueda = preparar.apply(hilos);
+            long inicio = System.nanoTime();
+            Medida medida = busqueda.buscar();
+            double segundos = (System.nanoTime() - inicio) / 1e9;
+            double porSegundo = medida.recuento() / segundos;
+            if (hilos == 1) {
+                porSegundoUnHilo = porSegundo;
+            }
+            System.out.printf("%d\t%d\t%.0f\t%.2f\t%d%n", hilos, medida.recuento(), porSegundo,
+                    porSegundo / porSegundoUnHilo, medida.extra());
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package noventagrados.rendimiento;
+
+import noventagrados.control.Arbitro;
+import noventagrados.motor.MotorMctsParalelo;
+
+/**
+ * Programa que mide cómo escala la búsqueda de Monte Carlo en paralelo: analiza la
+ * posición inicial durante un tiempo fijo con 1, 2, ... N hilos y muestra las simulaciones
+ * por segundo y la aceleración respecto a un solo hilo.
+ * <p>
+ * Uso: {@code java noventagrados.rendimiento.RendimientoMctsParalelo [hilosMaximos] [milisegundos] [nodos]}.
+ * Por defecto usa todos los procesadores disponibles, 2000 ms por medida y un árbol de
+ * 4 millones de nodos.
+ */
+public class RendimientoMctsParalelo {
+
+    private static final int MILISEGUNDOS_POR_DEFECTO = 2000; // Tiempo de búsqueda por medida.
+    private static final int NODOS_POR_DEFECTO = 1 << 22;     // Capacidad del árbol compartido.
+
+    /**
+     * Constructor oculto: clase con método main.
+     */
+    private RendimientoMctsParalelo() {
+    }
+
+    /**
+     * Ejecuta las medidas y las muestra por la salida estándar.
+     *
+     * @param args Hilos máximos, milisegundos por medida y capacidad del árbol, opcionales.
+     */
+    public static void main(String[] args) {
+        int hilosMaximos = MedidorEscalado.leerArgumento(args, 0, Runtime.getRuntime().availableProcessors());
+        int milisegundos = MedidorEscalado.leerArgumento(args, 1, MILISEGUNDOS_POR_DEFECTO);
+        int nodos = MedidorEscalado.leerArgumento(args, 2, NODOS_POR_DEFECTO);
+
+        Arbitro arbitro = Escenario.INICIAL.crearArbitro();
+
+        // Calentamiento para que el compilador JIT optimice la búsqueda antes de medir.
+        new MotorMctsParalelo(hilosMaximos, Integer.MAX_VALUE, milisegundos / 2, nodos, 1).buscar(arbitro);
+
+        MedidorEscalado.medir(hilosMaximos, "simulaciones", "nodos", hilos -> {
+            MotorMctsParalelo motor = new MotorMctsParalelo(hilos, Integer.MAX_VALUE, milisegundos, nodos, hilos);
+            return () -> new MedidorEscalado.Medida(motor.buscar(arbitro).nodos(), motor.consultarNumeroNodos());
+        });
+    }
+}
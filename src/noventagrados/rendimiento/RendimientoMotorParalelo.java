@@ -0,0 +1,54 @@
+package noventagrados.rendimiento;
+
+import noventagrados.control.Arbitro;
+import noventagrados.motor.EvaluadorMaterial;
+import noventagrados.motor.Motor;
+import noventagrados.motor.MotorParalelo;
+import noventagrados.motor.ResultadoBusqueda;
+import noventagrados.motor.TablaTransposicion;
+
+/**
+ * Programa que mide cómo escala la búsqueda paralela: analiza la posición inicial durante
+ * un tiempo fijo con 1, 2, ... N hilos y muestra los nodos por segundo y la aceleración
+ * respecto a un solo hilo.
+ * <p>
+ * Uso: {@code java noventagrados.rendimiento.RendimientoMotorParalelo [hilosMaximos] [milisegundos] [megabytes]}.
+ * Por defecto usa todos los procesadores disponibles, 2000 ms por medida y 64 MB de tabla.
+ */
+public class RendimientoMotorParalelo {
+
+    private static final int MILISEGUNDOS_POR_DEFECTO = 2000; // Tiempo de búsqueda por medida.
+    private static final int MEGABYTES_POR_DEFECTO = 64;      // Tamaño de la tabla compartida.
+
+    /**
+     * Constructor oculto: clase con método main.
+     */
+    private RendimientoMotorParalelo() {
+    }
+
+    /**
+     * Ejecuta las medidas y las muestra por la salida estándar.
+     *
+     * @param args Hilos máximos, milisegundos por medida y megabytes de tabla, opcionales.
+     */
+    public static void main(String[] args) {
+        int hilosMaximos = MedidorEscalado.leerArgumento(args, 0, Runtime.getRuntime().availableProcessors());
+        int milisegundos = MedidorEscalado.leerArgumento(args, 1, MILISEGUNDOS_POR_DEFECTO);
+        int megabytes = MedidorEscalado.leerArgumento(args, 2, MEGABYTES_POR_DEFECTO);
+
+        Arbitro arbitro = Escenario.INICIAL.crearArbitro();
+
+        // Calentamiento para que el compilador JIT optimice la búsqueda antes de medir.
+        new Motor(Motor.PROFUNDIDAD_LIMITE, milisegundos / 2, new EvaluadorMaterial(),
+                new TablaTransposicion(megabytes)).buscar(arbitro);
+
+        MedidorEscalado.medir(hilosMaximos, "nodos", "profundidad", hilos -> {
+            MotorParalelo motor = new MotorParalelo(hilos, Motor.PROFUNDIDAD_LIMITE, milisegundos,
+                    new EvaluadorMaterial(), new TablaTransposicion(megabytes));
+            return () -> {
+                ResultadoBusqueda resultado = motor.buscar(arbitro);
+                return new MedidorEscalado.Medida(resultado.nodos(), resultado.profundidad());
+            };
+        });
+    }
+}
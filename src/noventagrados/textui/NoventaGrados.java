@@ -1,11 +1,21 @@
 package noventagrados.textui;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Scanner;
 
 import noventagrados.control.Arbitro;
 import noventagrados.modelo.Celda;
 import noventagrados.modelo.Jugada;
 import noventagrados.modelo.Tablero;
+import noventagrados.registro.PartidaRegistrada;
 import noventagrados.util.Coordenada;
 
 /**
@@ -20,6 +30,15 @@ import noventagrados.util.Coordenada;
  * 
  * En algunos casos los métodos estáticos son meros envoltorios o "wrappers" de
  * invocaciones a métodos del árbitro.
+ * 
+ * Con la opción -lote se reproducen partidas sin interacción, leyendo de un
+ * fichero o de la entrada estándar una partida por línea con sus jugadas en
+ * formato dd-dd separadas por espacios:
+ * {@code java noventagrados.textui.NoventaGrados -lote [-detalle] [-tablero] [fichero]}.
+ * Por cada partida se muestra una línea con el número de jugadas realizadas y
+ * el resultado; con -detalle se muestra además cada jugada y con -tablero el
+ * tablero final. Las lecturas y escrituras usan buffer y no se pide nada por
+ * teclado, para poder reproducir muchas partidas por segundo.
  *
  * @author <a href="rmartico@ubu.es">Raúl Marticorena</a>
  * @author AÑADIR COAUTOR/A
@@ -40,6 +59,18 @@ public class NoventaGrados {
 	/** Texto para interrumpir la partida. */
 	private static final String TEXTO_SALIR = "salir";
 
+	/** Opción para reproducir partidas en lote. */
+	private static final String OPCION_LOTE = "-lote";
+
+	/** Opción para mostrar cada jugada reproducida en lote. */
+	private static final String OPCION_DETALLE = "-detalle";
+
+	/** Opción para mostrar el tablero final de cada partida reproducida en lote. */
+	private static final String OPCION_TABLERO = "-tablero";
+
+	/** Nombre de fichero que indica la entrada estándar. */
+	private static final String ENTRADA_ESTANDAR = "-";
+
 	/** Tablero. */
 	private static Tablero tablero;
 
@@ -59,8 +90,43 @@ public class NoventaGrados {
 	 * @param args argumentos de entrada en línea de comandos
 	 */
 	public static void main(String[] args) {
-		// COMPLETAR POR EL ALUMNADO
-		// REUTILIZAR AQUELLOS MÉTODOS YA PROPORCIONADOS QUE SEAN NECESARIOS
+		if (args.length > 0 && args[0].equals(OPCION_LOTE)) {
+			try {
+				reproducirEnLote(args);
+			} catch (IOException ex) {
+				System.err.println("Error al reproducir las partidas: " + ex.getMessage());
+			}
+			return;
+		}
+		inicializarPartida();
+		// Abrir la lectura desde teclado...
+		scanner = new Scanner(System.in);
+		mostrarMensajeBienvenida();
+		mostrarTablero();
+		boolean salir = false;
+		while (!salir && !comprobarFinalizacionPartida()) {
+			String textoJugada = recogerTextoDeJugadaPorTeclado();
+			if (comprobarSalir(textoJugada)) {
+				salir = true;
+			} else if (!validarFormato(textoJugada)) {
+				mostrarErrorEnFormatoDeEntrada();
+			} else {
+				Jugada jugada = extraerJugada(textoJugada);
+				if (esLegal(jugada)) {
+					realizarEmpujón(jugada);
+					mostrarTablero();
+					if (!comprobarFinalizacionPartida()) {
+						cambiarTurnoPartida();
+					}
+				} else {
+					mostrarErrorPorMovimientoIlegal(textoJugada);
+				}
+			}
+		}
+		if (comprobarFinalizacionPartida()) {
+			mostrarGanador();
+		}
+		finalizarPartida();
 	}
 
 	/**
@@ -72,8 +138,106 @@ public class NoventaGrados {
 		arbitro = new Arbitro(tablero);
 		// Cargar piezas con la configuración inicial...
 		arbitro.colocarPiezasConfiguracionInicial();
-		// Abrir la lectura desde teclado...
-		scanner = new Scanner(System.in);
+	}
+
+	/**
+	 * Reproduce en lote las partidas de un fichero o de la entrada estándar, una por
+	 * línea, sin pedir nada por teclado. Las líneas vacías se ignoran. Una partida se
+	 * detiene en la primera jugada con formato incorrecto o ilegal, informando de ella.
+	 * Al terminar se muestran por la salida de error las partidas y jugadas por segundo.
+	 * 
+	 * @param args argumentos de entrada: -lote, opciones y fichero opcional
+	 * @throws IOException si no se puede leer la entrada
+	 */
+	private static void reproducirEnLote(String[] args) throws IOException {
+		boolean detalle = false;
+		boolean mostrarTableroFinal = false;
+		String fichero = ENTRADA_ESTANDAR;
+		for (int i = 1; i < args.length; i++) {
+			if (args[i].equals(OPCION_DETALLE)) {
+				detalle = true;
+			} else if (args[i].equals(OPCION_TABLERO)) {
+				mostrarTableroFinal = true;
+			} else {
+				fichero = args[i];
+			}
+		}
+		long inicio = System.nanoTime();
+		int numeroPartidas = 0;
+		long numeroJugadas = 0;
+		try (BufferedReader entrada = fichero.equals(ENTRADA_ESTANDAR)
+				? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+				: Files.newBufferedReader(Path.of(fichero), StandardCharsets.UTF_8)) {
+			PrintWriter salida = new PrintWriter(
+					new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8)));
+			String linea;
+			while ((linea = entrada.readLine()) != null) {
+				if (!linea.isBlank()) {
+					numeroPartidas++;
+					numeroJugadas += reproducirPartida(linea, numeroPartidas, detalle, salida);
+					if (mostrarTableroFinal) {
+						salida.println(tablero.aTexto());
+					}
+				}
+			}
+			salida.flush();
+		}
+		double segundos = (System.nanoTime() - inicio) / 1e9;
+		System.err.printf("%d partidas y %d jugadas en %.3f s (%.0f partidas/s).%n", numeroPartidas, numeroJugadas,
+				segundos, numeroPartidas / segundos);
+	}
+
+	/**
+	 * Reproduce una partida desde la configuración inicial y muestra su resumen.
+	 * 
+	 * @param linea         jugadas de la partida separadas por espacios
+	 * @param numeroPartida número de la partida en la entrada
+	 * @param detalle       si se muestra cada jugada realizada
+	 * @param salida        destino del resumen
+	 * @return número de jugadas realizadas
+	 */
+	private static int reproducirPartida(String linea, int numeroPartida, boolean detalle, PrintWriter salida) {
+		inicializarPartida();
+		int numeroJugadas = 0;
+		String error = null;
+		int posicion = 0;
+		while (error == null && posicion < linea.length()) {
+			if (Character.isWhitespace(linea.charAt(posicion))) {
+				posicion++;
+				continue;
+			}
+			int fin = posicion;
+			while (fin < linea.length() && !Character.isWhitespace(linea.charAt(fin))) {
+				fin++;
+			}
+			String textoJugada = linea.substring(posicion, fin);
+			posicion = fin;
+			if (!validarFormato(textoJugada)) {
+				error = "formato incorrecto";
+			} else {
+				Jugada jugada = extraerJugada(textoJugada);
+				if (!esLegal(jugada)) {
+					error = "jugada ilegal";
+				} else {
+					realizarEmpujón(jugada);
+					numeroJugadas++;
+					if (detalle) {
+						salida.printf("%d.%d %s %s%n", numeroPartida, numeroJugadas, arbitro.consultarTurno(),
+								textoJugada);
+					}
+					if (!comprobarFinalizacionPartida()) {
+						cambiarTurnoPartida();
+					}
+				}
+			}
+			if (error != null) {
+				salida.printf("Partida %d: %s en la jugada %d (%s).%n", numeroPartida, error, numeroJugadas + 1,
+						textoJugada);
+			}
+		}
+		salida.printf("Partida %d: %d jugadas, %s%n", numeroPartida, numeroJugadas,
+				PartidaRegistrada.calcularResultado(arbitro));
+		return numeroJugadas;
 	}
 
 	/**
@@ -112,7 +276,6 @@ public class NoventaGrados {
 	 */
 	private static boolean validarFormato(String textoJugada) {
 		// si la longitud es correcta y a la mitad hay un guion...
-		System.out.println(textoJugada.charAt(TAMAÑO_JUGADA / 2));
 		if (textoJugada.length() == TAMAÑO_JUGADA && textoJugada.charAt(TAMAÑO_JUGADA / 2) == '-') {
 			// acabar de validar dígitos en el resto de valores...
 			String origen = textoJugada.substring(0, INICIO_COORDENADA_DESTINO);
@@ -168,7 +331,7 @@ public class NoventaGrados {
 		String textoExtraido = jugada.substring(inicio, fin);
 		int fila = Integer.parseInt(textoExtraido.substring(0, 1));
 		int columna = Integer.parseInt(textoExtraido.substring(1, 2));
-		return new Coordenada(fila, columna);
+		return Coordenada.de(fila, columna);
 	}
 
 	/**
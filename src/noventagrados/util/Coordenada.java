@@ -8,6 +8,33 @@ package noventagrados.util;
  */
 public record Coordenada(int fila, int columna) {
 
+    /** Tamaño del lado del tablero cuyas coordenadas se mantienen precalculadas. */
+    private static final int TAMAÑO = 7;
+
+    /** Coordenadas compartidas para todas las celdas del tablero. */
+    private static final Coordenada[][] COORDENADAS = new Coordenada[TAMAÑO][TAMAÑO];
+
+    static {
+        for (int i = 0; i < TAMAÑO; i++) {
+            for (int j = 0; j < TAMAÑO; j++) {
+                COORDENADAS[i][j] = new Coordenada(i, j);
+            }
+        }
+    }
+
+    /**
+     * Devuelve la coordenada con la fila y columna indicadas. Si está dentro del
+     * tablero se devuelve la instancia compartida, sin crear objetos nuevos.
+     *
+     * @param fila    Número de la fila.
+     * @param columna Número de la columna.
+     * @return Coordenada correspondiente.
+     */
+    public static Coordenada de(int fila, int columna) {
+        boolean enTablero = fila >= 0 && fila < TAMAÑO && columna >= 0 && columna < TAMAÑO;
+        return enTablero ? COORDENADAS[fila][columna] : new Coordenada(fila, columna);
+    }
+
     /**
      * Convierte la coordenada a una representación textual.
      *
@@ -15,6 +15,8 @@ import org.junit.platform.suite.api.SuiteDisplayName;
 @SelectPackages({
 	"noventagrados.control",
 	"noventagrados.modelo",
+	"noventagrados.motor",
+	"noventagrados.registro",
 	"noventagrados.util"})
 @Suite
 @SuiteDisplayName("Ejecución de todos los tests de la práctica NoventaGrados-1.0.")
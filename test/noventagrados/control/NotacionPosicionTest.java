@@ -0,0 +1,117 @@
+package noventagrados.control;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Timeout.ThreadMode.SEPARATE_THREAD;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import noventagrados.modelo.Tablero;
+import noventagrados.util.Color;
+import noventagrados.util.TipoPieza;
+
+/**
+ * Tests sobre la notación de texto de las partidas.
+ */
+@DisplayName("Tests sobre NotacionPosicion.")
+@Timeout(value = 2, unit = TimeUnit.SECONDS, threadMode = SEPARATE_THREAD) // Time out global para todos los tests salvo los de ciclo de vida
+public class NotacionPosicionTest {
+
+	/**
+	 * Comprueba que dos árbitros tienen el mismo estado.
+	 * 
+	 * @param esperado árbitro esperado
+	 * @param obtenido árbitro obtenido
+	 */
+	private void comprobarMismoEstado(Arbitro esperado, Arbitro obtenido) {
+		assertAll("mismo estado",
+				() -> assertThat("Tablero distinto.", obtenido.consultarTablero(), is(esperado.consultarTablero())),
+				() -> assertThat("Turno distinto.", obtenido.consultarTurno(), is(esperado.consultarTurno())),
+				() -> assertThat("Número de jugada distinto.", obtenido.consultarNumeroJugada(),
+						is(esperado.consultarNumeroJugada())),
+				() -> assertThat("Caja blanca distinta.", obtenido.consultarCaja(Color.BLANCO),
+						is(esperado.consultarCaja(Color.BLANCO))),
+				() -> assertThat("Caja negra distinta.", obtenido.consultarCaja(Color.NEGRO),
+						is(esperado.consultarCaja(Color.NEGRO))));
+	}
+
+	/**
+	 * Comprueba la notación de la posición inicial.
+	 */
+	@DisplayName("Comprueba la notación de la posición inicial.")
+	@Test
+	void comprobarNotacionInicial() {
+		Arbitro arbitro = new Arbitro(new Tablero());
+		arbitro.colocarPiezasConfiguracionInicial();
+		assertThat("Notación inicial incorrecta.", NotacionPosicion.escribir(arbitro),
+				is(NotacionPosicion.NOTACION_INICIAL));
+		comprobarMismoEstado(arbitro, NotacionPosicion.leer(NotacionPosicion.NOTACION_INICIAL));
+	}
+
+	/**
+	 * Comprueba la lectura de una partida con piezas en las cajas.
+	 */
+	@DisplayName("Comprueba la lectura de una partida con piezas en las cajas.")
+	@Test
+	void comprobarLecturaConCajas() {
+		Arbitro arbitro = NotacionPosicion.leer("7/7/7/3R3/7/7/6r n 12 PpP");
+		assertAll("partida con cajas",
+				() -> assertThat("Turno incorrecto.", arbitro.consultarTurno(), is(Color.NEGRO)),
+				() -> assertThat("Número de jugada incorrecto.", arbitro.consultarNumeroJugada(), is(12)),
+				() -> assertThat("Peones blancos en caja incorrectos.",
+						arbitro.contarPiezasEnCaja(Color.BLANCO, TipoPieza.PEON), is(2)),
+				() -> assertThat("Peones negros en caja incorrectos.",
+						arbitro.contarPiezasEnCaja(Color.NEGRO, TipoPieza.PEON), is(1)),
+				() -> assertThat("Debería ganar blancas con la reina en el centro.", arbitro.consultarTurnoGanador(),
+						is(Color.BLANCO)),
+				() -> assertThat("Escritura incorrecta.", NotacionPosicion.escribir(arbitro),
+						is("7/7/7/3R3/7/7/6r n 12 PPp")));
+	}
+
+	/**
+	 * Comprueba que escribir y leer devuelve la misma partida durante partidas aleatorias.
+	 */
+	@DisplayName("Comprueba la escritura y lectura durante partidas aleatorias.")
+	@Test
+	void comprobarIdaYVueltaEnPartidasAleatorias() {
+		Random aleatorio = new Random(16);
+		for (int partida = 0; partida < 20; partida++) {
+			Arbitro arbitro = new Arbitro(new Tablero());
+			arbitro.colocarPiezasConfiguracionInicial();
+			while (!arbitro.estaFinalizadaPartida()) {
+				BufferJugadas buffer = arbitro.generarJugadasLegales();
+				arbitro.hacer(buffer.consultarCodigo(aleatorio.nextInt(buffer.consultarNumeroJugadas())));
+				String notacion = NotacionPosicion.escribir(arbitro);
+				comprobarMismoEstado(arbitro, NotacionPosicion.leer(notacion));
+				assertThat("La notación debería ser estable.", NotacionPosicion.escribir(NotacionPosicion.leer(notacion)),
+						is(notacion));
+			}
+		}
+	}
+
+	/**
+	 * Comprueba que se rechazan las notaciones no válidas.
+	 * 
+	 * @param notacion notación no válida
+	 */
+	@DisplayName("Comprueba el rechazo de notaciones no válidas.")
+	@ParameterizedTest
+	@ValueSource(strings = { "", "RPPP3/P6/P6/P5p/6p/6p b 0 -", "RPPP3/P6/P6/P5p/6p/6p/3pppr8 b 0 -",
+			"RPPP4/P6/P6/P5p/6p/6p/3pppr b 0 -", "RPPX3/P6/P6/P5p/6p/6p/3pppr b 0 -",
+			"RPPP3/P6/P6/P5p/6p/6p/3pppr x 0 -", "RPPP3/P6/P6/P5p/6p/6p/3pppr b -1 -",
+			"RPPP3/P6/P6/P5p/6p/6p/3pppr b 0", "RPPP3/P6/P6/P5p/6p/6p/3pppr b 0 - ",
+			"RPPP3/P6/P6/P5p/6p/6p/3pppr b 0 PX", "RPPP3/P6/P6/P5p/6p/6p/3pppr b 9999999999 -",
+			"RPPP3/P6/P6/P5p/6p/6p/3pppr b 0 PPPPPPPP" })
+	void comprobarNotacionesNoValidas(String notacion) {
+		assertThat("La notación no debería ser válida.", NotacionPosicion.leer(notacion), is(nullValue()));
+	}
+}
@@ -0,0 +1,125 @@
+package noventagrados.control.basico;
+
+import static noventagrados.control.TestUtil.fabricarJugada;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Timeout.ThreadMode.SEPARATE_THREAD;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import noventagrados.control.Arbitro;
+import noventagrados.control.BufferJugadas;
+import noventagrados.modelo.Tablero;
+
+/**
+ * Comprobación de la generación de jugadas legales del árbitro.
+ * 
+ * Las jugadas generadas deben coincidir exactamente con las que acepta
+ * {@link Arbitro#esMovimientoLegal(noventagrados.modelo.Jugada)}.
+ * 
+ * @see ArbitroMovimientosLegalesTest
+ */
+@DisplayName("Tests del Arbitro sobre la generación de jugadas legales.")
+@Timeout(value = 2, unit = TimeUnit.SECONDS, threadMode = SEPARATE_THREAD) // Time out global para todos los tests salvo los de ciclo de vida
+public class ArbitroGeneracionJugadasTest {
+
+	/** Árbitro de testing. */
+	private Arbitro arbitro;
+
+	/** Tablero de testing. */
+	private Tablero tablero;
+
+	/**
+	 * Inicializa el árbitro con la configuración inicial.
+	 */
+	@BeforeEach
+	void inicializar() {
+		tablero = new Tablero();
+		arbitro = new Arbitro(tablero);
+		arbitro.colocarPiezasConfiguracionInicial();
+	}
+
+	/**
+	 * Calcula las jugadas legales probando todas las combinaciones de origen y destino.
+	 * 
+	 * @return jugadas legales codificadas
+	 */
+	private Set<Integer> probarTodasLasJugadas() {
+		Set<Integer> jugadas = new HashSet<>();
+		for (int fo = 0; fo < 7; fo++) {
+			for (int co = 0; co < 7; co++) {
+				for (int fd = 0; fd < 7; fd++) {
+					for (int cd = 0; cd < 7; cd++) {
+						if (arbitro.esMovimientoLegal(fabricarJugada(tablero, fo, co, fd, cd))) {
+							jugadas.add(BufferJugadas.codificar(fo, co, fd, cd));
+						}
+					}
+				}
+			}
+		}
+		return jugadas;
+	}
+
+	/**
+	 * Extrae las jugadas generadas por el árbitro.
+	 * 
+	 * @return jugadas generadas codificadas
+	 */
+	private Set<Integer> generarJugadas() {
+		BufferJugadas buffer = arbitro.generarJugadasLegales();
+		Set<Integer> jugadas = new HashSet<>();
+		for (int i = 0; i < buffer.consultarNumeroJugadas(); i++) {
+			jugadas.add(buffer.consultarCodigo(i));
+		}
+		assertThat("No debería generar jugadas repetidas.", jugadas.size(), is(buffer.consultarNumeroJugadas()));
+		return jugadas;
+	}
+
+	/**
+	 * Comprueba las jugadas generadas en la posición inicial.
+	 */
+	@DisplayName("Comprueba las jugadas generadas en la posición inicial.")
+	@Test
+	void comprobarJugadasEnPosicionInicial() {
+		Set<Integer> generadas = generarJugadas();
+		assertAll("jugadas en posición inicial",
+				() -> assertThat("Número de jugadas iniciales incorrecto.", generadas.size(), is(20)),
+				() -> assertThat("Las jugadas generadas no coinciden con las legales.", generadas,
+						is(probarTodasLasJugadas())));
+	}
+
+	/**
+	 * Comprueba que las jugadas generadas coinciden con las legales a lo largo de
+	 * varias partidas aleatorias.
+	 */
+	@DisplayName("Comprueba las jugadas generadas durante partidas aleatorias.")
+	@Test
+	void comprobarJugadasEnPartidasAleatorias() {
+		Random aleatorio = new Random(90);
+		for (int partida = 0; partida < 10; partida++) {
+			inicializar();
+			while (!arbitro.estaFinalizadaPartida() && arbitro.consultarNumeroJugada() < 60) {
+				assertThat("Las jugadas generadas no coinciden con las legales en la jugada "
+						+ arbitro.consultarNumeroJugada() + ".", generarJugadas(), is(probarTodasLasJugadas()));
+				BufferJugadas buffer = arbitro.generarJugadasLegales();
+				if (buffer.consultarNumeroJugadas() == 0) {
+					break;
+				}
+				arbitro.empujar(buffer.consultarJugada(aleatorio.nextInt(buffer.consultarNumeroJugadas()), tablero));
+				arbitro.cambiarTurno();
+			}
+			assertThat("Con la partida finalizada no debería haber jugadas.",
+					arbitro.estaFinalizadaPartida() && generarJugadas().isEmpty() || !arbitro.estaFinalizadaPartida(),
+					is(true));
+		}
+	}
+}
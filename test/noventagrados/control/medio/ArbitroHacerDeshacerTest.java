@@ -0,0 +1,161 @@
+package noventagrados.control.medio;
+
+import static noventagrados.control.TestUtil.fabricarJugada;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Timeout.ThreadMode.SEPARATE_THREAD;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import noventagrados.control.Arbitro;
+import noventagrados.control.BufferJugadas;
+import noventagrados.control.TableroConsultor;
+import noventagrados.modelo.Tablero;
+import noventagrados.util.Color;
+import noventagrados.util.Coordenada;
+
+/**
+ * Comprobación de hacer y deshacer jugadas en el árbitro.
+ * 
+ * Tras deshacer una jugada el tablero, las cajas, el turno y el número de jugada
+ * deben quedar exactamente como estaban.
+ * 
+ * @see ArbitroEmpujarPiezasTest
+ */
+@DisplayName("Tests del Arbitro sobre hacer y deshacer jugadas.")
+@Timeout(value = 2, unit = TimeUnit.SECONDS, threadMode = SEPARATE_THREAD) // Time out global para todos los tests salvo los de ciclo de vida
+public class ArbitroHacerDeshacerTest {
+
+	/** Árbitro de testing. */
+	private Arbitro arbitro;
+
+	/** Tablero de testing. */
+	private Tablero tablero;
+
+	/**
+	 * Inicializa el árbitro con la configuración inicial.
+	 */
+	@BeforeEach
+	void inicializar() {
+		tablero = new Tablero();
+		arbitro = new Arbitro(tablero);
+		arbitro.colocarPiezasConfiguracionInicial();
+	}
+
+	/**
+	 * Comprueba que el estado del árbitro coincide con el esperado.
+	 * 
+	 * @param tableroEsperado tablero esperado
+	 * @param turnoEsperado turno esperado
+	 * @param numeroJugadaEsperado número de jugada esperado
+	 * @param piezasBlancasEnCaja piezas esperadas en la caja blanca
+	 * @param piezasNegrasEnCaja piezas esperadas en la caja negra
+	 */
+	private void comprobarEstado(Tablero tableroEsperado, Color turnoEsperado, int numeroJugadaEsperado,
+			int piezasBlancasEnCaja, int piezasNegrasEnCaja) {
+		assertAll("estado restaurado",
+				() -> assertThat("El tablero no se ha restaurado.", arbitro.consultarTablero(), is(tableroEsperado)),
+				() -> assertThat("El turno no se ha restaurado.", arbitro.consultarTurno(), is(turnoEsperado)),
+				() -> assertThat("El número de jugada no se ha restaurado.", arbitro.consultarNumeroJugada(),
+						is(numeroJugadaEsperado)),
+				() -> assertThat("La caja blanca no se ha restaurado.",
+						arbitro.consultarCaja(Color.BLANCO).contarPiezas(), is(piezasBlancasEnCaja)),
+				() -> assertThat("La caja negra no se ha restaurado.",
+						arbitro.consultarCaja(Color.NEGRO).contarPiezas(), is(piezasNegrasEnCaja)));
+	}
+
+	/**
+	 * Comprueba hacer y deshacer una jugada que expulsa un peón y otra que expulsa a la reina.
+	 */
+	@DisplayName("Comprueba deshacer jugadas que expulsan piezas.")
+	@Test
+	void comprobarDeshacerJugadasConExpulsion() {
+		Tablero inicial = arbitro.consultarTablero();
+		long token1 = arbitro.hacer(fabricarJugada(tablero, 0, 0, 0, 4)); // expulsa un peón blanco
+		Tablero trasPrimera = arbitro.consultarTablero();
+		assertAll("tras la primera jugada",
+				() -> assertThat("El turno debería haber cambiado.", arbitro.consultarTurno(), is(Color.NEGRO)),
+				() -> assertThat("Debería haber un peón en la caja blanca.",
+						arbitro.consultarCaja(Color.BLANCO).contarPiezas(), is(1)));
+		long token2 = arbitro.hacer(fabricarJugada(tablero, 6, 6, 2, 6));
+		long token3 = arbitro.hacer(fabricarJugada(tablero, 0, 4, 0, 6));
+		long token4 = arbitro.hacer(fabricarJugada(tablero, 2, 6, 0, 6)); // expulsa a la reina blanca
+		assertThat("La partida debería estar finalizada.", arbitro.estaFinalizadaPartida(), is(true));
+		arbitro.deshacer(token4);
+		arbitro.deshacer(token3);
+		arbitro.deshacer(token2);
+		comprobarEstado(trasPrimera, Color.NEGRO, 1, 1, 0);
+		arbitro.deshacer(token1);
+		comprobarEstado(inicial, Color.BLANCO, 0, 0, 0);
+	}
+
+	/**
+	 * Comprueba que la posición de la reina expulsada deja de estar disponible en cuanto
+	 * sale del tablero y se recupera al deshacer la jugada.
+	 */
+	@DisplayName("Comprueba la posición de la reina al expulsarla y al deshacer la expulsión.")
+	@Test
+	void comprobarPosicionDeReinaExpulsada() {
+		TableroConsultor consultor = new TableroConsultor(tablero);
+		arbitro.hacer(fabricarJugada(tablero, 0, 0, 0, 4));
+		arbitro.hacer(fabricarJugada(tablero, 6, 6, 2, 6));
+		arbitro.hacer(fabricarJugada(tablero, 0, 4, 0, 6));
+		assertThat("La reina blanca debería estar en la esquina.", tablero.consultarCoordenadaReina(Color.BLANCO),
+				is(Coordenada.de(0, 6)));
+		long token = arbitro.hacer(fabricarJugada(tablero, 2, 6, 0, 6)); // expulsa a la reina blanca
+		assertAll("tras expulsar a la reina blanca",
+				() -> assertThat("La reina blanca no debería estar en el tablero.",
+						tablero.consultarCoordenadaReina(Color.BLANCO), is(nullValue())),
+				() -> assertThat("No debería haber reina blanca.", consultor.hayReina(Color.BLANCO), is(false)),
+				() -> assertThat("La reina negra debería seguir en el tablero.", consultor.hayReina(Color.NEGRO),
+						is(true)),
+				() -> assertThat("Deberían ganar las negras.", arbitro.consultarTurnoGanador(), is(Color.NEGRO)));
+		arbitro.deshacer(token);
+		assertAll("tras deshacer la expulsión",
+				() -> assertThat("La reina blanca debería volver a la esquina.",
+						tablero.consultarCoordenadaReina(Color.BLANCO), is(Coordenada.de(0, 6))),
+				() -> assertThat("La partida no debería estar finalizada.", arbitro.estaFinalizadaPartida(),
+						is(false)),
+				() -> assertThat("No debería haber ganador.", arbitro.consultarTurnoGanador(), is(nullValue())));
+	}
+
+	/**
+	 * Comprueba que deshacer restaura el estado en partidas aleatorias.
+	 */
+	@DisplayName("Comprueba hacer y deshacer durante partidas aleatorias.")
+	@Test
+	void comprobarHacerYDeshacerEnPartidasAleatorias() {
+		Random aleatorio = new Random(90);
+		Tablero inicial = arbitro.consultarTablero();
+		for (int partida = 0; partida < 20; partida++) {
+			Deque<Long> tokens = new ArrayDeque<>();
+			while (!arbitro.estaFinalizadaPartida() && arbitro.consultarNumeroJugada() < 80) {
+				BufferJugadas buffer = arbitro.generarJugadasLegales();
+				int codigo = buffer.consultarCodigo(aleatorio.nextInt(buffer.consultarNumeroJugadas()));
+				Tablero antes = arbitro.consultarTablero();
+				Color turno = arbitro.consultarTurno();
+				int numeroJugada = arbitro.consultarNumeroJugada();
+				int blancas = arbitro.consultarCaja(Color.BLANCO).contarPiezas();
+				int negras = arbitro.consultarCaja(Color.NEGRO).contarPiezas();
+				long token = arbitro.hacer(codigo);
+				arbitro.deshacer(token);
+				comprobarEstado(antes, turno, numeroJugada, blancas, negras);
+				tokens.push(arbitro.hacer(codigo));
+			}
+			while (!tokens.isEmpty()) {
+				arbitro.deshacer(tokens.pop());
+			}
+			comprobarEstado(inicial, Color.BLANCO, 0, 0, 0);
+		}
+	}
+}
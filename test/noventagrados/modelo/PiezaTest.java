@@ -4,6 +4,7 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Timeout.ThreadMode.SEPARATE_THREAD;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 
@@ -83,6 +84,29 @@ public class PiezaTest {
 			);		
 	}
 	
+	/**
+	 * Comprueba que las piezas compartidas son únicas por tipo y color y equivalen
+	 * a las construidas con el constructor.
+	 * 
+	 * @param tipoPieza tipo de pieza
+	 */
+	@DisplayName("Comprueba las piezas compartidas")
+	@ParameterizedTest
+	@MethodSource("proveerTipoPieza")
+	void comprobarPiezasCompartidas(TipoPieza tipoPieza) {
+		assertAll("comprobando piezas compartidas",
+				() -> assertSame(Pieza.de(tipoPieza, Color.BLANCO), Pieza.de(tipoPieza, Color.BLANCO),
+						"Llamadas repetidas deberían devolver la misma instancia."),
+				() -> assertSame(Pieza.de(tipoPieza, Color.NEGRO), Pieza.de(tipoPieza, Color.NEGRO),
+						"Llamadas repetidas deberían devolver la misma instancia."),
+				() -> assertThat("La pieza compartida debería ser igual a una nueva.", Pieza.de(tipoPieza, Color.BLANCO),
+						is(new Pieza(tipoPieza, Color.BLANCO))),
+				() -> assertThat("La pieza compartida debería ser igual a una nueva.", Pieza.de(tipoPieza, Color.NEGRO),
+						is(new Pieza(tipoPieza, Color.NEGRO))),
+				() -> assertNotSame(Pieza.de(tipoPieza, Color.BLANCO), Pieza.de(tipoPieza, Color.NEGRO),
+						"Piezas de distinto color no deberían compartir instancia."));
+	}
+	
 	// Métodos de utilidad para los tests...
 	
 	/**
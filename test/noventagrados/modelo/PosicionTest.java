@@ -0,0 +1,144 @@
+package noventagrados.modelo;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Timeout.ThreadMode.SEPARATE_THREAD;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import noventagrados.util.Color;
+import noventagrados.util.Coordenada;
+import noventagrados.util.TipoPieza;
+
+/**
+ * Tests sobre la codificación binaria de posiciones.
+ */
+@DisplayName("Tests sobre Posicion.")
+@Timeout(value = 2, unit = TimeUnit.SECONDS, threadMode = SEPARATE_THREAD) // Time out global para todos los tests salvo los de ciclo de vida
+public class PosicionTest {
+
+	/**
+	 * Genera un tablero aleatorio con como mucho una reina de cada color.
+	 * 
+	 * @param aleatorio generador de números aleatorios
+	 * @return tablero generado
+	 */
+	private Tablero generarTablero(Random aleatorio) {
+		Tablero tablero = new Tablero();
+		for (int i = 0; i < 7; i++) {
+			for (int j = 0; j < 7; j++) {
+				if (aleatorio.nextInt(3) == 0) {
+					Color color = aleatorio.nextBoolean() ? Color.BLANCO : Color.NEGRO;
+					tablero.colocar(new Pieza(TipoPieza.PEON, color), new Coordenada(i, j));
+				}
+			}
+		}
+		for (Color color : Color.values()) {
+			if (aleatorio.nextBoolean()) {
+				tablero.colocar(new Pieza(TipoPieza.REINA, color), new Coordenada(aleatorio.nextInt(7), aleatorio.nextInt(7)));
+			}
+		}
+		return tablero;
+	}
+
+	/**
+	 * Comprueba que codificar y decodificar devuelve la misma posición.
+	 */
+	@DisplayName("Comprueba la codificación y decodificación de posiciones aleatorias.")
+	@Test
+	void comprobarIdaYVueltaDePosicionesAleatorias() {
+		Random aleatorio = new Random(15);
+		Color[] turnos = { null, Color.BLANCO, Color.NEGRO };
+		for (int i = 0; i < 1000; i++) {
+			Posicion posicion = new Posicion(generarTablero(aleatorio), turnos[i % 3],
+					aleatorio.nextInt(Posicion.NUMERO_JUGADA_MAXIMO + 1));
+			byte[] codificada = posicion.codificar();
+			Posicion decodificada = Posicion.decodificar(codificada);
+			assertAll("ida y vuelta",
+					() -> assertThat("Tamaño incorrecto.", codificada.length, is(Posicion.BYTES)),
+					() -> assertThat("Tablero distinto.", decodificada.tablero(), is(posicion.tablero())),
+					() -> assertThat("Turno distinto.", decodificada.turno(), is(posicion.turno())),
+					() -> assertThat("Número de jugada distinto.", decodificada.numeroJugada(),
+							is(posicion.numeroJugada())));
+		}
+	}
+
+	/**
+	 * Comprueba la codificación en un arreglo existente con desplazamiento.
+	 */
+	@DisplayName("Comprueba la codificación con desplazamiento en un arreglo existente.")
+	@Test
+	void comprobarCodificacionConDesplazamiento() {
+		Tablero tablero = new Tablero();
+		tablero.colocar(new Pieza(TipoPieza.REINA, Color.NEGRO), new Coordenada(0, 0));
+		tablero.colocar(new Pieza(TipoPieza.REINA, Color.BLANCO), new Coordenada(6, 6));
+		Posicion posicion = new Posicion(tablero, Color.NEGRO, 7);
+		byte[] destino = new byte[Posicion.BYTES * 2];
+		assertAll("codificación con desplazamiento",
+				() -> assertThat("Debería codificarse.", posicion.codificar(destino, Posicion.BYTES), is(true)),
+				() -> assertThat("Posición distinta.", Posicion.decodificar(destino, Posicion.BYTES), is(posicion)),
+				() -> assertThat("No debería caber.", posicion.codificar(destino, Posicion.BYTES + 1), is(false)));
+	}
+
+	/**
+	 * Comprueba que se rechazan las posiciones y datos que no se pueden codificar.
+	 */
+	@DisplayName("Comprueba el rechazo de posiciones y datos no válidos.")
+	@Test
+	void comprobarPosicionesYDatosNoValidos() {
+		Tablero tresReinas = new Tablero();
+		tresReinas.colocar(new Pieza(TipoPieza.REINA, Color.BLANCO), new Coordenada(0, 0));
+		tresReinas.colocar(new Pieza(TipoPieza.REINA, Color.BLANCO), new Coordenada(0, 1));
+		tresReinas.colocar(new Pieza(TipoPieza.REINA, Color.NEGRO), new Coordenada(0, 2));
+		byte[] turnoIncorrecto = new Posicion(new Tablero(), Color.BLANCO, 0).codificar();
+		turnoIncorrecto[0] = 3;
+		assertAll("datos no válidos",
+				() -> assertThat("Tres reinas no deberían codificarse.",
+						new Posicion(tresReinas, Color.BLANCO, 0).codificar(), is(nullValue())),
+				() -> assertThat("Un número de jugada negativo no debería codificarse.",
+						new Posicion(new Tablero(), Color.BLANCO, -1).codificar(), is(nullValue())),
+				() -> assertThat("Un número de jugada demasiado grande no debería codificarse.",
+						new Posicion(new Tablero(), Color.BLANCO, Posicion.NUMERO_JUGADA_MAXIMO + 1).codificar(),
+						is(nullValue())),
+				() -> assertThat("Un turno incorrecto no debería decodificarse.",
+						Posicion.decodificar(turnoIncorrecto), is(nullValue())),
+				() -> assertThat("Un tamaño incorrecto no debería decodificarse.",
+						Posicion.decodificar(new byte[Posicion.BYTES - 1]), is(nullValue())));
+	}
+
+	/**
+	 * Comprueba que se rechazan las posiciones con bits sin uso activos en el último byte,
+	 * para que cada posición tenga una única codificación.
+	 */
+	@DisplayName("Comprueba el rechazo de bits sin uso activos.")
+	@Test
+	void comprobarBitsSinUsoActivos() {
+		Tablero unaReina = new Tablero();
+		unaReina.colocar(new Pieza(TipoPieza.REINA, Color.NEGRO), new Coordenada(6, 6));
+		byte[] codificada = new Posicion(unaReina, Color.BLANCO, 0).codificar();
+		for (int bit = 2; bit < 6; bit++) {
+			byte[] reservado = codificada.clone();
+			reservado[Posicion.BYTES - 1] |= 1 << bit;
+			assertThat("Un bit reservado activo no debería decodificarse: " + bit, Posicion.decodificar(reservado),
+					is(nullValue()));
+		}
+		byte[] segundaReina = codificada.clone();
+		segundaReina[Posicion.BYTES - 1] |= 1;
+		byte[] sinReinas = new Posicion(new Tablero(), Color.BLANCO, 0).codificar();
+		sinReinas[Posicion.BYTES - 1] |= 2;
+		assertAll("bits de color de reinas sin uso",
+				() -> assertThat("La codificación original debería decodificarse.",
+						Posicion.decodificar(codificada).tablero(), is(unaReina)),
+				() -> assertThat("El color de una segunda reina inexistente no debería decodificarse.",
+						Posicion.decodificar(segundaReina), is(nullValue())),
+				() -> assertThat("El color de una primera reina inexistente no debería decodificarse.",
+						Posicion.decodificar(sinReinas), is(nullValue())));
+	}
+}
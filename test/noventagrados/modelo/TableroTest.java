@@ -23,6 +23,8 @@ import org.junit.jupiter.api.Timeout;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import noventagrados.control.Arbitro;
+import noventagrados.control.BufferJugadas;
 import noventagrados.util.Color;
 import noventagrados.util.Coordenada;
 import noventagrados.util.TipoPieza;
@@ -616,6 +618,348 @@ public class TableroTest {
 			assertEquals(cadenaEsperada, salida,
 					"La cadena de texto generada para un tablero con peones y reina en aspa es incorrecta.");
 		}
+
+		/**
+		 * Comprueba que el texto del tablero se actualiza al colocar y eliminar piezas
+		 * y que coincide con el escrito en un buffer.
+		 */
+		@DisplayName("Comprueba que la cadena de texto se actualiza al cambiar el tablero.")
+		@Test
+		void comprobarCadenaTextoSeActualizaAlCambiarElTablero() {
+			String vacio = tablero.aTexto();
+			tablero.colocar(new Pieza(TipoPieza.REINA, Color.NEGRO), new Coordenada(3, 3));
+			String conReina = tablero.aTexto();
+			assertAll("actualización del texto",
+					() -> assertEquals("3------RN------", conReina.replaceAll("\\s", "").substring(45, 60),
+							"El texto no refleja la reina colocada."),
+					() -> assertEquals(conReina, tablero.aTexto(new StringBuilder()).toString(),
+							"El texto escrito en el buffer no coincide."),
+					() -> assertEquals(conReina, tablero.clonar().aTexto(), "El texto del clon no coincide."));
+			tablero.eliminarPieza(new Coordenada(3, 3));
+			assertEquals(vacio, tablero.aTexto(), "El texto no refleja la eliminación de la reina.");
+		}
 	} // ConversionATexto
 
+	/**
+	 * Clave Zobrist incremental del tablero.
+	 */
+	@Nested
+	@Order(8)
+	@DisplayName("Tests sobre la clave Zobrist")
+	class ClaveZobrist {
+
+		/**
+		 * Comprueba que tableros iguales alcanzados en distinto orden tienen la misma clave.
+		 */
+		@DisplayName("Comprueba que tableros iguales alcanzados en distinto orden tienen la misma clave.")
+		@Test
+		void comprobarClaveIgualConDistintoOrden() {
+			colocarNuevePiezasEnAspa();
+			tablero.eliminarPieza(new Coordenada(1, 1));
+			tablero.colocar(new Pieza(TipoPieza.PEON, Color.BLANCO), new Coordenada(2, 4));
+
+			Tablero otro = new Tablero();
+			otro.colocar(new Pieza(TipoPieza.PEON, Color.BLANCO), new Coordenada(2, 4));
+			otro.colocar(new Pieza(TipoPieza.PEON, Color.NEGRO), new Coordenada(6, 6));
+			otro.colocar(new Pieza(TipoPieza.REINA, Color.NEGRO), new Coordenada(3, 3));
+			otro.colocar(new Pieza(TipoPieza.PEON, Color.NEGRO), new Coordenada(5, 5));
+			otro.colocar(new Pieza(TipoPieza.PEON, Color.NEGRO), new Coordenada(5, 1));
+			otro.colocar(new Pieza(TipoPieza.PEON, Color.NEGRO), new Coordenada(6, 0));
+			otro.colocar(new Pieza(TipoPieza.PEON, Color.NEGRO), new Coordenada(1, 5));
+			otro.colocar(new Pieza(TipoPieza.PEON, Color.NEGRO), new Coordenada(0, 6));
+			otro.colocar(new Pieza(TipoPieza.PEON, Color.NEGRO), new Coordenada(0, 0));
+
+			assertAll("claves de tableros iguales",
+					() -> assertEquals(tablero.aTexto(), otro.aTexto(), "Los tableros deberían ser iguales."),
+					() -> assertEquals(tablero.consultarClaveZobrist(), otro.consultarClaveZobrist(),
+							"Tableros iguales deben tener la misma clave."),
+					() -> assertEquals(tablero.consultarClaveZobrist(Color.NEGRO), otro.consultarClaveZobrist(Color.NEGRO),
+							"Tableros iguales con el mismo turno deben tener la misma clave."));
+		}
+
+		/**
+		 * Comprueba que la clave mantenida al colocar, sustituir y eliminar piezas coincide
+		 * con la de un tablero construido de nuevo con las piezas finales.
+		 */
+		@DisplayName("Comprueba que la clave incremental coincide con la de un tablero nuevo.")
+		@Test
+		void comprobarClaveIncrementalIgualAClaveDeTableroNuevo() {
+			long vacio = tablero.consultarClaveZobrist();
+			colocarNuevePiezasEnAspa();
+			// sustituye una pieza por otra, vacía una celda y elimina una celda ya vacía
+			tablero.colocar(new Pieza(TipoPieza.PEON, Color.BLANCO), new Coordenada(0, 0));
+			tablero.colocar(new Pieza(TipoPieza.REINA, Color.BLANCO), new Coordenada(3, 3));
+			tablero.eliminarPieza(new Coordenada(6, 6));
+			tablero.eliminarPieza(new Coordenada(2, 2));
+
+			Tablero nuevo = new Tablero();
+			nuevo.colocar(new Pieza(TipoPieza.PEON, Color.BLANCO), new Coordenada(0, 0));
+			nuevo.colocar(new Pieza(TipoPieza.PEON, Color.NEGRO), new Coordenada(0, 6));
+			nuevo.colocar(new Pieza(TipoPieza.PEON, Color.NEGRO), new Coordenada(1, 1));
+			nuevo.colocar(new Pieza(TipoPieza.PEON, Color.NEGRO), new Coordenada(1, 5));
+			nuevo.colocar(new Pieza(TipoPieza.REINA, Color.BLANCO), new Coordenada(3, 3));
+			nuevo.colocar(new Pieza(TipoPieza.PEON, Color.NEGRO), new Coordenada(5, 1));
+			nuevo.colocar(new Pieza(TipoPieza.PEON, Color.NEGRO), new Coordenada(5, 5));
+			nuevo.colocar(new Pieza(TipoPieza.PEON, Color.NEGRO), new Coordenada(6, 0));
+
+			long clave = tablero.consultarClaveZobrist();
+			assertAll("clave incremental",
+					() -> assertEquals(nuevo.consultarClaveZobrist(), clave,
+							"La clave incremental no coincide con la de un tablero nuevo."),
+					() -> assertEquals(clave, tablero.clonar().consultarClaveZobrist(),
+							"El clon debe conservar la clave."));
+
+			// al vaciar todas las celdas se recupera la clave del tablero vacío
+			for (int i = 0; i < tablero.consultarNumeroFilas(); i++) {
+				for (int j = 0; j < tablero.consultarNumeroColumnas(); j++) {
+					tablero.eliminarPieza(new Coordenada(i, j));
+				}
+			}
+			assertEquals(vacio, tablero.consultarClaveZobrist(), "El tablero vaciado debe tener la clave del vacío.");
+		}
+
+		/**
+		 * Comprueba que la clave con turno negro difiere de la clave con turno blanco
+		 * exactamente en la clave de turno, igual para cualquier tablero.
+		 */
+		@DisplayName("Comprueba que la clave con turno difiere solo en la clave de turno.")
+		@Test
+		void comprobarClaveConTurno() {
+			long turnoVacio = tablero.consultarClaveZobrist(Color.NEGRO) ^ tablero.consultarClaveZobrist(Color.BLANCO);
+			colocarNuevePiezasEnAspa();
+			long turnoAspa = tablero.consultarClaveZobrist(Color.NEGRO) ^ tablero.consultarClaveZobrist(Color.BLANCO);
+			assertAll("clave de turno",
+					() -> assertEquals(tablero.consultarClaveZobrist(), tablero.consultarClaveZobrist(Color.BLANCO),
+							"Con turno blanco la clave debe ser la de las piezas."),
+					() -> assertFalse("La clave de turno no puede ser cero.", turnoVacio == 0),
+					() -> assertEquals(turnoVacio, turnoAspa, "La clave de turno debe ser la misma en cualquier tablero."));
+		}
+	} // ClaveZobrist
+
+	/**
+	 * Consultas de celdas sin construir objetos.
+	 * 
+	 * @see noventagrados.modelo.Tablero#consultarPiezaEn(int, int)
+	 * @see noventagrados.modelo.Tablero#consultarCodigoCelda(int, int)
+	 * @see noventagrados.modelo.Tablero#recorrerCeldas(VisitanteCelda)
+	 */
+	@Nested
+	@Order(9)
+	@DisplayName("Tests sobre las consultas de celdas sin construir objetos")
+	class ConsultasSinObjetos {
+
+		/** Número máximo de jugadas a realizar en la partida de prueba. */
+		private static final int JUGADAS = 40;
+
+		/**
+		 * Comprueba que las consultas sin objetos coinciden con consultarCelda en la
+		 * posición inicial.
+		 */
+		@DisplayName("Comprueba las consultas sin objetos en la posición inicial.")
+		@Test
+		void comprobarConsultasEnPosicionInicial() {
+			Arbitro arbitro = new Arbitro(tablero);
+			arbitro.colocarPiezasConfiguracionInicial();
+			comprobarConsultas(arbitro.consultarTablero());
+		}
+
+		/**
+		 * Comprueba que las consultas sin objetos coinciden con consultarCelda tras cada
+		 * empujón de una partida.
+		 */
+		@DisplayName("Comprueba las consultas sin objetos tras los empujones de una partida.")
+		@Test
+		void comprobarConsultasTrasEmpujones() {
+			Arbitro arbitro = new Arbitro(tablero);
+			arbitro.colocarPiezasConfiguracionInicial();
+			BufferJugadas jugadas = new BufferJugadas();
+			for (int i = 0; i < JUGADAS && !arbitro.estaFinalizadaPartida(); i++) {
+				arbitro.generarJugadasLegales(jugadas);
+				if (jugadas.consultarNumeroJugadas() == 0) {
+					break;
+				}
+				// alterna jugadas distintas para provocar empujones variados
+				arbitro.hacer(jugadas.consultarCodigo(i * 7 % jugadas.consultarNumeroJugadas()));
+				comprobarConsultas(arbitro.consultarTablero());
+			}
+		}
+
+		/**
+		 * Comprueba que las consultas fuera del tablero devuelven una celda vacía.
+		 */
+		@DisplayName("Comprueba las consultas sin objetos fuera del tablero.")
+		@Test
+		void comprobarConsultasFueraDelTablero() {
+			colocarNuevePiezasEnAspa();
+			assertAll("consultas fuera del tablero",
+					() -> assertNull(tablero.consultarPiezaEn(-1, 0), "Fuera del tablero no hay pieza."),
+					() -> assertNull(tablero.consultarPiezaEn(0, 7), "Fuera del tablero no hay pieza."),
+					() -> assertEquals(Tablero.CODIGO_CELDA_VACIA, tablero.consultarCodigoCelda(7, 0),
+							"Fuera del tablero el código debe ser el de celda vacía."),
+					() -> assertEquals(Tablero.CODIGO_CELDA_VACIA, tablero.consultarCodigoCelda(0, -1),
+							"Fuera del tablero el código debe ser el de celda vacía."));
+		}
+
+		/**
+		 * Comprueba que el recorrido visita cada celda una única vez, por filas, con la
+		 * misma pieza que consultarCelda.
+		 */
+		@DisplayName("Comprueba que el recorrido visita cada celda una vez por filas.")
+		@Test
+		void comprobarRecorridoPorFilas() {
+			colocarNuevePiezasEnAspa();
+			comprobarConsultas(tablero);
+		}
+
+		/**
+		 * Compara las consultas sin objetos de un tablero con consultarCelda.
+		 * 
+		 * @param tablero tablero a comprobar
+		 */
+		private void comprobarConsultas(Tablero tablero) {
+			int numeroColumnas = tablero.consultarNumeroColumnas();
+			for (int i = 0; i < tablero.consultarNumeroFilas(); i++) {
+				for (int j = 0; j < numeroColumnas; j++) {
+					Pieza esperada = tablero.consultarCelda(new Coordenada(i, j)).consultarPieza();
+					Pieza pieza = tablero.consultarPiezaEn(i, j);
+					byte codigo = tablero.consultarCodigoCelda(i, j);
+					byte codigoEsperado = esperada == null ? Tablero.CODIGO_CELDA_VACIA
+							: (byte) (1 + esperada.consultarTipoPieza().ordinal() * 2 + esperada.consultarColor().ordinal());
+					String celda = "celda " + i + "," + j;
+					assertAll(celda,
+							() -> assertEquals(esperada, pieza, "La pieza no coincide con la de la " + celda),
+							() -> assertEquals(codigoEsperado, codigo, "El código no coincide con la pieza de la " + celda),
+							() -> assertEquals(esperada, Tablero.consultarPiezaDeCodigo(codigo),
+									"La pieza del código no coincide con la de la " + celda));
+				}
+			}
+
+			int[] visitas = { 0 };
+			tablero.recorrerCeldas((fila, columna, pieza) -> {
+				int visita = visitas[0]++;
+				assertAll("visita " + visita,
+						() -> assertEquals(visita / numeroColumnas, fila, "Las celdas deben recorrerse por filas."),
+						() -> assertEquals(visita % numeroColumnas, columna, "Las celdas deben recorrerse por filas."),
+						() -> assertEquals(tablero.consultarCelda(new Coordenada(fila, columna)).consultarPieza(), pieza,
+								"La pieza visitada no coincide con la de la celda."));
+			});
+			assertEquals(TOTAL_CELDAS, visitas[0], "Deben visitarse todas las celdas una única vez.");
+		}
+	} // ConsultasSinObjetos
+
+	/**
+	 * Recuentos de piezas por fila, columna, tipo y color.
+	 * 
+	 * @see noventagrados.modelo.Tablero#consultarNumeroPiezasEnFila(int)
+	 * @see noventagrados.modelo.Tablero#consultarNumeroPiezasEnColumna(int)
+	 * @see noventagrados.modelo.Tablero#consultarNumeroPiezas(TipoPieza, Color)
+	 */
+	@Nested
+	@Order(10)
+	@DisplayName("Tests sobre los recuentos de piezas")
+	class RecuentosDePiezas {
+
+		/**
+		 * Comprueba los recuentos al colocar y sustituir piezas.
+		 */
+		@DisplayName("Comprueba los recuentos al colocar piezas.")
+		@Test
+		void comprobarRecuentosAlColocar() {
+			comprobarRecuentos(tablero);
+			colocarNuevePiezasEnAspa();
+			comprobarRecuentos(tablero);
+			// sustituir una pieza no cambia el número de piezas de la fila ni de la columna
+			tablero.colocar(new Pieza(TipoPieza.REINA, Color.BLANCO), new Coordenada(1, 1));
+			tablero.colocar(new Pieza(TipoPieza.PEON, Color.BLANCO), new Coordenada(3, 3));
+			comprobarRecuentos(tablero);
+			assertAll("recuentos tras sustituir",
+					() -> assertEquals(2, tablero.consultarNumeroPiezasEnFila(1), "Número de piezas en fila incorrecto."),
+					() -> assertEquals(1, tablero.consultarNumeroPiezas(TipoPieza.REINA, Color.BLANCO),
+							"Número de reinas blancas incorrecto."),
+					() -> assertEquals(0, tablero.consultarNumeroPiezas(TipoPieza.REINA, Color.NEGRO),
+							"Número de reinas negras incorrecto."));
+		}
+
+		/**
+		 * Comprueba los recuentos al eliminar piezas.
+		 */
+		@DisplayName("Comprueba los recuentos al eliminar piezas.")
+		@Test
+		void comprobarRecuentosAlEliminar() {
+			colocarNuevePiezasEnAspa();
+			tablero.eliminarPieza(new Coordenada(0, 0));
+			tablero.eliminarPieza(new Coordenada(3, 3));
+			tablero.eliminarPieza(new Coordenada(2, 2)); // celda ya vacía
+			comprobarRecuentos(tablero);
+			assertAll("recuentos tras eliminar",
+					() -> assertEquals(1, tablero.consultarNumeroPiezasEnFila(0), "Número de piezas en fila incorrecto."),
+					() -> assertEquals(1, tablero.consultarNumeroPiezasEnColumna(0), "Número de piezas en columna incorrecto."),
+					() -> assertEquals(0, tablero.consultarNumeroPiezasEnFila(3), "Número de piezas en fila incorrecto."),
+					() -> assertEquals(7, tablero.consultarNumeroPiezas(TipoPieza.PEON, Color.NEGRO),
+							"Número de peones negros incorrecto."));
+		}
+
+		/**
+		 * Comprueba los recuentos tras un empujón que expulsa una pieza del tablero.
+		 */
+		@DisplayName("Comprueba los recuentos tras un empujón con expulsión.")
+		@Test
+		void comprobarRecuentosTrasExpulsion() {
+			Arbitro arbitro = new Arbitro(tablero);
+			arbitro.colocarPiezas(
+					new Pieza[] { new Pieza(TipoPieza.PEON, Color.BLANCO), new Pieza(TipoPieza.PEON, Color.NEGRO),
+							new Pieza(TipoPieza.PEON, Color.NEGRO), new Pieza(TipoPieza.REINA, Color.NEGRO),
+							new Pieza(TipoPieza.REINA, Color.BLANCO) },
+					new Coordenada[] { new Coordenada(0, 4), new Coordenada(0, 5), new Coordenada(0, 6),
+							new Coordenada(3, 3), new Coordenada(6, 0) },
+					Color.BLANCO);
+			arbitro.hacer(BufferJugadas.codificar(0, 4, 0, 5));
+			Tablero resultado = arbitro.consultarTablero();
+			comprobarRecuentos(resultado);
+			assertAll("recuentos tras expulsión",
+					() -> assertEquals(1, arbitro.contarPiezasEnCaja(Color.NEGRO, TipoPieza.PEON),
+							"Debería haberse expulsado un peón negro."),
+					() -> assertEquals(2, resultado.consultarNumeroPiezasEnFila(0), "Número de piezas en fila incorrecto."),
+					() -> assertEquals(1, resultado.consultarNumeroPiezasEnColumna(6), "Número de piezas en columna incorrecto."),
+					() -> assertEquals(1, resultado.consultarNumeroPiezas(TipoPieza.PEON, Color.NEGRO),
+							"Número de peones negros incorrecto."));
+		}
+
+		/**
+		 * Compara los recuentos de un tablero con los obtenidos recorriendo sus celdas.
+		 * 
+		 * @param tablero tablero a comprobar
+		 */
+		private void comprobarRecuentos(Tablero tablero) {
+			int[] filas = new int[tablero.consultarNumeroFilas()];
+			int[] columnas = new int[tablero.consultarNumeroColumnas()];
+			int[][] piezas = new int[TipoPieza.values().length][Color.values().length];
+			for (Celda celda : tablero.consultarCeldas()) {
+				Pieza pieza = celda.consultarPieza();
+				if (pieza != null) {
+					filas[celda.consultarCoordenada().fila()]++;
+					columnas[celda.consultarCoordenada().columna()]++;
+					piezas[pieza.consultarTipoPieza().ordinal()][pieza.consultarColor().ordinal()]++;
+				}
+			}
+			for (int i = 0; i < filas.length; i++) {
+				assertEquals(filas[i], tablero.consultarNumeroPiezasEnFila(i), "Número de piezas en la fila " + i + " incorrecto.");
+			}
+			for (int j = 0; j < columnas.length; j++) {
+				assertEquals(columnas[j], tablero.consultarNumeroPiezasEnColumna(j),
+						"Número de piezas en la columna " + j + " incorrecto.");
+			}
+			for (TipoPieza tipoPieza : TipoPieza.values()) {
+				for (Color color : Color.values()) {
+					assertEquals(piezas[tipoPieza.ordinal()][color.ordinal()], tablero.consultarNumeroPiezas(tipoPieza, color),
+							"Número de piezas " + tipoPieza + " " + color + " incorrecto.");
+				}
+			}
+			assertAll("recuentos fuera del tablero",
+					() -> assertEquals(0, tablero.consultarNumeroPiezasEnFila(-1), "Fuera del tablero no hay piezas."),
+					() -> assertEquals(0, tablero.consultarNumeroPiezasEnColumna(tablero.consultarNumeroColumnas()),
+							"Fuera del tablero no hay piezas."));
+		}
+	} // RecuentosDePiezas
+
 }
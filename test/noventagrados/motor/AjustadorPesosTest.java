@@ -0,0 +1,130 @@
+package noventagrados.motor;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Timeout.ThreadMode.SEPARATE_THREAD;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import noventagrados.control.Arbitro;
+import noventagrados.modelo.Tablero;
+import noventagrados.registro.PartidaRegistrada;
+
+/**
+ * Tests sobre el ajuste de pesos del evaluador posicional.
+ */
+@DisplayName("Tests sobre AjustadorPesos.")
+@Timeout(value = 20, unit = TimeUnit.SECONDS, threadMode = SEPARATE_THREAD) // Time out global para todos los tests salvo los de ciclo de vida
+public class AjustadorPesosTest {
+
+	/**
+	 * Crea una partida con jugadas aleatorias hasta su final y su resultado.
+	 * 
+	 * @param simulador simulador de partidas
+	 * @return partida registrada
+	 */
+	private PartidaRegistrada crearPartidaAleatoria(SimuladorPartidas simulador) {
+		Arbitro arbitro = new Arbitro(new Tablero());
+		arbitro.colocarPiezasConfiguracionInicial();
+		simulador.simular(arbitro);
+		int[] jugadas = new int[simulador.consultarNumeroJugadas()];
+		for (int i = 0; i < jugadas.length; i++) {
+			jugadas[i] = simulador.consultarJugada(i);
+			arbitro.hacer(jugadas[i]);
+		}
+		return new PartidaRegistrada(Map.of(), jugadas, PartidaRegistrada.calcularResultado(arbitro));
+	}
+
+	/**
+	 * Comprueba qué partidas se aceptan y cuántas posiciones se guardan de cada una.
+	 */
+	@DisplayName("Comprueba las posiciones añadidas de cada partida.")
+	@Test
+	void comprobarAñadirPartidas() {
+		SimuladorPartidas simulador = new SimuladorPartidas(25L);
+		PartidaRegistrada partida = crearPartidaAleatoria(simulador);
+		while (partida.consultarNumeroJugadas() < 4) {
+			partida = crearPartidaAleatoria(simulador);
+		}
+		int numeroJugadas = partida.consultarNumeroJugadas();
+		int[] ilegales = new int[numeroJugadas];
+		for (int i = 0; i < numeroJugadas; i++) {
+			ilegales[i] = partida.consultarCodigo(i);
+		}
+		ilegales[numeroJugadas - 1] = ilegales[0];
+		try (AjustadorPesos todas = new AjustadorPesos(1, 0); AjustadorPesos sinApertura = new AjustadorPesos(1, 2)) {
+			int sinResultado = todas.añadir(new PartidaRegistrada(Map.of(), new int[0],
+					PartidaRegistrada.RESULTADO_SIN_TERMINAR));
+			PartidaRegistrada terminada = partida;
+			int conIlegal = todas.añadir(new PartidaRegistrada(Map.of(), ilegales, PartidaRegistrada.RESULTADO_BLANCAS));
+			assertAll("posiciones añadidas",
+					() -> assertThat("Una partida sin resultado no se añade.", sinResultado, is(-1)),
+					() -> assertThat("Una partida con jugadas ilegales no se añade.", conIlegal, is(-1)),
+					() -> assertThat("No debería quedar ninguna posición.", todas.consultarNumeroPosiciones(), is(0)),
+					() -> assertThat("Todas las posiciones salvo la final.", todas.añadir(terminada), is(numeroJugadas)),
+					() -> assertThat("Sin las dos primeras posiciones.", sinApertura.añadir(terminada),
+							is(numeroJugadas - 2)));
+		}
+	}
+
+	/**
+	 * Comprueba que el ajuste reduce el error de predicción y que el error calculado con
+	 * varios hilos coincide con el calculado con uno.
+	 * 
+	 * @throws InterruptedException si se interrumpe el cálculo
+	 */
+	@DisplayName("Comprueba que el ajuste reduce el error de predicción.")
+	@Test
+	void comprobarAjusteReduceError() throws InterruptedException {
+		SimuladorPartidas simulador = new SimuladorPartidas(250L);
+		try (AjustadorPesos secuencial = new AjustadorPesos(1, 0); AjustadorPesos paralelo = new AjustadorPesos(3, 0)) {
+			for (int i = 0; i < 500; i++) {
+				PartidaRegistrada partida = crearPartidaAleatoria(simulador);
+				secuencial.añadir(partida);
+				paralelo.añadir(partida);
+			}
+			int[] iniciales = EvaluadorPosicional.consultarPesosPorDefecto();
+			double escala = paralelo.ajustarEscala(iniciales);
+			double errorInicial = paralelo.calcularError(iniciales, escala);
+			int[] ajustados = paralelo.ajustar(iniciales, 200, escala);
+			assertAll("ajuste",
+					() -> assertThat("Debería haber posiciones.", paralelo.consultarNumeroPosiciones(), greaterThan(1000)),
+					() -> assertThat("El error con varios hilos debería coincidir.", paralelo.calcularError(iniciales, escala),
+							closeTo(secuencial.calcularError(iniciales, escala), 1e-12)),
+					() -> assertThat("El ajuste debería reducir el error.", paralelo.calcularError(ajustados, escala),
+							lessThan(errorInicial)));
+		}
+	}
+
+	/**
+	 * Comprueba que la interrupción del hilo se propaga en lugar de devolver un error
+	 * calculado solo con parte de las posiciones.
+	 */
+	@DisplayName("Comprueba que se propaga la interrupción del cálculo.")
+	@Test
+	void comprobarCalculoInterrumpido() {
+		SimuladorPartidas simulador = new SimuladorPartidas(7L);
+		try (AjustadorPesos ajustador = new AjustadorPesos(2, 0)) {
+			for (int i = 0; i < 10; i++) {
+				ajustador.añadir(crearPartidaAleatoria(simulador));
+			}
+			int[] pesos = EvaluadorPosicional.consultarPesosPorDefecto();
+			Thread.currentThread().interrupt();
+			assertThrows(InterruptedException.class, () -> ajustador.calcularError(pesos, 0.01),
+					"Debería propagarse la interrupción.");
+			Thread.currentThread().interrupt();
+			assertThrows(InterruptedException.class, () -> ajustador.ajustar(pesos, 10, 0.01),
+					"Debería propagarse la interrupción.");
+		}
+	}
+}
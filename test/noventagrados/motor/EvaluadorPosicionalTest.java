@@ -0,0 +1,204 @@
+package noventagrados.motor;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Timeout.ThreadMode.SEPARATE_THREAD;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+import noventagrados.control.Arbitro;
+import noventagrados.control.BufferJugadas;
+import noventagrados.modelo.Pieza;
+import noventagrados.modelo.Tablero;
+import noventagrados.util.Color;
+import noventagrados.util.Coordenada;
+import noventagrados.util.TipoPieza;
+
+/**
+ * Tests sobre la evaluación posicional incremental.
+ */
+@DisplayName("Tests sobre el EvaluadorPosicional.")
+@Timeout(value = 10, unit = TimeUnit.SECONDS, threadMode = SEPARATE_THREAD) // Time out global para todos los tests salvo los de ciclo de vida
+public class EvaluadorPosicionalTest {
+
+	@TempDir
+	Path directorio;
+
+	/**
+	 * Crea un árbitro con peones blancos en (0,0) y (4,6), reina blanca en (2,2), peones
+	 * negros en (1,0) y (5,6) y reina negra en (6,6).
+	 * 
+	 * @param turno Color con el turno.
+	 * @return árbitro
+	 */
+	private Arbitro crearArbitroConAmenazas(Color turno) {
+		Arbitro arbitro = new Arbitro(new Tablero());
+		arbitro.colocarPiezas(new Pieza[] { new Pieza(TipoPieza.PEON, Color.BLANCO),
+				new Pieza(TipoPieza.PEON, Color.BLANCO), new Pieza(TipoPieza.REINA, Color.BLANCO),
+				new Pieza(TipoPieza.PEON, Color.NEGRO), new Pieza(TipoPieza.PEON, Color.NEGRO),
+				new Pieza(TipoPieza.REINA, Color.NEGRO) },
+				new Coordenada[] { new Coordenada(0, 0), new Coordenada(4, 6), new Coordenada(2, 2),
+						new Coordenada(1, 0), new Coordenada(5, 6), new Coordenada(6, 6) },
+				turno);
+		return arbitro;
+	}
+
+	/**
+	 * Comprueba las características de una posición conocida.
+	 */
+	@DisplayName("Comprueba las características de una posición con amenazas de expulsión.")
+	@Test
+	void comprobarCaracteristicas() {
+		Arbitro arbitro = crearArbitroConAmenazas(Color.BLANCO);
+		int jugadasBlancas = arbitro.generarJugadasLegales().consultarNumeroJugadas();
+		int jugadasNegras = crearArbitroConAmenazas(Color.NEGRO).generarJugadasLegales().consultarNumeroJugadas();
+		int[] caracteristicas = new int[EvaluadorPosicional.NUMERO_CARACTERISTICAS];
+		new EvaluadorPosicional().consultarCaracteristicas(arbitro, caracteristicas);
+		assertAll("características",
+				() -> assertThat("No hay peones en las cajas.", caracteristicas[EvaluadorPosicional.MATERIAL], is(0)),
+				() -> assertThat("Distancias al centro 6 y 2.",
+						caracteristicas[EvaluadorPosicional.CENTRALIDAD_REINA], is(4)),
+				() -> assertThat("La movilidad debería coincidir con las jugadas legales.",
+						caracteristicas[EvaluadorPosicional.MOVILIDAD], is(jugadasBlancas - jugadasNegras)),
+				() -> assertThat("El peón blanco de (0,0) está amenazado.",
+						caracteristicas[EvaluadorPosicional.AMENAZAS_PEON], is(-1)),
+				() -> assertThat("La reina negra está amenazada.",
+						caracteristicas[EvaluadorPosicional.AMENAZAS_REINA], is(1)));
+	}
+
+	/**
+	 * Comprueba que la evaluación es simétrica en la posición inicial y cambia de signo
+	 * con el turno.
+	 */
+	@DisplayName("Comprueba el signo de la evaluación según el turno.")
+	@Test
+	void comprobarSignoSegunTurno() {
+		Arbitro arbitro = new Arbitro(new Tablero());
+		arbitro.colocarPiezasConfiguracionInicial();
+		EvaluadorPosicional evaluador = new EvaluadorPosicional();
+		int blancas = evaluador.evaluar(crearArbitroConAmenazas(Color.BLANCO));
+		int negras = evaluador.evaluar(crearArbitroConAmenazas(Color.NEGRO));
+		assertAll("signo",
+				() -> assertThat("La posición inicial está equilibrada.", evaluador.evaluar(arbitro), is(0)),
+				() -> assertThat("Debería cambiar de signo con el turno.", negras, is(-blancas)));
+	}
+
+	/**
+	 * Comprueba que los acumuladores actualizados al hacer y deshacer jugadas coinciden
+	 * con los calculados desde cero, en todas las posiciones a dos plies de posiciones
+	 * alcanzadas con jugadas aleatorias.
+	 */
+	@DisplayName("Comprueba la actualización incremental frente al cálculo desde cero.")
+	@Test
+	void comprobarActualizacionIncremental() {
+		SimuladorPartidas simulador = new SimuladorPartidas(24L, 8);
+		for (int partida = 0; partida < 20; partida++) {
+			Arbitro arbitro = new Arbitro(new Tablero());
+			arbitro.colocarPiezasConfiguracionInicial();
+			simulador.simular(arbitro);
+			for (int i = 0; i < simulador.consultarNumeroJugadas() - 1; i++) {
+				arbitro.hacer(simulador.consultarJugada(i));
+			}
+			EvaluadorPosicional incremental = new EvaluadorPosicional();
+			incremental.cargar(arbitro);
+			explorar(arbitro, incremental, 2);
+		}
+	}
+
+	/**
+	 * Recorre el árbol de jugadas notificando al evaluador y comparando sus características
+	 * con las de un evaluador nuevo en cada posición.
+	 * 
+	 * @param arbitro     árbitro
+	 * @param incremental evaluador actualizado de forma incremental
+	 * @param profundidad plies restantes
+	 */
+	private void explorar(Arbitro arbitro, EvaluadorPosicional incremental, int profundidad) {
+		int[] esperadas = new int[EvaluadorPosicional.NUMERO_CARACTERISTICAS];
+		int[] obtenidas = new int[EvaluadorPosicional.NUMERO_CARACTERISTICAS];
+		new EvaluadorPosicional().consultarCaracteristicas(arbitro, esperadas);
+		incremental.consultarCaracteristicas(arbitro, obtenidas);
+		assertThat("Características distintas en\n" + arbitro.consultarTablero().aTexto(), Arrays.toString(obtenidas),
+				is(Arrays.toString(esperadas)));
+		if (profundidad == 0) {
+			return;
+		}
+		BufferJugadas jugadas = arbitro.generarJugadasLegales(new BufferJugadas());
+		for (int i = 0; i < jugadas.consultarNumeroJugadas(); i++) {
+			long token = arbitro.hacer(jugadas.consultarCodigo(i));
+			incremental.jugadaHecha(arbitro, token);
+			explorar(arbitro, incremental, profundidad - 1);
+			arbitro.deshacer(token);
+			incremental.jugadaDeshecha(arbitro, token);
+			incremental.consultarCaracteristicas(arbitro, obtenidas);
+			assertThat("Características distintas al deshacer.", Arrays.toString(obtenidas),
+					is(Arrays.toString(esperadas)));
+		}
+	}
+
+	/**
+	 * Comprueba que la búsqueda paralela con un evaluador posicional por hilo encuentra la
+	 * expulsión de la reina rival.
+	 */
+	@DisplayName("Comprueba la búsqueda paralela con un evaluador posicional por hilo.")
+	@Test
+	void comprobarBusquedaParalela() {
+		Arbitro arbitro = crearArbitroConAmenazas(Color.BLANCO);
+		ResultadoBusqueda resultado = new MotorParalelo(2, 4, 2000, () -> new EvaluadorPosicional(),
+				new TablaTransposicion(1)).buscar(arbitro);
+		assertAll("expulsión de la reina",
+				() -> assertThat("La jugada debería empujar hacia el sur desde (4,6).",
+						resultado.jugada().origen().consultarCoordenada(), is(new Coordenada(4, 6))),
+				() -> assertThat("Debería puntuarse como victoria.", resultado.puntuacion(),
+						is(Motor.PUNTUACION_VICTORIA - 1)));
+	}
+
+	/**
+	 * Comprueba la escritura y lectura del fichero de pesos.
+	 * 
+	 * @throws IOException si no se puede escribir el fichero
+	 */
+	@DisplayName("Comprueba la escritura y lectura del fichero de pesos.")
+	@Test
+	void comprobarFicheroPesos() throws IOException {
+		Path fichero = directorio.resolve(EvaluadorPosicional.FICHERO_PESOS);
+		int[] pesos = { 250, -3, 7, 0, 400 };
+		EvaluadorPosicional.escribirPesos(fichero, pesos, "prueba");
+		int[] leidos = EvaluadorPosicional.leerPesos(fichero);
+		Path parcial = directorio.resolve("parcial.txt");
+		Files.writeString(parcial, "# Solo movilidad\n\nMOVILIDAD = 9\n", StandardCharsets.UTF_8);
+		int[] esperados = EvaluadorPosicional.consultarPesosPorDefecto();
+		esperados[EvaluadorPosicional.MOVILIDAD] = 9;
+		Path incorrecto = directorio.resolve("incorrecto.txt");
+		Files.writeString(incorrecto, "MOVILIDAD = nueve\n", StandardCharsets.UTF_8);
+		Path desconocido = directorio.resolve("desconocido.txt");
+		Files.writeString(desconocido, "VELOCIDAD = 1\n", StandardCharsets.UTF_8);
+		assertAll("fichero de pesos",
+				() -> assertThat("Deberían leerse los pesos escritos.", Arrays.toString(leidos),
+						is(Arrays.toString(pesos))),
+				() -> assertThat("El evaluador debería usar los pesos leídos.",
+						Arrays.toString(new EvaluadorPosicional(leidos).consultarPesos()), is(Arrays.toString(pesos))),
+				() -> assertThat("Sin argumentos el evaluador no debería depender del fichero de pesos.",
+						Arrays.toString(new EvaluadorPosicional().consultarPesos()),
+						is(Arrays.toString(EvaluadorPosicional.consultarPesosPorDefecto()))),
+				() -> assertThat("Los pesos que faltan toman su valor por defecto.",
+						Arrays.toString(EvaluadorPosicional.leerPesos(parcial)), is(Arrays.toString(esperados))),
+				() -> assertThat("Un valor no numérico no es válido.", EvaluadorPosicional.leerPesos(incorrecto),
+						is((int[]) null)),
+				() -> assertThat("Una característica desconocida no es válida.",
+						EvaluadorPosicional.leerPesos(desconocido), is((int[]) null)),
+				() -> assertThat("Un fichero inexistente no es válido.",
+						EvaluadorPosicional.leerPesos(directorio.resolve("no-existe.txt")), is((int[]) null)));
+	}
+}
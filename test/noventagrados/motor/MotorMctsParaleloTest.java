@@ -0,0 +1,88 @@
+package noventagrados.motor;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Timeout.ThreadMode.SEPARATE_THREAD;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import noventagrados.control.Arbitro;
+import noventagrados.modelo.Pieza;
+import noventagrados.modelo.Tablero;
+import noventagrados.util.Color;
+import noventagrados.util.Coordenada;
+import noventagrados.util.TipoPieza;
+
+/**
+ * Tests sobre la búsqueda de Monte Carlo en paralelo.
+ */
+@DisplayName("Tests sobre el MotorMctsParalelo.")
+@Timeout(value = 5, unit = TimeUnit.SECONDS, threadMode = SEPARATE_THREAD) // Time out global para todos los tests salvo los de ciclo de vida
+public class MotorMctsParaleloTest {
+
+	/**
+	 * Comprueba que la búsqueda paralela encuentra una victoria inmediata.
+	 */
+	@DisplayName("Comprueba que la búsqueda paralela encuentra la victoria con la reina en el centro.")
+	@Test
+	void comprobarVictoriaInmediata() {
+		Arbitro arbitro = new Arbitro(new Tablero());
+		arbitro.colocarPiezas(new Pieza[] { new Pieza(TipoPieza.PEON, Color.BLANCO),
+				new Pieza(TipoPieza.PEON, Color.BLANCO), new Pieza(TipoPieza.REINA, Color.BLANCO),
+				new Pieza(TipoPieza.PEON, Color.NEGRO), new Pieza(TipoPieza.REINA, Color.NEGRO) },
+				new Coordenada[] { new Coordenada(1, 0), new Coordenada(2, 0), new Coordenada(3, 0),
+						new Coordenada(6, 5), new Coordenada(6, 6) },
+				Color.BLANCO);
+		ResultadoBusqueda resultado = new MotorMctsParalelo(3, 5000, 2000, 1 << 16, 22L).buscar(arbitro);
+		assertAll("victoria inmediata",
+				() -> assertThat("La jugada debería llevar la reina al centro.",
+						resultado.jugada().destino().consultarCoordenada(), is(new Coordenada(3, 3))),
+				() -> assertThat("Debería puntuarse como victoria segura.", resultado.puntuacion(),
+						is(MotorMcts.ESCALA_PUNTUACION)));
+	}
+
+	/**
+	 * Comprueba la búsqueda paralela desde la posición inicial.
+	 */
+	@DisplayName("Comprueba la búsqueda paralela desde la posición inicial.")
+	@Test
+	void comprobarBusquedaDesdePosicionInicial() {
+		Arbitro arbitro = new Arbitro(new Tablero());
+		arbitro.colocarPiezasConfiguracionInicial();
+		Tablero antes = arbitro.consultarTablero();
+		MotorMctsParalelo motor = new MotorMctsParalelo(4, 4000, 2000, 1 << 16, 22L);
+		ResultadoBusqueda resultado = motor.buscar(arbitro);
+		assertAll("búsqueda inicial",
+				() -> assertThat("Número de hilos incorrecto.", motor.consultarNumeroHilos(), is(4)),
+				() -> assertThat("Debería encontrar una jugada legal.", arbitro.esMovimientoLegal(resultado.jugada()),
+						is(true)),
+				() -> assertThat("Todas las iteraciones deberían contarse en la raíz.", resultado.nodos(), is(4000L)),
+				() -> assertThat("Debería crear nodos.", motor.consultarNumeroNodos(), is(greaterThan(1))),
+				() -> assertThat("No debería modificar el tablero.", arbitro.consultarTablero(), is(antes)));
+	}
+
+	/**
+	 * Comprueba que la búsqueda paralela funciona con el árbol lleno.
+	 */
+	@DisplayName("Comprueba la búsqueda paralela con un árbol de capacidad reducida.")
+	@Test
+	void comprobarArbolLleno() {
+		Arbitro arbitro = new Arbitro(new Tablero());
+		arbitro.colocarPiezasConfiguracionInicial();
+		MotorMctsParalelo motor = new MotorMctsParalelo(4, 3000, 2000, 100, 22L);
+		ResultadoBusqueda resultado = motor.buscar(arbitro);
+		assertAll("árbol lleno",
+				() -> assertThat("Debería encontrar una jugada legal.", arbitro.esMovimientoLegal(resultado.jugada()),
+						is(true)),
+				() -> assertThat("No debería superar la capacidad.", motor.consultarNumeroNodos(),
+						is(lessThanOrEqualTo(100))),
+				() -> assertThat("Iteraciones incorrectas.", resultado.nodos(), is(3000L)));
+	}
+}
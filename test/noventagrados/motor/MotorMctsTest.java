@@ -0,0 +1,121 @@
+package noventagrados.motor;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Timeout.ThreadMode.SEPARATE_THREAD;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import noventagrados.control.Arbitro;
+import noventagrados.modelo.Pieza;
+import noventagrados.modelo.Tablero;
+import noventagrados.util.Color;
+import noventagrados.util.Coordenada;
+import noventagrados.util.TipoPieza;
+
+/**
+ * Tests sobre la búsqueda en árbol de Monte Carlo.
+ */
+@DisplayName("Tests sobre el MotorMcts.")
+@Timeout(value = 5, unit = TimeUnit.SECONDS, threadMode = SEPARATE_THREAD) // Time out global para todos los tests salvo los de ciclo de vida
+public class MotorMctsTest {
+
+	/**
+	 * Crea un árbitro con la configuración inicial.
+	 * 
+	 * @return árbitro
+	 */
+	private Arbitro crearArbitroInicial() {
+		Arbitro arbitro = new Arbitro(new Tablero());
+		arbitro.colocarPiezasConfiguracionInicial();
+		return arbitro;
+	}
+
+	/**
+	 * Comprueba que se encuentra una victoria inmediata.
+	 */
+	@DisplayName("Comprueba que se encuentra la victoria con la reina en el centro.")
+	@Test
+	void comprobarVictoriaInmediata() {
+		Arbitro arbitro = new Arbitro(new Tablero());
+		arbitro.colocarPiezas(new Pieza[] { new Pieza(TipoPieza.PEON, Color.BLANCO),
+				new Pieza(TipoPieza.PEON, Color.BLANCO), new Pieza(TipoPieza.REINA, Color.BLANCO),
+				new Pieza(TipoPieza.PEON, Color.NEGRO), new Pieza(TipoPieza.REINA, Color.NEGRO) },
+				new Coordenada[] { new Coordenada(1, 0), new Coordenada(2, 0), new Coordenada(3, 0),
+						new Coordenada(6, 5), new Coordenada(6, 6) },
+				Color.BLANCO);
+		ResultadoBusqueda resultado = new MotorMcts(5000, 2000, 1 << 16, 21L).buscar(arbitro);
+		assertAll("victoria inmediata",
+				() -> assertThat("La jugada debería llevar la reina al centro.",
+						resultado.jugada().destino().consultarCoordenada(), is(new Coordenada(3, 3))),
+				() -> assertThat("Debería puntuarse como victoria segura.", resultado.puntuacion(),
+						is(MotorMcts.ESCALA_PUNTUACION)));
+	}
+
+	/**
+	 * Comprueba la búsqueda desde la posición inicial.
+	 */
+	@DisplayName("Comprueba la búsqueda desde la posición inicial.")
+	@Test
+	void comprobarBusquedaDesdePosicionInicial() {
+		Arbitro arbitro = crearArbitroInicial();
+		Tablero antes = arbitro.consultarTablero();
+		MotorMcts motor = new MotorMcts(2000, 2000, 1 << 16, 21L);
+		ResultadoBusqueda resultado = motor.buscar(arbitro);
+		assertAll("búsqueda inicial",
+				() -> assertThat("Debería encontrar una jugada legal.", arbitro.esMovimientoLegal(resultado.jugada()),
+						is(true)),
+				() -> assertThat("Iteraciones incorrectas.", resultado.nodos(), is(2000L)),
+				() -> assertThat("Visitas de la raíz incorrectas.", motor.consultarVisitasRaiz(), is(2000)),
+				() -> assertThat("Debería crear nodos.", motor.consultarNumeroNodos(), is(greaterThan(1))),
+				() -> assertThat("No debería modificar el tablero.", arbitro.consultarTablero(), is(antes)));
+	}
+
+	/**
+	 * Comprueba que se conserva el subárbol de la posición alcanzada tras la jugada propia
+	 * y la respuesta del rival, y que se descarta ante una posición desconocida.
+	 */
+	@DisplayName("Comprueba la reutilización del árbol entre jugadas.")
+	@Test
+	void comprobarReutilizacionDelArbol() {
+		Arbitro arbitro = crearArbitroInicial();
+		MotorMcts motor = new MotorMcts(3000, 2000, 1 << 16, 21L);
+		ResultadoBusqueda primera = motor.buscar(arbitro);
+		arbitro.hacer(primera.jugada());
+		arbitro.hacer(primera.variacionPrincipal().get(1));
+		motor.buscar(arbitro);
+		assertThat("Deberían conservarse las visitas del subárbol.", motor.consultarVisitasRaiz(),
+				is(greaterThan(3000)));
+
+		motor.buscar(crearArbitroInicial());
+		assertThat("Una posición fuera del árbol debería empezar de cero.", motor.consultarVisitasRaiz(), is(3000));
+
+		motor.reiniciar();
+		motor.buscar(crearArbitroInicial());
+		assertThat("Tras reiniciar debería empezar de cero.", motor.consultarVisitasRaiz(), is(3000));
+	}
+
+	/**
+	 * Comprueba que la búsqueda funciona con el árbol lleno.
+	 */
+	@DisplayName("Comprueba la búsqueda con un árbol de capacidad reducida.")
+	@Test
+	void comprobarArbolLleno() {
+		Arbitro arbitro = crearArbitroInicial();
+		MotorMcts motor = new MotorMcts(3000, 2000, 100, 21L);
+		ResultadoBusqueda resultado = motor.buscar(arbitro);
+		assertAll("árbol lleno",
+				() -> assertThat("Debería encontrar una jugada legal.", arbitro.esMovimientoLegal(resultado.jugada()),
+						is(true)),
+				() -> assertThat("No debería superar la capacidad.", motor.consultarNumeroNodos(),
+						is(lessThanOrEqualTo(100))),
+				() -> assertThat("Visitas de la raíz incorrectas.", motor.consultarVisitasRaiz(), is(3000)));
+	}
+}
@@ -0,0 +1,70 @@
+package noventagrados.motor;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Timeout.ThreadMode.SEPARATE_THREAD;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import noventagrados.control.Arbitro;
+import noventagrados.modelo.Pieza;
+import noventagrados.modelo.Tablero;
+import noventagrados.util.Color;
+import noventagrados.util.Coordenada;
+import noventagrados.util.TipoPieza;
+
+/**
+ * Tests sobre la búsqueda paralela.
+ */
+@DisplayName("Tests sobre el MotorParalelo.")
+@Timeout(value = 5, unit = TimeUnit.SECONDS, threadMode = SEPARATE_THREAD) // Time out global para todos los tests salvo los de ciclo de vida
+public class MotorParaleloTest {
+
+	/**
+	 * Comprueba que la búsqueda paralela encuentra una victoria inmediata.
+	 */
+	@DisplayName("Comprueba que la búsqueda paralela encuentra la victoria con la reina en el centro.")
+	@Test
+	void comprobarVictoriaInmediata() {
+		Arbitro arbitro = new Arbitro(new Tablero());
+		arbitro.colocarPiezas(new Pieza[] { new Pieza(TipoPieza.PEON, Color.BLANCO),
+				new Pieza(TipoPieza.PEON, Color.BLANCO), new Pieza(TipoPieza.REINA, Color.BLANCO),
+				new Pieza(TipoPieza.PEON, Color.NEGRO), new Pieza(TipoPieza.REINA, Color.NEGRO) },
+				new Coordenada[] { new Coordenada(1, 0), new Coordenada(2, 0), new Coordenada(3, 0),
+						new Coordenada(6, 5), new Coordenada(6, 6) },
+				Color.BLANCO);
+		ResultadoBusqueda resultado = new MotorParalelo(3, 6, 1000, new EvaluadorMaterial(),
+				new TablaTransposicion(1)).buscar(arbitro);
+		assertAll("victoria inmediata",
+				() -> assertThat("La jugada debería llevar la reina al centro.",
+						resultado.jugada().destino().consultarCoordenada(), is(new Coordenada(3, 3))),
+				() -> assertThat("Debería puntuarse como victoria.", resultado.puntuacion(),
+						is(Motor.PUNTUACION_VICTORIA - 1)));
+	}
+
+	/**
+	 * Comprueba la búsqueda paralela desde la posición inicial.
+	 */
+	@DisplayName("Comprueba la búsqueda paralela desde la posición inicial.")
+	@Test
+	void comprobarBusquedaDesdePosicionInicial() {
+		Arbitro arbitro = new Arbitro(new Tablero());
+		arbitro.colocarPiezasConfiguracionInicial();
+		Tablero antes = arbitro.consultarTablero();
+		MotorParalelo motor = new MotorParalelo(4, 5, 2000, new EvaluadorMaterial(), new TablaTransposicion(4));
+		ResultadoBusqueda resultado = motor.buscar(arbitro);
+		assertAll("búsqueda inicial",
+				() -> assertThat("Número de hilos incorrecto.", motor.consultarNumeroHilos(), is(4)),
+				() -> assertThat("Debería encontrar una jugada legal.", arbitro.esMovimientoLegal(resultado.jugada()),
+						is(true)),
+				() -> assertThat("Debería completar la profundidad pedida.", resultado.profundidad(), is(5)),
+				() -> assertThat("Debería visitar nodos.", resultado.nodos(), is(greaterThan(0L))),
+				() -> assertThat("No debería modificar el tablero.", arbitro.consultarTablero(), is(antes)));
+	}
+}
@@ -0,0 +1,120 @@
+package noventagrados.motor;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Timeout.ThreadMode.SEPARATE_THREAD;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import noventagrados.control.Arbitro;
+import noventagrados.modelo.Pieza;
+import noventagrados.modelo.Tablero;
+import noventagrados.util.Color;
+import noventagrados.util.Coordenada;
+import noventagrados.util.TipoPieza;
+
+/**
+ * Tests sobre el motor de búsqueda alfa-beta.
+ */
+@DisplayName("Tests sobre el Motor de búsqueda.")
+@Timeout(value = 5, unit = TimeUnit.SECONDS, threadMode = SEPARATE_THREAD) // Time out global para todos los tests salvo los de ciclo de vida
+public class MotorTest {
+
+	/** Árbitro de testing. */
+	private Arbitro arbitro;
+
+	/**
+	 * Inicializa el árbitro con la configuración inicial.
+	 */
+	@BeforeEach
+	void inicializar() {
+		arbitro = new Arbitro(new Tablero());
+		arbitro.colocarPiezasConfiguracionInicial();
+	}
+
+	// @formatter:off
+	/*
+	 * Posición con victoria inmediata de blancas llevando su reina al centro.
+	 * 
+	 * <pre>
+	 * 	0 -- -- -- -- -- -- --
+	 *	1 PB -- -- -- -- -- --
+	 *	2 PB -- -- -- -- -- --
+	 *	3 RB -- -- -- -- -- --
+	 *	4 -- -- -- -- -- -- --
+	 *  5 -- -- -- -- -- -- --
+	 *	6 -- -- -- -- -- PN RN
+	 *    0  1  2  3  4  5  6
+	 * </pre>
+	 */
+	// @formatter:on
+	/**
+	 * Comprueba que el motor encuentra una victoria inmediata.
+	 */
+	@DisplayName("Comprueba que el motor encuentra la victoria con la reina en el centro.")
+	@Test
+	void comprobarVictoriaInmediata() {
+		Arbitro arbitroLocal = new Arbitro(new Tablero());
+		arbitroLocal.colocarPiezas(new Pieza[] { new Pieza(TipoPieza.PEON, Color.BLANCO),
+				new Pieza(TipoPieza.PEON, Color.BLANCO), new Pieza(TipoPieza.REINA, Color.BLANCO),
+				new Pieza(TipoPieza.PEON, Color.NEGRO), new Pieza(TipoPieza.REINA, Color.NEGRO) },
+				new Coordenada[] { new Coordenada(1, 0), new Coordenada(2, 0), new Coordenada(3, 0),
+						new Coordenada(6, 5), new Coordenada(6, 6) },
+				Color.BLANCO);
+		ResultadoBusqueda resultado = new Motor(4, 1000).buscar(arbitroLocal);
+		assertAll("victoria inmediata",
+				() -> assertThat("Debería encontrar una jugada.", resultado.jugada(), is(notNullValue())),
+				() -> assertThat("La jugada debería llevar la reina al centro.",
+						resultado.jugada().destino().consultarCoordenada(), is(new Coordenada(3, 3))),
+				() -> assertThat("Debería puntuarse como victoria.", resultado.puntuacion(),
+						is(Motor.PUNTUACION_VICTORIA - 1)),
+				() -> assertThat("La variación principal debería ser la propia jugada.",
+						resultado.variacionPrincipal().size(), is(1)));
+	}
+
+	/**
+	 * Comprueba que la búsqueda no modifica la partida y devuelve una variación coherente.
+	 */
+	@DisplayName("Comprueba la búsqueda desde la posición inicial.")
+	@Test
+	void comprobarBusquedaDesdePosicionInicial() {
+		Tablero antes = arbitro.consultarTablero();
+		ResultadoBusqueda resultado = new Motor(4, 2000).buscar(arbitro);
+		assertAll("búsqueda inicial",
+				() -> assertThat("Debería encontrar una jugada legal.", arbitro.esMovimientoLegal(resultado.jugada()),
+						is(true)),
+				() -> assertThat("La variación principal debería empezar por la mejor jugada.",
+						resultado.variacionPrincipal().get(0), is(resultado.jugada())),
+				() -> assertThat("Debería completar la profundidad pedida.", resultado.profundidad(), is(4)),
+				() -> assertThat("Debería visitar nodos.", resultado.nodos(), is(greaterThan(0L))),
+				() -> assertThat("No debería modificar el tablero.", arbitro.consultarTablero(), is(antes)),
+				() -> assertThat("No debería modificar el turno.", arbitro.consultarTurno(), is(Color.BLANCO)),
+				() -> assertThat("No debería modificar el número de jugada.", arbitro.consultarNumeroJugada(),
+						is(0)));
+	}
+
+	/**
+	 * Comprueba que la búsqueda respeta el tiempo máximo.
+	 */
+	@DisplayName("Comprueba que la búsqueda respeta el tiempo máximo.")
+	@Test
+	void comprobarLimiteDeTiempo() {
+		long inicio = System.nanoTime();
+		ResultadoBusqueda resultado = new Motor(Motor.PROFUNDIDAD_LIMITE, 200).buscar(arbitro);
+		long milisegundos = (System.nanoTime() - inicio) / 1_000_000;
+		assertAll("límite de tiempo",
+				() -> assertThat("Debería devolver una jugada.", resultado.jugada(), is(notNullValue())),
+				() -> assertThat("Debería completar al menos una iteración.", resultado.profundidad(),
+						is(greaterThan(0))),
+				() -> assertThat("Debería respetar el tiempo máximo.", milisegundos, is(lessThan(1000L))));
+	}
+}
@@ -0,0 +1,99 @@
+package noventagrados.motor;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Timeout.ThreadMode.SEPARATE_THREAD;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import noventagrados.control.Arbitro;
+import noventagrados.modelo.Tablero;
+import noventagrados.util.Color;
+
+/**
+ * Tests sobre el recuento de caminos de jugadas (perft).
+ */
+@DisplayName("Tests sobre Perft.")
+@Timeout(value = 5, unit = TimeUnit.SECONDS, threadMode = SEPARATE_THREAD) // Time out global para todos los tests salvo los de ciclo de vida
+public class PerftTest {
+
+	/** Árbitro de testing. */
+	private Arbitro arbitro;
+
+	/**
+	 * Inicializa el árbitro con la configuración inicial.
+	 */
+	@BeforeEach
+	void inicializar() {
+		arbitro = new Arbitro(new Tablero());
+		arbitro.colocarPiezasConfiguracionInicial();
+	}
+
+	/**
+	 * Comprueba los recuentos desde la posición inicial, con y sin caché.
+	 * 
+	 * @param profundidad profundidad
+	 * @param nodos número de hojas esperado
+	 */
+	@DisplayName("Comprueba los recuentos desde la posición inicial.")
+	@ParameterizedTest
+	@CsvSource({ "0, 1", "1, 20", "2, 276", "3, 3800", "4, 56750", "5, 845286" })
+	void comprobarRecuentos(int profundidad, long nodos) {
+		Tablero antes = arbitro.consultarTablero();
+		assertAll("recuentos",
+				() -> assertThat("Recuento sin caché incorrecto.", new Perft(arbitro).contar(profundidad), is(nodos)),
+				() -> assertThat("Recuento con caché incorrecto.", new Perft(arbitro, 1).contar(profundidad),
+						is(nodos)),
+				() -> assertThat("No debería modificar el tablero.", arbitro.consultarTablero(), is(antes)),
+				() -> assertThat("No debería modificar el turno.", arbitro.consultarTurno(), is(Color.BLANCO)),
+				() -> assertThat("No debería modificar el número de jugada.", arbitro.consultarNumeroJugada(),
+						is(0)));
+	}
+
+	/**
+	 * Comprueba que la división suma el recuento total.
+	 */
+	@DisplayName("Comprueba que la división por jugadas suma el total.")
+	@Test
+	void comprobarDivision() {
+		Perft perft = new Perft(arbitro);
+		long[][] division = perft.dividir(4);
+		long total = 0;
+		for (long[] entrada : division) {
+			total += entrada[1];
+		}
+		final long suma = total;
+		assertAll("división",
+				() -> assertThat("Debería haber una entrada por jugada inicial.", division.length, is(20)),
+				() -> assertThat("La suma de la división no coincide con el total.", suma, is(perft.contar(4))));
+	}
+
+	/**
+	 * Comprueba que se rechazan las profundidades fuera de rango en lugar de agotar
+	 * los buffers de jugadas.
+	 */
+	@DisplayName("Comprueba que se rechazan las profundidades fuera de rango.")
+	@Test
+	void comprobarProfundidadesIncorrectas() {
+		Perft perft = new Perft(arbitro);
+		assertAll("profundidades fuera de rango",
+				() -> assertThrows(IllegalArgumentException.class, () -> perft.dividir(0),
+						"La división necesita al menos una jugada."),
+				() -> assertThrows(IllegalArgumentException.class, () -> perft.dividir(-1),
+						"No se admiten profundidades negativas."),
+				() -> assertThrows(IllegalArgumentException.class, () -> perft.contar(-1),
+						"No se admiten profundidades negativas."),
+				() -> assertThrows(IllegalArgumentException.class, () -> perft.contar(Motor.PROFUNDIDAD_LIMITE + 1),
+						"No se admiten profundidades mayores que el límite."),
+				() -> assertThat("No debería modificar el número de jugada.", arbitro.consultarNumeroJugada(), is(0)));
+	}
+}
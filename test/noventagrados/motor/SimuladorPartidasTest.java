@@ -0,0 +1,116 @@
+package noventagrados.motor;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.junit.jupiter.api.Timeout.ThreadMode.SEPARATE_THREAD;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import noventagrados.control.Arbitro;
+import noventagrados.control.BufferJugadas;
+import noventagrados.modelo.Tablero;
+import noventagrados.util.Color;
+
+/**
+ * Tests sobre las simulaciones aleatorias sin reserva de memoria.
+ */
+@DisplayName("Tests sobre SimuladorPartidas.")
+@Timeout(value = 10, unit = TimeUnit.SECONDS, threadMode = SEPARATE_THREAD) // Time out global para todos los tests salvo los de ciclo de vida
+public class SimuladorPartidasTest {
+
+	/**
+	 * Crea un árbitro con la configuración inicial.
+	 * 
+	 * @return árbitro
+	 */
+	private Arbitro crearArbitroInicial() {
+		Arbitro arbitro = new Arbitro(new Tablero());
+		arbitro.colocarPiezasConfiguracionInicial();
+		return arbitro;
+	}
+
+	/**
+	 * Comprueba que las jugadas simuladas son legales para el árbitro y que el resultado
+	 * coincide con el suyo, desde la posición inicial y desde posiciones intermedias.
+	 */
+	@DisplayName("Comprueba que las simulaciones siguen las reglas del árbitro.")
+	@Test
+	void comprobarSimulacionesSegunArbitro() {
+		SimuladorPartidas simulador = new SimuladorPartidas(23L, 60);
+		SimuladorPartidas apertura = new SimuladorPartidas(230L, 6);
+		BufferJugadas legales = new BufferJugadas();
+		for (int partida = 0; partida < 500; partida++) {
+			Arbitro arbitro = crearArbitroInicial();
+			apertura.simular(arbitro);
+			for (int i = 0; i < apertura.consultarNumeroJugadas() && partida % 2 == 1; i++) {
+				arbitro.hacer(apertura.consultarJugada(i));
+			}
+			int resultado = simulador.simular(arbitro);
+			for (int i = 0; i < simulador.consultarNumeroJugadas(); i++) {
+				arbitro.generarJugadasLegales(legales);
+				boolean legal = false;
+				for (int j = 0; j < legales.consultarNumeroJugadas(); j++) {
+					legal |= legales.consultarCodigo(j) == simulador.consultarJugada(i);
+				}
+				assertThat("Jugada " + i + " ilegal en la simulación " + partida + ".", legal, is(true));
+				arbitro.hacer(simulador.consultarJugada(i));
+			}
+			if (resultado == SimuladorPartidas.SIN_TERMINAR) {
+				assertThat("La partida no debería haber terminado.", arbitro.estaFinalizadaPartida(), is(false));
+				assertThat("Debería alcanzar el límite.", simulador.consultarNumeroJugadas(), is(60));
+			} else {
+				assertThat("La partida debería haber terminado.", arbitro.estaFinalizadaPartida(), is(true));
+				Color ganador = arbitro.consultarTurnoGanador();
+				assertThat("Resultado distinto al del árbitro en la simulación " + partida + ".",
+						SimuladorPartidas.consultarGanador(resultado), is(ganador));
+			}
+		}
+	}
+
+	/**
+	 * Comprueba que la misma semilla reproduce las mismas simulaciones.
+	 */
+	@DisplayName("Comprueba que las simulaciones son reproducibles.")
+	@Test
+	void comprobarSimulacionesReproducibles() {
+		Arbitro arbitro = crearArbitroInicial();
+		SimuladorPartidas primero = new SimuladorPartidas(7L);
+		SimuladorPartidas segundo = new SimuladorPartidas(7L);
+		primero.cargar(arbitro);
+		for (int i = 0; i < 100; i++) {
+			assertThat("Resultado distinto.", segundo.simular(arbitro), is(primero.simular()));
+			assertThat("Número de jugadas distinto.", segundo.consultarNumeroJugadas(),
+					is(primero.consultarNumeroJugadas()));
+		}
+	}
+
+	/**
+	 * Comprueba que, tras el calentamiento, simular no reserva memoria.
+	 */
+	@DisplayName("Comprueba que las simulaciones no reservan memoria.")
+	@Test
+	void comprobarSimulacionesSinReservaDeMemoria() {
+		ThreadMXBean hilos = ManagementFactory.getThreadMXBean();
+		assumeTrue(hilos instanceof com.sun.management.ThreadMXBean, "Medida de memoria no disponible.");
+		com.sun.management.ThreadMXBean medidor = (com.sun.management.ThreadMXBean) hilos;
+		Arbitro arbitro = crearArbitroInicial();
+		SimuladorPartidas simulador = new SimuladorPartidas(11L);
+		long suma = 0;
+		for (int i = 0; i < 20_000; i++) {
+			suma += simulador.simular(arbitro);
+		}
+		long antes = medidor.getCurrentThreadAllocatedBytes();
+		for (int i = 0; i < 20_000; i++) {
+			suma += simulador.simular(arbitro);
+		}
+		long reservados = medidor.getCurrentThreadAllocatedBytes() - antes;
+		assertThat("No debería reservar memoria (suma " + suma + ").", reservados < 1024, is(true));
+	}
+}
@@ -0,0 +1,101 @@
+package noventagrados.motor;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Timeout.ThreadMode.SEPARATE_THREAD;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import noventagrados.control.Arbitro;
+import noventagrados.modelo.Tablero;
+
+/**
+ * Tests sobre la tabla de transposición.
+ */
+@DisplayName("Tests sobre la TablaTransposicion.")
+@Timeout(value = 5, unit = TimeUnit.SECONDS, threadMode = SEPARATE_THREAD) // Time out global para todos los tests salvo los de ciclo de vida
+public class TablaTransposicionTest {
+
+	/** Clave de pruebas. */
+	private static final long CLAVE = 0x123456789ABCDEF0L;
+
+	/**
+	 * Comprueba que se recuperan los datos guardados.
+	 */
+	@DisplayName("Comprueba que se recuperan los datos guardados.")
+	@Test
+	void comprobarGuardarYSondear() {
+		TablaTransposicion tabla = new TablaTransposicion(1);
+		tabla.guardar(CLAVE, 5, TablaTransposicion.COTA_INFERIOR, -1234, 0x3A5);
+		long dato = tabla.sondear(CLAVE);
+		assertAll("datos recuperados",
+				() -> assertThat("Debería encontrarse la entrada.", dato != TablaTransposicion.SIN_ENTRADA, is(true)),
+				() -> assertThat("Profundidad incorrecta.", TablaTransposicion.consultarProfundidad(dato), is(5)),
+				() -> assertThat("Tipo de cota incorrecto.", TablaTransposicion.consultarTipoCota(dato),
+						is(TablaTransposicion.COTA_INFERIOR)),
+				() -> assertThat("Puntuación incorrecta.", TablaTransposicion.consultarPuntuacion(dato), is(-1234)),
+				() -> assertThat("Jugada incorrecta.", TablaTransposicion.consultarJugada(dato), is(0x3A5)),
+				() -> assertThat("No debería encontrarse otra clave.", tabla.sondear(CLAVE + 1),
+						is(TablaTransposicion.SIN_ENTRADA)));
+	}
+
+	/**
+	 * Comprueba que la capacidad depende del presupuesto de memoria.
+	 */
+	@DisplayName("Comprueba que la capacidad respeta el presupuesto de memoria.")
+	@Test
+	void comprobarCapacidad() {
+		assertAll("capacidad",
+				() -> assertThat("Un megabyte son 65536 entradas de 16 bytes.",
+						new TablaTransposicion(1).consultarCapacidad(), is(65536)),
+				() -> assertThat("Se redondea a potencia de dos por debajo.",
+						new TablaTransposicion(3).consultarCapacidad(), is(131072)));
+	}
+
+	/**
+	 * Comprueba la política de reemplazo de los cubos.
+	 */
+	@DisplayName("Comprueba la política de reemplazo de profundidad preferente y reemplazo siempre.")
+	@Test
+	void comprobarReemplazo() {
+		TablaTransposicion tabla = new TablaTransposicion(0);
+		long otraClave = CLAVE + 2; // mismo cubo al haber uno solo
+		long terceraClave = CLAVE + 4;
+		tabla.guardar(CLAVE, 8, TablaTransposicion.COTA_EXACTA, 10, 1);
+		tabla.guardar(otraClave, 2, TablaTransposicion.COTA_EXACTA, 20, 2);
+		tabla.guardar(terceraClave, 3, TablaTransposicion.COTA_EXACTA, 30, 3);
+		assertAll("entradas conservadas en la misma búsqueda",
+				() -> assertThat("Debería conservarse la entrada más profunda.",
+						TablaTransposicion.consultarPuntuacion(tabla.sondear(CLAVE)), is(10)),
+				() -> assertThat("La entrada de reemplazo siempre debería sustituirse.", tabla.sondear(otraClave),
+						is(TablaTransposicion.SIN_ENTRADA)),
+				() -> assertThat("Debería guardarse la última entrada.",
+						TablaTransposicion.consultarPuntuacion(tabla.sondear(terceraClave)), is(30)));
+		tabla.nuevaBusqueda();
+		tabla.guardar(otraClave, 1, TablaTransposicion.COTA_EXACTA, 20, 2);
+		assertThat("En una nueva búsqueda la entrada antigua debería poder reemplazarse.", tabla.sondear(CLAVE),
+				is(TablaTransposicion.SIN_ENTRADA));
+	}
+
+	/**
+	 * Comprueba que el motor con tabla encuentra la misma puntuación que sin ella.
+	 */
+	@DisplayName("Comprueba el motor con tabla de transposición.")
+	@Test
+	void comprobarMotorConTabla() {
+		Arbitro arbitro = new Arbitro(new Tablero());
+		arbitro.colocarPiezasConfiguracionInicial();
+		ResultadoBusqueda sinTabla = new Motor(4, 5000).buscar(arbitro);
+		ResultadoBusqueda conTabla = new Motor(4, 5000, new EvaluadorMaterial(), new TablaTransposicion(4))
+				.buscar(arbitro);
+		assertAll("motor con tabla",
+				() -> assertThat("La jugada debería ser legal.", arbitro.esMovimientoLegal(conTabla.jugada()), is(true)),
+				() -> assertThat("La puntuación debería coincidir.", conTabla.puntuacion(), is(sinTabla.puntuacion())),
+				() -> assertThat("Debería completar la profundidad pedida.", conTabla.profundidad(), is(4)));
+	}
+}
@@ -0,0 +1,130 @@
+package noventagrados.motor;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Timeout.ThreadMode.SEPARATE_THREAD;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import noventagrados.control.Arbitro;
+import noventagrados.registro.PartidaRegistrada;
+
+/**
+ * Tests sobre el torneo entre configuraciones de motor.
+ */
+@DisplayName("Tests sobre el Torneo.")
+@Timeout(value = 10, unit = TimeUnit.SECONDS, threadMode = SEPARATE_THREAD) // Time out global para todos los tests salvo los de ciclo de vida
+public class TorneoTest {
+
+	/**
+	 * Crea un torneo rápido entre profundidad 2 y profundidad 1.
+	 * 
+	 * @param hilos número de hilos
+	 * @return torneo
+	 */
+	private Torneo crearTorneo(int hilos) {
+		return new Torneo(new ConfiguracionMotor("P2", 2, 1000), new ConfiguracionMotor("P1", 1, 1000), hilos, 80, 4,
+				19L);
+	}
+
+	/**
+	 * Comprueba el recuento de partidas y que todas son legales y coherentes con su resultado.
+	 * 
+	 * @throws InterruptedException si se interrumpe el torneo
+	 */
+	@DisplayName("Comprueba el recuento y la legalidad de las partidas del torneo.")
+	@Test
+	void comprobarPartidasDelTorneo() throws InterruptedException {
+		ResultadoTorneo resultado = crearTorneo(4).jugar(12);
+		assertAll("recuento",
+				() -> assertThat("Número de partidas incorrecto.", resultado.consultarNumeroPartidas(), is(12)),
+				() -> assertThat("Partidas guardadas incorrectas.", resultado.partidas().size(), is(12)),
+				() -> assertThat("Empates por reinas mayores que los empates.", resultado.empatesPorReinas(),
+						is(lessThanOrEqualTo(resultado.empates()))),
+				() -> assertThat("Rendimiento incorrecto.", resultado.calcularPartidasPorSegundo(), is(greaterThan(0.0))));
+		int empates = 0;
+		for (int i = 0; i < 12; i++) {
+			PartidaRegistrada partida = resultado.partidas().get(i);
+			Arbitro arbitro = partida.reproducir();
+			assertThat("La partida " + i + " contiene jugadas ilegales.", arbitro, is(not(nullValue())));
+			assertThat("Jugadores de la partida " + i + " incorrectos.",
+					partida.consultarEtiqueta(PartidaRegistrada.ETIQUETA_BLANCAS), is(i % 2 == 0 ? "P2" : "P1"));
+			if (arbitro.estaFinalizadaPartida()) {
+				assertThat("Resultado de la partida " + i + " incorrecto.", partida.consultarResultado(),
+						is(PartidaRegistrada.calcularResultado(arbitro)));
+			} else {
+				assertThat("Una partida sin terminar debe guardarse sin resultado.", partida.consultarResultado(),
+						is(PartidaRegistrada.RESULTADO_SIN_TERMINAR));
+			}
+			String resultadoPartida = partida.consultarResultado();
+			if (resultadoPartida.equals(PartidaRegistrada.RESULTADO_EMPATE)
+					|| resultadoPartida.equals(PartidaRegistrada.RESULTADO_SIN_TERMINAR)) {
+				empates++;
+			}
+		}
+		assertThat("Las partidas sin terminar deben contarse como empate.", resultado.empates(), is(empates));
+	}
+
+	/**
+	 * Comprueba que el torneo es reproducible con independencia del número de hilos y que
+	 * cada pareja de partidas empieza con la misma apertura.
+	 * 
+	 * @throws InterruptedException si se interrumpe el torneo
+	 */
+	@DisplayName("Comprueba que el torneo es reproducible.")
+	@Test
+	void comprobarTorneoReproducible() throws InterruptedException {
+		List<PartidaRegistrada> unHilo = crearTorneo(1).jugar(6).partidas();
+		List<PartidaRegistrada> variosHilos = crearTorneo(3).jugar(6).partidas();
+		assertThat("Las partidas deben coincidir.", variosHilos, is(unHilo));
+		for (int i = 0; i < 6; i += 2) {
+			for (int j = 0; j < Math.min(4, unHilo.get(i).consultarNumeroJugadas()); j++) {
+				assertThat("Las aperturas de la pareja deben coincidir.", unHilo.get(i).consultarCodigo(j),
+						is(unHilo.get(i + 1).consultarCodigo(j)));
+			}
+		}
+	}
+
+	/**
+	 * Comprueba que la interrupción del hilo que juega el torneo se propaga en lugar de
+	 * devolver un resultado parcial.
+	 */
+	@DisplayName("Comprueba que se propaga la interrupción del torneo.")
+	@Test
+	void comprobarTorneoInterrumpido() {
+		Thread.currentThread().interrupt();
+		assertThrows(InterruptedException.class, () -> crearTorneo(1).jugar(2),
+				"Debería propagarse la interrupción.");
+	}
+
+	/**
+	 * Comprueba la estimación de Elo a partir del recuento.
+	 */
+	@DisplayName("Comprueba la estimación de Elo.")
+	@Test
+	void comprobarEstimacionElo() {
+		ResultadoTorneo igualado = new ResultadoTorneo(10, 20, 10, 0, 1_000_000_000L, List.of());
+		ResultadoTorneo favorable = new ResultadoTorneo(60, 30, 10, 5, 2_000_000_000L, List.of());
+		assertAll("elo",
+				() -> assertThat("Un resultado igualado debe dar 0 Elo.", igualado.calcularDiferenciaElo(),
+						is(closeTo(0, 1e-9))),
+				() -> assertThat("Puntuación incorrecta.", favorable.calcularPuntuacion(), is(closeTo(0.75, 1e-9))),
+				() -> assertThat("Un 75 % debe dar unos 191 Elo.", favorable.calcularDiferenciaElo(),
+						is(closeTo(190.85, 0.01))),
+				() -> assertThat("El margen debe ser positivo.", favorable.calcularMargenElo(), is(greaterThan(0.0))),
+				() -> assertThat("Partidas por segundo incorrectas.", favorable.calcularPartidasPorSegundo(),
+						is(closeTo(50, 1e-9))));
+	}
+}
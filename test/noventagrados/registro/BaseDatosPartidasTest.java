@@ -0,0 +1,203 @@
+package noventagrados.registro;
+
+import static org.hamcrest.CoreMatchers.hasItem;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Timeout.ThreadMode.SEPARATE_THREAD;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+import noventagrados.control.Arbitro;
+import noventagrados.control.BufferJugadas;
+import noventagrados.control.NotacionPosicion;
+import noventagrados.modelo.Tablero;
+
+/**
+ * Tests sobre la base de datos de partidas proyectada en memoria.
+ */
+@DisplayName("Tests sobre BaseDatosPartidas.")
+@Timeout(value = 10, unit = TimeUnit.SECONDS, threadMode = SEPARATE_THREAD) // Time out global para todos los tests salvo los de ciclo de vida
+public class BaseDatosPartidasTest {
+
+	/** Directorio temporal de la base de datos. */
+	@TempDir
+	Path directorio;
+
+	/**
+	 * Genera una partida aleatoria desde la posición inicial.
+	 * 
+	 * @param aleatorio generador de números aleatorios
+	 * @param maximo número máximo de jugadas
+	 * @return partida generada
+	 */
+	private PartidaRegistrada generarPartidaAleatoria(Random aleatorio, int maximo) {
+		Arbitro arbitro = new Arbitro(new Tablero());
+		arbitro.colocarPiezasConfiguracionInicial();
+		List<Integer> codigos = new ArrayList<>();
+		BufferJugadas buffer = new BufferJugadas();
+		while (!arbitro.estaFinalizadaPartida() && codigos.size() < maximo) {
+			arbitro.generarJugadasLegales(buffer);
+			int codigo = buffer.consultarCodigo(aleatorio.nextInt(buffer.consultarNumeroJugadas()));
+			arbitro.hacer(codigo);
+			codigos.add(codigo);
+		}
+		return new PartidaRegistrada(Collections.emptyMap(),
+				codigos.stream().mapToInt(Integer::intValue).toArray(), PartidaRegistrada.calcularResultado(arbitro));
+	}
+
+	/**
+	 * Comprueba que las partidas añadidas se leen igual, también tras reabrir la base de datos.
+	 * 
+	 * @throws IOException si no se puede acceder a los ficheros
+	 */
+	@DisplayName("Comprueba que las partidas añadidas se leen igual tras reabrir.")
+	@Test
+	void comprobarPartidasPersistentes() throws IOException {
+		Random aleatorio = new Random(18);
+		List<PartidaRegistrada> partidas = new ArrayList<>();
+		try (BaseDatosPartidas base = new BaseDatosPartidas(directorio)) {
+			for (int i = 0; i < 20; i++) {
+				PartidaRegistrada partida = generarPartidaAleatoria(aleatorio, 120);
+				assertThat("Número asignado incorrecto.", base.añadir(partida), is(i));
+				partidas.add(partida);
+			}
+		}
+		try (BaseDatosPartidas base = new BaseDatosPartidas(directorio)) {
+			assertThat("Número de partidas incorrecto tras reabrir.", base.consultarNumeroPartidas(), is(20));
+			for (int i = 0; i < partidas.size(); i++) {
+				PartidaRegistrada partida = partidas.get(i);
+				int numero = i;
+				assertAll("partida " + i,
+						() -> assertThat("Partida leída distinta.", base.leer(numero), is(partida)),
+						() -> assertThat("Número de jugadas incorrecto.", base.consultarNumeroJugadas(numero),
+								is(partida.consultarNumeroJugadas())),
+						() -> assertThat("Resultado incorrecto.", base.consultarResultado(numero),
+								is(partida.consultarResultado())));
+			}
+			assertThat("Nueva partida con número incorrecto.",
+					base.añadir(generarPartidaAleatoria(aleatorio, 10)), is(20));
+		}
+	}
+
+	/**
+	 * Comprueba que la búsqueda de posiciones coincide con la reproducción de las partidas.
+	 * 
+	 * @throws IOException si no se puede acceder a los ficheros
+	 */
+	@DisplayName("Comprueba la búsqueda de posiciones en el índice.")
+	@Test
+	void comprobarBusquedaDePosiciones() throws IOException {
+		Random aleatorio = new Random(180);
+		try (BaseDatosPartidas base = new BaseDatosPartidas(directorio)) {
+			List<PartidaRegistrada> partidas = new ArrayList<>();
+			for (int i = 0; i < 50; i++) {
+				PartidaRegistrada partida = generarPartidaAleatoria(aleatorio, 200);
+				base.añadir(partida);
+				partidas.add(partida);
+			}
+			Arbitro inicial = partidas.get(0).reproducir(0);
+			List<BaseDatosPartidas.Aparicion> apariciones = base.buscar(inicial);
+			assertThat("La posición inicial debe aparecer en todas las partidas.", apariciones.size(), is(50));
+			for (int i = 0; i < 50; i++) {
+				assertThat("Falta la posición inicial de la partida " + i + ".", apariciones,
+						hasItem(new BaseDatosPartidas.Aparicion(i, 0)));
+			}
+			for (int i = 0; i < 200; i++) {
+				int partida = aleatorio.nextInt(partidas.size());
+				int ply = aleatorio.nextInt(partidas.get(partida).consultarNumeroJugadas() + 1);
+				Arbitro arbitro = partidas.get(partida).reproducir(ply);
+				List<BaseDatosPartidas.Aparicion> encontradas = base.buscar(arbitro);
+				assertThat("Falta la aparición en la partida " + partida + " ply " + ply + ".", encontradas,
+						hasItem(new BaseDatosPartidas.Aparicion(partida, ply)));
+				assertThat("Número de apariciones incorrecto.", base.contar(arbitro.consultarClaveZobrist()),
+						is(encontradas.size()));
+				for (BaseDatosPartidas.Aparicion aparicion : encontradas) {
+					assertThat("Aparición con otra posición.",
+							partidas.get(aparicion.partida()).reproducir(aparicion.ply()).consultarClaveZobrist(),
+							is(arbitro.consultarClaveZobrist()));
+				}
+			}
+			assertThat("Una posición inexistente no debe tener apariciones.", base.buscar(0L).isEmpty(), is(true));
+		}
+	}
+
+	/**
+	 * Comprueba que no se añaden partidas con jugadas ilegales o sin la posición inicial.
+	 * 
+	 * @throws IOException si no se puede acceder a los ficheros
+	 */
+	@DisplayName("Comprueba el rechazo de partidas no admitidas.")
+	@Test
+	void comprobarPartidasRechazadas() throws IOException {
+		try (BaseDatosPartidas base = new BaseDatosPartidas(directorio)) {
+			PartidaRegistrada ilegal = new PartidaRegistrada(Collections.emptyMap(),
+					new int[] { BufferJugadas.codificar(0, 0, 3, 3) }, PartidaRegistrada.RESULTADO_SIN_TERMINAR);
+			PartidaRegistrada conPosicion = new PartidaRegistrada(
+					Map.of(PartidaRegistrada.ETIQUETA_POSICION, NotacionPosicion.NOTACION_INICIAL), new int[0],
+					PartidaRegistrada.RESULTADO_SIN_TERMINAR);
+			assertAll("partidas rechazadas",
+					() -> assertThat("Se ha añadido una partida ilegal.", base.añadir(ilegal), is(-1)),
+					() -> assertThat("Se ha añadido una partida con posición.", base.añadir(conPosicion), is(-1)),
+					() -> assertThat("No debe haber partidas.", base.consultarNumeroPartidas(), is(0)));
+		}
+	}
+
+	/**
+	 * Comprueba que las consultas de partidas o jugadas inexistentes lanzan una excepción.
+	 * 
+	 * @throws IOException si no se puede acceder a los ficheros
+	 */
+	@DisplayName("Comprueba las consultas fuera de rango.")
+	@Test
+	void comprobarConsultasFueraDeRango() throws IOException {
+		try (BaseDatosPartidas base = new BaseDatosPartidas(directorio)) {
+			PartidaRegistrada partida = generarPartidaAleatoria(new Random(1800), 30);
+			base.añadir(partida);
+			int jugadas = partida.consultarNumeroJugadas();
+			assertAll("partidas inexistentes",
+					() -> assertThrows(IndexOutOfBoundsException.class, () -> base.consultarNumeroJugadas(1)),
+					() -> assertThrows(IndexOutOfBoundsException.class, () -> base.consultarNumeroJugadas(-1)),
+					() -> assertThrows(IndexOutOfBoundsException.class, () -> base.consultarCodigo(1, 0)),
+					() -> assertThrows(IndexOutOfBoundsException.class, () -> base.consultarResultado(1)),
+					() -> assertThrows(IndexOutOfBoundsException.class, () -> base.leer(1)));
+			assertAll("jugadas inexistentes",
+					() -> assertThrows(IndexOutOfBoundsException.class, () -> base.consultarCodigo(0, jugadas)),
+					() -> assertThrows(IndexOutOfBoundsException.class, () -> base.consultarCodigo(0, -1)),
+					() -> assertThat("Última jugada incorrecta.", base.consultarCodigo(0, jugadas - 1),
+							is(partida.consultarCodigo(jugadas - 1))));
+		}
+	}
+
+	/**
+	 * Comprueba que un error al abrir uno de los ficheros se propaga y que la base de datos
+	 * se puede abrir después de corregirlo.
+	 * 
+	 * @throws IOException si no se puede acceder a los ficheros
+	 */
+	@DisplayName("Comprueba el error al abrir la base de datos.")
+	@Test
+	void comprobarErrorAlAbrir() throws IOException {
+		Path apariciones = directorio.resolve(BaseDatosPartidas.FICHERO_APARICIONES);
+		Files.createDirectory(apariciones);
+		assertThrows(IOException.class, () -> new BaseDatosPartidas(directorio));
+		Files.delete(apariciones);
+		try (BaseDatosPartidas base = new BaseDatosPartidas(directorio)) {
+			assertThat("Número asignado incorrecto.", base.añadir(generarPartidaAleatoria(new Random(18), 20)), is(0));
+		}
+	}
+}
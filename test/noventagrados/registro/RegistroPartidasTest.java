@@ -0,0 +1,190 @@
+package noventagrados.registro;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Timeout.ThreadMode.SEPARATE_THREAD;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import noventagrados.control.Arbitro;
+import noventagrados.control.BufferJugadas;
+import noventagrados.modelo.Tablero;
+import noventagrados.util.Color;
+
+/**
+ * Tests sobre la escritura y lectura de partidas registradas.
+ */
+@DisplayName("Tests sobre EscritorPartidas y LectorPartidas.")
+@Timeout(value = 2, unit = TimeUnit.SECONDS, threadMode = SEPARATE_THREAD) // Time out global para todos los tests salvo los de ciclo de vida
+public class RegistroPartidasTest {
+
+	/** Partida simple con victoria de blancas en el centro. */
+	private static final String PARTIDA_SIMPLE = """
+			[Evento "Prueba"]
+			[Blancas "Ana \\"la rápida\\""]
+
+			03-43 64-24 00-30 65-25 50-54 25-05 30-33 1-0
+			""";
+
+	/**
+	 * Juega una partida aleatoria registrándola con el escritor.
+	 * 
+	 * @param aleatorio generador de números aleatorios
+	 * @param escritor escritor de partidas
+	 * @param numero número de la partida
+	 * @return árbitro con la partida terminada
+	 * @throws IOException si no se puede escribir
+	 */
+	private Arbitro jugarPartidaAleatoria(Random aleatorio, EscritorPartidas escritor, int numero) throws IOException {
+		Arbitro arbitro = new Arbitro(new Tablero());
+		arbitro.colocarPiezasConfiguracionInicial();
+		arbitro.añadirObservador(escritor);
+		Map<String, String> etiquetas = new LinkedHashMap<>();
+		etiquetas.put(PartidaRegistrada.ETIQUETA_EVENTO, "Partida " + numero);
+		escritor.empezarPartida(etiquetas);
+		while (!arbitro.estaFinalizadaPartida() && arbitro.consultarNumeroJugada() < 100) {
+			BufferJugadas buffer = arbitro.generarJugadasLegales(new BufferJugadas());
+			int codigo = buffer.consultarCodigo(aleatorio.nextInt(buffer.consultarNumeroJugadas()));
+			arbitro.empujar(BufferJugadas.decodificar(codigo, arbitro.consultarTablero()));
+			arbitro.cambiarTurno();
+		}
+		escritor.terminarPartida(arbitro);
+		return arbitro;
+	}
+
+	/**
+	 * Comprueba que las partidas escritas al empujar se leen y reproducen igual.
+	 * 
+	 * @throws IOException si no se puede escribir o leer
+	 */
+	@DisplayName("Comprueba la escritura y lectura de varias partidas aleatorias.")
+	@Test
+	void comprobarEscrituraYLecturaDeVariasPartidas() throws IOException {
+		Random aleatorio = new Random(17);
+		StringWriter texto = new StringWriter();
+		List<Arbitro> arbitros = new ArrayList<>();
+		try (EscritorPartidas escritor = new EscritorPartidas(texto)) {
+			for (int i = 0; i < 10; i++) {
+				arbitros.add(jugarPartidaAleatoria(aleatorio, escritor, i));
+			}
+		}
+		try (LectorPartidas lector = new LectorPartidas(new StringReader(texto.toString()))) {
+			for (int i = 0; i < arbitros.size(); i++) {
+				Arbitro esperado = arbitros.get(i);
+				PartidaRegistrada partida = lector.leerPartida();
+				Arbitro reproducido = partida.reproducir();
+				final int numero = i;
+				assertAll("partida " + i,
+						() -> assertThat("Etiqueta incorrecta.", partida.consultarEtiqueta(PartidaRegistrada.ETIQUETA_EVENTO),
+								is("Partida " + numero)),
+						() -> assertThat("Número de jugadas incorrecto.", partida.consultarNumeroJugadas(),
+								is(esperado.consultarNumeroJugada())),
+						() -> assertThat("Resultado incorrecto.", partida.consultarResultado(),
+								is(PartidaRegistrada.calcularResultado(esperado))),
+						() -> assertThat("Tablero reproducido incorrecto.", reproducido.consultarTablero(),
+								is(esperado.consultarTablero())),
+						() -> assertThat("Turno reproducido incorrecto.", reproducido.consultarTurno(),
+								is(esperado.consultarTurno())));
+			}
+			assertThat("No deberían quedar partidas.", lector.leerPartida(), is(nullValue()));
+		}
+	}
+
+	/**
+	 * Comprueba la lectura de una partida escrita a mano y su reescritura.
+	 * 
+	 * @throws IOException si no se puede escribir o leer
+	 */
+	@DisplayName("Comprueba la lectura y reescritura de una partida escrita a mano.")
+	@Test
+	void comprobarLecturaDePartidaEscritaAMano() throws IOException {
+		PartidaRegistrada partida = new LectorPartidas(new StringReader(PARTIDA_SIMPLE)).leerPartida();
+		Arbitro arbitro = partida.reproducir();
+		StringWriter texto = new StringWriter();
+		try (EscritorPartidas escritor = new EscritorPartidas(texto)) {
+			escritor.escribir(partida);
+		}
+		assertAll("partida escrita a mano",
+				() -> assertThat("Etiqueta con comillas incorrecta.",
+						partida.consultarEtiqueta(PartidaRegistrada.ETIQUETA_BLANCAS), is("Ana \"la rápida\"")),
+				() -> assertThat("Número de jugadas incorrecto.", partida.consultarNumeroJugadas(), is(7)),
+				() -> assertThat("Deberían ganar blancas.", arbitro.consultarTurnoGanador(), is(Color.BLANCO)),
+				() -> assertThat("Reescritura incorrecta.", texto.toString(), is(PARTIDA_SIMPLE + "\n")));
+	}
+
+	/**
+	 * Comprueba que las etiquetas con saltos de línea, comillas y barras se escriben en
+	 * una sola línea y se leen igual.
+	 * 
+	 * @throws IOException si no se puede escribir o leer
+	 */
+	@DisplayName("Comprueba la escritura y lectura de etiquetas con saltos de línea.")
+	@Test
+	void comprobarEtiquetasConSaltosDeLinea() throws IOException {
+		String valor = "línea 1\nlínea 2\r\n\"fin\" \\n\\";
+		Map<String, String> etiquetas = new LinkedHashMap<>();
+		etiquetas.put(PartidaRegistrada.ETIQUETA_EVENTO, valor);
+		etiquetas.put(PartidaRegistrada.ETIQUETA_BLANCAS, "\n");
+		Arbitro arbitro = new Arbitro(new Tablero());
+		arbitro.colocarPiezasConfiguracionInicial();
+		StringWriter texto = new StringWriter();
+		try (EscritorPartidas escritor = new EscritorPartidas(texto)) {
+			escritor.empezarPartida(etiquetas);
+			escritor.terminarPartida(arbitro);
+		}
+		PartidaRegistrada partida = new LectorPartidas(new StringReader(texto.toString())).leerPartida();
+		assertAll("etiquetas con saltos de línea",
+				() -> assertThat("Cada etiqueta debería ocupar una línea.", texto.toString().split("\n")[1],
+						is("[Blancas \"\\n\"]")),
+				() -> assertThat("Etiqueta con saltos de línea incorrecta.",
+						partida.consultarEtiqueta(PartidaRegistrada.ETIQUETA_EVENTO), is(valor)),
+				() -> assertThat("Etiqueta con un salto de línea incorrecta.",
+						partida.consultarEtiqueta(PartidaRegistrada.ETIQUETA_BLANCAS), is("\n")));
+	}
+
+	/**
+	 * Comprueba que una partida con una jugada ilegal no se puede reproducir.
+	 * 
+	 * @throws IOException si no se puede leer
+	 */
+	@DisplayName("Comprueba que no se reproduce una partida con jugadas ilegales.")
+	@Test
+	void comprobarPartidaConJugadaIlegal() throws IOException {
+		PartidaRegistrada partida = new LectorPartidas(new StringReader("\n03-44 *\n")).leerPartida();
+		assertAll("jugada ilegal",
+				() -> assertThat("Resultado incorrecto.", partida.consultarResultado(),
+						is(PartidaRegistrada.RESULTADO_SIN_TERMINAR)),
+				() -> assertThat("No debería reproducirse.", partida.reproducir(), is(nullValue())));
+	}
+
+	/**
+	 * Comprueba que se rechazan los textos con formato incorrecto.
+	 * 
+	 * @param texto texto con formato incorrecto
+	 */
+	@DisplayName("Comprueba el rechazo de formatos incorrectos.")
+	@ParameterizedTest
+	@ValueSource(strings = { "[Evento]\n\n03-43 *\n", "\n03-43 64-24\n", "\n03-73 *\n", "\n03-43 2-0\n",
+			"\n03-43 1-0 64-24\n" })
+	void comprobarFormatosIncorrectos(String texto) {
+		assertThrows(IOException.class, () -> new LectorPartidas(new StringReader(texto)).leerPartida(),
+				"Debería rechazarse el formato.");
+	}
+}
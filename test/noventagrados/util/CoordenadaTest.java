@@ -3,6 +3,8 @@ package noventagrados.util;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Timeout.ThreadMode.SEPARATE_THREAD;
 
 
@@ -94,4 +96,41 @@ public class CoordenadaTest {
 
 		);
 	}
+
+	/**
+	 * Comprueba que las coordenadas compartidas del tablero son únicas y equivalen
+	 * a las construidas con el constructor.
+	 */
+	@DisplayName("Comprueba las coordenadas compartidas dentro del tablero.")
+	@Test
+	public void probarCoordenadasCompartidas() {
+		assertAll("comprobando coordenadas compartidas",
+				() -> assertSame(Coordenada.de(0, 0), Coordenada.de(0, 0), "Llamadas repetidas deberían devolver la misma instancia."),
+				() -> assertSame(Coordenada.de(2, 3), Coordenada.de(2, 3), "Llamadas repetidas deberían devolver la misma instancia."),
+				() -> assertSame(Coordenada.de(6, 6), Coordenada.de(6, 6), "Llamadas repetidas deberían devolver la misma instancia."),
+				() -> assertThat("La coordenada compartida debería ser igual a una nueva.", Coordenada.de(0, 0), is(coordenada00)),
+				() -> assertThat("La coordenada compartida debería ser igual a una nueva.", Coordenada.de(2, 3), is(coordenada23)),
+				() -> assertThat("La coordenada compartida debería ser igual a una nueva.", Coordenada.de(6, 6), is(coordenada66)));
+	}
+
+	/**
+	 * Comprueba que se obtienen coordenadas fuera del tablero, justo en los límites
+	 * de las compartidas, sin errores.
+	 */
+	@DisplayName("Comprueba las coordenadas fuera del tablero.")
+	@Test
+	public void probarCoordenadasFueraDelTablero() {
+		int[][] fueraDelTablero = { { -1, 0 }, { 0, -1 }, { 7, 0 }, { 0, 7 }, { 7, 7 }, { -1, -1 }, { 100, 3 } };
+		for (int[] valores : fueraDelTablero) {
+			Coordenada coordenada = Coordenada.de(valores[0], valores[1]);
+			assertAll("comprobando coordenada fuera del tablero " + valores[0] + "," + valores[1],
+					() -> assertThat(EL_VALOR_DE_LA_FILA_PARA_LA_COORDENADA_ES_INCORRECTO, coordenada.fila(), is(valores[0])),
+					() -> assertThat(EL_VALOR_DE_LA_COLUMNA_PARA_LA_COORDENADA_ES_INCORRECTO, coordenada.columna(),
+							is(valores[1])),
+					() -> assertThat("La coordenada debería ser igual a una nueva.", coordenada,
+							is(new Coordenada(valores[0], valores[1]))),
+					() -> assertNotSame(coordenada, Coordenada.de(valores[0], valores[1]),
+							"Fuera del tablero no se comparten instancias."));
+		}
+	}
 }